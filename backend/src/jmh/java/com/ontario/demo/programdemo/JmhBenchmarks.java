@@ -0,0 +1,43 @@
+package com.ontario.demo.programdemo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the backend hot paths.
+ *
+ * <p>Only compiled and run with {@code mvn test -Pjmh}. Every benchmark runs with
+ * the GC profiler, so results include the allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) next to the time per operation.
+ * The results are written as JSON to {@code target/jmh-result.json}, which can be
+ * kept per commit and compared, for example with a JMH result visualizer.</p>
+ *
+ * <p>System properties:</p>
+ * <ul>
+ *   <li>{@code jmh.include}: regular expression selecting benchmarks, e.g. {@code Mapping}
+ *       (default: all benchmarks in this project)</li>
+ *   <li>{@code jmh.result}: path of the JSON result file</li>
+ * </ul>
+ */
+@DisplayName("JMH benchmarks")
+class JmhBenchmarks {
+
+    @Test
+    @DisplayName("run — benchmarks the hot paths with allocation profiling")
+    void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", "com\\.ontario\\.demo\\.programdemo\\..*Benchmark"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                .shouldFailOnError(true)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ontario.demo.programdemo.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ProgramController#extractFilename(String)}, run on every document download.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentFilenameBenchmark {
+
+    public String blobUrl = "https://account.blob.core.windows.net/program-documents/17/health_en.pdf";
+
+    @Benchmark
+    public String extractFilename() {
+        return ProgramController.extractFilename(blobUrl);
+    }
+}
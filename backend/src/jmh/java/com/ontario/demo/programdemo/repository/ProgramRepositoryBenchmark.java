@@ -0,0 +1,115 @@
+package com.ontario.demo.programdemo.repository;
+
+import com.ontario.demo.programdemo.ProgramDemoApplication;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramPage;
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.service.ProgramService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the program read queries, end to end through {@link ProgramService},
+ * against an in-memory H2 database.
+ *
+ * <p>H2 has no network round trip, so the figures show the work done in the
+ * application (Hibernate, mapping, allocation) rather than database latency.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgramRepositoryBenchmark {
+
+    @Param({"1000"})
+    public int programs;
+
+    private ConfigurableApplicationContext context;
+    private ProgramService programService;
+    private ProgramRepository programRepository;
+    private Long programId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProgramDemoApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.flyway.enabled=false",
+                        "--azure.storage.blob-service-uri=https://benchmark.blob.core.windows.net",
+                        "--logging.level.root=WARN");
+        programService = context.getBean(ProgramService.class);
+        programRepository = context.getBean(ProgramRepository.class);
+        ProgramType type = context.getBean(ProgramTypeRepository.class)
+                .save(new ProgramType(null, "Health", "Santé"));
+        List<ProgramRequest> requests = IntStream.range(0, programs)
+                .mapToObj(i -> ProgramRequest.builder()
+                        .programName("Community program " + i)
+                        .programDescription("Expands community services in region " + i % 20)
+                        .programTypeId(type.getId())
+                        .submittedBy("citizen" + i + "@example.com")
+                        .budget(new BigDecimal("250000.00"))
+                        .build())
+                .toList();
+        programId = programService.createPrograms(requests).get(programs / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProgramResponse findById() {
+        return programService.getProgramById(programId);
+    }
+
+    @Benchmark
+    public ProgramPage firstPage() {
+        return programService.getProgramPage(null, 20);
+    }
+
+    @Benchmark
+    public List<ProgramResponse> findAll() {
+        return programService.getPrograms(null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findAllProjected() {
+        return programService.getPrograms(null, EnumSet.of(ProgramField.PROGRAM_NAME, ProgramField.STATUS));
+    }
+
+    @Benchmark
+    public List<Program> nameSearch() {
+        return programRepository.findByProgramNameContainingIgnoreCase("program 99");
+    }
+}
@@ -0,0 +1,40 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Realistic program data shared by the benchmarks.
+ */
+public final class BenchmarkPrograms {
+
+    private BenchmarkPrograms() {
+    }
+
+    /**
+     * Builds a submitted program with every commonly filled field set.
+     *
+     * @param id          the program ID
+     * @param programType the program type
+     * @return the program
+     */
+    public static Program program(Long id, ProgramType programType) {
+        Program program = new Program();
+        program.setId(id);
+        program.setProgramName("Community mental health clinics " + id);
+        program.setProgramDescription("Expands walk-in mental health clinics in northern communities, "
+                + "with evening hours and French-language services. ".repeat(4));
+        program.setProgramType(programType);
+        program.setStatus(ProgramStatus.SUBMITTED);
+        program.setSubmittedBy("citizen" + id + "@example.com");
+        program.setDocumentUrl("https://account.blob.core.windows.net/program-documents/" + id + "/proposal_en.pdf");
+        program.setBudget(new BigDecimal("250000.00"));
+        program.setCreatedDate(LocalDateTime.of(2026, 1, 15, 9, 30));
+        program.setUpdatedDate(LocalDateTime.of(2026, 1, 15, 9, 30));
+        return program;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.model.ProgramType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Cost of serializing a program list response to JSON.
+ *
+ * <p>Uses a mapper configured like Spring Boot's, so the output matches
+ * {@code GET /api/programs}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramJsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private List<ProgramResponse> responses;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        ProgramType programType = new ProgramType(1, "Health", "Santé");
+        responses = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> ProgramService.toResponse(BenchmarkPrograms.program(id, programType)))
+                .toList();
+        listWriter = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(new TypeReference<List<ProgramResponse>>() { });
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a program entity to its response DTO.
+ *
+ * <p>{@code toResponse} is {@link ProgramService#toResponse(Program)} as used by
+ * every read; {@code builder} is the Lombok builder on its own, to tell the two apart.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramMappingBenchmark {
+
+    private Program program;
+
+    @Setup
+    public void setUp() {
+        program = BenchmarkPrograms.program(1L, new ProgramType(1, "Health", "Santé"));
+    }
+
+    @Benchmark
+    public ProgramResponse toResponse() {
+        return ProgramService.toResponse(program);
+    }
+
+    @Benchmark
+    public ProgramResponse builder() {
+        return ProgramResponse.builder()
+                .id(program.getId())
+                .programName(program.getProgramName())
+                .programDescription(program.getProgramDescription())
+                .programTypeId(1)
+                .programTypeNameEn("Health")
+                .programTypeNameFr("Santé")
+                .status(ProgramStatus.SUBMITTED)
+                .submittedBy(program.getSubmittedBy())
+                .budget(new BigDecimal("250000.00"))
+                .createdDate(LocalDateTime.of(2026, 1, 15, 9, 30))
+                .updatedDate(LocalDateTime.of(2026, 1, 15, 9, 30))
+                .build();
+    }
+}
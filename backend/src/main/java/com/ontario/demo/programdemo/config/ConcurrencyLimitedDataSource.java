@@ -0,0 +1,126 @@
+package com.ontario.demo.programdemo.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} wrapper that caps how many connections are checked out at once.
+ *
+ * <p>With virtual threads, request concurrency is no longer bounded by the Tomcat
+ * thread pool, so thousands of requests can reach the connection pool together.
+ * Callers beyond the limit wait here on a fair {@link Semaphore}, which parks a
+ * virtual thread without holding its carrier and serves waiters in arrival order,
+ * and give up after {@code acquireTimeout} instead of piling up inside the pool.</p>
+ *
+ * <p>A permit is held from {@code getConnection()} until the returned connection
+ * is closed (returned to the pool).</p>
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+
+    /**
+     * Wraps a data source.
+     *
+     * @param target         the pooled data source to protect
+     * @param maxConcurrency maximum connections checked out at once
+     * @param acquireTimeout how long a caller waits for a permit before failing
+     */
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive, got: " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of connections that can currently be checked out without waiting.
+     *
+     * @return the free permits
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeout.toMillis()
+                        + " ms waiting for one of " + maxConcurrency + " database connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * Wraps a connection so that its first {@code close()} also releases the permit.
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
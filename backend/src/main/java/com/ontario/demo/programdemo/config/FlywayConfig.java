@@ -0,0 +1,40 @@
+package com.ontario.demo.programdemo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Controls the Flyway migration run at startup.
+ *
+ * <p>With Spring AOT (the fast-start image) {@code spring.flyway.enabled} is
+ * evaluated at build time, so it cannot switch the migration off for a single run.
+ * {@code app.flyway.migrate-on-start=false} can: the CDS training run in the
+ * Dockerfile uses it to start the application without a database.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    /**
+     * Runs the migrations at startup unless {@code app.flyway.migrate-on-start} is false.
+     *
+     * @param migrateOnStart whether to migrate the database at startup
+     * @return the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrate-on-start:true}") boolean migrateOnStart) {
+        return flyway -> {
+            if (migrateOnStart) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping the Flyway migration (app.flyway.migrate-on-start=false)");
+            }
+        };
+    }
+}
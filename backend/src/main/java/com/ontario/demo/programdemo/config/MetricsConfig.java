@@ -0,0 +1,192 @@
+package com.ontario.demo.programdemo.config;
+
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Application metrics beyond those Spring Boot records itself.
+ *
+ * <p>Spring Boot already times every controller method ({@code http.server.requests},
+ * tagged with the URI template) and reports the Hikari pool and Hibernate
+ * statistics. This adds the number of SQL statements each request runs, as
+ * {@code http.server.statements} with the same method and URI tags, so a
+ * query-count regression shows up per endpoint. Only statements run on the request
+ * thread are counted; for an asynchronous request (an export, a change stream) that
+ * is the statements before the handler went asynchronous plus those of the final
+ * dispatch, recorded once.</p>
+ *
+ * <p>It also publishes the counters of the document cache, the program response
+ * cache and the change feed, which {@code /api/ops} reports for one instance, so
+ * they can be scraped and aggregated across instances. The caches follow
+ * Micrometer's cache naming ({@code cache.gets} tagged with the result,
+ * {@code cache.evictions}), tagged with the cache name.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /** Request attribute carrying the statements counted before an asynchronous handler started. */
+    private static final String STATEMENTS_ATTRIBUTE = MetricsConfig.class.getName() + ".statements";
+
+    /**
+     * Creates the counter of statements prepared on each request thread.
+     *
+     * @return the statement counter
+     */
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    /**
+     * Registers the statement counter with Hibernate.
+     *
+     * @param statementCounter the statement counter
+     * @return the customizer that sets the statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    /**
+     * Records the statements run by each API request.
+     *
+     * @param statementCounter the statement counter
+     * @param meterRegistry    registry for the per-endpoint statement counts
+     * @return a {@link WebMvcConfigurer} adding the counting interceptor
+     */
+    @Bean
+    public WebMvcConfigurer queryCountInterceptor(StatementCounter statementCounter, MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new AsyncHandlerInterceptor() {
+                    @Override
+                    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                             Object handler) {
+                        statementCounter.start();
+                        return true;
+                    }
+
+                    @Override
+                    public void afterConcurrentHandlingStarted(HttpServletRequest request,
+                                                               HttpServletResponse response, Object handler) {
+                        // The request thread goes back to the pool without afterCompletion;
+                        // stop counting on it and carry the count over to the async dispatch.
+                        request.setAttribute(STATEMENTS_ATTRIBUTE, statementCounter.stop() + counted(request));
+                    }
+
+                    @Override
+                    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                                Object handler, Exception ex) {
+                        long statements = statementCounter.stop() + counted(request);
+                        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                        DistributionSummary.builder("http.server.statements")
+                                .description("SQL statements run by a request")
+                                .tag("method", request.getMethod())
+                                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                                .register(meterRegistry)
+                                .record(statements);
+                    }
+                }).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    /**
+     * Publishes the cache and change feed counters.
+     *
+     * @param documentCache the local cache of recently downloaded documents
+     * @param responseCache the cache of serialized program read responses
+     * @param changeFeed    the feed pushing program changes to subscribers
+     * @return the binder registering the meters
+     */
+    @Bean
+    public MeterBinder cacheMetrics(DocumentCache documentCache, ProgramResponseCache responseCache,
+                                    ProgramChangeFeed changeFeed) {
+        return registry -> {
+            bindCache(registry, "documents", documentCache, DocumentCache::stats,
+                    DocumentCache.Stats::hits, DocumentCache.Stats::misses, DocumentCache.Stats::evictions,
+                    DocumentCache.Stats::invalidations, DocumentCache.Stats::entries, DocumentCache.Stats::bytes);
+            bindCache(registry, "program-responses", responseCache, ProgramResponseCache::stats,
+                    ProgramResponseCache.Stats::hits, ProgramResponseCache.Stats::misses,
+                    ProgramResponseCache.Stats::evictions, ProgramResponseCache.Stats::invalidations,
+                    ProgramResponseCache.Stats::entries, ProgramResponseCache.Stats::bytes);
+
+            Gauge.builder("programs.feed.subscribers", changeFeed, feed -> feed.stats().subscribers())
+                    .description("Change stream subscribers currently connected")
+                    .register(registry);
+            FunctionCounter.builder("programs.feed.published", changeFeed, feed -> feed.stats().published())
+                    .description("Program changes published to the change feed")
+                    .register(registry);
+            FunctionCounter.builder("programs.feed.delivered", changeFeed, feed -> feed.stats().delivered())
+                    .description("Change events queued to subscribers")
+                    .register(registry);
+            FunctionCounter.builder("programs.feed.dropped", changeFeed, feed -> feed.stats().droppedSubscribers())
+                    .description("Subscribers disconnected because their queue was full")
+                    .register(registry);
+        };
+    }
+
+    private static <C, S> void bindCache(MeterRegistry registry, String cache, C source, Function<C, S> stats,
+                                         ToDoubleFunction<S> hits, ToDoubleFunction<S> misses,
+                                         ToDoubleFunction<S> evictions, ToDoubleFunction<S> invalidations,
+                                         ToDoubleFunction<S> entries, ToDoubleFunction<S> bytes) {
+        FunctionCounter.builder("cache.gets", source, c -> hits.applyAsDouble(stats.apply(c)))
+                .description("Reads served from the cache")
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, c -> misses.applyAsDouble(stats.apply(c)))
+                .description("Reads that missed the cache")
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", source, c -> evictions.applyAsDouble(stats.apply(c)))
+                .description("Entries removed to stay within the size limit")
+                .tag("cache", cache)
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", source, c -> invalidations.applyAsDouble(stats.apply(c)))
+                .description("Entries dropped because their source changed")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", source, c -> {
+                    S snapshot = stats.apply(c);
+                    double reads = hits.applyAsDouble(snapshot) + misses.applyAsDouble(snapshot);
+                    return reads == 0 ? 0 : hits.applyAsDouble(snapshot) / reads;
+                })
+                .description("Hits as a fraction of all reads since startup")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("cache.size", source, c -> entries.applyAsDouble(stats.apply(c)))
+                .description("Entries currently cached")
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("cache.bytes", source, c -> bytes.applyAsDouble(stats.apply(c)))
+                .description("Size of the cached entries")
+                .tag("cache", cache)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static long counted(HttpServletRequest request) {
+        return request.getAttribute(STATEMENTS_ATTRIBUTE) instanceof Long count ? count : 0;
+    }
+}
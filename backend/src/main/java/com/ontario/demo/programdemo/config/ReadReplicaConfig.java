@@ -0,0 +1,108 @@
+package com.ontario.demo.programdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to a read replica.
+ *
+ * <p>Enabled with {@code app.read-replica.enabled} ({@code READ_REPLICA_ENABLED} in
+ * Azure). The primary pool is configured under {@code spring.datasource} as before;
+ * the replica pool uses the same credentials and driver, with its URL from
+ * {@code app.read-replica.url} (by default the primary URL with
+ * {@code applicationIntent=ReadOnly}, Azure SQL read scale-out) and its pool
+ * settings under {@code app.read-replica.hikari}. The application data source is a
+ * {@link ReadReplicaRoutingDataSource} over both pools; see there and
+ * {@link ReadYourWritesFilter} for when reads stay on the primary.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.read-replica.enabled")
+public class ReadReplicaConfig {
+
+    /**
+     * Creates the primary connection pool from {@code spring.datasource}.
+     *
+     * @param properties the {@code spring.datasource} settings
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the read replica connection pool.
+     *
+     * <p>Not a default candidate, so the data source health check, which would
+     * report the application down with the replica, and other auto-configuration
+     * leave it alone. The pool starts without a connection, so the application
+     * starts while the replica is unavailable.</p>
+     *
+     * @param properties the {@code spring.datasource} settings
+     * @param url        the replica URL, or blank for the primary URL with {@code applicationIntent=ReadOnly}
+     * @return the replica pool
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.read-replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.read-replica.url:}") String url) {
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setJdbcUrl(url.isBlank() ? properties.determineUrl() + ";applicationIntent=ReadOnly" : url);
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+    /**
+     * Creates the application data source, routing each transaction once it runs its first statement.
+     *
+     * @param primary       the primary pool
+     * @param replica       the replica pool
+     * @param maxLag        how long cache refills stay on the primary after a write
+     * @param retryInterval how long the replica is skipped after it refused a connection
+     * @param meterRegistry registry for the routing metrics
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${app.read-replica.max-lag:5s}") Duration maxLag,
+                                 @Value("${app.read-replica.retry-interval:30s}") Duration retryInterval,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, maxLag, retryInterval, meterRegistry));
+    }
+
+    /**
+     * Creates the read-your-writes filter for {@code /api/*}, unless
+     * {@code app.read-replica.read-your-writes} is {@code false}.
+     *
+     * @param maxLag how long after a write the client's reads go to the primary
+     * @return the filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.read-replica.read-your-writes", matchIfMissing = true)
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.read-replica.max-lag:5s}") Duration maxLag) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(maxLag));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,196 @@
+package com.ontario.demo.programdemo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link DataSource} that sends read-only transactions to a read replica.
+ *
+ * <p>Connections for a {@code @Transactional(readOnly = true)} transaction come from
+ * the replica pool (Azure SQL read scale-out, {@code ApplicationIntent=ReadOnly});
+ * everything else goes to the primary. The decision is made when the connection is
+ * first used, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; a
+ * read-only call joined to a read-write transaction stays on the primary.</p>
+ *
+ * <p>Reads go to the primary instead when:</p>
+ * <ul>
+ *   <li>they refill a cache (see {@link #refillingCache}) and a read-write transaction
+ *       committed on this instance within {@code maxLag}, so caches refilled after the
+ *       change's event never hold the replica's older rows. Other reads keep using the
+ *       replica after a write;</li>
+ *   <li>the calling thread asked for the primary with {@link #readFromPrimary}
+ *       (read-your-writes, see {@link ReadYourWritesFilter});</li>
+ *   <li>the replica refused a connection within {@code retryInterval}. The failed
+ *       read falls back to the primary as well.</li>
+ * </ul>
+ *
+ * <p>Reads are counted as {@code db.reads}, tagged with the {@code target} that served them.</p>
+ */
+public class ReadReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> primaryRequested = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> cacheRefill = new ThreadLocal<>();
+
+    private final DataSource replica;
+    private final long maxLagNanos;
+    private final long retryIntervalNanos;
+    private final LongSupplier nanoTime;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+    private final Counter replicaFailures;
+
+    /** {@link System#nanoTime()} until which cache refills stay on the primary after a local write. */
+    private volatile long primaryUntil;
+
+    /** {@link System#nanoTime()} until which the replica is not tried after a failure. */
+    private volatile long replicaRetryAt;
+
+    /**
+     * Creates the routing data source.
+     *
+     * @param primary       the primary pool, for writes and fallback reads
+     * @param replica       the read replica pool
+     * @param maxLag        how long cache refills stay on the primary after a local write
+     * @param retryInterval how long the replica is skipped after it refused a connection
+     * @param meterRegistry registry for the read counters
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                        Duration retryInterval, MeterRegistry meterRegistry) {
+        this(primary, replica, maxLag, retryInterval, meterRegistry, System::nanoTime);
+    }
+
+    ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+                                 Duration retryInterval, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        super(primary);
+        if (maxLag.isNegative() || retryInterval.isNegative()) {
+            throw new IllegalArgumentException(
+                    "Replica max lag and retry interval must not be negative, got: " + maxLag + ", " + retryInterval);
+        }
+        this.replica = replica;
+        this.maxLagNanos = maxLag.toNanos();
+        this.retryIntervalNanos = retryInterval.toNanos();
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.primaryUntil = now;
+        this.replicaRetryAt = now;
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, "primary");
+        this.replicaFailures = Counter.builder("db.replica.failures")
+                .description("Read-only connections the replica refused, served by the primary instead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends every read on the calling thread to the primary until the returned scope is closed.
+     *
+     * @return the scope to close, in a try-with-resources block
+     */
+    public static PrimaryScope readFromPrimary() {
+        return enter(primaryRequested);
+    }
+
+    /**
+     * Marks reads on the calling thread as refilling a cache until the returned scope
+     * is closed. They go to the primary while a write committed on this instance may
+     * not have reached the replica yet.
+     *
+     * @return the scope to close, in a try-with-resources block
+     */
+    public static PrimaryScope refillingCache() {
+        return enter(cacheRefill);
+    }
+
+    private static PrimaryScope enter(ThreadLocal<Boolean> flag) {
+        if (flag.get() != null) {
+            return () -> { };
+        }
+        flag.set(Boolean.TRUE);
+        return flag::remove;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return super.getConnection();
+        }
+        long now = nanoTime.getAsLong();
+        if (primaryRequested.get() != null || cacheRefill.get() != null && now - primaryUntil < 0
+                || now - replicaRetryAt < 0) {
+            primaryReads.increment();
+            return super.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaRetryAt = nanoTime.getAsLong() + retryIntervalNanos;
+            replicaFailures.increment();
+            log.warn("Read replica unavailable, reading from the primary for {} ms: {}",
+                    retryIntervalNanos / 1_000_000, e.getMessage());
+            primaryReads.increment();
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * Keeps cache refills on the primary for {@code maxLag} once the current read-write
+     * transaction commits.
+     *
+     * <p>Runs before the transaction's {@code @TransactionalEventListener}s, so a
+     * cache invalidated by one of them is refilled from the primary.</p>
+     */
+    private void recordWriteOnCommit() {
+        if (maxLagNanos == 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                primaryUntil = nanoTime.getAsLong() + maxLagNanos;
+            }
+        });
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("db.reads")
+                .description("Read-only connections, by the database that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A period in which the calling thread reads from the primary.
+     */
+    @FunctionalInterface
+    public interface PrimaryScope extends AutoCloseable {
+
+        /**
+         * Ends the period.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ontario.demo.programdemo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for clients of a replicated database.
+ *
+ * <p>A {@code POST}, {@code PUT}, {@code PATCH} or {@code DELETE} (a submission,
+ * review, upload or summary) gets a {@value #COOKIE_NAME} cookie holding the time
+ * until which the replica may not have the change yet. The client's reads sent
+ * with a valid cookie run {@link ReadReplicaRoutingDataSource#readFromPrimary()
+ * against the primary}, whichever instance serves them, so a submitter sees their
+ * program straight away.</p>
+ *
+ * <p>Only the request thread is covered; an asynchronous export reads from the replica.</p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /** Cookie carrying the epoch millisecond until which the client reads from the primary. */
+    public static final String COOKIE_NAME = "read-primary-until";
+
+    private final Duration maxLag;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param maxLag how long after a write the client's reads go to the primary
+     */
+    public ReadYourWritesFilter(Duration maxLag) {
+        if (maxLag.isNegative() || maxLag.isZero()) {
+            throw new IllegalArgumentException("app.read-replica.max-lag must be positive, got: " + maxLag);
+        }
+        this.maxLag = maxLag;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isSafe(request.getMethod())) {
+            // Set before the response is committed by the controller.
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie
+                    .from(COOKIE_NAME, Long.toString(System.currentTimeMillis() + maxLag.toMillis()))
+                    .path(request.getContextPath() + "/api")
+                    .maxAge(Duration.ofSeconds(maxLag.toSeconds() + 1))
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+            chain.doFilter(request, response);
+        } else if (readsFromPrimary(request)) {
+            try (var ignored = ReadReplicaRoutingDataSource.readFromPrimary()) {
+                chain.doFilter(request, response);
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static boolean readsFromPrimary(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
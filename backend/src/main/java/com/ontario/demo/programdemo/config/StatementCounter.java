@@ -0,0 +1,43 @@
+package com.ontario.demo.programdemo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements prepared on the
+ * current thread.
+ *
+ * <p>Counting is off until {@link #start()} is called on a thread and stops at
+ * {@link #stop()}, so statements from scheduled work and other threads are not
+ * counted. The statements themselves pass through unchanged.</p>
+ */
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<long[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = current.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting the statements prepared on the current thread from zero.
+     */
+    public void start() {
+        current.set(new long[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the number of statements prepared since {@link #start()}, or 0 if counting was not started
+     */
+    public long stop() {
+        long[] count = current.get();
+        current.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,55 @@
+package com.ontario.demo.programdemo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+
+/**
+ * Registers the {@link UploadAdmissionFilter} in front of the API's document upload endpoints.
+ *
+ * <p>Enabled unless {@code app.upload-admission.enabled} is {@code false}. The limits
+ * are set under {@code app.upload-admission}; a request without a
+ * {@code Content-Length} is charged {@code spring.servlet.multipart.max-request-size}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.upload-admission.enabled", matchIfMissing = true)
+public class UploadAdmissionConfig {
+
+    /**
+     * Creates the upload admission filter for {@code /api/*}.
+     *
+     * @param maxConcurrentUploads uploads admitted at once
+     * @param maxBytesInFlight     total declared size of the uploads admitted at once
+     * @param maxRequestSize       size charged to a request that does not declare its length
+     * @param maxQueued            requests allowed to wait for admission at once
+     * @param queueTimeout         how long a request waits for admission before it is refused
+     * @param retryAfter           delay suggested to refused clients
+     * @param exceptionResolver    the dispatcher's exception resolvers, so a refusal is a ProblemDetail
+     * @param meterRegistry        registry for the admission metrics
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<UploadAdmissionFilter> uploadAdmissionFilter(
+            @Value("${app.upload-admission.max-concurrent-uploads:8}") int maxConcurrentUploads,
+            @Value("${app.upload-admission.max-bytes-in-flight:200MB}") DataSize maxBytesInFlight,
+            @Value("${spring.servlet.multipart.max-request-size:10MB}") DataSize maxRequestSize,
+            @Value("${app.upload-admission.max-queued:32}") int maxQueued,
+            @Value("${app.upload-admission.queue-timeout:2s}") Duration queueTimeout,
+            @Value("${app.upload-admission.retry-after:5s}") Duration retryAfter,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<UploadAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new UploadAdmissionFilter(maxConcurrentUploads, maxBytesInFlight, maxRequestSize,
+                        maxQueued, queueTimeout, retryAfter, exceptionResolver, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
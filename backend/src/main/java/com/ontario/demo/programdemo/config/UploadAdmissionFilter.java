@@ -0,0 +1,252 @@
+package com.ontario.demo.programdemo.config;
+
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for document uploads, budgeting concurrent uploads and bytes in flight.
+ *
+ * <p>A multipart request is read and spooled in full before its controller method
+ * runs, and a resumable upload chunk is held in memory while it is staged, so a burst
+ * of large PDF submissions can hold every request thread and a lot of memory and
+ * disk while the cheap read endpoints wait. This filter admits a multipart
+ * {@code POST} or an {@code application/octet-stream} {@code PUT} only while fewer
+ * than {@code maxConcurrentUploads} are in progress and its {@code Content-Length}
+ * fits in what remains of {@code maxBytesInFlight}; a request without a length is
+ * charged the maximum request size. The body is not read until the request is
+ * admitted.</p>
+ *
+ * <p>Requests that do not fit wait in arrival order for up to {@code queueTimeout},
+ * at most {@code maxQueued} at a time. A request that finds the queue full, or is
+ * still waiting at the timeout, is refused with a {@link ServiceUnavailableException}
+ * (HTTP 503 with {@code Retry-After}), rendered by the application's exception
+ * handlers.</p>
+ *
+ * <p>Published metrics: {@code uploads.admission.active} and
+ * {@code uploads.admission.bytes} (admitted uploads and their bytes),
+ * {@code uploads.admission.queued} (queue depth), {@code uploads.admission.wait}
+ * (time admitted requests spent queued) and {@code uploads.admission.rejected}
+ * (tagged with {@code reason}: {@code queue-full} or {@code timeout}).</p>
+ */
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private final int maxConcurrentUploads;
+    private final long maxBytesInFlight;
+    private final long maxRequestSize;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ArrayDeque<Object> waiting = new ArrayDeque<>();
+    private volatile int activeUploads;
+    private volatile long bytesInFlight;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param maxConcurrentUploads uploads admitted at once
+     * @param maxBytesInFlight     total declared size of the uploads admitted at once
+     * @param maxRequestSize       size charged to a request that does not declare its length
+     * @param maxQueued            requests allowed to wait for admission at once
+     * @param queueTimeout         how long a request waits for admission before it is refused
+     * @param retryAfter           delay suggested to refused clients
+     * @param exceptionResolver    resolver rendering a refusal as the application's error response
+     * @param meterRegistry        registry for the admission metrics
+     */
+    public UploadAdmissionFilter(int maxConcurrentUploads, DataSize maxBytesInFlight, DataSize maxRequestSize,
+                                 int maxQueued, Duration queueTimeout, Duration retryAfter,
+                                 HandlerExceptionResolver exceptionResolver, MeterRegistry meterRegistry) {
+        if (maxConcurrentUploads < 1) {
+            throw new IllegalArgumentException(
+                    "app.upload-admission.max-concurrent-uploads must be positive, got: " + maxConcurrentUploads);
+        }
+        if (maxBytesInFlight.toBytes() < 1) {
+            throw new IllegalArgumentException(
+                    "app.upload-admission.max-bytes-in-flight must be positive, got: " + maxBytesInFlight);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException(
+                    "app.upload-admission.max-queued must not be negative, got: " + maxQueued);
+        }
+        this.maxConcurrentUploads = maxConcurrentUploads;
+        this.maxBytesInFlight = maxBytesInFlight.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        this.exceptionResolver = exceptionResolver;
+
+        Gauge.builder("uploads.admission.active", this, filter -> filter.activeUploads)
+                .description("Uploads admitted and in progress")
+                .register(meterRegistry);
+        Gauge.builder("uploads.admission.bytes", this, filter -> filter.bytesInFlight)
+                .description("Declared size of the uploads in progress")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("uploads.admission.queued", queued, AtomicInteger::get)
+                .description("Uploads waiting for admission")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("uploads.admission.wait")
+                .description("Time admitted uploads waited for admission")
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectionCounter(meterRegistry, "queue-full");
+        this.rejectedTimeout = rejectionCounter(meterRegistry, "timeout");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("uploads.admission.rejected")
+                .description("Uploads refused with 503")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        contentType = contentType.toLowerCase(Locale.ROOT);
+        boolean multipartPost = HttpMethod.POST.matches(request.getMethod()) && contentType.startsWith("multipart/");
+        boolean binaryPut = HttpMethod.PUT.matches(request.getMethod())
+                && contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        return !multipartPost && !binaryPut;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        long charge;
+        try {
+            charge = admit(contentLength >= 0 ? contentLength : maxRequestSize);
+        } catch (ServiceUnavailableException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            release(charge);
+        }
+    }
+
+    /**
+     * Waits until an upload of the given size fits in the budget and takes its share.
+     *
+     * @param bytes the declared size of the upload
+     * @return the bytes charged, to be passed to {@link #release(long)}
+     * @throws ServiceUnavailableException if the queue is full or the wait timed out
+     */
+    long admit(long bytes) {
+        // An upload larger than the whole budget is admitted once it has the budget to itself.
+        long charge = Math.min(bytes, maxBytesInFlight);
+        lock.lock();
+        try {
+            if (waiting.isEmpty() && fits(charge)) {
+                take(charge);
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return charge;
+            }
+            if (waiting.size() >= maxQueued) {
+                rejectedQueueFull.increment();
+                throw refusal("Too many uploads are waiting");
+            }
+            Object ticket = new Object();
+            waiting.addLast(ticket);
+            queued.incrementAndGet();
+            long start = System.nanoTime();
+            long remaining = queueTimeout.toNanos();
+            try {
+                while (waiting.peekFirst() != ticket || !fits(charge)) {
+                    if (remaining <= 0) {
+                        rejectedTimeout.increment();
+                        throw refusal("Timed out waiting for upload capacity");
+                    }
+                    remaining = changed.awaitNanos(remaining);
+                }
+                take(charge);
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return charge;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw refusal("Interrupted while waiting for upload capacity");
+            } finally {
+                waiting.remove(ticket);
+                queued.decrementAndGet();
+                // The next request in line may fit now that this one has left the queue.
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an admitted upload's share of the budget.
+     *
+     * @param charge the bytes returned by {@link #admit(long)}
+     */
+    void release(long charge) {
+        lock.lock();
+        try {
+            activeUploads--;
+            bytesInFlight -= charge;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of requests waiting for admission.
+     *
+     * @return the queue depth
+     */
+    int queued() {
+        return queued.get();
+    }
+
+    private boolean fits(long charge) {
+        return activeUploads < maxConcurrentUploads && bytesInFlight + charge <= maxBytesInFlight;
+    }
+
+    private void take(long charge) {
+        activeUploads++;
+        bytesInFlight += charge;
+    }
+
+    private ServiceUnavailableException refusal(String reason) {
+        return new ServiceUnavailableException(reason + " (limit " + maxConcurrentUploads + " uploads, "
+                + DataSize.ofBytes(maxBytesInFlight).toMegabytes() + " MB in flight)", retryAfter);
+    }
+}
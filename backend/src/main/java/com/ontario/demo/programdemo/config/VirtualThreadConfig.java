@@ -0,0 +1,65 @@
+package com.ontario.demo.programdemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration applied when the application runs on virtual threads.
+ *
+ * <p>Virtual-thread mode is switched on with {@code spring.threads.virtual.enabled}
+ * ({@code VIRTUAL_THREADS_ENABLED} in Azure). Spring Boot then runs Tomcat request
+ * handling and the application task executor on virtual threads, and
+ * {@code BlobStorageService} stages upload blocks on them. Because request
+ * concurrency is then bounded only by memory, each connection pool is wrapped in a
+ * {@link ConcurrencyLimitedDataSource} sized to the pool.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Wraps each connection pool in a concurrency limiter.
+     *
+     * <p>The limit defaults to the pool's maximum size and can be set with
+     * {@code app.db-limiter.max-concurrency}; callers give up after
+     * {@code app.db-limiter.acquire-timeout}. Data sources that delegate to another
+     * one, such as the read replica routing, are left alone, as the pools beneath
+     * them are limited already.</p>
+     *
+     * @param environment the environment to read the limiter settings from
+     * @return the post-processor that wraps the {@link DataSource} beans
+     */
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                int poolSize = bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrency = environment.getProperty(
+                        "app.db-limiter.max-concurrency", Integer.class, poolSize);
+                Duration acquireTimeout = environment.getProperty(
+                        "app.db-limiter.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                log.info("Limiting data source '{}' to {} concurrent connections (virtual threads)",
+                        beanName, maxConcurrency);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+            }
+        };
+    }
+}
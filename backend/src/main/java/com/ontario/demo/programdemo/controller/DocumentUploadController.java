@@ -0,0 +1,105 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.dto.DocumentUploadRequest;
+import com.ontario.demo.programdemo.dto.DocumentUploadResponse;
+import com.ontario.demo.programdemo.service.DocumentUploadService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * REST controller for resumable uploads of program documents.
+ *
+ * <p>An alternative to attaching the document to {@code POST /api/programs} for
+ * large files on unreliable connections: the document is sent in numbered chunks
+ * that can be retried one by one (see {@link DocumentUploadService}).</p>
+ */
+@RestController
+@RequestMapping("/api/programs/{id}/uploads")
+public class DocumentUploadController {
+
+    private final DocumentUploadService uploadService;
+
+    /**
+     * Constructs the controller with the required service dependency.
+     *
+     * @param uploadService the resumable upload service
+     */
+    public DocumentUploadController(DocumentUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+
+    /**
+     * Starts a resumable upload of a program's document.
+     *
+     * @param id      the program ID
+     * @param request the file name, content type and size
+     * @return the new session, including its chunk size and count, with HTTP 201 status
+     * @throws IllegalArgumentException if the program is not found or the file is too large
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DocumentUploadResponse> createUpload(@PathVariable Long id,
+                                                               @RequestBody @Valid DocumentUploadRequest request) {
+        DocumentUploadResponse response = uploadService.createUpload(id, request);
+        return ResponseEntity.created(URI.create("/api/programs/" + id + "/uploads/" + response.getUploadId()))
+                .body(response);
+    }
+
+    /**
+     * Receives one chunk of a document. Chunks may be sent in any order, in parallel,
+     * and again after a failure.
+     *
+     * @param id       the program ID
+     * @param uploadId the upload session ID
+     * @param index    zero-based chunk position
+     * @param body     the chunk content
+     * @return HTTP 204 once the chunk is stored
+     * @throws IllegalArgumentException if the session is not found or the chunk has the wrong size
+     * @throws IOException              if reading the chunk fails
+     */
+    @PutMapping(path = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> putChunk(@PathVariable Long id, @PathVariable String uploadId,
+                                         @PathVariable int index, InputStream body) throws IOException {
+        uploadService.putChunk(id, uploadId, index, body);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Returns an upload session with the byte ranges received so far, so a client can
+     * resume by sending only the missing chunks.
+     *
+     * @param id       the program ID
+     * @param uploadId the upload session ID
+     * @return the session with HTTP 200 status
+     * @throws IllegalArgumentException if the session is not found or has expired
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<DocumentUploadResponse> getUpload(@PathVariable Long id, @PathVariable String uploadId) {
+        return ResponseEntity.ok(uploadService.getUpload(id, uploadId));
+    }
+
+    /**
+     * Completes an upload, making the document the program's supporting document.
+     *
+     * @param id       the program ID
+     * @param uploadId the upload session ID
+     * @return the session with the document URL, with HTTP 200 status
+     * @throws IllegalArgumentException if the session is not found or chunks are missing
+     */
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<DocumentUploadResponse> commitUpload(@PathVariable Long id,
+                                                               @PathVariable String uploadId) {
+        return ResponseEntity.ok(uploadService.commitUpload(id, uploadId));
+    }
+}
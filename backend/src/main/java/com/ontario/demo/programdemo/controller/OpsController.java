@@ -0,0 +1,69 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for operational diagnostics.
+ *
+ * <p>Exposes runtime counters of the backend's caches via the {@code /api/ops}
+ * base path. The same counters are published as meters for
+ * {@code /actuator/prometheus} (see {@code MetricsConfig}).</p>
+ */
+@RestController
+@RequestMapping("/api/ops")
+public class OpsController {
+
+    private final DocumentCache documentCache;
+    private final ProgramResponseCache responseCache;
+    private final ProgramChangeFeed changeFeed;
+
+    /**
+     * Constructs the controller with the components it reports on.
+     *
+     * @param documentCache the local cache of recently downloaded documents
+     * @param responseCache the cache of serialized program read responses
+     * @param changeFeed    the feed pushing program changes to subscribers
+     */
+    public OpsController(DocumentCache documentCache, ProgramResponseCache responseCache,
+                         ProgramChangeFeed changeFeed) {
+        this.documentCache = documentCache;
+        this.responseCache = responseCache;
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Returns the document cache hit, miss and eviction counters.
+     *
+     * @return the current counters with HTTP 200 status
+     */
+    @GetMapping("/document-cache")
+    public ResponseEntity<DocumentCache.Stats> getDocumentCacheStats() {
+        return ResponseEntity.ok(documentCache.stats());
+    }
+
+    /**
+     * Returns the program response cache hit, miss, eviction and invalidation counters.
+     *
+     * @return the current counters with HTTP 200 status
+     */
+    @GetMapping("/response-cache")
+    public ResponseEntity<ProgramResponseCache.Stats> getResponseCacheStats() {
+        return ResponseEntity.ok(responseCache.stats());
+    }
+
+    /**
+     * Returns the change feed subscriber and event counters.
+     *
+     * @return the current counters with HTTP 200 status
+     */
+    @GetMapping("/change-feed")
+    public ResponseEntity<ProgramChangeFeed.Stats> getChangeFeedStats() {
+        return ResponseEntity.ok(changeFeed.stats());
+    }
+}
@@ -1,16 +1,37 @@
 package com.ontario.demo.programdemo.controller;
 
+import com.ontario.demo.programdemo.dto.BulkReviewRequest;
+import com.ontario.demo.programdemo.dto.BulkReviewResponse;
+import com.ontario.demo.programdemo.dto.BulkSubmissionResponse;
+import com.ontario.demo.programdemo.dto.ProgramChanges;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramPage;
 import com.ontario.demo.programdemo.dto.ProgramRequest;
 import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.dto.ProgramStatistics;
 import com.ontario.demo.programdemo.dto.ReviewRequest;
 import com.ontario.demo.programdemo.dto.SummaryCallbackDto;
+import com.ontario.demo.programdemo.model.ProgramStatus;
 import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.DocumentDownload;
+import com.ontario.demo.programdemo.service.DocumentRange;
+import com.ontario.demo.programdemo.service.ProgramBulkService;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramCounters;
+import com.ontario.demo.programdemo.service.ProgramExportService;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
 import com.ontario.demo.programdemo.service.ProgramService;
-import com.azure.storage.blob.models.BlobProperties;
+import com.ontario.demo.programdemo.service.ProgramSubmissionService;
+import com.azure.storage.blob.models.BlobStorageException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,15 +42,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for program submission and review endpoints.
@@ -43,19 +73,53 @@ public class ProgramController {
 
     private static final Logger log = LoggerFactory.getLogger(ProgramController.class);
 
+    /** Request attributes through which Tomcat sends a file region with {@code sendfile}. */
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
     private final ProgramService programService;
+    private final ProgramSubmissionService submissionService;
+    private final ProgramBulkService bulkService;
     private final BlobStorageService blobStorageService;
+    private final DocumentCache documentCache;
+    private final ProgramResponseCache responseCache;
+    private final ProgramChangeFeed changeFeed;
+    private final ProgramExportService exportService;
+    private final ProgramCounters counters;
 
     /**
      * Constructs the controller with the required service dependencies.
      *
      * @param programService     the program business logic service
-     * @param blobStorageService the blob storage service for document uploads
+     * @param submissionService  the service that submits programs with their documents
+     * @param bulkService        the service that ingests bulk submissions
+     * @param blobStorageService the blob storage service for document downloads
+     * @param documentCache      the local cache of recently downloaded documents
+     * @param responseCache      the cache of serialized program read responses
+     * @param changeFeed         the feed pushing program changes to subscribers
+     * @param exportService      the service writing full program exports
+     * @param counters           the live program counts by status and type
      */
     public ProgramController(ProgramService programService,
-                             BlobStorageService blobStorageService) {
+                             ProgramSubmissionService submissionService,
+                             ProgramBulkService bulkService,
+                             BlobStorageService blobStorageService,
+                             DocumentCache documentCache,
+                             ProgramResponseCache responseCache,
+                             ProgramChangeFeed changeFeed,
+                             ProgramExportService exportService,
+                             ProgramCounters counters) {
         this.programService = programService;
+        this.submissionService = submissionService;
+        this.bulkService = bulkService;
         this.blobStorageService = blobStorageService;
+        this.documentCache = documentCache;
+        this.responseCache = responseCache;
+        this.changeFeed = changeFeed;
+        this.exportService = exportService;
+        this.counters = counters;
     }
 
     /**
@@ -63,7 +127,8 @@ public class ProgramController {
      *
      * <p>Accepts {@code multipart/form-data} with a required {@code program} JSON part
      * and an optional {@code document} PDF part. When a PDF is provided it is uploaded
-     * to Azure Blob Storage and the resulting URL is persisted on the program record.</p>
+     * to Azure Blob Storage while the program record is saved with its URL, in a
+     * single database write (see {@link ProgramSubmissionService}).</p>
      *
      * @param request  the validated program submission data (JSON part)
      * @param document optional PDF document to attach (multipart part, max 50 MB)
@@ -73,43 +138,230 @@ public class ProgramController {
     public ResponseEntity<ProgramResponse> createProgram(
             @RequestPart("program") @Valid ProgramRequest request,
             @RequestPart(value = "document", required = false) MultipartFile document) {
-        ProgramResponse response = programService.createProgram(request);
-        if (document != null && !document.isEmpty()) {
-            try {
-                String url = blobStorageService.uploadDocument(response.getId(), document);
-                programService.updateDocumentUrl(response.getId(), url);
-                response = programService.getProgramById(response.getId());
-            } catch (IOException e) {
-                // Document upload failure is non-fatal — the program record is already saved.
-                log.warn("Failed to upload document for program {}: {}", response.getId(), e.getMessage());
-            }
-        }
+        ProgramResponse response = submissionService.submit(request, document);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Submits many program requests at once, such as a partner ministry's historical records.
+     *
+     * <p>Accepts a JSON array of program requests, read as a stream. Each record is
+     * validated on its own; valid records are created with batched inserts and the
+     * rejected ones are listed in the response (see {@link ProgramBulkService}).</p>
+     *
+     * @param body the request body
+     * @return the created IDs, rejected records and ingestion rate with HTTP 200 status
+     * @throws IOException if reading the body fails
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkSubmissionResponse> createProgramsBulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkService.submitJsonArray(body));
+    }
+
+    /**
+     * Submits many program requests at once as newline-delimited JSON, one per line.
+     *
+     * @param body the request body
+     * @return the created IDs, rejected records and ingestion rate with HTTP 200 status
+     * @throws IOException if reading the body fails
+     * @see #createProgramsBulk(InputStream)
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkSubmissionResponse> createProgramsBulkNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkService.submitNdjson(body));
+    }
+
     /**
      * Lists all programs, optionally filtered by a search term.
      *
-     * @param search optional query parameter to filter by program name
+     * <p>With {@code fields}, for example {@code fields=programName,status,createdDate},
+     * each program carries only those properties plus {@code id}, and only their
+     * columns are read from the database.</p>
+     *
+     * <p>Served from {@link ProgramResponseCache} with a strong ETag; a matching
+     * {@code If-None-Match} returns 304.</p>
+     *
+     * @param search         optional query parameter to filter by program name
+     * @param fields         optional comma-separated list of properties to return
+     * @param requestHeaders the request headers, for conditional and gzip requests
      * @return list of matching programs with HTTP 200 status
+     * @throws IllegalArgumentException if a requested field does not exist
      */
     @GetMapping
-    public ResponseEntity<List<ProgramResponse>> getPrograms(
-            @RequestParam(required = false) String search) {
-        List<ProgramResponse> programs = programService.getPrograms(search);
-        return ResponseEntity.ok(programs);
+    public ResponseEntity<byte[]> getPrograms(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String fields,
+            @RequestHeader HttpHeaders requestHeaders) {
+        Set<ProgramField> fieldSet = ProgramField.parse(fields);
+        if (fieldSet != null) {
+            return cachedJson(responseCache.programs(search, fieldSet,
+                    () -> programService.getPrograms(search, fieldSet)), requestHeaders);
+        }
+        return cachedJson(responseCache.programs(search, () -> programService.getPrograms(search)), requestHeaders);
+    }
+
+    /**
+     * Lists programs one page at a time, newest first.
+     *
+     * <p>Selected when the {@code limit} query parameter is present. Uses keyset
+     * pagination: pass the {@code nextCursor} of the previous page as {@code cursor}
+     * to continue; omit it to start from the newest program.</p>
+     *
+     * @param limit  maximum number of programs per page
+     * @param cursor optional opaque cursor returned by the previous page
+     * @return the page of programs with HTTP 200 status
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProgramPage> getProgramPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        ProgramPage page = programService.getProgramPage(cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Returns the programs changed since a delta-sync token.
+     *
+     * <p>Lets a client that keeps a copy of the program list refresh it without
+     * downloading every program: pass the {@code nextToken} of the previous sync as
+     * {@code since}, or omit it to receive every program.</p>
+     *
+     * @param since optional opaque token returned by the previous sync
+     * @param limit maximum number of programs to return
+     * @return the changed programs and the next token with HTTP 200 status
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProgramChanges> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(programService.getChangesSince(since, limit));
+    }
+
+    /**
+     * Returns program counts by status and by type, with requested budget totals.
+     *
+     * <p>Served from in-memory counters kept current from program changes and
+     * reconciled with the database periodically (see {@link ProgramCounters}).</p>
+     *
+     * @return the statistics with HTTP 200 status
+     * @throws com.ontario.demo.programdemo.exception.ServiceUnavailableException if the counters are still loading
+     */
+    @GetMapping("/statistics")
+    public ResponseEntity<ProgramStatistics> getStatistics() {
+        return ResponseEntity.ok(counters.statistics());
+    }
+
+    /**
+     * Downloads every program as newline-delimited JSON or CSV, for audits.
+     *
+     * <p>The export is written to the response while the programs are read from the
+     * database, so neither side holds the whole table in memory. The request runs
+     * in async mode and is bounded by {@code spring.mvc.async.request-timeout}.</p>
+     *
+     * @param format {@code ndjson} (the default) or {@code csv}
+     * @return the export as an attachment with HTTP 200 status
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPrograms(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ProgramExportService.Format exportFormat = ProgramExportService.Format.parse(format);
+        String filename = "programs-" + LocalDate.now() + "." + exportFormat.extension();
+        StreamingResponseBody body = out -> {
+            long started = System.nanoTime();
+            long count = exportService.export(exportFormat, out);
+            log.info("Exported {} programs as {} in {} ms", count, exportFormat,
+                    (System.nanoTime() - started) / 1_000_000);
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Streams program changes as Server-Sent Events, instead of polling the read endpoints.
+     *
+     * <p>Each event is named after the change ({@code created}, {@code reviewed},
+     * {@code document-attached}, {@code summary-ready}) and carries a
+     * {@link com.ontario.demo.programdemo.dto.ProgramChangeNotification} as JSON.</p>
+     *
+     * @param programId optional filter: only changes to this program
+     * @param status    optional filter: only changes leaving a program in this status
+     * @return the event stream
+     * @throws IllegalArgumentException if the status is not a valid program status
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long programId,
+                                    @RequestParam(required = false) String status) {
+        return changeFeed.subscribe(new ProgramChangeFeed.Filter(programId, parseStatus(status)));
+    }
+
+    private static ProgramStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return ProgramStatus.valueOf(status.strip().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
     }
 
     /**
      * Retrieves a single program by its ID.
      *
-     * @param id the program ID
+     * <p>Served from {@link ProgramResponseCache} with a strong ETag; a matching
+     * {@code If-None-Match} returns 304.</p>
+     *
+     * @param id             the program ID
+     * @param requestHeaders the request headers, for conditional and gzip requests
      * @return the program details with HTTP 200 status
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProgramResponse> getProgramById(@PathVariable Long id) {
-        ProgramResponse response = programService.getProgramById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<byte[]> getProgramById(@PathVariable Long id,
+                                                 @RequestHeader HttpHeaders requestHeaders) {
+        return cachedJson(responseCache.program(id, () -> programService.getProgramById(id)), requestHeaders);
+    }
+
+    /**
+     * Builds the response for a cached JSON body: 304 if the client's copy is current,
+     * otherwise the gzip copy when the client accepts it, or the plain JSON.
+     */
+    private static ResponseEntity<byte[]> cachedJson(ProgramResponseCache.CachedResponse cached,
+                                                     HttpHeaders requestHeaders) {
+        boolean gzip = cached.gzip() != null && acceptsGzip(requestHeaders);
+        String eTag = gzip ? cached.gzipETag() : cached.eTag();
+        if (cached.matches(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        return builder.body(cached.json());
+    }
+
+    /**
+     * Returns {@code true} if the {@code Accept-Encoding} header allows gzip.
+     */
+    private static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String header : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -120,30 +372,53 @@ public class ProgramController {
      * The blob is streamed to the client with appropriate content-type and
      * content-disposition headers for browser download.</p>
      *
-     * @param id the program ID
-     * @return the document as a downloadable stream, or HTTP 404 if no document exists
+     * <p>Supports single byte-range requests ({@code 206 Partial Content}) so PDF
+     * viewers can fetch pages on demand, and conditional requests via
+     * {@code If-None-Match} / {@code If-Modified-Since} ({@code 304 Not Modified}).
+     * Blob properties and content come back from one Blob Storage request.</p>
+     *
+     * <p>Recently downloaded documents are served from the local {@link DocumentCache};
+     * a whole document fetched from Blob Storage is copied into it as it is sent.
+     * A cached file is handed to the servlet container to send with {@code sendfile}
+     * when it supports that, so the bytes never enter the JVM; otherwise it is streamed
+     * from a memory-mapped region of the file, through the response's heap buffer.</p>
+     *
+     * @param id             the program ID
+     * @param requestHeaders the request headers ({@code Range} and conditional headers)
+     * @param request        the servlet request, used to hand cached files to the container
+     * @return the document (or requested range) as a stream, HTTP 304 if the client's copy
+     *         is current, HTTP 416 for an unsatisfiable range, or HTTP 404 if no document exists
      */
     @GetMapping("/{id}/document")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
-        ProgramResponse program = programService.getProgramById(id);
-        if (program.getDocumentUrl() == null || program.getDocumentUrl().isBlank()) {
+    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id,
+                                                     @RequestHeader HttpHeaders requestHeaders,
+                                                     HttpServletRequest request) {
+        ProgramService.ProgramDocument document = programService.getProgramDocument(id);
+        String documentUrl = document.url();
+        if (documentUrl == null || documentUrl.isBlank()) {
             return ResponseEntity.notFound().build();
         }
 
+        DocumentRange range = DocumentRange.parse(requestHeaders.getFirst(HttpHeaders.RANGE));
+        String ifNoneMatch = requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH);
+        long ifModifiedSinceMillis = requestHeaders.getIfModifiedSince();
+        OffsetDateTime ifModifiedSince = ifModifiedSinceMillis >= 0
+                ? Instant.ofEpochMilli(ifModifiedSinceMillis).atOffset(ZoneOffset.UTC)
+                : null;
         try {
-            BlobProperties properties = blobStorageService.getBlobProperties(program.getDocumentUrl());
-            Resource resource = blobStorageService.downloadDocument(program.getDocumentUrl());
-
-            String filename = extractFilename(program.getDocumentUrl());
-            String contentType = properties.getContentType() != null
-                    ? properties.getContentType()
-                    : "application/pdf";
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .contentLength(properties.getBlobSize())
-                    .body(resource);
+            DocumentDownload download = documentCache
+                    .open(documentUrl, range, ifNoneMatch, ifModifiedSince)
+                    .orElseGet(() -> documentCache.fillFrom(documentUrl, blobStorageService.openDocument(
+                            documentUrl, range, ifNoneMatch, ifModifiedSince)));
+            String filename = document.filename() != null ? document.filename() : extractFilename(documentUrl);
+            return toDocumentResponse(download, filename, request);
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                log.warn("Document blob missing for program {}: {}", id, documentUrl);
+                return ResponseEntity.notFound().build();
+            }
+            log.error("Failed to download document for program {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (Exception e) {
             log.error("Failed to download document for program {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -151,12 +426,84 @@ public class ProgramController {
     }
 
     /**
-     * Extracts the filename from a full blob URL.
+     * Maps a document download outcome to the HTTP response.
+     *
+     * @param download the outcome from {@link DocumentCache#open} or {@link BlobStorageService#openDocument}
+     * @param filename the filename for the {@code Content-Disposition} header
+     * @param request  the servlet request, used to hand cached files to the container
+     * @return the response entity
+     * @throws IOException if a cached file cannot be opened
+     */
+    private ResponseEntity<Resource> toDocumentResponse(DocumentDownload download, String filename,
+                                                        HttpServletRequest request) throws IOException {
+        return switch (download) {
+            case DocumentDownload.NotModified notModified -> {
+                ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .cacheControl(CacheControl.noCache().cachePrivate());
+                if (notModified.eTag() != null) {
+                    builder.eTag(notModified.eTag());
+                }
+                yield builder.build();
+            }
+            case DocumentDownload.RangeNotSatisfiable unsatisfiable ->
+                    ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + unsatisfiable.blobSize())
+                            .build();
+            case DocumentDownload.Content content -> contentResponse(content.contentType(), content.blobSize(),
+                    content.rangeStart(), content.rangeLength(), content.partial(), content.eTag(),
+                    content.lastModified(), filename)
+                    .body(new InputStreamResource(content.stream()));
+            case DocumentDownload.CachedFile cached -> {
+                ResponseEntity.BodyBuilder builder = contentResponse(cached.contentType(), cached.blobSize(),
+                        cached.rangeStart(), cached.rangeLength(), cached.partial(), cached.eTag(),
+                        cached.lastModified(), filename);
+                if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+                    // Tomcat writes the file region itself (FileChannel.transferTo) after the headers.
+                    request.setAttribute(SENDFILE_FILENAME_ATTR, cached.file().toAbsolutePath().toString());
+                    request.setAttribute(SENDFILE_START_ATTR, cached.rangeStart());
+                    request.setAttribute(SENDFILE_END_ATTR, cached.rangeStart() + cached.rangeLength());
+                    yield builder.build();
+                }
+                yield builder.body(new InputStreamResource(DocumentCache.openMapped(cached)));
+            }
+        };
+    }
+
+    /**
+     * Starts a {@code 200} or {@code 206} document response with the content headers set.
+     *
+     * @return the response builder, ready for the body
+     */
+    private static ResponseEntity.BodyBuilder contentResponse(String contentType, long blobSize,
+                                                              long rangeStart, long rangeLength,
+                                                              boolean partial, String eTag,
+                                                              OffsetDateTime lastModified, String filename) {
+        ResponseEntity.BodyBuilder builder = partial
+                ? ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + rangeStart + "-"
+                                + (rangeStart + rangeLength - 1) + "/" + blobSize)
+                : ResponseEntity.ok();
+        builder.header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.parseMediaType(contentType != null ? contentType : "application/pdf"))
+                .contentLength(rangeLength);
+        if (eTag != null) {
+            builder.eTag(eTag);
+        }
+        if (lastModified != null) {
+            builder.lastModified(lastModified.toInstant());
+        }
+        return builder;
+    }
+
+    /**
+     * Extracts the filename from a full blob URL, for documents stored under their file name.
      *
      * @param blobUrl the full blob URL
      * @return the filename portion of the URL
      */
-    private String extractFilename(String blobUrl) {
+    static String extractFilename(String blobUrl) {
         String path = URI.create(blobUrl).getPath();
         int lastSlash = path.lastIndexOf('/');
         return lastSlash >= 0 ? path.substring(lastSlash + 1) : path;
@@ -177,6 +524,21 @@ public class ProgramController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Approves or rejects many program submissions at once.
+     *
+     * <p>Targets the listed program IDs, or every submitted program matching the
+     * filter. The decision is written with set-based updates, without loading each
+     * program; programs already reviewed are skipped (see {@link ProgramBulkService}).</p>
+     *
+     * @param request the validated targets and review decision
+     * @return the reviewed and skipped program IDs with HTTP 200 status
+     */
+    @PutMapping("/bulk/review")
+    public ResponseEntity<BulkReviewResponse> reviewProgramsBulk(@Valid @RequestBody BulkReviewRequest request) {
+        return ResponseEntity.ok(bulkService.review(request));
+    }
+
     /**
      * Receives an AI-generated summary callback from the Azure Function App.
      *
@@ -0,0 +1,49 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.dto.SummaryCallbackDto;
+import com.ontario.demo.programdemo.service.ProgramService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for content-addressed documents, which several programs may share.
+ */
+@RestController
+@RequestMapping("/api/documents")
+public class StoredDocumentController {
+
+    private final ProgramService programService;
+
+    /**
+     * Constructs the controller with the required service dependency.
+     *
+     * @param programService the program business logic service
+     */
+    public StoredDocumentController(ProgramService programService) {
+        this.programService = programService;
+    }
+
+    /**
+     * Receives an AI-generated summary callback from the Azure Function App for a
+     * stored document, and applies it to every program that attaches the document.
+     *
+     * <p>Called by the {@code PdfSummarizer} Function for blobs under {@code sha256/}.
+     * Returns HTTP 204 on success.</p>
+     *
+     * @param contentHash the SHA-256 of the document
+     * @param dto         the callback payload containing the generated summary
+     * @return HTTP 204 No Content on success
+     */
+    @PatchMapping("/{contentHash}/summary")
+    public ResponseEntity<Void> updateAiSummary(
+            @PathVariable String contentHash,
+            @Valid @RequestBody SummaryCallbackDto dto) {
+        programService.updateDocumentSummary(contentHash, dto.getSummary());
+        return ResponseEntity.noContent().build();
+    }
+}
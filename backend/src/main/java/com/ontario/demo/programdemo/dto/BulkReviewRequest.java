@@ -0,0 +1,41 @@
+package com.ontario.demo.programdemo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Request DTO for applying one review decision to many program submissions.
+ *
+ * <p>Targets either an explicit list of program IDs or, when no IDs are given,
+ * every submitted program matching the filter fields. At least one filter field
+ * is required so a decision is never applied to the whole backlog by accident.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewRequest {
+
+    /** Programs to review. */
+    @Size(max = 10000, message = "At most 10000 program IDs can be reviewed at once")
+    private List<Long> ids;
+
+    /** Filter: review submitted programs of this type. */
+    private Integer programTypeId;
+
+    /** Filter: review programs submitted before this time. */
+    private LocalDateTime submittedBefore;
+
+    /** The decision applied to every targeted program. */
+    @NotNull(message = "Decision is required")
+    @Valid
+    private ReviewRequest decision;
+}
@@ -0,0 +1,34 @@
+package com.ontario.demo.programdemo.dto;
+
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO summarizing a bulk review.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewResponse {
+
+    /** The decision that was applied. */
+    private ProgramStatus status;
+
+    /** Number of programs targeted by the request. */
+    private int requested;
+
+    /** IDs of the programs that were reviewed. */
+    private List<Long> reviewedIds;
+
+    /** IDs of targeted programs left unchanged because they are missing or already reviewed. */
+    private List<Long> skippedIds;
+
+    /** Wall-clock time spent on the review, in milliseconds. */
+    private long elapsedMillis;
+}
@@ -0,0 +1,58 @@
+package com.ontario.demo.programdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO summarizing a bulk program submission.
+ *
+ * <p>Valid records are created even when others in the same submission fail;
+ * each failure is reported with the zero-based position of its record.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSubmissionResponse {
+
+    /** Number of records read from the request body. */
+    private int received;
+
+    /** Number of programs created. */
+    private int created;
+
+    /** Number of records rejected. */
+    private int failed;
+
+    /** IDs of the created programs, in submission order. */
+    private List<Long> createdIds;
+
+    /** Rejected records; only the first 1,000 are listed, {@link #failed} counts them all. */
+    private List<RecordError> errors;
+
+    /** Wall-clock time spent processing the submission, in milliseconds. */
+    private long elapsedMillis;
+
+    /** Created programs per second over {@link #elapsedMillis}. */
+    private double rowsPerSecond;
+
+    /**
+     * A record that could not be created.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError {
+
+        /** Zero-based position of the record in the submission. */
+        private int index;
+
+        /** Reasons the record was rejected. */
+        private List<String> messages;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ontario.demo.programdemo.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a resumable document upload.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentUploadRequest {
+
+    /** Name of the file being uploaded. */
+    @NotBlank(message = "File name is required")
+    @Size(max = 200, message = "File name must not exceed 200 characters")
+    private String fileName;
+
+    /** Content type of the file; defaults to {@code application/pdf}. */
+    @Size(max = 100, message = "Content type must not exceed 100 characters")
+    private String contentType;
+
+    /** Total size of the file in bytes. */
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long size;
+}
@@ -0,0 +1,65 @@
+package com.ontario.demo.programdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO describing a resumable document upload and the chunks received so far.
+ *
+ * <p>Chunk {@code i} covers bytes {@code i * chunkSize} up to the next chunk; every
+ * chunk but the last is exactly {@code chunkSize} bytes.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentUploadResponse {
+
+    /** Upload session ID. */
+    private String uploadId;
+
+    /** ID of the program the document belongs to. */
+    private Long programId;
+
+    /** Total size of the document in bytes. */
+    private long size;
+
+    /** Size of every chunk but the last, in bytes. */
+    private int chunkSize;
+
+    /** Number of chunks the document is divided into. */
+    private int chunkCount;
+
+    /** Byte ranges received so far, merged and in order. */
+    private List<ByteRange> receivedRanges;
+
+    /** Positions of the chunks not received yet. */
+    private List<Integer> missingChunks;
+
+    /** Time after which the session is discarded. */
+    private LocalDateTime expiresDate;
+
+    /** URL of the document once the upload is committed, otherwise {@code null}. */
+    private String documentUrl;
+
+    /**
+     * Inclusive range of bytes, as in an HTTP {@code Range} header.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ByteRange {
+
+        /** Position of the first byte. */
+        private long start;
+
+        /** Position of the last byte. */
+        private long end;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ontario.demo.programdemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data of one event on the program change feed ({@code GET /api/programs/events}).
+ *
+ * <p>Carries enough of the change for a client to update its view without
+ * fetching the program again. Fields that do not apply to the change type are
+ * omitted.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProgramChangeNotification {
+
+    /**
+     * Kind of change; also sent as the SSE event name in lower-kebab case.
+     */
+    public enum ChangeType {
+        /** A program was submitted. */
+        CREATED,
+        /** A program was approved or rejected. */
+        REVIEWED,
+        /** A supporting document was linked to a program. */
+        DOCUMENT_ATTACHED,
+        /** An AI summary of the program's document arrived. */
+        SUMMARY_READY;
+
+        /**
+         * Returns the SSE event name, e.g. {@code summary-ready}.
+         *
+         * @return the event name
+         */
+        public String eventName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    /** Kind of change. */
+    private ChangeType type;
+
+    /** ID of the program that changed. */
+    private Long programId;
+
+    /** Status of the program after the change. */
+    private ProgramStatus status;
+
+    /** Status before a review. */
+    private ProgramStatus previousStatus;
+
+    /** Blob URL of an attached document. */
+    private String documentUrl;
+
+    /** The AI-generated summary. */
+    private String aiSummary;
+
+    /** Time the change was committed, as seen by this server. */
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,32 @@
+package com.ontario.demo.programdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a delta sync: the programs changed since the client's token.
+ *
+ * <p>Clients replace their copy of each returned program (matched by ID) and pass
+ * {@link #nextToken} as {@code since} on the next sync. When {@link #hasMore} is
+ * {@code true} more changes are waiting and the client should sync again straight
+ * away.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramChanges {
+
+    /** Current state of each changed program, in the order the changes were made. */
+    private List<ProgramResponse> items;
+
+    /** Opaque token to send as {@code since} on the next sync; never {@code null}. */
+    private String nextToken;
+
+    /** Whether more changes are available beyond this response. */
+    private boolean hasMore;
+}
@@ -0,0 +1,97 @@
+package com.ontario.demo.programdemo.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A field of {@link ProgramResponse} that can be requested on its own with the
+ * {@code fields} query parameter.
+ *
+ * <p>Each field names the entity attribute it is read from, so a sparse list is
+ * fetched with a query that selects only those columns: the large
+ * {@code program_description}, {@code review_comments} and {@code ai_summary}
+ * columns are not read unless asked for. Fields are returned in declaration
+ * order, which matches the full response.</p>
+ */
+public enum ProgramField {
+
+    ID("id", "id"),
+    PROGRAM_NAME("programName", "programName"),
+    PROGRAM_DESCRIPTION("programDescription", "programDescription"),
+    PROGRAM_TYPE_ID("programTypeId", "programType.id"),
+    PROGRAM_TYPE_NAME_EN("programTypeNameEn", "programType.typeNameEn"),
+    PROGRAM_TYPE_NAME_FR("programTypeNameFr", "programType.typeNameFr"),
+    STATUS("status", "status"),
+    SUBMITTED_BY("submittedBy", "submittedBy"),
+    REVIEWED_BY("reviewedBy", "reviewedBy"),
+    REVIEW_COMMENTS("reviewComments", "reviewComments"),
+    DOCUMENT_URL("documentUrl", "documentUrl"),
+    AI_SUMMARY("aiSummary", "aiSummary"),
+    BUDGET("budget", "budget"),
+    CREATED_DATE("createdDate", "createdDate"),
+    UPDATED_DATE("updatedDate", "updatedDate");
+
+    private static final Map<String, ProgramField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(ProgramField::jsonName, Function.identity()));
+
+    private final String jsonName;
+    private final String attributePath;
+
+    ProgramField(String jsonName, String attributePath) {
+        this.jsonName = jsonName;
+        this.attributePath = attributePath;
+    }
+
+    /**
+     * Returns the property name in the JSON response.
+     *
+     * @return the JSON property name
+     */
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Returns the dot-separated path of the {@code Program} attribute holding the value.
+     *
+     * @return the attribute path, e.g. {@code programType.typeNameEn}
+     */
+    public String attributePath() {
+        return attributePath;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter.
+     *
+     * <p>{@link #ID} is always included, so clients can match rows and cached lists
+     * can be invalidated per program.</p>
+     *
+     * @param fields JSON property names, e.g. {@code "programName,status,createdDate"}
+     * @return the requested fields, or {@code null} if none were requested (full response)
+     * @throws IllegalArgumentException if a name is not a program field
+     */
+    public static Set<ProgramField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<ProgramField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            ProgramField field = BY_NAME.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed
+                        + ". Valid fields: " + String.join(", ", BY_NAME.keySet().stream().sorted().toList()));
+            }
+            parsed.add(field);
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
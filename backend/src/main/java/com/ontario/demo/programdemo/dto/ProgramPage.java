@@ -0,0 +1,28 @@
+package com.ontario.demo.programdemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of the cursor-paginated program list.
+ *
+ * <p>Pages are ordered newest first. Clients pass {@link #nextCursor} back as the
+ * {@code cursor} query parameter to fetch the following page; a {@code null}
+ * cursor means the last page has been reached.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramPage {
+
+    /** Programs on this page, newest first. */
+    private List<ProgramResponse> items;
+
+    /** Opaque token for the next page, or {@code null} when there are no more results. */
+    private String nextCursor;
+}
@@ -0,0 +1,65 @@
+package com.ontario.demo.programdemo.dto;
+
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO with program counts by status and by type, and requested budgets.
+ *
+ * <p>Served from live in-memory counters rather than queried, so the figures can
+ * briefly differ from the database until the next reconciliation.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgramStatistics {
+
+    /** Number of programs. */
+    private long total;
+
+    /** Sum of the requested budgets, in Canadian dollars. */
+    private BigDecimal totalBudget;
+
+    /** Number of programs in each status, including statuses with none. */
+    private Map<ProgramStatus, Long> byStatus;
+
+    /** Number of programs and requested budget per program type, by type ID. */
+    private List<TypeStatistics> byType;
+
+    /** Time the counters were last checked against the database. */
+    private LocalDateTime reconciledAt;
+
+    /**
+     * Counts for one program type.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TypeStatistics {
+
+        /** Program type ID. */
+        private Integer programTypeId;
+
+        /** English display name of the program type. */
+        private String programTypeNameEn;
+
+        /** French display name of the program type. */
+        private String programTypeNameFr;
+
+        /** Number of programs of this type. */
+        private long count;
+
+        /** Sum of the requested budgets of this type, in Canadian dollars. */
+        private BigDecimal budget;
+    }
+}
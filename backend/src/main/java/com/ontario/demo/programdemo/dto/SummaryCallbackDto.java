@@ -4,7 +4,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 /**
- * Request body for the PATCH {@code /api/programs/{id}/summary} callback endpoint.
+ * Request body for the PATCH {@code /api/programs/{id}/summary} and
+ * {@code /api/documents/{contentHash}/summary} callback endpoints.
  *
  * <p>The Azure Function App calls this endpoint after generating an AI summary
  * from the uploaded PDF document.</p>
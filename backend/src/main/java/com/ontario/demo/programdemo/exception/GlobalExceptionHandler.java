@@ -1,7 +1,10 @@
 package com.ontario.demo.programdemo.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -72,6 +75,38 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    /**
+     * Handles updates that lost a race with a concurrent change to the same program.
+     *
+     * @param ex the optimistic locking failure
+     * @return a ProblemDetail response with 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        problemDetail.setTitle("Conflict");
+        problemDetail.setDetail("The program was changed by another request. Reload it and try again.");
+        problemDetail.setType(URI.create("https://ontario.ca/errors/conflict"));
+        return problemDetail;
+    }
+
+    /**
+     * Handles requests refused because a capacity limit has been reached.
+     *
+     * @param ex the service-unavailable exception
+     * @return a ProblemDetail response with 503 status and a {@code Retry-After} header
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setDetail(ex.getMessage());
+        problemDetail.setType(URI.create("https://ontario.ca/errors/unavailable"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(problemDetail);
+    }
+
     /**
      * Catches all unhandled exceptions as a fallback.
      *
@@ -0,0 +1,34 @@
+package com.ontario.demo.programdemo.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is refused because a capacity limit has been reached.
+ *
+ * <p>Mapped to HTTP 503 with a {@code Retry-After} header by
+ * {@link GlobalExceptionHandler}.</p>
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs the exception.
+     *
+     * @param message    the detail shown to the client
+     * @param retryAfter how long the client should wait before retrying
+     */
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before retrying.
+     *
+     * @return the retry delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
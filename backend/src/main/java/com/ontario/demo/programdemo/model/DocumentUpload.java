@@ -0,0 +1,101 @@
+package com.ontario.demo.programdemo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity representing a resumable document upload session.
+ *
+ * <p>The document's chunks are staged as uncommitted blocks on its blob, so the
+ * session only records where they go and how the file is divided; which chunks
+ * have arrived is read from Blob Storage. The session is deleted once the blocks
+ * are committed, or when it expires.</p>
+ */
+@Entity
+@Table(name = "document_upload")
+@Data
+@NoArgsConstructor
+public class DocumentUpload implements Persistable<String> {
+
+    /** Random UUID, assigned when the session is created. */
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+
+    /** ID of the program the document belongs to. */
+    @Column(name = "program_id", nullable = false)
+    private Long programId;
+
+    /** Path of the document's blob within the container. */
+    @Column(name = "blob_name", nullable = false, length = 300)
+    private String blobName;
+
+    /** Content type set on the blob when it is committed. */
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    /** Total size of the document in bytes. */
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    /** Size of every chunk but the last, in bytes. */
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    /** Session creation timestamp. */
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    /** Time after which the session is no longer accepted and is deleted. */
+    @Column(name = "expires_date", nullable = false)
+    private LocalDateTime expiresDate;
+
+    /** Whether the row exists, so that saving a new session inserts it without a lookup first. */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * Returns the number of chunks the document is divided into.
+     *
+     * @return the chunk count
+     */
+    public int chunkCount() {
+        return Math.toIntExact((fileSize + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Returns the size of the chunk at the given position; only the last may be short.
+     *
+     * @param index zero-based chunk position
+     * @return the chunk length in bytes
+     */
+    public int chunkLength(int index) {
+        return Math.toIntExact(Math.min(chunkSize, fileSize - (long) index * chunkSize));
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
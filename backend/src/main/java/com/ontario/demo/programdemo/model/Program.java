@@ -12,7 +12,9 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -32,9 +34,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Program {
 
-    /** Auto-increment primary key. */
+    /**
+     * Primary key drawn from {@code program_id_seq}, so an ID can also be reserved
+     * ahead of the insert (see {@code ProgramRepository#reserveId()}). IDs are
+     * allocated 50 at a time, matching the sequence increment, so batched inserts
+     * need one sequence call per 50 rows.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "program_id_seq")
+    @SequenceGenerator(name = "program_id_seq", sequenceName = "program_id_seq", allocationSize = 50)
     private Long id;
 
     /** Name of the program request. */
@@ -71,6 +79,20 @@ public class Program {
     @Column(name = "document_url", length = 500)
     private String documentUrl;
 
+    /**
+     * SHA-256 of the document, linking the program to its {@code StoredDocument},
+     * or {@code null} if the document is not content-addressed.
+     */
+    @Column(name = "document_hash", length = 64)
+    private String documentHash;
+
+    /**
+     * File name the document was submitted with, or {@code null} if the document URL
+     * ends in it (documents attached before content addressing).
+     */
+    @Column(name = "document_filename", length = 255)
+    private String documentFilename;
+
     /** Requested budget for the program in Canadian dollars. */
     @Column(name = "budget", precision = 15, scale = 2)
     private java.math.BigDecimal budget;
@@ -91,6 +113,15 @@ public class Program {
     @Column(name = "updated_date", nullable = false)
     private LocalDateTime updatedDate;
 
+    /**
+     * Optimistic-locking version, incremented by every review. Targeted {@code UPDATE}
+     * statements in {@code ProgramRepository} increment it themselves; document and
+     * AI summary updates do not, as they cannot conflict with a review.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Sets creation and update timestamps before initial persist.
      */
@@ -0,0 +1,91 @@
+package com.ontario.demo.programdemo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity representing a distinct document, stored once however many programs attach it.
+ *
+ * <p>Keyed by the SHA-256 of the content. Programs point at it through
+ * {@code program.document_hash}, and {@link #refCount} counts them, so the blob is
+ * only deleted once no program references it. The AI summary is generated once per
+ * document and copied to each program that attaches it.</p>
+ */
+@Entity
+@Table(name = "stored_document")
+@Data
+@NoArgsConstructor
+public class StoredDocument implements Persistable<String> {
+
+    /** Lower-case hexadecimal SHA-256 of the content. */
+    @Id
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    /** Path of the document's blob within the container. */
+    @Column(name = "blob_name", nullable = false, length = 300)
+    private String blobName;
+
+    /** Content type set on the blob. */
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    /** Size of the document in bytes. */
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    /** Number of programs whose document this is. */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+
+    /** Time the blob was committed, or {@code null} while the first upload is in progress or failed. */
+    @Column(name = "uploaded_date")
+    private LocalDateTime uploadedDate;
+
+    /** AI-generated plain-language summary of the document. Set asynchronously by the Azure Function. */
+    @Column(name = "ai_summary", columnDefinition = "NVARCHAR(MAX)")
+    private String aiSummary;
+
+    /** Timestamp when the AI summary was generated. */
+    @Column(name = "ai_summary_generated_date")
+    private LocalDateTime aiSummaryGeneratedDate;
+
+    /** Record creation timestamp. */
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    /** Whether the row exists, so that saving a new document inserts it without a lookup first. */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return contentHash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
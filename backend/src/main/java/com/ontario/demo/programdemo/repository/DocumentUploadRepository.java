@@ -0,0 +1,53 @@
+package com.ontario.demo.programdemo.repository;
+
+import com.ontario.demo.programdemo.model.DocumentUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for {@link DocumentUpload} sessions.
+ */
+@Repository
+public interface DocumentUploadRepository extends JpaRepository<DocumentUpload, String> {
+
+    /**
+     * Finds an upload session of a program that has not expired.
+     *
+     * @param id        the session ID
+     * @param programId the program the session must belong to
+     * @param now       the current time
+     * @return the session, or empty if there is none or it has expired
+     */
+    @Query("SELECT u FROM DocumentUpload u WHERE u.id = :id AND u.programId = :programId AND u.expiresDate > :now")
+    Optional<DocumentUpload> findActive(@Param("id") String id, @Param("programId") Long programId,
+                                        @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes an upload session in one statement, without loading it first.
+     *
+     * @param id the session ID
+     * @return the number of sessions deleted (0 or 1)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DocumentUpload u WHERE u.id = :id")
+    int deleteUpload(@Param("id") String id);
+
+    /**
+     * Deletes every upload session that expired before the given time.
+     *
+     * @param now the current time
+     * @return the number of sessions deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DocumentUpload u WHERE u.expiresDate <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,45 @@
+package com.ontario.demo.programdemo.repository;
+
+import com.ontario.demo.programdemo.dto.ProgramField;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Queries that read only selected program fields, for sparse list responses.
+ *
+ * <p>Each query selects just the columns of the requested {@link ProgramField}s
+ * (joining {@code program_type} only when a type name is requested) and returns
+ * one map per program, keyed by {@link ProgramField#jsonName()} in field order.
+ * No entities are loaded, so unrequested columns are never read.</p>
+ */
+public interface ProgramProjectionRepository {
+
+    /**
+     * Reads the given fields of every program.
+     *
+     * @param fields the fields to read
+     * @return one map per program
+     */
+    List<Map<String, Object>> findAllProjected(Set<ProgramField> fields);
+
+    /**
+     * Reads the given fields of the programs with the given IDs, in no particular order.
+     *
+     * @param ids    the program IDs
+     * @param fields the fields to read
+     * @return one map per program found
+     */
+    List<Map<String, Object>> findProjectedByIdIn(Collection<Long> ids, Set<ProgramField> fields);
+
+    /**
+     * Reads the given fields of the programs whose name contains the search term (case-insensitive).
+     *
+     * @param programName the search term to match against program names
+     * @param fields      the fields to read
+     * @return one map per matching program
+     */
+    List<Map<String, Object>> findProjectedByProgramNameContaining(String programName, Set<ProgramField> fields);
+}
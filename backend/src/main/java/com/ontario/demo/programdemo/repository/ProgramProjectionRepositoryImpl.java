@@ -0,0 +1,93 @@
+package com.ontario.demo.programdemo.repository;
+
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.model.Program;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Criteria API implementation of {@link ProgramProjectionRepository}.
+ */
+class ProgramProjectionRepositoryImpl implements ProgramProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllProjected(Set<ProgramField> fields) {
+        return select(fields, (cb, program) -> null);
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjectedByIdIn(Collection<Long> ids, Set<ProgramField> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return select(fields, (cb, program) -> program.get("id").in(ids));
+    }
+
+    @Override
+    public List<Map<String, Object>> findProjectedByProgramNameContaining(String programName,
+                                                                         Set<ProgramField> fields) {
+        String escaped = programName.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return select(fields, (cb, program) ->
+                cb.like(cb.lower(program.get("programName")), "%" + escaped + "%", '\\'));
+    }
+
+    private List<Map<String, Object>> select(Set<ProgramField> fields,
+                                             BiFunction<CriteriaBuilder, Root<Program>, Predicate> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Program> program = query.from(Program.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (ProgramField field : fields) {
+            selections.add(path(program, field).alias(field.jsonName()));
+        }
+        query.multiselect(selections);
+        Predicate predicate = where.apply(cb, program);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> projected = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (ProgramField field : fields) {
+                values.put(field.jsonName(), row.get(field.jsonName()));
+            }
+            projected.add(values);
+        }
+        return projected;
+    }
+
+    /**
+     * Resolves a field's attribute path; {@code programType.id} reads the foreign key
+     * without a join, the type names join {@code program_type}.
+     */
+    private static Path<?> path(Root<Program> program, ProgramField field) {
+        Path<?> path = program;
+        for (String attribute : field.attributePath().split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+}
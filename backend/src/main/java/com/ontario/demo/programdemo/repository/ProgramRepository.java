@@ -2,19 +2,164 @@ package com.ontario.demo.programdemo.repository;
 
 import com.ontario.demo.programdemo.model.Program;
 import com.ontario.demo.programdemo.model.ProgramStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for {@link Program} entities.
  *
  * <p>Provides CRUD operations and custom query methods for
- * program submissions using method-name-based queries.</p>
+ * program submissions using method-name-based queries. Queries that read only
+ * selected fields come from {@link ProgramProjectionRepository}.</p>
+ *
+ * <p>Queries returning several programs fetch each program's type in the same
+ * statement. Left to the eager {@code @ManyToOne}, Hibernate would load the types
+ * with one extra {@code SELECT} per distinct type after the list query.</p>
  */
 @Repository
-public interface ProgramRepository extends JpaRepository<Program, Long> {
+public interface ProgramRepository extends JpaRepository<Program, Long>, ProgramProjectionRepository {
+
+    /** Rows fetched per round trip by {@link #streamAllForExport()}. */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * A program ID with the row version of its latest change.
+     */
+    interface ProgramVersion {
+
+        /**
+         * Returns the program ID.
+         *
+         * @return the program ID
+         */
+        Long getId();
+
+        /**
+         * Returns the {@code row_version} column as a number.
+         *
+         * @return the row version
+         */
+        Long getRowVersion();
+    }
+
+    /**
+     * A program ID with the program's status.
+     */
+    interface ProgramStatusRow {
+
+        /**
+         * Returns the program ID.
+         *
+         * @return the program ID
+         */
+        Long getId();
+
+        /**
+         * Returns the program's status.
+         *
+         * @return the program status
+         */
+        ProgramStatus getStatus();
+    }
+
+    /**
+     * Number of programs in one status.
+     */
+    interface StatusCount {
+
+        /**
+         * Returns the status.
+         *
+         * @return the program status
+         */
+        ProgramStatus getStatus();
+
+        /**
+         * Returns the number of programs in the status.
+         *
+         * @return the program count
+         */
+        Long getCount();
+    }
+
+    /**
+     * Number of programs of one type and the sum of their requested budgets.
+     */
+    interface TypeTotal {
+
+        /**
+         * Returns the program type ID.
+         *
+         * @return the program type ID
+         */
+        Integer getProgramTypeId();
+
+        /**
+         * Returns the number of programs of the type.
+         *
+         * @return the program count
+         */
+        Long getCount();
+
+        /**
+         * Returns the sum of the requested budgets, or {@code null} if none has a budget.
+         *
+         * @return the budget total
+         */
+        BigDecimal getBudget();
+    }
+
+    /**
+     * Counts programs by status.
+     *
+     * @return one row per status that has programs
+     */
+    @Query("SELECT p.status AS status, COUNT(p) AS count FROM Program p GROUP BY p.status")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Counts programs and sums their requested budgets by program type.
+     *
+     * @return one row per program type that has programs
+     */
+    @Query("SELECT p.programType.id AS programTypeId, COUNT(p) AS count, SUM(p.budget) AS budget"
+            + " FROM Program p GROUP BY p.programType.id")
+    List<TypeTotal> totalByType();
+
+    /**
+     * Finds every program with its program type.
+     *
+     * @return all programs
+     */
+    @Override
+    @EntityGraph(attributePaths = "programType")
+    List<Program> findAll();
+
+    /**
+     * Finds the programs with the given IDs, with their program types.
+     *
+     * @param ids the program IDs
+     * @return the programs found, in no particular order
+     */
+    @Override
+    @EntityGraph(attributePaths = "programType")
+    List<Program> findAllById(Iterable<Long> ids);
 
     /**
      * Finds programs whose name contains the given search term (case-insensitive).
@@ -22,6 +167,7 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
      * @param programName the search term to match against program names
      * @return list of matching programs
      */
+    @EntityGraph(attributePaths = "programType")
     List<Program> findByProgramNameContainingIgnoreCase(String programName);
 
     /**
@@ -30,6 +176,7 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
      * @param status the program status to filter by
      * @return list of programs with the specified status
      */
+    @EntityGraph(attributePaths = "programType")
     List<Program> findByStatus(ProgramStatus status);
 
     /**
@@ -38,5 +185,282 @@ public interface ProgramRepository extends JpaRepository<Program, Long> {
      * @param submittedBy the citizen email or user ID
      * @return list of programs submitted by the citizen
      */
+    @EntityGraph(attributePaths = "programType")
     List<Program> findBySubmittedBy(String submittedBy);
+
+    /**
+     * Returns the first page of programs, newest first.
+     *
+     * <p>Ordered by {@code created_date} then {@code id} so that the scan can be
+     * served from {@code IX_program_created_date} (which carries the clustered
+     * key) and stopped after {@code limit} rows.</p>
+     *
+     * @param limit maximum number of programs to return
+     * @return the newest programs
+     */
+    @EntityGraph(attributePaths = "programType")
+    List<Program> findAllByOrderByCreatedDateDescIdDesc(Limit limit);
+
+    /**
+     * Returns the page of programs that follows the given keyset position, newest first.
+     *
+     * <p>Seeks directly to the position instead of skipping rows, so every page
+     * costs the same regardless of how deep into the list it is.</p>
+     *
+     * @param createdDate creation timestamp of the last program on the previous page
+     * @param id          ID of the last program on the previous page
+     * @param limit       maximum number of programs to return
+     * @return the programs older than the given position
+     */
+    @EntityGraph(attributePaths = "programType")
+    @Query("SELECT p FROM Program p"
+            + " WHERE p.createdDate < :createdDate"
+            + " OR (p.createdDate = :createdDate AND p.id < :id)"
+            + " ORDER BY p.createdDate DESC, p.id DESC")
+    List<Program> findPageAfter(@Param("createdDate") LocalDateTime createdDate,
+                                @Param("id") Long id,
+                                Limit limit);
+
+    /**
+     * Streams every program with its program type, in ID order, for a full export.
+     *
+     * <p>Rows are read from a forward-only result set {@value #EXPORT_FETCH_SIZE} at a
+     * time rather than collected into a list, and the programs are loaded read-only so
+     * Hibernate keeps no snapshots of them. The caller must hold a transaction open
+     * while consuming the stream, close it afterwards, and detach each program once
+     * written so the persistence context does not grow with the table.</p>
+     *
+     * @return the programs, lowest ID first
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Program p JOIN FETCH p.programType ORDER BY p.id")
+    Stream<Program> streamAllForExport();
+
+    /**
+     * Returns the lowest row version that may still be assigned to a committed change.
+     *
+     * <p>Every row version below it belongs to a committed write; a transaction still
+     * in flight holds this value or a higher one. Reading changes only below it means
+     * a write that commits later can never carry a row version a sync has already
+     * passed.</p>
+     *
+     * @return {@code MIN_ACTIVE_ROWVERSION()} as a number
+     */
+    @Query(value = "SELECT CAST(MIN_ACTIVE_ROWVERSION() AS BIGINT)", nativeQuery = true)
+    long minActiveRowVersion();
+
+    /**
+     * Finds the programs whose row version lies strictly between two positions, in change order.
+     *
+     * <p>Reads only {@code IX_program_row_version} (which carries the clustered key),
+     * so the cost depends on the number of changes returned rather than the size of
+     * the table. The {@code row_version} column is not mapped on {@link Program},
+     * which keeps schema validation independent of the SQL Server-only type.</p>
+     *
+     * @param after  row version already seen by the client
+     * @param before upper bound, normally {@link #minActiveRowVersion()}
+     * @param limit  maximum number of programs to return
+     * @return the changed program IDs with their row versions, oldest change first
+     */
+    @Query(value = "SELECT TOP (:limit) id AS id, CAST(row_version AS BIGINT) AS rowVersion FROM program"
+            + " WHERE row_version > CAST(:after AS BINARY(8)) AND row_version < CAST(:before AS BINARY(8))"
+            + " ORDER BY row_version", nativeQuery = true)
+    List<ProgramVersion> findChangedBetween(@Param("after") long after,
+                                     @Param("before") long before,
+                                     @Param("limit") int limit);
+
+    /**
+     * Reserves the next program ID from {@code program_id_seq} without writing a row.
+     *
+     * <p>The sequence advances in blocks of 50 for Hibernate's pooled ID allocation.
+     * The value returned here is the top of a block Hibernate never receives, so it
+     * cannot collide with a generated ID; the rest of that block goes unused.</p>
+     *
+     * @return an ID no other program will receive
+     */
+    @Query(value = "SELECT NEXT VALUE FOR program_id_seq", nativeQuery = true)
+    long reserveId();
+
+    /**
+     * Inserts a new program whose ID was reserved with {@link #reserveId()}.
+     *
+     * <p>A single {@code INSERT} with no preceding {@code SELECT}: {@code save} would
+     * treat a program with an ID as existing and load it first. The timestamps must
+     * already be set, as {@code @PrePersist} callbacks do not run. The AI summary is
+     * written too, as a known document arrives with its summary.</p>
+     *
+     * @param program the program to insert, with its ID and timestamps set
+     */
+    @Modifying
+    @Query("INSERT INTO Program (id, programName, programDescription, programType, status,"
+            + " submittedBy, documentUrl, documentHash, documentFilename, budget, aiSummary,"
+            + " aiSummaryGeneratedDate, createdDate, updatedDate, version)"
+            + " VALUES (:#{#program.id}, :#{#program.programName}, :#{#program.programDescription},"
+            + " :#{#program.programType}, :#{#program.status}, :#{#program.submittedBy},"
+            + " :#{#program.documentUrl}, :#{#program.documentHash}, :#{#program.documentFilename},"
+            + " :#{#program.budget},"
+            + " :#{#program.aiSummary}, :#{#program.aiSummaryGeneratedDate}, :#{#program.createdDate},"
+            + " :#{#program.updatedDate}, 0)")
+    void insertWithReservedId(@Param("program") Program program);
+
+    /**
+     * Finds the IDs of programs in the given status, optionally narrowed by type and
+     * submission date, without loading the programs.
+     *
+     * @param status          the program status to filter by
+     * @param programTypeId   program type to match, or {@code null} for any type
+     * @param submittedBefore only programs created before this time, or {@code null} for any time
+     * @return the matching program IDs in ascending order
+     */
+    @Query("SELECT p.id FROM Program p"
+            + " WHERE p.status = :status"
+            + " AND (:programTypeId IS NULL OR p.programType.id = :programTypeId)"
+            + " AND (:submittedBefore IS NULL OR p.createdDate < :submittedBefore)"
+            + " ORDER BY p.id")
+    List<Long> findIdsByStatus(@Param("status") ProgramStatus status,
+                               @Param("programTypeId") Integer programTypeId,
+                               @Param("submittedBefore") LocalDateTime submittedBefore);
+
+    /**
+     * Returns which of the given programs are in the given status, without loading them,
+     * and locks those rows for update until the end of the transaction.
+     *
+     * <p>No other write can change the programs between this and a following
+     * {@code UPDATE} in the same transaction, so that update changes exactly the
+     * returned programs.</p>
+     *
+     * @param ids    the program IDs to check
+     * @param status the program status to filter by
+     * @return the IDs of the programs in that status
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Program p WHERE p.id IN :ids AND p.status = :status")
+    List<Long> findAndLockIdsByIdInAndStatus(@Param("ids") List<Long> ids, @Param("status") ProgramStatus status);
+
+    /**
+     * Records a review decision on many programs with one set-based {@code UPDATE}.
+     *
+     * <p>Only programs still in {@code currentStatus} are changed. The entities are
+     * not loaded, so {@code @PreUpdate} does not run and the updated date is set here.</p>
+     *
+     * @param ids            the programs to review
+     * @param currentStatus  the status the programs must still be in
+     * @param newStatus      the decision
+     * @param reviewedBy     the reviewing ministry employee
+     * @param reviewComments the reviewer's comments
+     * @param updatedDate    the time of the review
+     * @return the number of programs updated
+     */
+    @Modifying
+    @Query("UPDATE Program p SET p.status = :newStatus, p.reviewedBy = :reviewedBy,"
+            + " p.reviewComments = :reviewComments, p.updatedDate = :updatedDate, p.version = p.version + 1"
+            + " WHERE p.id IN :ids AND p.status = :currentStatus")
+    int updateReviewDecision(@Param("ids") List<Long> ids,
+                             @Param("currentStatus") ProgramStatus currentStatus,
+                             @Param("newStatus") ProgramStatus newStatus,
+                             @Param("reviewedBy") String reviewedBy,
+                             @Param("reviewComments") String reviewComments,
+                             @Param("updatedDate") LocalDateTime updatedDate);
+
+    /**
+     * Records a review decision on one program, provided no other write has changed it
+     * since it was read.
+     *
+     * <p>Sets only the review columns, the updated date and the version, in a single
+     * statement. The persistence context is cleared afterwards, so a program loaded
+     * earlier in the transaction is detached and can be brought up to date in memory
+     * without being written again.</p>
+     *
+     * @param id             the program to review
+     * @param version        the version the program had when it was read
+     * @param status         the decision
+     * @param reviewedBy     the reviewing ministry employee
+     * @param reviewComments the reviewer's comments
+     * @param updatedDate    the time of the review
+     * @return 1 if the program was updated, 0 if it is missing or its version has moved on
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Program p SET p.status = :status, p.reviewedBy = :reviewedBy,"
+            + " p.reviewComments = :reviewComments, p.updatedDate = :updatedDate, p.version = p.version + 1"
+            + " WHERE p.id = :id AND p.version = :version")
+    int updateReview(@Param("id") Long id,
+                     @Param("version") Long version,
+                     @Param("status") ProgramStatus status,
+                     @Param("reviewedBy") String reviewedBy,
+                     @Param("reviewComments") String reviewComments,
+                     @Param("updatedDate") LocalDateTime updatedDate);
+
+    /**
+     * Sets the document URL and file name of a program without loading it. The program
+     * no longer references a stored document afterwards.
+     *
+     * <p>Leaves the version alone: a document never conflicts with a review, so a
+     * review in progress is not rejected because the document changed.</p>
+     *
+     * @param id          the program
+     * @param documentUrl      the blob URL of the document, or {@code null} to remove it
+     * @param documentFilename the file name the document was uploaded with, or {@code null}
+     * @param updatedDate      the time of the change
+     * @return the number of programs updated, 0 if the program does not exist
+     */
+    @Modifying
+    @Query("UPDATE Program p SET p.documentUrl = :documentUrl, p.documentHash = NULL,"
+            + " p.documentFilename = :documentFilename, p.updatedDate = :updatedDate WHERE p.id = :id")
+    int updateDocumentUrl(@Param("id") Long id,
+                          @Param("documentUrl") String documentUrl,
+                          @Param("documentFilename") String documentFilename,
+                          @Param("updatedDate") LocalDateTime updatedDate);
+
+    /**
+     * Sets the AI summary of a program without loading it. Leaves the version alone,
+     * like {@link #updateDocumentUrl}.
+     *
+     * @param id            the program
+     * @param summary       the generated summary
+     * @param generatedDate the time the summary was received, also used as the updated date
+     * @return the number of programs updated, 0 if the program does not exist
+     */
+    @Modifying
+    @Query("UPDATE Program p SET p.aiSummary = :summary, p.aiSummaryGeneratedDate = :generatedDate,"
+            + " p.updatedDate = :generatedDate WHERE p.id = :id")
+    int updateAiSummary(@Param("id") Long id,
+                        @Param("summary") String summary,
+                        @Param("generatedDate") LocalDateTime generatedDate);
+
+    /**
+     * Sets the AI summary of every program attaching a stored document, without loading them.
+     * Leaves the version alone, like {@link #updateDocumentUrl}.
+     *
+     * @param documentHash  the document's SHA-256
+     * @param summary       the generated summary
+     * @param generatedDate the time the summary was received, also used as the updated date
+     * @return the number of programs updated
+     */
+    @Modifying
+    @Query("UPDATE Program p SET p.aiSummary = :summary, p.aiSummaryGeneratedDate = :generatedDate,"
+            + " p.updatedDate = :generatedDate WHERE p.documentHash = :documentHash")
+    int updateAiSummaryByDocumentHash(@Param("documentHash") String documentHash,
+                                      @Param("summary") String summary,
+                                      @Param("generatedDate") LocalDateTime generatedDate);
+
+    /**
+     * Finds the programs attaching a stored document, using {@code IX_program_document_hash}.
+     *
+     * @param documentHash the document's SHA-256
+     * @return the ID and status of each program
+     */
+    @Query("SELECT p.id AS id, p.status AS status FROM Program p WHERE p.documentHash = :documentHash")
+    List<ProgramStatusRow> findStatusByDocumentHash(@Param("documentHash") String documentHash);
+
+    /**
+     * Returns the status of a program without loading the rest of it.
+     *
+     * @param id the program
+     * @return the status, or empty if the program does not exist
+     */
+    @Query("SELECT p.status FROM Program p WHERE p.id = :id")
+    Optional<ProgramStatus> findStatusById(@Param("id") Long id);
 }
@@ -0,0 +1,133 @@
+package com.ontario.demo.programdemo.repository;
+
+import com.ontario.demo.programdemo.model.StoredDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for {@link StoredDocument} entities.
+ *
+ * <p>Reference counts are changed with single {@code UPDATE} statements that add
+ * to the stored value, so concurrent submissions of the same document never lose
+ * a count.</p>
+ */
+@Repository
+public interface StoredDocumentRepository extends JpaRepository<StoredDocument, String> {
+
+    /**
+     * Counts one more program referencing a document.
+     *
+     * @param contentHash the document's SHA-256
+     * @return 1 if the document is known, 0 if it has not been stored yet
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount + 1 WHERE d.contentHash = :contentHash")
+    int addReference(@Param("contentHash") String contentHash);
+
+    /**
+     * Counts one program fewer referencing a document.
+     *
+     * @param contentHash the document's SHA-256
+     * @return the number of documents updated, 0 if the document is unknown
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount - 1"
+            + " WHERE d.contentHash = :contentHash AND d.refCount > 0")
+    int releaseReference(@Param("contentHash") String contentHash);
+
+    /**
+     * Counts one program fewer referencing the document a program currently has,
+     * without reading the program first. Does nothing if the program's document is
+     * not content-addressed.
+     *
+     * @param programId the program whose document is being replaced or removed
+     * @return the number of documents updated (0 or 1)
+     */
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.refCount = d.refCount - 1 WHERE d.refCount > 0"
+            + " AND d.contentHash = (SELECT p.documentHash FROM Program p WHERE p.id = :programId)")
+    int releaseReferenceOf(@Param("programId") Long programId);
+
+    /**
+     * Records that a document's blob has been committed.
+     *
+     * @param contentHash  the document's SHA-256
+     * @param uploadedDate the time of the commit
+     * @return the number of documents updated, 0 if the document is unknown
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.uploadedDate = :uploadedDate WHERE d.contentHash = :contentHash")
+    int markUploaded(@Param("contentHash") String contentHash, @Param("uploadedDate") LocalDateTime uploadedDate);
+
+    /**
+     * Returns whether a document's blob has been committed.
+     *
+     * @param contentHash the document's SHA-256
+     * @return {@code true} if the document is known and uploaded
+     */
+    @Query("SELECT COUNT(d) > 0 FROM StoredDocument d"
+            + " WHERE d.contentHash = :contentHash AND d.uploadedDate IS NOT NULL")
+    boolean isUploaded(@Param("contentHash") String contentHash);
+
+    /**
+     * Reads a document under a shared lock held until the end of the transaction.
+     *
+     * <p>Waits for a summary being written concurrently to commit, and holds the
+     * next summary back until the caller's transaction commits.</p>
+     *
+     * @param contentHash the document's SHA-256
+     * @return the document, or empty if it is unknown
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT d FROM StoredDocument d WHERE d.contentHash = :contentHash")
+    Optional<StoredDocument> findAndLockById(@Param("contentHash") String contentHash);
+
+    /**
+     * Sets the AI summary of a document without loading it.
+     *
+     * @param contentHash   the document's SHA-256
+     * @param summary       the generated summary
+     * @param generatedDate the time the summary was received
+     * @return the number of documents updated, 0 if the document is unknown
+     */
+    @Modifying
+    @Query("UPDATE StoredDocument d SET d.aiSummary = :summary, d.aiSummaryGeneratedDate = :generatedDate"
+            + " WHERE d.contentHash = :contentHash")
+    int updateAiSummary(@Param("contentHash") String contentHash,
+                        @Param("summary") String summary,
+                        @Param("generatedDate") LocalDateTime generatedDate);
+
+    /**
+     * Finds documents no program references any more, using {@code IX_stored_document_unreferenced}.
+     *
+     * @param limit maximum number of documents to return
+     * @return the SHA-256 of each unreferenced document
+     */
+    @Query("SELECT d.contentHash FROM StoredDocument d WHERE d.refCount = 0")
+    List<String> findUnreferenced(Limit limit);
+
+    /**
+     * Deletes a document, provided no program has referenced it again in the meantime.
+     *
+     * @param contentHash the document's SHA-256
+     * @return 1 if the document was deleted, 0 if it is referenced or already gone
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredDocument d WHERE d.contentHash = :contentHash AND d.refCount = 0")
+    int deleteUnreferenced(@Param("contentHash") String contentHash);
+}
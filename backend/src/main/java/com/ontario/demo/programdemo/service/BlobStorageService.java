@@ -1,20 +1,52 @@
 package com.ontario.demo.programdemo.service;
 
-import com.azure.core.util.BinaryData;
+import com.azure.core.http.HttpHeaderName;
+import com.azure.core.util.Context;
 import com.azure.identity.DefaultAzureCredentialBuilder;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlobHttpHeaders;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.Block;
+import com.azure.storage.blob.models.BlockList;
+import com.azure.storage.blob.models.BlockListType;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlockBlobCommitBlockListOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * Service for uploading and downloading program documents to/from Azure Blob Storage.
@@ -23,12 +55,27 @@ import java.net.URI;
  * developer CLI credentials locally. When the blob service URI points to
  * {@code localhost} (Azurite emulator), the well-known Azurite connection string
  * is used instead so that local development works without Azure credentials.</p>
+ *
+ * <p>Uploads are streamed from the multipart request in fixed-size blocks that are
+ * staged in parallel and then committed, so heap use per upload is bounded by
+ * {@code azure.storage.upload.block-size} times {@code azure.storage.upload.max-concurrency}
+ * rather than by the file size.</p>
+ *
+ * <p>Every Blob Storage call is timed as {@code blob.requests}, tagged with the
+ * operation and its outcome, and the document bytes sent and received are counted
+ * as {@code blob.transfer}, tagged with the direction.</p>
  */
 @Service
 public class BlobStorageService {
 
     private static final String CONTAINER_NAME = "program-documents";
 
+    /** Folder of the content-addressed documents, named by their SHA-256. */
+    private static final String CONTENT_FOLDER = "sha256/";
+
+    /** Default chunk size of {@link BlobInputStream}, which fetches its first chunk when opened. */
+    private static final int DOWNLOAD_CHUNK_BYTES = 4 * 1024 * 1024;
+
     /** Well-known connection string for the Azurite local storage emulator. */
     private static final String AZURITE_CONNECTION_STRING =
             "DefaultEndpointsProtocol=http;"
@@ -37,7 +84,13 @@ public class BlobStorageService {
             + "Fq2UVErCz4I6tq/K1SZFPTOtr/KBHBeksoGMGw==;"
             + "BlobEndpoint=http://127.0.0.1:10000/devstoreaccount1;";
 
-    private final BlobServiceClient client;
+    private final Supplier<BlobServiceClient> clientFactory;
+    private volatile CompletableFuture<BlobServiceClient> client;
+    private final ExecutorService uploadExecutor;
+    private final ChunkedBlockUploader uploader;
+    private final MeterRegistry meterRegistry;
+    private final Counter uploadedBytes;
+    private final Counter downloadedBytes;
 
     /**
      * Constructs the service and initialises the Blob Storage client.
@@ -46,22 +99,92 @@ public class BlobStorageService {
      * (i.e. Azurite is in use), the client is built with the Azurite
      * connection string. Otherwise, {@code DefaultAzureCredential} is used.</p>
      *
-     * @param blobServiceUri the blob service endpoint URI (injected from configuration)
+     * <p>Building the credential and client, and creating the Azurite container,
+     * takes a noticeable part of startup. With {@code azure.storage.background-init}
+     * it runs on a background thread instead, and the first Blob Storage call waits
+     * for it; a failure is then reported by that call rather than at startup.</p>
+     *
+     * @param blobServiceUri       the blob service endpoint URI (injected from configuration)
+     * @param uploadBlockSize      size of each staged block
+     * @param uploadMaxConcurrency maximum blocks staged in parallel for one upload
+     * @param uploadBufferPoolSize maximum block buffers shared by all concurrent uploads
+     * @param virtualThreads       stage blocks on virtual threads instead of a fixed pool
+     * @param backgroundInit       build the client on a background thread instead of before startup completes
+     * @param meterRegistry        registry for the request timers and transfer counters
      */
     public BlobStorageService(
-            @Value("${azure.storage.blob-service-uri}") String blobServiceUri) {
+            @Value("${azure.storage.blob-service-uri}") String blobServiceUri,
+            @Value("${azure.storage.upload.block-size:1MB}") DataSize uploadBlockSize,
+            @Value("${azure.storage.upload.max-concurrency:4}") int uploadMaxConcurrency,
+            @Value("${azure.storage.upload.buffer-pool-size:16}") int uploadBufferPoolSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${azure.storage.background-init:false}") boolean backgroundInit,
+            MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.uploadedBytes = transferCounter("upload");
+        this.downloadedBytes = transferCounter("download");
+        // Staging concurrency is already bounded by the shared buffer pool, so on
+        // virtual threads each block simply gets its own thread.
+        this.uploadExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blob-upload-", 0).factory())
+                : Executors.newFixedThreadPool(uploadBufferPoolSize, new CustomizableThreadFactory("blob-upload-"));
+        this.uploader = new ChunkedBlockUploader(
+                Math.toIntExact(uploadBlockSize.toBytes()), uploadMaxConcurrency,
+                uploadBufferPoolSize, uploadExecutor);
+        this.clientFactory = () -> createClient(blobServiceUri);
+        if (backgroundInit) {
+            this.client = CompletableFuture.supplyAsync(clientFactory,
+                    task -> Thread.ofPlatform().daemon().name("blob-client-init").start(task));
+        } else {
+            this.client = CompletableFuture.completedFuture(clientFactory.get());
+        }
+    }
+
+    /**
+     * Builds the Blob Storage client, creating the container when Azurite is in use.
+     */
+    private static BlobServiceClient createClient(String blobServiceUri) {
         if (isLocalEmulator(blobServiceUri)) {
-            this.client = new BlobServiceClientBuilder()
+            BlobServiceClient client = new BlobServiceClientBuilder()
                     .connectionString(AZURITE_CONNECTION_STRING)
                     .buildClient();
             // Auto-create the container in Azurite (no-op if it already exists).
-            this.client.getBlobContainerClient(CONTAINER_NAME).createIfNotExists();
-        } else {
-            this.client = new BlobServiceClientBuilder()
-                    .endpoint(blobServiceUri)
-                    .credential(new DefaultAzureCredentialBuilder().build())
-                    .buildClient();
+            client.getBlobContainerClient(CONTAINER_NAME).createIfNotExists();
+            return client;
+        }
+        return new BlobServiceClientBuilder()
+                .endpoint(blobServiceUri)
+                .credential(new DefaultAzureCredentialBuilder().build())
+                .buildClient();
+    }
+
+    /**
+     * Returns the Blob Storage client, waiting for its background initialisation if
+     * it is still running. If that failed, the client is built again by this call.
+     */
+    private BlobServiceClient client() {
+        CompletableFuture<BlobServiceClient> current = client;
+        if (current.isCompletedExceptionally()) {
+            synchronized (clientFactory) {
+                if (client == current) {
+                    client = CompletableFuture.supplyAsync(clientFactory, Runnable::run);
+                }
+                current = client;
+            }
         }
+        try {
+            return current.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Stops the upload worker threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
     }
 
     /**
@@ -74,58 +197,410 @@ public class BlobStorageService {
     }
 
     /**
-     * Uploads a PDF document for a program submission to the {@code program-documents} container.
+     * A document whose blocks are staged on its blob but not yet committed.
+     *
+     * @param blobName    the blob path within the container
+     * @param contentType the content type to set on commit
+     * @param blockIds    the staged block IDs in content order
+     */
+    public record StagedDocument(String blobName, String contentType, List<String> blockIds) {
+    }
+
+    /**
+     * Returns the URL of a blob, without contacting Blob Storage.
+     *
+     * @param blobName the blob path within the container
+     * @return the full blob URL
+     */
+    public String blobUrl(String blobName) {
+        return client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(blobName)
+                .getBlobUrl();
+    }
+
+    /**
+     * Streams a document into staged blocks on the given blob without committing them.
      *
-     * <p>Blobs are stored at path {@code {programId}/{sanitisedFilename}}.</p>
+     * <p>Staged blocks are invisible to readers and do not fire the summarizer's
+     * blob trigger until {@link #commitDocument} is called; uncommitted blocks are
+     * discarded by Blob Storage after a week.</p>
+     *
+     * @param blobName the blob path within the container
+     * @param file     the multipart PDF file to upload
+     * @return the staged document, ready to commit
+     * @throws IOException if reading the file or staging a block fails
+     */
+    public StagedDocument stageDocument(String blobName, MultipartFile file) throws IOException {
+        BlockBlobClient blockBlobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(blobName)
+                .getBlockBlobClient();
+
+        List<String> blockIds = timed("stage", () -> {
+            try (InputStream content = file.getInputStream()) {
+                return uploader.stageBlocks(blockBlobClient, content);
+            }
+        });
+        uploadedBytes.increment(file.getSize());
+        String contentType = file.getContentType() != null ? file.getContentType() : "application/pdf";
+        return new StagedDocument(blobName, contentType, blockIds);
+    }
+
+    /**
+     * Commits the staged blocks of a document, making the blob visible.
      *
-     * @param programId the ID of the program (used as blob folder prefix)
-     * @param file      the multipart PDF file to upload
+     * @param staged the document returned by {@link #stageDocument}
      * @return the full blob URL of the uploaded file
-     * @throws IOException if reading the file bytes fails
      */
-    public String uploadDocument(Long programId, MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename() != null
-                ? file.getOriginalFilename().replaceAll("[^a-zA-Z0-9._-]", "_")
+    public String commitDocument(StagedDocument staged) {
+        BlobClient blobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(staged.blobName());
+        timed("commit", () -> blobClient.getBlockBlobClient().commitBlockListWithResponse(
+                new BlockBlobCommitBlockListOptions(staged.blockIds())
+                        .setHeaders(new BlobHttpHeaders().setContentType(staged.contentType())),
+                null, Context.NONE));
+        return blobClient.getBlobUrl();
+    }
+
+    /**
+     * Stages one block of a document on its blob without committing it.
+     *
+     * @param blobName the blob path within the container
+     * @param blockId  the Base64 block ID; all block IDs of a blob must have the same length
+     * @param data     the block content
+     */
+    public void stageBlock(String blobName, String blockId, byte[] data) {
+        BlockBlobClient blockBlobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(blobName)
+                .getBlockBlobClient();
+        timed("stage-block", () -> {
+            blockBlobClient.stageBlock(blockId, new ByteArrayInputStream(data), data.length);
+            return null;
+        });
+        uploadedBytes.increment(data.length);
+    }
+
+    /**
+     * Lists the blocks of a blob, committed and uncommitted, with their sizes.
+     *
+     * @param blobName the blob path within the container
+     * @return the size of each block by block ID; empty if nothing has been staged on the blob
+     */
+    public Map<String, Long> listBlocks(String blobName) {
+        BlockBlobClient blockBlobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(blobName)
+                .getBlockBlobClient();
+        return timed("list-blocks", () -> {
+            BlockList blockList;
+            try {
+                blockList = blockBlobClient.listBlocks(BlockListType.ALL);
+            } catch (BlobStorageException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                    return Map.of();
+                }
+                throw e;
+            }
+            Map<String, Long> blocks = new HashMap<>();
+            for (Block block : blockList.getCommittedBlocks()) {
+                blocks.put(block.getName(), block.getSizeLong());
+            }
+            for (Block block : blockList.getUncommittedBlocks()) {
+                blocks.put(block.getName(), block.getSizeLong());
+            }
+            return blocks;
+        });
+    }
+
+    /**
+     * Returns the blob path of a document uploaded in chunks:
+     * {@code {programId}/{uploadId}/{sanitisedFilename}}.
+     *
+     * <p>Each upload session has its own blob. Committing a block list discards the
+     * blob's uncommitted blocks, so sessions sharing a blob would drop each other's
+     * chunks, and a replaced document would keep the URL the document cache knows.</p>
+     *
+     * @param programId        the ID of the program
+     * @param uploadId         the ID of the upload session
+     * @param originalFilename the file name given by the client, or {@code null}
+     * @return the blob path within the container
+     */
+    static String blobName(Long programId, String uploadId, String originalFilename) {
+        return programId + "/" + uploadId + "/" + documentFilename(originalFilename);
+    }
+
+    /**
+     * Returns the file name a document is stored and downloaded under, with characters
+     * outside {@code [a-zA-Z0-9._-]} replaced.
+     *
+     * @param originalFilename the file name given by the client, or {@code null}
+     * @return the sanitised file name, {@code document.pdf} if none was given
+     */
+    public static String documentFilename(String originalFilename) {
+        return originalFilename != null
+                ? originalFilename.replaceAll("[^a-zA-Z0-9._-]", "_")
                 : "document.pdf";
-        String blobName = programId + "/" + originalFilename;
-        BlobClient blobClient = client
+    }
+
+    /**
+     * Returns the blob path of a content-addressed document: {@code sha256/{contentHash}}.
+     *
+     * <p>The blob trigger of the summarizer matches it as folder {@code sha256}, and
+     * calls back with the summary for the document rather than for a program.</p>
+     *
+     * @param contentHash the lower-case hexadecimal SHA-256 of the content
+     * @return the blob path within the container
+     */
+    public static String contentBlobName(String contentHash) {
+        return CONTENT_FOLDER + contentHash;
+    }
+
+    /**
+     * Returns the current ETag of a blob.
+     *
+     * @param blobName the blob path within the container
+     * @return the ETag, or {@code null} if the blob does not exist
+     */
+    public String getETag(String blobName) {
+        BlobClient blobClient = client()
                 .getBlobContainerClient(CONTAINER_NAME)
                 .getBlobClient(blobName);
-        blobClient.upload(BinaryData.fromBytes(file.getBytes()), true);
-        return blobClient.getBlobUrl();
+        return timed("properties", () -> {
+            try {
+                return blobClient.getProperties().getETag();
+            } catch (BlobStorageException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                    return null;
+                }
+                throw e;
+            }
+        });
     }
 
     /**
-     * Downloads a document from Azure Blob Storage using managed identity.
+     * Deletes a blob, provided it has not been rewritten since its ETag was read.
+     *
+     * @param blobName the blob path within the container
+     * @param eTag     the ETag from {@link #getETag}
+     * @return {@code true} if the blob was deleted, {@code false} if it changed or is already gone
+     */
+    public boolean deleteBlob(String blobName, String eTag) {
+        BlobClient blobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(blobName);
+        return timed("delete", () -> {
+            try {
+                blobClient.deleteWithResponse(null, new BlobRequestConditions().setIfMatch(eTag),
+                        null, Context.NONE);
+                return true;
+            } catch (BlobStorageException e) {
+                if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()
+                        || e.getStatusCode() == HttpStatus.PRECONDITION_FAILED.value()) {
+                    return false;
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Opens a document for download with a single Blob Storage request.
+     *
+     * <p>The first download request returns the blob properties together with the
+     * first chunk of content, so no separate properties call is made. Conditional
+     * headers are forwarded to Blob Storage, which answers {@code 304} without
+     * sending the body when the client's copy is current. {@code If-None-Match}
+     * takes precedence over {@code If-Modified-Since}, as in RFC 9110.</p>
      *
      * <p>Extracts the blob path from the full blob URL stored on the program record
      * and streams the content through the backend, avoiding direct public access
      * to the storage account (which has {@code publicNetworkAccess: Disabled}).</p>
      *
-     * @param blobUrl the full blob URL (e.g. https://account.blob.core.windows.net/container/path)
-     * @return the blob content as a Spring {@link Resource}
+     * @param blobUrl         the full blob URL (e.g. https://account.blob.core.windows.net/container/path)
+     * @param range           the requested byte range, or {@code null} for the whole document
+     * @param ifNoneMatch     the client's {@code If-None-Match} ETag, or {@code null}
+     * @param ifModifiedSince the client's {@code If-Modified-Since} time, or {@code null}
+     * @return the content to stream, or the not-modified / unsatisfiable-range outcome
      */
-    public Resource downloadDocument(String blobUrl) {
-        String blobPath = extractBlobPath(blobUrl);
-        BlobClient blobClient = client
+    public DocumentDownload openDocument(String blobUrl, DocumentRange range,
+                                         String ifNoneMatch, OffsetDateTime ifModifiedSince) {
+        BlobClient blobClient = client()
                 .getBlobContainerClient(CONTAINER_NAME)
-                .getBlobClient(blobPath);
-        InputStream stream = blobClient.openInputStream();
-        return new InputStreamResource(stream);
+                .getBlobClient(extractBlobPath(blobUrl));
+
+        BlobRequestConditions conditions = new BlobRequestConditions();
+        if (ifNoneMatch != null) {
+            conditions.setIfNoneMatch(ifNoneMatch);
+        } else if (ifModifiedSince != null) {
+            conditions.setIfModifiedSince(ifModifiedSince);
+        }
+        BlobInputStreamOptions options = new BlobInputStreamOptions().setRequestConditions(conditions);
+        if (range != null && !range.isSuffix()) {
+            options.setRange(new BlobRange(range.first(), range.explicitLength()));
+        } else if (range != null) {
+            // A suffix needs the blob size, so the stream opens at offset 0 and its first
+            // chunk is discarded; chunks the size of the suffix keep that download small.
+            options.setBlockSize((int) Math.max(1, Math.min(range.suffixLength(), DOWNLOAD_CHUNK_BYTES)));
+        }
+
+        BlobInputStream stream;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            stream = blobClient.openInputStream(options);
+            stop(sample, "open", "success");
+        } catch (BlobStorageException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                stop(sample, "open", "not-modified");
+                // The blob's own ETag: If-None-Match may list several, or match by date.
+                return new DocumentDownload.NotModified(
+                        e.getResponse() != null ? e.getResponse().getHeaderValue(HttpHeaderName.ETAG) : null);
+            }
+            if (e.getStatusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                stop(sample, "open", "range-not-satisfiable");
+                return new DocumentDownload.RangeNotSatisfiable(blobClient.getProperties().getBlobSize());
+            }
+            stop(sample, "open", "error");
+            throw e;
+        } catch (RuntimeException e) {
+            stop(sample, "open", "error");
+            throw e;
+        }
+
+        BlobProperties properties = stream.getProperties();
+        long blobSize = properties.getBlobSize();
+        String contentType = properties.getContentType();
+        String eTag = properties.getETag();
+        OffsetDateTime lastModified = properties.getLastModified();
+
+        if (range == null) {
+            return new DocumentDownload.Content(
+                    countingDownload(stream), contentType, blobSize, 0, blobSize, false, eTag, lastModified);
+        }
+        if (!range.isSatisfiable(blobSize)) {
+            closeQuietly(stream);
+            return new DocumentDownload.RangeNotSatisfiable(blobSize);
+        }
+        long start = range.start(blobSize);
+        if (range.isSuffix()) {
+            // Within the first chunk this only moves through the buffer; beyond it the stream
+            // repositions and the next read fetches the suffix from Blob Storage.
+            stream.skip(start);
+        }
+        return new DocumentDownload.Content(countingDownload(stream), contentType, blobSize, start,
+                range.end(blobSize) - start + 1, true, eTag, lastModified);
     }
 
     /**
-     * Retrieves the content type and content length of a blob.
+     * Returns the properties (size, content type, ETag) of a document blob without
+     * downloading its content.
      *
      * @param blobUrl the full blob URL
      * @return the blob properties
      */
     public BlobProperties getBlobProperties(String blobUrl) {
-        String blobPath = extractBlobPath(blobUrl);
-        BlobClient blobClient = client
+        BlobClient blobClient = client()
+                .getBlobContainerClient(CONTAINER_NAME)
+                .getBlobClient(extractBlobPath(blobUrl));
+        return timed("properties", blobClient::getProperties);
+    }
+
+    /**
+     * Downloads a whole document blob to a local file, overwriting the file.
+     *
+     * <p>The returned properties describe exactly the content that was written, so
+     * their ETag can be used to validate the local copy later.</p>
+     *
+     * @param blobUrl the full blob URL
+     * @param target  the file to write
+     * @return the properties of the downloaded blob
+     */
+    public BlobProperties downloadToFile(String blobUrl, Path target) {
+        BlobClient blobClient = client()
                 .getBlobContainerClient(CONTAINER_NAME)
-                .getBlobClient(blobPath);
-        return blobClient.getProperties();
+                .getBlobClient(extractBlobPath(blobUrl));
+        BlobProperties properties = timed("download-to-file", () -> blobClient
+                .downloadToFileWithResponse(new BlobDownloadToFileOptions(target.toString())
+                        .setOpenOptions(Set.of(StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)),
+                        null, Context.NONE)
+                .getValue());
+        downloadedBytes.increment(properties.getBlobSize());
+        return properties;
+    }
+
+    /**
+     * A Blob Storage call, which may throw a checked exception.
+     */
+    @FunctionalInterface
+    private interface BlobCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Runs a Blob Storage call, recording its duration and outcome in {@code blob.requests}.
+     */
+    private <T, E extends Exception> T timed(String operation, BlobCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = call.call();
+            stop(sample, operation, "success");
+            return result;
+        } catch (Exception e) {
+            stop(sample, operation, "error");
+            throw e;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("blob.requests")
+                .description("Blob Storage calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private Counter transferCounter(String direction) {
+        return Counter.builder("blob.transfer")
+                .description("Document bytes sent to and received from Blob Storage")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wraps a download stream so the bytes read from it are counted as they reach the client.
+     */
+    private InputStream countingDownload(InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    downloadedBytes.increment();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    downloadedBytes.increment(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do; the stream was never handed to the caller.
+        }
     }
 
     /**
@@ -137,7 +612,7 @@ public class BlobStorageService {
      * @param blobUrl the full blob URL
      * @return the blob path within the container
      */
-    private String extractBlobPath(String blobUrl) {
+    static String extractBlobPath(String blobUrl) {
         URI uri = URI.create(blobUrl);
         String path = uri.getPath(); // e.g. /program-documents/17/health_en.pdf
         String containerPrefix = "/" + CONTAINER_NAME + "/";
@@ -0,0 +1,169 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.specialized.BlockBlobClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams an {@link InputStream} into a block blob as fixed-size staged blocks.
+ *
+ * <p>The stream is read one block at a time into buffers borrowed from a shared
+ * pool, and each full buffer is staged on the blob from a worker thread while the
+ * next block is read. Two limits keep memory flat regardless of file size:</p>
+ * <ul>
+ *   <li>each upload has at most {@code maxConcurrency} blocks in flight, and</li>
+ *   <li>all uploads together share {@code bufferPoolSize} buffers, which are
+ *       allocated lazily and reused rather than released to the GC.</li>
+ * </ul>
+ *
+ * <p>Staged blocks stay invisible until the caller commits the returned block list.</p>
+ */
+class ChunkedBlockUploader {
+
+    private final int blockSize;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+    private final Semaphore bufferPermits;
+    private final ConcurrentLinkedQueue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates an uploader.
+     *
+     * @param blockSize      size of each staged block in bytes
+     * @param maxConcurrency maximum blocks in flight for a single upload
+     * @param bufferPoolSize maximum buffers shared across all uploads
+     * @param executor       executor that performs the stage-block calls
+     */
+    ChunkedBlockUploader(int blockSize, int maxConcurrency, int bufferPoolSize, ExecutorService executor) {
+        if (blockSize <= 0 || maxConcurrency <= 0 || bufferPoolSize <= 0) {
+            throw new IllegalArgumentException("Block size, concurrency and buffer pool size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.maxConcurrency = maxConcurrency;
+        this.executor = executor;
+        this.bufferPermits = new Semaphore(bufferPoolSize);
+    }
+
+    /**
+     * Returns the block ID used for the block at the given position.
+     *
+     * <p>All block IDs of a blob must have the same length, so the index is zero-padded
+     * before Base64 encoding.</p>
+     *
+     * @param index zero-based block position
+     * @return the Base64 block ID
+     */
+    static String blockId(int index) {
+        return Base64.getEncoder().encodeToString(
+                String.format("%08d", index).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Reads the stream to the end and stages it on the blob block by block.
+     *
+     * @param blob   the block blob to stage on
+     * @param source the content to upload; not closed by this method
+     * @return the staged block IDs in content order, ready to commit
+     * @throws IOException if reading the stream or staging a block fails
+     */
+    List<String> stageBlocks(BlockBlobClient blob, InputStream source) throws IOException {
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<?>> pending = new ArrayList<>();
+        List<String> blockIds = new ArrayList<>();
+
+        try {
+            boolean endOfStream = false;
+            while (!endOfStream && failure.get() == null) {
+                inFlight.acquire();
+                byte[] buffer = acquireBuffer();
+                int length;
+                try {
+                    length = readBlock(source, buffer);
+                } catch (IOException | RuntimeException e) {
+                    releaseBuffer(buffer);
+                    inFlight.release();
+                    throw e;
+                }
+                endOfStream = length < buffer.length;
+                if (length == 0) {
+                    releaseBuffer(buffer);
+                    inFlight.release();
+                    break;
+                }
+
+                String blockId = blockId(blockIds.size());
+                blockIds.add(blockId);
+                pending.add(executor.submit(() -> {
+                    try {
+                        blob.stageBlock(blockId, new ByteArrayInputStream(buffer, 0, length), length);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        releaseBuffer(buffer);
+                        inFlight.release();
+                    }
+                }));
+            }
+
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // Blocks already submitted are left to finish so their buffers return to the pool;
+            // they are never committed and the service discards them.
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while staging blob blocks");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to stage blob block: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        Throwable stageFailure = failure.get();
+        if (stageFailure != null) {
+            throw new IOException("Failed to stage blob block: " + stageFailure.getMessage(), stageFailure);
+        }
+        return blockIds;
+    }
+
+    /**
+     * Fills the buffer from the stream, stopping early only at end of stream.
+     *
+     * @return the number of bytes read; less than the buffer length only at end of stream
+     */
+    private static int readBlock(InputStream source, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = source.read(buffer, total, buffer.length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private byte[] acquireBuffer() throws InterruptedException {
+        bufferPermits.acquire();
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[blockSize];
+    }
+
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        bufferPermits.release();
+    }
+}
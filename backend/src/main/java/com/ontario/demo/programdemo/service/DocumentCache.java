@@ -0,0 +1,621 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local disk cache of recently downloaded program documents.
+ *
+ * <p>Reviewers tend to reopen the same few PDFs, so whole documents are copied to
+ * local files and served from there instead of being proxied from Blob Storage on
+ * every request. The cache is bounded by total size and evicts the least recently
+ * used document first.</p>
+ *
+ * <p>A miss never blocks the request: the caller streams from Blob Storage as before
+ * and hands the download to {@link #fillFrom}. A whole document is copied into the
+ * cache as it is streamed to the client, so it is downloaded once; a range or
+ * not-modified response leaves the client without the body, so the document is
+ * downloaded into the cache in the background instead. A cached copy is
+ * trusted for {@code app.document-cache.revalidate-after}; after that its ETag is
+ * compared with the blob's (a properties request, no body) before it is used again,
+ * and a changed blob drops the copy.</p>
+ *
+ * <p>The index lives in memory only, so files left over from a previous run are
+ * deleted on startup.</p>
+ */
+@Component
+public class DocumentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentCache.class);
+
+    private static final String FILE_PREFIX = "doc-";
+    private static final String FILE_SUFFIX = ".cache";
+
+    /** Threads that download missed documents into the cache. */
+    private static final int FILL_THREADS = 2;
+
+    /**
+     * How long an evicted file is kept on disk before it is deleted, so a response
+     * that has already been handed the path can still open it.
+     */
+    private static final Duration DELETE_GRACE = Duration.ofMinutes(1);
+
+    /**
+     * Point-in-time cache counters.
+     *
+     * @param hits          requests served from a cached copy
+     * @param misses        requests that had to go to Blob Storage
+     * @param evictions     copies removed to stay within the size limit
+     * @param invalidations copies dropped because the blob changed or disappeared
+     * @param entries       documents currently cached
+     * @param bytes         total size of the cached documents
+     * @param maxBytes      configured size limit
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations,
+                        int entries, long bytes, long maxBytes) {
+    }
+
+    private record Entry(Path file, long size, String contentType, String eTag,
+                         OffsetDateTime lastModified, Instant validatedAt) {
+    }
+
+    private record RetiredFile(Path file, Instant retiredAt) {
+    }
+
+    private final BlobStorageService blobStorageService;
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Duration revalidateAfter;
+    private final Executor fillExecutor;
+
+    private final Object lock = new Object();
+
+    /** Blob URL to cached copy, in access order so the eldest entry is the LRU victim. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<RetiredFile> retiredFiles = new ArrayDeque<>();
+    private long totalBytes;
+
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructs the cache from configuration.
+     *
+     * @param blobStorageService service used to validate and download documents
+     * @param enabled            whether documents are cached at all
+     * @param directory          directory holding the cached files
+     * @param maxSize            total size limit of the cached files
+     * @param revalidateAfter    how long a copy is used before its ETag is checked again
+     */
+    @Autowired
+    public DocumentCache(
+            BlobStorageService blobStorageService,
+            @Value("${app.document-cache.enabled:true}") boolean enabled,
+            @Value("${app.document-cache.directory:${java.io.tmpdir}/program-demo-documents}") Path directory,
+            @Value("${app.document-cache.max-size:512MB}") DataSize maxSize,
+            @Value("${app.document-cache.revalidate-after:30s}") Duration revalidateAfter) {
+        this(blobStorageService, enabled, directory, maxSize.toBytes(), revalidateAfter,
+                Executors.newFixedThreadPool(FILL_THREADS, new CustomizableThreadFactory("document-cache-")));
+    }
+
+    DocumentCache(BlobStorageService blobStorageService, boolean enabled, Path directory,
+                  long maxBytes, Duration revalidateAfter, Executor fillExecutor) {
+        this.blobStorageService = blobStorageService;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = entryLimit(maxBytes);
+        this.revalidateAfter = revalidateAfter;
+        this.fillExecutor = fillExecutor;
+    }
+
+    /**
+     * Creates the cache directory and removes files left by a previous run.
+     *
+     * @throws IOException if the directory cannot be prepared
+     */
+    @PostConstruct
+    public void initialize() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : stale) {
+                deleteQuietly(file);
+            }
+        }
+        log.info("Document cache at {} limited to {} bytes", directory, maxBytes);
+    }
+
+    /**
+     * Stops the background download threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (fillExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a document from the cache, mirroring {@link BlobStorageService#openDocument}.
+     *
+     * <p>Conditional and range headers are evaluated against the cached copy, so a hit
+     * makes no Blob Storage request unless the copy is due for revalidation. On a miss
+     * the caller should fall back to Blob Storage and pass the result to {@link #fillFrom}.</p>
+     *
+     * @param blobUrl         the full blob URL
+     * @param range           the requested byte range, or {@code null} for the whole document
+     * @param ifNoneMatch     the client's {@code If-None-Match} header, or {@code null}
+     * @param ifModifiedSince the client's {@code If-Modified-Since} time, or {@code null}
+     * @return the outcome served from the cache, or empty on a miss
+     */
+    public Optional<DocumentDownload> open(String blobUrl, DocumentRange range,
+                                           String ifNoneMatch, OffsetDateTime ifModifiedSince) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = lookup(blobUrl);
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+
+        if (ifNoneMatch != null
+                ? eTagMatches(ifNoneMatch, entry.eTag())
+                : notModifiedSince(entry.lastModified(), ifModifiedSince)) {
+            return Optional.of(new DocumentDownload.NotModified(entry.eTag()));
+        }
+        if (range == null) {
+            return Optional.of(new DocumentDownload.CachedFile(entry.file(), entry.contentType(),
+                    entry.size(), 0, entry.size(), false, entry.eTag(), entry.lastModified()));
+        }
+        if (!range.isSatisfiable(entry.size())) {
+            return Optional.of(new DocumentDownload.RangeNotSatisfiable(entry.size()));
+        }
+        long start = range.start(entry.size());
+        return Optional.of(new DocumentDownload.CachedFile(entry.file(), entry.contentType(),
+                entry.size(), start, range.end(entry.size()) - start + 1, true,
+                entry.eTag(), entry.lastModified()));
+    }
+
+    /**
+     * Fills the cache from a Blob Storage download made after a miss in {@link #open}.
+     *
+     * <p>A whole document within the per-document limit is returned with a stream
+     * that also writes each byte it reads to a cache file; once the client has read
+     * it to the end, the file is cached. A document the client stops reading early
+     * is not cached, and a failure to write the file only stops the copy. Any other
+     * outcome is returned as it is, and the document is downloaded into the cache in
+     * the background.</p>
+     *
+     * @param blobUrl  the full blob URL
+     * @param download the outcome from {@link BlobStorageService#openDocument}
+     * @return the outcome to send to the client
+     */
+    public DocumentDownload fillFrom(String blobUrl, DocumentDownload download) {
+        if (!enabled) {
+            return download;
+        }
+        if (!(download instanceof DocumentDownload.Content content) || content.partial()) {
+            scheduleFill(blobUrl);
+            return download;
+        }
+        if (content.blobSize() > maxEntryBytes || !filling.add(blobUrl)) {
+            return download;
+        }
+        Path file;
+        OutputStream out;
+        try {
+            file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+            out = Files.newOutputStream(file);
+        } catch (IOException e) {
+            filling.remove(blobUrl);
+            log.warn("Failed to cache document {}: {}", blobUrl, e.getMessage());
+            return download;
+        }
+        Entry entry = new Entry(file, content.blobSize(), content.contentType(), content.eTag(),
+                content.lastModified(), Instant.now());
+        return new DocumentDownload.Content(new TeeInputStream(content.stream(), out, blobUrl, entry),
+                content.contentType(), content.blobSize(), content.rangeStart(), content.rangeLength(),
+                false, content.eTag(), content.lastModified());
+    }
+
+    /**
+     * Opens the byte range of a cached file as a stream over a memory-mapped region.
+     *
+     * <p>Used when the servlet container cannot send the file itself. This is not
+     * zero-copy: the region is paged in by the OS without a read per chunk, but the
+     * response writer still copies it through a heap buffer on its way to the socket.
+     * Only the {@code sendfile} path keeps the bytes out of the JVM.</p>
+     *
+     * @param file the cached file outcome from {@link #open}
+     * @return a stream over exactly {@code rangeLength} bytes from {@code rangeStart}
+     * @throws IOException if the file cannot be mapped
+     */
+    public static InputStream openMapped(DocumentDownload.CachedFile file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.file(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            return new ByteBufferInputStream(
+                    channel.map(FileChannel.MapMode.READ_ONLY, file.rangeStart(), file.rangeLength()));
+        }
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return a snapshot of the counters and cache size
+     */
+    public Stats stats() {
+        synchronized (lock) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(),
+                    entries.size(), totalBytes, maxBytes);
+        }
+    }
+
+    /**
+     * Downloads a document into the cache, replacing any previous copy.
+     *
+     * <p>Failures are logged and leave the cache unchanged; the document is simply
+     * fetched from Blob Storage again next time.</p>
+     *
+     * @param blobUrl the full blob URL
+     */
+    void fill(String blobUrl) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+            BlobProperties properties = blobStorageService.downloadToFile(blobUrl, file);
+            long size = Files.size(file);
+            if (size > maxEntryBytes) {
+                log.debug("Not caching {}: {} bytes exceeds the per-document limit", blobUrl, size);
+                deleteQuietly(file);
+                return;
+            }
+            put(blobUrl, new Entry(file, size, properties.getContentType(), properties.getETag(),
+                    properties.getLastModified(), Instant.now()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to cache document {}: {}", blobUrl, e.getMessage());
+            if (file != null) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private Entry lookup(String blobUrl) {
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(blobUrl);
+        }
+        if (entry == null || entry.validatedAt().plus(revalidateAfter).isAfter(Instant.now())) {
+            return entry;
+        }
+
+        String currentETag;
+        try {
+            currentETag = blobStorageService.getBlobProperties(blobUrl).getETag();
+        } catch (BlobStorageException e) {
+            // Let the Blob Storage path produce the error response (e.g. 404 for a deleted blob).
+            invalidate(blobUrl, entry);
+            return null;
+        }
+        if (!Objects.equals(entry.eTag(), currentETag)) {
+            invalidate(blobUrl, entry);
+            return null;
+        }
+        Entry revalidated = new Entry(entry.file(), entry.size(), entry.contentType(), entry.eTag(),
+                entry.lastModified(), Instant.now());
+        synchronized (lock) {
+            entries.replace(blobUrl, entry, revalidated);
+        }
+        return revalidated;
+    }
+
+    private void scheduleFill(String blobUrl) {
+        if (!filling.add(blobUrl)) {
+            return;
+        }
+        try {
+            fillExecutor.execute(() -> {
+                try {
+                    fill(blobUrl);
+                } finally {
+                    filling.remove(blobUrl);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            filling.remove(blobUrl);
+        }
+    }
+
+    private void put(String blobUrl, Entry entry) {
+        synchronized (lock) {
+            Entry previous = entries.put(blobUrl, entry);
+            if (previous != null) {
+                totalBytes -= previous.size();
+                retire(previous.file());
+            }
+            totalBytes += entry.size();
+
+            // The new entry is the most recently used and within maxEntryBytes, so
+            // evicting from the eldest end always stops before reaching it.
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Entry victim = eldest.next().getValue();
+                eldest.remove();
+                totalBytes -= victim.size();
+                retire(victim.file());
+                evictions.increment();
+            }
+            deleteRetiredFiles();
+        }
+    }
+
+    private void invalidate(String blobUrl, Entry entry) {
+        synchronized (lock) {
+            if (entries.remove(blobUrl, entry)) {
+                totalBytes -= entry.size();
+                retire(entry.file());
+                invalidations.increment();
+            }
+            deleteRetiredFiles();
+        }
+    }
+
+    private void retire(Path file) {
+        retiredFiles.addLast(new RetiredFile(file, Instant.now()));
+    }
+
+    private void deleteRetiredFiles() {
+        Instant cutoff = Instant.now().minus(DELETE_GRACE);
+        while (!retiredFiles.isEmpty() && retiredFiles.peekFirst().retiredAt().isBefore(cutoff)) {
+            deleteQuietly(retiredFiles.removeFirst().file());
+        }
+    }
+
+    /**
+     * Compares an {@code If-None-Match} header with an ETag using weak comparison.
+     */
+    static boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (eTag == null) {
+            return false;
+        }
+        String current = stripWeakPrefix(eTag.trim());
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeakPrefix(trimmed).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static boolean notModifiedSince(OffsetDateTime lastModified, OffsetDateTime ifModifiedSince) {
+        // HTTP dates have one-second precision.
+        return lastModified != null && ifModifiedSince != null
+                && !lastModified.truncatedTo(ChronoUnit.SECONDS).isAfter(ifModifiedSince);
+    }
+
+    /**
+     * Returns the largest entry a cache of the given size keeps. A single entry may
+     * take at most a quarter of the cache, so one large entry cannot flush every hot
+     * one. {@link ProgramResponseCache} applies the same limit.
+     *
+     * @param maxBytes the total size limit of the cache
+     * @return the size limit of one entry
+     */
+    static long entryLimit(long maxBytes) {
+        return maxBytes / 4;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete cached file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Stream of a document being served that copies what is read into a cache file,
+     * and caches the file once the whole document has been read.
+     */
+    private final class TeeInputStream extends FilterInputStream {
+
+        private final String blobUrl;
+        private final Entry entry;
+        private OutputStream copy;
+        private long copied;
+        private boolean done;
+
+        TeeInputStream(InputStream in, OutputStream copy, String blobUrl, Entry entry) {
+            super(in);
+            this.copy = copy;
+            this.blobUrl = blobUrl;
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy(new byte[] {(byte) b}, 0, 1);
+            } else {
+                complete();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                copy(buffer, offset, n);
+            } else if (n < 0) {
+                complete();
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes are not copied, so the file can no longer be cached.
+            abandon();
+            return super.skip(n);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (copied == entry.size()) {
+                    complete();
+                } else {
+                    abandon();
+                }
+            }
+        }
+
+        private void copy(byte[] buffer, int offset, int length) {
+            if (copy == null) {
+                return;
+            }
+            try {
+                copy.write(buffer, offset, length);
+                copied += length;
+            } catch (IOException e) {
+                log.warn("Failed to cache document {}: {}", blobUrl, e.getMessage());
+                abandon();
+            }
+        }
+
+        private void complete() {
+            if (copy == null || done) {
+                return;
+            }
+            done = true;
+            try {
+                copy.close();
+                copy = null;
+                if (copied == entry.size()) {
+                    put(blobUrl, entry);
+                } else {
+                    deleteQuietly(entry.file());
+                }
+            } catch (IOException e) {
+                log.warn("Failed to cache document {}: {}", blobUrl, e.getMessage());
+                deleteQuietly(entry.file());
+            } finally {
+                filling.remove(blobUrl);
+            }
+        }
+
+        private void abandon() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                copy.close();
+            } catch (IOException e) {
+                log.debug("Could not close cache file {}: {}", entry.file(), e.getMessage());
+            }
+            copy = null;
+            deleteQuietly(entry.file());
+            filling.remove(blobUrl);
+        }
+    }
+
+    /**
+     * Read-only stream over a (memory-mapped) byte buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.ontario.demo.programdemo.service;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+
+/**
+ * Outcome of opening a program document for download.
+ *
+ * <p>Returned by {@link BlobStorageService#openDocument} and {@link DocumentCache#open}
+ * so the controller can map each outcome to its HTTP response with a {@code switch}.</p>
+ */
+public sealed interface DocumentDownload {
+
+    /**
+     * Document content (or the requested byte range of it) ready to stream.
+     *
+     * @param stream       the content stream, positioned at {@code rangeStart}
+     * @param contentType  the blob content type, or {@code null} if unset
+     * @param blobSize     total size of the document in bytes
+     * @param rangeStart   offset of the first byte in {@code stream}
+     * @param rangeLength  number of bytes to send
+     * @param partial      {@code true} when a byte range was served (HTTP 206)
+     * @param eTag         the blob ETag
+     * @param lastModified the blob last-modified time
+     */
+    record Content(InputStream stream, String contentType, long blobSize, long rangeStart,
+                   long rangeLength, boolean partial, String eTag, OffsetDateTime lastModified)
+            implements DocumentDownload {
+    }
+
+    /**
+     * Document content (or the requested byte range of it) held in the local
+     * {@link DocumentCache}, to be sent straight from the file.
+     *
+     * @param file         the cached copy of the document
+     * @param contentType  the blob content type, or {@code null} if unset
+     * @param blobSize     total size of the document in bytes
+     * @param rangeStart   offset of the first byte to send
+     * @param rangeLength  number of bytes to send
+     * @param partial      {@code true} when a byte range was served (HTTP 206)
+     * @param eTag         the blob ETag the copy was validated against
+     * @param lastModified the blob last-modified time
+     */
+    record CachedFile(Path file, String contentType, long blobSize, long rangeStart,
+                      long rangeLength, boolean partial, String eTag, OffsetDateTime lastModified)
+            implements DocumentDownload {
+    }
+
+    /**
+     * The client's cached copy is still current (HTTP 304); no body was fetched.
+     *
+     * @param eTag the document's current ETag, or {@code null} if it is not known
+     */
+    record NotModified(String eTag) implements DocumentDownload {
+    }
+
+    /**
+     * The requested range starts beyond the end of the document (HTTP 416).
+     *
+     * @param blobSize total size of the document in bytes
+     */
+    record RangeNotSatisfiable(long blobSize) implements DocumentDownload {
+    }
+}
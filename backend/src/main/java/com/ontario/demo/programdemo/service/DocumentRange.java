@@ -0,0 +1,104 @@
+package com.ontario.demo.programdemo.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single byte range requested through an HTTP {@code Range} header.
+ *
+ * <p>Either {@code first} is set (with an optional inclusive {@code last}), as in
+ * {@code bytes=100-199} or {@code bytes=100-}, or only {@code suffixLength} is set,
+ * as in {@code bytes=-500} for the final 500 bytes.</p>
+ *
+ * @param first        first byte position, or {@code null} for a suffix range
+ * @param last         last byte position (inclusive), or {@code null} for "to the end"
+ * @param suffixLength number of trailing bytes for a suffix range, otherwise {@code null}
+ */
+public record DocumentRange(Long first, Long last, Long suffixLength) {
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    /**
+     * Parses a {@code Range} header value.
+     *
+     * <p>Only a single byte range is supported. Multi-range, non-byte and malformed
+     * headers return {@code null}, which tells the caller to ignore the header and
+     * send the full representation, as RFC 9110 permits.</p>
+     *
+     * @param header the raw {@code Range} header, may be {@code null}
+     * @return the parsed range, or {@code null} if the header should be ignored
+     */
+    public static DocumentRange parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        try {
+            if (first.isEmpty()) {
+                return last.isEmpty() ? null : new DocumentRange(null, null, Long.parseLong(last));
+            }
+            Long firstPos = Long.parseLong(first);
+            Long lastPos = last.isEmpty() ? null : Long.parseLong(last);
+            if (lastPos != null && lastPos < firstPos) {
+                return null;
+            }
+            return new DocumentRange(firstPos, lastPos, null);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns {@code true} for a suffix range such as {@code bytes=-500}.
+     *
+     * @return whether only the suffix length is known
+     */
+    public boolean isSuffix() {
+        return first == null;
+    }
+
+    /**
+     * Returns the number of bytes from {@code first} to {@code last}, or {@code null}
+     * when the range runs to the end of the document.
+     *
+     * @return the explicit range length, if any
+     */
+    public Long explicitLength() {
+        return first != null && last != null ? last - first + 1 : null;
+    }
+
+    /**
+     * Returns {@code true} if this range selects at least one byte of a document of the given size.
+     *
+     * @param size the document size in bytes
+     * @return whether the range can be served
+     */
+    public boolean isSatisfiable(long size) {
+        return isSuffix() ? suffixLength > 0 && size > 0 : first < size;
+    }
+
+    /**
+     * Resolves the offset of the first byte to send for a document of the given size.
+     *
+     * @param size the document size in bytes
+     * @return the first byte offset
+     */
+    public long start(long size) {
+        return isSuffix() ? Math.max(0, size - suffixLength) : first;
+    }
+
+    /**
+     * Resolves the offset of the last byte to send (inclusive) for a document of the given size.
+     *
+     * @param size the document size in bytes
+     * @return the last byte offset
+     */
+    public long end(long size) {
+        return isSuffix() || last == null ? size - 1 : Math.min(last, size - 1);
+    }
+}
@@ -0,0 +1,294 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.models.BlobErrorCode;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.ontario.demo.programdemo.model.StoredDocument;
+import com.ontario.demo.programdemo.repository.StoredDocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content-addressed storage of submitted documents.
+ *
+ * <p>A document is identified by the SHA-256 of its content and stored once, in
+ * blob {@code sha256/{hash}}, however many programs attach it. Each program that
+ * attaches it adds a reference; a known document is not uploaded again, and the
+ * summarizer is only triggered by the first upload, so a later submission gets
+ * the document's AI summary straight away.</p>
+ *
+ * <p>References are released when a program's document is replaced or withdrawn
+ * (see {@link ProgramService#updateDocumentUrl}). Documents left without references
+ * are deleted every {@code app.document-store.cleanup-interval}. Uploads and
+ * deduplicated submissions are counted as {@code documents.stored}, tagged with
+ * the outcome.</p>
+ */
+@Service
+public class DocumentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStore.class);
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/pdf";
+
+    /** Unreferenced documents deleted per query of the cleanup sweep. */
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final StoredDocumentRepository documentRepository;
+    private final BlobStorageService blobStorageService;
+    private final Duration cleanupInterval;
+    private final ScheduledExecutorService cleanupScheduler;
+    private final Counter uploaded;
+    private final Counter deduplicated;
+
+    /**
+     * A program's reference to a stored document.
+     *
+     * @param contentHash the SHA-256 of the document
+     * @param documentUrl the URL of the document's blob
+     * @param filename    the file name this submission gave the document, sanitised
+     * @param uploaded    whether the blob is already committed; if not, the caller uploads it
+     */
+    public record Reference(String contentHash, String documentUrl, String filename, boolean uploaded) {
+    }
+
+    /**
+     * Constructs the store from configuration.
+     *
+     * @param documentRepository repository for the stored documents
+     * @param blobStorageService the blob storage service holding the documents
+     * @param cleanupInterval    time between sweeps of unreferenced documents
+     * @param meterRegistry      registry for the upload and deduplication counters
+     */
+    @Autowired
+    public DocumentStore(StoredDocumentRepository documentRepository,
+                         BlobStorageService blobStorageService,
+                         @Value("${app.document-store.cleanup-interval:1h}") Duration cleanupInterval,
+                         MeterRegistry meterRegistry) {
+        this(documentRepository, blobStorageService, cleanupInterval, meterRegistry,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("document-store-")));
+    }
+
+    DocumentStore(StoredDocumentRepository documentRepository, BlobStorageService blobStorageService,
+                  Duration cleanupInterval, MeterRegistry meterRegistry,
+                  ScheduledExecutorService cleanupScheduler) {
+        if (cleanupInterval.isNegative() || cleanupInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "app.document-store.cleanup-interval must be positive, got: " + cleanupInterval);
+        }
+        this.documentRepository = documentRepository;
+        this.blobStorageService = blobStorageService;
+        this.cleanupInterval = cleanupInterval;
+        this.cleanupScheduler = cleanupScheduler;
+        this.uploaded = storedCounter(meterRegistry, "uploaded");
+        this.deduplicated = storedCounter(meterRegistry, "deduplicated");
+    }
+
+    /**
+     * Schedules the sweep of unreferenced documents once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleCleanup() {
+        cleanupScheduler.scheduleWithFixedDelay(this::deleteUnreferenced, cleanupInterval.toMillis(),
+                cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the cleanup thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+
+    /**
+     * Hashes a submitted document and adds a reference to it for a new program.
+     *
+     * <p>The multipart part is already buffered by the servlet container, so hashing
+     * it is a local read ahead of the upload. A known document is referenced as it
+     * is; a new one is recorded with one reference and must then be uploaded with
+     * {@link #stage} and committed by the caller. If the first upload of a document
+     * is still running or has failed, the caller uploads the same content again; see
+     * {@link #commit} for how that avoids a second summary.</p>
+     *
+     * @param file the submitted document
+     * @return the reference, to be stored on the program
+     * @throws IOException if reading the document fails
+     */
+    public Reference acquire(MultipartFile file) throws IOException {
+        String contentHash;
+        try (InputStream content = file.getInputStream()) {
+            contentHash = sha256(content);
+        }
+        String blobName = BlobStorageService.contentBlobName(contentHash);
+        String filename = BlobStorageService.documentFilename(file.getOriginalFilename());
+
+        // A concurrent first submission of the same document may insert it between the
+        // two statements; the insert then fails and the reference is added instead.
+        for (int attempt = 0; ; attempt++) {
+            if (documentRepository.addReference(contentHash) == 1) {
+                StoredDocument document = documentRepository.findById(contentHash).orElseThrow();
+                if (document.getUploadedDate() != null) {
+                    deduplicated.increment();
+                }
+                return new Reference(contentHash, blobStorageService.blobUrl(document.getBlobName()), filename,
+                        document.getUploadedDate() != null);
+            }
+            StoredDocument document = new StoredDocument();
+            document.setContentHash(contentHash);
+            document.setBlobName(blobName);
+            document.setContentType(file.getContentType() != null ? file.getContentType() : DEFAULT_CONTENT_TYPE);
+            document.setFileSize(file.getSize());
+            document.setRefCount(1);
+            document.setCreatedDate(LocalDateTime.now());
+            try {
+                documentRepository.save(document);
+                return new Reference(contentHash, blobStorageService.blobUrl(blobName), filename, false);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams a new document into staged blocks on its content-addressed blob.
+     *
+     * @param reference the reference from {@link #acquire}
+     * @param file      the submitted document
+     * @return the staged document, ready to commit
+     * @throws IOException if reading the document or staging a block fails
+     */
+    public BlobStorageService.StagedDocument stage(Reference reference, MultipartFile file) throws IOException {
+        return blobStorageService.stageDocument(BlobStorageService.contentBlobName(reference.contentHash()), file);
+    }
+
+    /**
+     * Commits a staged document and records it as uploaded, so later submissions reuse it.
+     *
+     * <p>Each commit of the blob fires the summarizer. When two first submissions of
+     * the same document overlap, the one finishing second finds the document already
+     * uploaded and leaves its staged blocks uncommitted (Azure discards them after a
+     * week), so the summarizer runs once. Only commits that overlap each other both
+     * reach the blob; the summarizer then runs twice and the second callback stores
+     * an equivalent summary over the first.</p>
+     *
+     * <p>If the staged blocks are gone when the block list is committed, because
+     * {@link #deleteUnreferenced} deleted an earlier copy of the blob after they were
+     * staged, the document is staged and committed once more.</p>
+     *
+     * @param reference the reference from {@link #acquire}
+     * @param staged    the document returned by {@link #stage}
+     * @param file      the submitted document, staged again if its blocks were deleted
+     * @throws IOException if reading the document to stage it again fails
+     */
+    public void commit(Reference reference, BlobStorageService.StagedDocument staged, MultipartFile file)
+            throws IOException {
+        if (documentRepository.isUploaded(reference.contentHash())) {
+            deduplicated.increment();
+            return;
+        }
+        try {
+            blobStorageService.commitDocument(staged);
+        } catch (BlobStorageException e) {
+            if (!BlobErrorCode.INVALID_BLOCK_LIST.equals(e.getErrorCode())
+                    && e.getStatusCode() != HttpStatus.NOT_FOUND.value()) {
+                throw e;
+            }
+            log.info("Staged blocks of document {} were deleted, uploading it again", reference.contentHash());
+            blobStorageService.commitDocument(stage(reference, file));
+        }
+        documentRepository.markUploaded(reference.contentHash(), LocalDateTime.now());
+        uploaded.increment();
+    }
+
+    /**
+     * Releases a reference that no program took, for example because the insert failed.
+     *
+     * @param reference the reference from {@link #acquire}
+     */
+    public void release(Reference reference) {
+        documentRepository.releaseReference(reference.contentHash());
+    }
+
+    /**
+     * Deletes the documents, and their blobs, that no program references any more.
+     *
+     * <p>The blob's ETag is read before the row is deleted, and the blob is only
+     * deleted if it still has that ETag, so a submission that stores the same content
+     * again after the row is gone and commits first keeps its blob. One that has only
+     * staged its blocks loses them when the blob is deleted; its {@link #commit} then
+     * fails and uploads the document again.</p>
+     */
+    void deleteUnreferenced() {
+        try {
+            int deleted = 0;
+            List<String> unreferenced;
+            do {
+                unreferenced = documentRepository.findUnreferenced(Limit.of(CLEANUP_BATCH_SIZE));
+                for (String contentHash : unreferenced) {
+                    String blobName = BlobStorageService.contentBlobName(contentHash);
+                    String eTag = blobStorageService.getETag(blobName);
+                    if (documentRepository.deleteUnreferenced(contentHash) == 1) {
+                        deleted++;
+                        if (eTag != null) {
+                            blobStorageService.deleteBlob(blobName, eTag);
+                        }
+                    }
+                }
+            } while (unreferenced.size() == CLEANUP_BATCH_SIZE);
+            if (deleted > 0) {
+                log.info("Deleted {} unreferenced documents", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete unreferenced documents: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the lower-case hexadecimal SHA-256 of a stream, read to the end.
+     */
+    static String sha256(InputStream content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        new DigestInputStream(content, digest).transferTo(OutputStream.nullOutputStream());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static Counter storedCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("documents.stored")
+                .description("Submitted documents uploaded, or found already stored and not uploaded again")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,311 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.DocumentUploadRequest;
+import com.ontario.demo.programdemo.dto.DocumentUploadResponse;
+import com.ontario.demo.programdemo.model.DocumentUpload;
+import com.ontario.demo.programdemo.repository.DocumentUploadRepository;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumable uploads of program documents, sent as numbered chunks.
+ *
+ * <p>A client creates an upload session for a program, PUTs the chunks in any order
+ * or in parallel, asks which byte ranges have arrived after a dropped connection,
+ * re-sends only the missing chunks and then commits. Chunk {@code i} is staged
+ * directly as block {@code i} on a blob of the session's own, so the chunks received are
+ * read back from Blob Storage rather than tracked here, and the commit is a single
+ * block-list call that assembles the blob in place without copying any data.</p>
+ *
+ * <p>Sessions expire after {@code app.document-upload.session-ttl}; expired sessions
+ * are deleted every {@code app.document-upload.cleanup-interval}. Their staged
+ * blocks are never committed and Blob Storage discards them after a week.</p>
+ */
+@Service
+public class DocumentUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentUploadService.class);
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/pdf";
+
+    private final DocumentUploadRepository uploadRepository;
+    private final ProgramRepository programRepository;
+    private final ProgramService programService;
+    private final BlobStorageService blobStorageService;
+    private final int chunkSize;
+    private final long maxSize;
+    private final Duration sessionTtl;
+    private final Duration cleanupInterval;
+    private final ScheduledExecutorService cleanupScheduler;
+
+    /**
+     * Constructs the service from configuration.
+     *
+     * @param uploadRepository   repository for the upload sessions
+     * @param programRepository  repository used to check that the program exists
+     * @param programService     the program service, which records the committed document
+     * @param blobStorageService the blob storage service the chunks are staged on
+     * @param chunkSize          size of every chunk but the last
+     * @param maxSize            largest document accepted
+     * @param sessionTtl         how long a session accepts chunks and a commit
+     * @param cleanupInterval    time between sweeps of expired sessions
+     */
+    @Autowired
+    public DocumentUploadService(DocumentUploadRepository uploadRepository,
+                                 ProgramRepository programRepository,
+                                 ProgramService programService,
+                                 BlobStorageService blobStorageService,
+                                 @Value("${app.document-upload.chunk-size:4MB}") DataSize chunkSize,
+                                 @Value("${app.document-upload.max-size:50MB}") DataSize maxSize,
+                                 @Value("${app.document-upload.session-ttl:24h}") Duration sessionTtl,
+                                 @Value("${app.document-upload.cleanup-interval:1h}") Duration cleanupInterval) {
+        this(uploadRepository, programRepository, programService, blobStorageService, chunkSize, maxSize,
+                sessionTtl, cleanupInterval,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("document-upload-")));
+    }
+
+    DocumentUploadService(DocumentUploadRepository uploadRepository, ProgramRepository programRepository,
+                          ProgramService programService, BlobStorageService blobStorageService,
+                          DataSize chunkSize, DataSize maxSize, Duration sessionTtl, Duration cleanupInterval,
+                          ScheduledExecutorService cleanupScheduler) {
+        if (chunkSize.toBytes() < 1 || chunkSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("app.document-upload.chunk-size must be between 1B and 2GB, got: "
+                    + chunkSize);
+        }
+        if (cleanupInterval.isNegative() || cleanupInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "app.document-upload.cleanup-interval must be positive, got: " + cleanupInterval);
+        }
+        this.uploadRepository = uploadRepository;
+        this.programRepository = programRepository;
+        this.programService = programService;
+        this.blobStorageService = blobStorageService;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.maxSize = maxSize.toBytes();
+        this.sessionTtl = sessionTtl;
+        this.cleanupInterval = cleanupInterval;
+        this.cleanupScheduler = cleanupScheduler;
+    }
+
+    /**
+     * Schedules the sweep of expired sessions once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleCleanup() {
+        cleanupScheduler.scheduleWithFixedDelay(this::deleteExpired, cleanupInterval.toMillis(),
+                cleanupInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the cleanup thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+
+    /**
+     * Starts an upload of a program's document.
+     *
+     * @param programId the program the document belongs to
+     * @param request   the file name, content type and size
+     * @return the new session, with no chunks received
+     * @throws IllegalArgumentException if the program is not found or the file is too large
+     */
+    public DocumentUploadResponse createUpload(Long programId, DocumentUploadRequest request) {
+        if (request.getSize() > maxSize) {
+            throw new IllegalArgumentException("Document must not exceed "
+                    + DataSize.ofBytes(maxSize).toMegabytes() + " MB, got " + request.getSize() + " bytes");
+        }
+        if (!programRepository.existsById(programId)) {
+            throw new IllegalArgumentException("Program not found with ID: " + programId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        DocumentUpload upload = new DocumentUpload();
+        upload.setId(UUID.randomUUID().toString());
+        upload.setProgramId(programId);
+        upload.setBlobName(BlobStorageService.blobName(programId, upload.getId(), request.getFileName()));
+        upload.setContentType(request.getContentType() != null ? request.getContentType() : DEFAULT_CONTENT_TYPE);
+        upload.setFileSize(request.getSize());
+        upload.setChunkSize(chunkSize);
+        upload.setCreatedDate(now);
+        upload.setExpiresDate(now.plus(sessionTtl));
+        uploadRepository.save(upload);
+        return toResponse(upload, Map.of(), null);
+    }
+
+    /**
+     * Stages one chunk of a document on its blob.
+     *
+     * <p>A chunk may be sent again, for example after a timeout; the later copy
+     * replaces the earlier one.</p>
+     *
+     * @param programId the program the document belongs to
+     * @param uploadId  the upload session ID
+     * @param index     zero-based chunk position
+     * @param content   the chunk content, read to the end
+     * @throws IllegalArgumentException if the session is not found or has expired, the
+     *                                  position is out of range or the chunk has the wrong size
+     * @throws IOException              if reading the chunk fails
+     */
+    public void putChunk(Long programId, String uploadId, int index, InputStream content) throws IOException {
+        DocumentUpload upload = findUpload(programId, uploadId);
+        if (index < 0 || index >= upload.chunkCount()) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (upload.chunkCount() - 1)
+                    + ", got: " + index);
+        }
+        int expected = upload.chunkLength(index);
+        byte[] data = content.readNBytes(expected);
+        if (data.length != expected || content.read() != -1) {
+            throw new IllegalArgumentException("Chunk " + index + " must be exactly " + expected + " bytes");
+        }
+        blobStorageService.stageBlock(upload.getBlobName(), blockId(upload, index), data);
+    }
+
+    /**
+     * Returns an upload session with the byte ranges received so far.
+     *
+     * @param programId the program the document belongs to
+     * @param uploadId  the upload session ID
+     * @return the session and its received ranges and missing chunks
+     * @throws IllegalArgumentException if the session is not found or has expired
+     */
+    public DocumentUploadResponse getUpload(Long programId, String uploadId) {
+        DocumentUpload upload = findUpload(programId, uploadId);
+        return toResponse(upload, blobStorageService.listBlocks(upload.getBlobName()), null);
+    }
+
+    /**
+     * Commits a complete upload as the program's document.
+     *
+     * <p>The staged blocks are committed in chunk order, the program's document URL
+     * is set and the session is deleted. Committing again after a failure part way
+     * through is safe, because committed blocks can be committed again.</p>
+     *
+     * @param programId the program the document belongs to
+     * @param uploadId  the upload session ID
+     * @return the session, with the URL of the committed document
+     * @throws IllegalArgumentException if the session is not found or has expired, or chunks are missing
+     */
+    public DocumentUploadResponse commitUpload(Long programId, String uploadId) {
+        DocumentUpload upload = findUpload(programId, uploadId);
+        Map<String, Long> blocks = blobStorageService.listBlocks(upload.getBlobName());
+        List<Integer> missing = missingChunks(upload, blocks);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Upload " + uploadId + " is missing chunks: " + missing);
+        }
+
+        List<String> blockIds = new ArrayList<>(upload.chunkCount());
+        for (int i = 0; i < upload.chunkCount(); i++) {
+            blockIds.add(blockId(upload, i));
+        }
+        String documentUrl = blobStorageService.commitDocument(new BlobStorageService.StagedDocument(
+                upload.getBlobName(), upload.getContentType(), blockIds));
+        programService.updateDocumentUrl(programId, documentUrl,
+                upload.getBlobName().substring(upload.getBlobName().lastIndexOf('/') + 1));
+        uploadRepository.deleteUpload(uploadId);
+        return toResponse(upload, blocks, documentUrl);
+    }
+
+    /**
+     * Deletes the upload sessions that have expired.
+     */
+    void deleteExpired() {
+        try {
+            int deleted = uploadRepository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.info("Deleted {} expired document upload sessions", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete expired document upload sessions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the block ID of a chunk.
+     *
+     * <p>The ID starts with part of the session ID, and the position is zero-padded
+     * because all block IDs of a blob must have the same length.</p>
+     */
+    static String blockId(DocumentUpload upload, int index) {
+        String raw = upload.getId().substring(0, 8) + String.format("%06d", index);
+        return Base64.getEncoder().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private DocumentUpload findUpload(Long programId, String uploadId) {
+        return uploadRepository.findActive(uploadId, programId, LocalDateTime.now())
+                .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
+    }
+
+    /**
+     * Returns the positions of the chunks that are not staged at their full size.
+     */
+    private static List<Integer> missingChunks(DocumentUpload upload, Map<String, Long> blocks) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < upload.chunkCount(); i++) {
+            Long size = blocks.get(blockId(upload, i));
+            if (size == null || size != upload.chunkLength(i)) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    private static DocumentUploadResponse toResponse(DocumentUpload upload, Map<String, Long> blocks,
+                                                     String documentUrl) {
+        List<Integer> missing = missingChunks(upload, blocks);
+        List<DocumentUploadResponse.ByteRange> received = new ArrayList<>();
+        DocumentUploadResponse.ByteRange current = null;
+        int next = 0;
+        for (int i = 0; i < upload.chunkCount(); i++) {
+            if (next < missing.size() && missing.get(next) == i) {
+                next++;
+                current = null;
+                continue;
+            }
+            long start = (long) i * upload.getChunkSize();
+            long end = start + upload.chunkLength(i) - 1;
+            if (current == null) {
+                current = new DocumentUploadResponse.ByteRange(start, end);
+                received.add(current);
+            } else {
+                current.setEnd(end);
+            }
+        }
+        return DocumentUploadResponse.builder()
+                .uploadId(upload.getId())
+                .programId(upload.getProgramId())
+                .size(upload.getFileSize())
+                .chunkSize(upload.getChunkSize())
+                .chunkCount(upload.chunkCount())
+                .receivedRanges(received)
+                .missingChunks(missing)
+                .expiresDate(upload.getExpiresDate())
+                .documentUrl(documentUrl)
+                .build();
+    }
+}
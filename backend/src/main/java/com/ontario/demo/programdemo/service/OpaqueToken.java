@@ -0,0 +1,48 @@
+package com.ontario.demo.programdemo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Codec for the opaque position tokens handed to API clients ({@link ProgramCursor},
+ * {@link ProgramChangeToken}).
+ *
+ * <p>A token is its position's text form in URL-safe Base64 without padding, so
+ * clients cannot depend on its structure.</p>
+ */
+final class OpaqueToken {
+
+    private OpaqueToken() {
+    }
+
+    /**
+     * Encodes the text form of a position.
+     *
+     * @param raw the text form
+     * @return the URL-safe token
+     */
+    static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode} and parses its text form.
+     *
+     * @param token  the token supplied by the client
+     * @param kind   what the token is, for the error message
+     * @param parser parses the text form, throwing {@link IllegalArgumentException} if it is malformed
+     * @param <T>    the position type
+     * @return the parsed position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static <T> T decode(String token, String kind, Function<String, T> parser) {
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException, as is a bad Base64 alphabet.
+            throw new IllegalArgumentException("Invalid " + kind + ": " + token);
+        }
+    }
+}
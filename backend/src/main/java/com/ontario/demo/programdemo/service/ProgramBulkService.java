@@ -0,0 +1,321 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.dto.BulkReviewRequest;
+import com.ontario.demo.programdemo.dto.BulkReviewResponse;
+import com.ontario.demo.programdemo.dto.BulkSubmissionResponse;
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ReviewRequest;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Ingests many program submissions from a single request, and reviews many
+ * submissions with one decision.
+ *
+ * <p>The body of a bulk submission is read as a stream, either a JSON array or newline-delimited JSON,
+ * so memory use is bounded by the chunk size rather than the submission size.
+ * Every record is validated on its own and invalid records are reported without
+ * stopping the rest. Valid records are created in chunks of
+ * {@code app.bulk.chunk-size}, one transaction and a few batched {@code INSERT}s
+ * per chunk (see {@link ProgramService#createPrograms(List)}). A chunk the database
+ * refuses is retried one record at a time, so only the records at fault fail.</p>
+ *
+ * <p>A bulk review is applied with set-based {@code UPDATE}s of up to
+ * {@value #REVIEW_CHUNK_SIZE} programs each, one transaction per chunk (see
+ * {@link ProgramService#reviewPrograms(List, ReviewRequest)}).</p>
+ */
+@Service
+public class ProgramBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramBulkService.class);
+
+    /** Maximum number of rejected records listed in a response. */
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    /** Programs per bulk-review {@code UPDATE}, well below SQL Server's 2,100 parameter limit. */
+    public static final int REVIEW_CHUNK_SIZE = 1_000;
+
+    private final ProgramService programService;
+    private final ProgramTypeRepository programTypeRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    /**
+     * Constructs the service with its collaborators.
+     *
+     * @param programService        the program business logic service
+     * @param programTypeRepository repository used to check program type IDs up front
+     * @param validator             Bean Validation validator for each record
+     * @param objectMapper          mapper that reads the records
+     * @param chunkSize             number of records created per transaction
+     */
+    public ProgramBulkService(ProgramService programService,
+                              ProgramTypeRepository programTypeRepository,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("app.bulk.chunk-size must be positive, got: " + chunkSize);
+        }
+        this.programService = programService;
+        this.programTypeRepository = programTypeRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates programs from a JSON array of program requests.
+     *
+     * <p>A record that cannot be mapped to a program request is reported and
+     * skipped. Malformed JSON ends the submission at that point: the records
+     * before it are still created, and the syntax error is reported against the
+     * record being read.</p>
+     *
+     * @param body the request body
+     * @return the outcome of the submission
+     * @throws IllegalArgumentException if the body is not a JSON array
+     * @throws IOException              if reading the body fails
+     */
+    public BulkSubmissionResponse submitJsonArray(InputStream body) throws IOException {
+        Submission submission = new Submission();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Bulk submission body must be a JSON array");
+            }
+            while (true) {
+                JsonNode record;
+                try {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        break;
+                    }
+                    record = parser.readValueAsTree();
+                } catch (JsonProcessingException e) {
+                    submission.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                submission.accept(record);
+            }
+        }
+        return submission.finish();
+    }
+
+    /**
+     * Creates programs from newline-delimited JSON, one program request per line.
+     *
+     * <p>Blank lines are ignored. A line that is not valid JSON is reported and
+     * skipped like any other invalid record.</p>
+     *
+     * @param body the request body
+     * @return the outcome of the submission
+     * @throws IOException if reading the body fails
+     */
+    public BulkSubmissionResponse submitNdjson(InputStream body) throws IOException {
+        Submission submission = new Submission();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    submission.reject(List.of("Malformed JSON: " + e.getOriginalMessage()));
+                    continue;
+                }
+                submission.accept(record);
+            }
+        }
+        return submission.finish();
+    }
+
+    /**
+     * Applies one review decision to the programs selected by the request.
+     *
+     * <p>The decision is validated before anything is changed. Only programs still
+     * awaiting review are updated; the others are reported as skipped.</p>
+     *
+     * @param request the targeted programs and the decision
+     * @return the reviewed and skipped program IDs
+     * @throws IllegalArgumentException if the decision is invalid, or the request gives
+     *                                  both or neither of IDs and a filter
+     */
+    public BulkReviewResponse review(BulkReviewRequest request) {
+        long startNanos = System.nanoTime();
+        ProgramStatus status = ProgramService.parseDecision(request.getDecision().getStatus());
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean hasFilter = request.getProgramTypeId() != null || request.getSubmittedBefore() != null;
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Provide either program IDs or a filter (programTypeId, submittedBefore)");
+        }
+
+        List<Long> targetIds = hasIds
+                ? request.getIds().stream().filter(Objects::nonNull).distinct().toList()
+                : programService.findSubmittedProgramIds(request.getProgramTypeId(), request.getSubmittedBefore());
+        List<Long> reviewedIds = new ArrayList<>();
+        for (int from = 0; from < targetIds.size(); from += REVIEW_CHUNK_SIZE) {
+            List<Long> chunkIds = targetIds.subList(from, Math.min(from + REVIEW_CHUNK_SIZE, targetIds.size()));
+            reviewedIds.addAll(programService.reviewPrograms(chunkIds, request.getDecision()));
+        }
+
+        Set<Long> reviewed = new HashSet<>(reviewedIds);
+        List<Long> skippedIds = targetIds.stream().filter(id -> !reviewed.contains(id)).toList();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Bulk review: {} of {} programs {} by {} in {} ms",
+                reviewedIds.size(), targetIds.size(), status, request.getDecision().getReviewedBy(), elapsedMillis);
+        return BulkReviewResponse.builder()
+                .status(status)
+                .requested(targetIds.size())
+                .reviewedIds(reviewedIds)
+                .skippedIds(skippedIds)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    /**
+     * State of one bulk submission: the pending chunk and the running totals.
+     */
+    private final class Submission {
+
+        private final long startNanos = System.nanoTime();
+        private final Set<Integer> programTypeIds = programTypeRepository.findAll().stream()
+                .map(ProgramType::getId)
+                .collect(Collectors.toSet());
+        private final List<ProgramRequest> chunk = new ArrayList<>(chunkSize);
+        private final List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        private final List<Long> createdIds = new ArrayList<>();
+        private final List<BulkSubmissionResponse.RecordError> errors = new ArrayList<>();
+        private int received;
+        private int failed;
+
+        /**
+         * Maps and validates the next record, queueing it for creation if valid.
+         */
+        void accept(JsonNode record) {
+            ProgramRequest request;
+            try {
+                request = objectMapper.treeToValue(record, ProgramRequest.class);
+            } catch (JsonProcessingException e) {
+                reject(List.of("Invalid program request: " + e.getOriginalMessage()));
+                return;
+            }
+            if (request == null) {
+                reject(List.of("Program request must be a JSON object"));
+                return;
+            }
+
+            List<String> messages = validator.validate(request).stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (request.getProgramTypeId() != null && !programTypeIds.contains(request.getProgramTypeId())) {
+                messages.add("Program type not found with ID: " + request.getProgramTypeId());
+            }
+            if (!messages.isEmpty()) {
+                reject(messages);
+                return;
+            }
+
+            chunkIndexes.add(received++);
+            chunk.add(request);
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Records the next record as rejected.
+         */
+        void reject(List<String> messages) {
+            fail(received++, messages);
+        }
+
+        private void fail(int index, List<String> messages) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(BulkSubmissionResponse.RecordError.builder()
+                        .index(index)
+                        .messages(messages)
+                        .build());
+            }
+        }
+
+        /**
+         * Creates the pending chunk. A chunk the database refuses is retried one
+         * record at a time, each record reporting its own error, and does not stop
+         * later chunks.
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                createdIds.addAll(programService.createPrograms(chunk));
+            } catch (DataAccessException | IllegalArgumentException e) {
+                log.warn("Bulk submission chunk of {} records failed, retrying each record: {}",
+                        chunk.size(), e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    createOne(chunkIndexes.get(i), chunk.get(i));
+                }
+            }
+            chunk.clear();
+            chunkIndexes.clear();
+        }
+
+        private void createOne(int index, ProgramRequest request) {
+            try {
+                createdIds.addAll(programService.createPrograms(List.of(request)));
+            } catch (DataAccessException | IllegalArgumentException e) {
+                fail(index, List.of("Not created: " + e.getMessage()));
+            }
+        }
+
+        BulkSubmissionResponse finish() {
+            flush();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            double rowsPerSecond = seconds > 0 ? createdIds.size() / seconds : 0;
+            errors.sort(Comparator.comparingInt(BulkSubmissionResponse.RecordError::getIndex));
+            log.info("Bulk submission: {} received, {} created, {} failed in {} ms ({} rows/s)",
+                    received, createdIds.size(), failed, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+            return BulkSubmissionResponse.builder()
+                    .received(received)
+                    .created(createdIds.size())
+                    .failed(failed)
+                    .createdIds(createdIds)
+                    .errors(errors)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(rowsPerSecond)
+                    .build();
+        }
+    }
+}
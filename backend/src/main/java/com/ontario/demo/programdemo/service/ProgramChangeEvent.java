@@ -0,0 +1,94 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+
+/**
+ * Application event published by {@link ProgramService} whenever a program changes.
+ *
+ * <p>Listeners that keep derived state in sync (such as the search index) should use
+ * {@code @TransactionalEventListener} so they only observe committed changes.</p>
+ */
+public sealed interface ProgramChangeEvent {
+
+    /**
+     * Returns the ID of the program that changed.
+     *
+     * @return the program ID
+     */
+    Long programId();
+
+    /**
+     * Returns the program's status after the change.
+     *
+     * @return the current status
+     */
+    ProgramStatus status();
+
+    /**
+     * A new program was submitted.
+     *
+     * @param program the saved program
+     */
+    record Created(Program program) implements ProgramChangeEvent {
+        @Override
+        public Long programId() {
+            return program.getId();
+        }
+
+        @Override
+        public ProgramStatus status() {
+            return program.getStatus();
+        }
+    }
+
+    /**
+     * A ministry employee approved or rejected a program.
+     *
+     * @param program        the reviewed program
+     * @param previousStatus the status before the review
+     */
+    record Reviewed(Program program, ProgramStatus previousStatus) implements ProgramChangeEvent {
+        @Override
+        public Long programId() {
+            return program.getId();
+        }
+
+        @Override
+        public ProgramStatus status() {
+            return program.getStatus();
+        }
+    }
+
+    /**
+     * A bulk review changed a program's status with a set-based update, without
+     * loading the program.
+     *
+     * @param programId      the program ID
+     * @param previousStatus the status before the review
+     * @param status         the decision
+     */
+    record StatusChanged(Long programId, ProgramStatus previousStatus, ProgramStatus status)
+            implements ProgramChangeEvent {
+    }
+
+    /**
+     * A supporting document was uploaded and linked to a program.
+     *
+     * @param programId   the program ID
+     * @param status      the program's status
+     * @param documentUrl the blob URL of the document
+     */
+    record DocumentAttached(Long programId, ProgramStatus status, String documentUrl) implements ProgramChangeEvent {
+    }
+
+    /**
+     * The Function App delivered an AI summary for a program's document.
+     *
+     * @param programId the program ID
+     * @param status    the program's status
+     * @param summary   the AI-generated summary
+     */
+    record SummaryReady(Long programId, ProgramStatus status, String summary) implements ProgramChangeEvent {
+    }
+}
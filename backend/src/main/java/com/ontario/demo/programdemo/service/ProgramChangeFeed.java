@@ -0,0 +1,315 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.dto.ProgramChangeNotification;
+import com.ontario.demo.programdemo.dto.ProgramChangeNotification.ChangeType;
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes committed program changes to Server-Sent Events subscribers.
+ *
+ * <p>Lets the reviewer UI and the citizen status page wait for a review decision
+ * or AI summary instead of polling. A subscriber may be limited to one program or
+ * to programs in one status.</p>
+ *
+ * <p>An idle subscriber holds only its open connection (the request runs in async
+ * mode) and no thread. Each event is serialized once; a matching subscriber gets it
+ * in its own queue of {@code app.change-feed.buffer-size} events, which a shared
+ * sender pool drains only while it is non-empty. A client too slow to keep its queue
+ * from filling up is disconnected rather than allowed to hold events or a sender
+ * thread indefinitely. A comment line is sent every
+ * {@code app.change-feed.heartbeat-interval} so proxies keep the connection open and
+ * vanished clients are noticed.</p>
+ *
+ * <p>Events are not replayed: a client that reconnects should re-read the
+ * programs it shows.</p>
+ */
+@Component
+public class ProgramChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramChangeFeed.class);
+
+    /** Reconnection delay suggested to {@code EventSource} clients. */
+    private static final long RECONNECT_MILLIS = 5_000;
+
+    /**
+     * Which changes a subscriber receives; a {@code null} field matches anything.
+     *
+     * @param programId only changes to this program
+     * @param status    only changes leaving a program in this status
+     */
+    public record Filter(Long programId, ProgramStatus status) {
+
+        boolean matches(ProgramChangeNotification notification) {
+            return (programId == null || programId.equals(notification.getProgramId()))
+                    && (status == null || status == notification.getStatus());
+        }
+    }
+
+    /**
+     * Point-in-time feed counters.
+     *
+     * @param subscribers        currently connected subscribers
+     * @param published          changes published since startup
+     * @param delivered          events queued to subscribers since startup
+     * @param droppedSubscribers subscribers disconnected because their queue was full
+     */
+    public record Stats(int subscribers, long published, long delivered, long droppedSubscribers) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Executor sendExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder droppedSubscribers = new LongAdder();
+
+    /**
+     * Constructs the feed from configuration.
+     *
+     * @param objectMapper      the mapper used by the web layer
+     * @param bufferSize        events queued per subscriber before it is disconnected
+     * @param maxSubscribers    connections accepted at once
+     * @param senderThreads     threads writing queued events (ignored on virtual threads)
+     * @param timeout           how long a connection is kept before the client must reconnect
+     * @param heartbeatInterval time between keep-alive comments
+     * @param virtualThreads    write events on virtual threads instead of a fixed pool
+     */
+    @Autowired
+    public ProgramChangeFeed(ObjectMapper objectMapper,
+                             @Value("${app.change-feed.buffer-size:64}") int bufferSize,
+                             @Value("${app.change-feed.max-subscribers:5000}") int maxSubscribers,
+                             @Value("${app.change-feed.sender-threads:4}") int senderThreads,
+                             @Value("${app.change-feed.timeout:30m}") Duration timeout,
+                             @Value("${app.change-feed.heartbeat-interval:20s}") Duration heartbeatInterval,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(objectMapper, bufferSize, maxSubscribers, timeout,
+                virtualThreads
+                        ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory())
+                        : Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("change-feed-")));
+        heartbeatScheduler.scheduleAtFixedRate(this::heartbeat, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ProgramChangeFeed(ObjectMapper objectMapper, int bufferSize, int maxSubscribers,
+                      Duration timeout, Executor sendExecutor) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("app.change-feed.buffer-size must be positive, got: " + bufferSize);
+        }
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendExecutor = sendExecutor;
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("change-feed-heartbeat-"));
+    }
+
+    /**
+     * Stops the sender and heartbeat threads and closes every subscription.
+     *
+     * <p>Runs as soon as the context starts closing, so open streams do not hold up
+     * the web server's graceful shutdown.</p>
+     */
+    @EventListener(ContextClosedEvent.class)
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a subscription.
+     *
+     * @param filter the changes to receive
+     * @return the emitter to return from the controller
+     * @throws ServiceUnavailableException if {@code app.change-feed.max-subscribers} are already connected
+     */
+    public SseEmitter subscribe(Filter filter) {
+        return subscribe(filter, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Filter filter, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException(
+                    "Change feed is at its limit of " + maxSubscribers + " subscribers", Duration.ofMillis(RECONNECT_MILLIS));
+        }
+        Subscriber subscriber = new Subscriber(filter, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        // Sent straight away so the response headers are committed and the client knows it is connected.
+        subscriber.offer(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * Publishes a committed program change to the matching subscribers.
+     *
+     * @param event the change published by {@link ProgramService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgramChange(ProgramChangeEvent event) {
+        published.increment();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ProgramChangeNotification notification = toNotification(event);
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(notification.getType().eventName())
+                    .data(objectMapper.writeValueAsString(notification), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize change of program {}: {}", event.programId(), e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.matches(notification)) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    static ProgramChangeNotification toNotification(ProgramChangeEvent event) {
+        ProgramChangeNotification.ProgramChangeNotificationBuilder notification = ProgramChangeNotification.builder()
+                .programId(event.programId())
+                .status(event.status())
+                .occurredAt(LocalDateTime.now());
+        switch (event) {
+            case ProgramChangeEvent.Created ignored -> notification.type(ChangeType.CREATED);
+            case ProgramChangeEvent.Reviewed reviewed -> notification.type(ChangeType.REVIEWED)
+                    .previousStatus(reviewed.previousStatus());
+            case ProgramChangeEvent.StatusChanged changed -> notification.type(ChangeType.REVIEWED)
+                    .previousStatus(changed.previousStatus());
+            case ProgramChangeEvent.DocumentAttached attached -> notification.type(ChangeType.DOCUMENT_ATTACHED)
+                    .documentUrl(attached.documentUrl());
+            case ProgramChangeEvent.SummaryReady summary -> notification.type(ChangeType.SUMMARY_READY)
+                    .aiSummary(summary.summary());
+        }
+        return notification.build();
+    }
+
+    private void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    /**
+     * Returns the current feed counters.
+     *
+     * @return a snapshot of the counters
+     */
+    public Stats stats() {
+        return new Stats(subscribers.size(), published.sum(), delivered.sum(), droppedSubscribers.sum());
+    }
+
+    /**
+     * One connected client: its filter, its bounded event queue and whether a
+     * sender is currently draining it.
+     */
+    private final class Subscriber {
+
+        private final Filter filter;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Filter filter, SseEmitter emitter) {
+            this.filter = filter;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                droppedSubscribers.increment();
+                log.info("Disconnecting slow change feed subscriber ({} events pending)", queue.size());
+                close();
+                return;
+            }
+            delivered.increment();
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Writes queued events until the queue is empty. At most one drain runs per subscriber.
+         */
+        private void drain() {
+            try {
+                Set<DataWithMediaType> frame;
+                while (!closed && (frame = queue.poll()) != null) {
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the request.
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (subscribers.remove(this)) {
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ontario.demo.programdemo.service;
+
+/**
+ * Delta-sync position: every program change up to and including this row version
+ * has been delivered to the client.
+ *
+ * <p>Row versions come from SQL Server's database-wide {@code ROWVERSION} counter,
+ * so they increase with every write regardless of which server made it or what
+ * its clock says. Encoded as an {@link OpaqueToken}.</p>
+ *
+ * @param rowVersion highest row version the client has seen
+ */
+public record ProgramChangeToken(long rowVersion) {
+
+    /** Position before the first change, used when the client has no token yet. */
+    public static final ProgramChangeToken START = new ProgramChangeToken(0);
+
+    private static final String PREFIX = "rv:";
+
+    /**
+     * Encodes this position as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        return OpaqueToken.encode(PREFIX + rowVersion);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token supplied by the client
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ProgramChangeToken decode(String token) {
+        return OpaqueToken.decode(token, "change token", raw -> {
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            long rowVersion = Long.parseLong(raw.substring(PREFIX.length()));
+            if (rowVersion < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new ProgramChangeToken(rowVersion);
+        });
+    }
+}
@@ -0,0 +1,295 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.ProgramStatistics;
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live program counts by status and by type, with requested budget totals.
+ *
+ * <p>Serves the ops dashboard without running {@code GROUP BY} queries over the
+ * program table on every refresh. The counters are seeded from the database once
+ * the application is ready and then kept current from committed
+ * {@link ProgramChangeEvent}s: a new program adds to its status and type, a review
+ * moves it from one status to another. Each counter is a {@link LongAdder}, so
+ * concurrent commits update it without contending with each other; they share a
+ * read lock that only a reconciliation's corrections take exclusively. Budgets are
+ * kept in cents.</p>
+ *
+ * <p>Every {@code app.program-counters.reconcile-interval} the counters are
+ * compared with the database and any drift, for example from a write made outside
+ * the application, is corrected. A round is skipped when changes arrive while its
+ * queries run, because the counters could then already hold a change the queries
+ * did not see; the next round checks again. The check and the corrections run under
+ * the exclusive lock, so no change is applied between them and then overwritten.</p>
+ */
+@Component
+public class ProgramCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramCounters.class);
+
+    /** Retry delay suggested to callers while the counters are still being seeded. */
+    private static final Duration SEED_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final ProgramRepository programRepository;
+    private final ProgramTypeRepository programTypeRepository;
+    private final ScheduledExecutorService reconcileScheduler;
+    private final Duration reconcileInterval;
+
+    private final Map<ProgramStatus, LongAdder> byStatus = new EnumMap<>(ProgramStatus.class);
+    private final Map<Integer, TypeCounter> byType = new ConcurrentHashMap<>();
+
+    /** Change events applied since startup; a reconciliation round checks it did not move. */
+    private final LongAdder applied = new LongAdder();
+
+    /** Shared by change events, held exclusively while a reconciliation corrects the counters. */
+    private final ReadWriteLock correctionLock = new ReentrantReadWriteLock();
+
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Constructs the counters from configuration.
+     *
+     * @param programRepository     repository the counters are seeded and reconciled from
+     * @param programTypeRepository repository for the program type names
+     * @param reconcileInterval     time between checks against the database
+     */
+    @Autowired
+    public ProgramCounters(ProgramRepository programRepository,
+                           ProgramTypeRepository programTypeRepository,
+                           @Value("${app.program-counters.reconcile-interval:5m}") Duration reconcileInterval) {
+        this(programRepository, programTypeRepository, reconcileInterval,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("program-counters-")));
+    }
+
+    ProgramCounters(ProgramRepository programRepository, ProgramTypeRepository programTypeRepository,
+                    Duration reconcileInterval, ScheduledExecutorService reconcileScheduler) {
+        if (reconcileInterval.isNegative() || reconcileInterval.isZero()) {
+            throw new IllegalArgumentException(
+                    "app.program-counters.reconcile-interval must be positive, got: " + reconcileInterval);
+        }
+        this.programRepository = programRepository;
+        this.programTypeRepository = programTypeRepository;
+        this.reconcileInterval = reconcileInterval;
+        this.reconcileScheduler = reconcileScheduler;
+        for (ProgramStatus status : ProgramStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Seeds the counters from the database and schedules reconciliation.
+     *
+     * <p>Runs once the application is ready. Changes that commit while the seed
+     * queries run may be counted twice or not at all until the first reconciliation.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile(true);
+        reconcileScheduler.scheduleWithFixedDelay(() -> reconcile(false), reconcileInterval.toMillis(),
+                reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the reconciliation thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        reconcileScheduler.shutdownNow();
+    }
+
+    /**
+     * Applies a committed program change to the counters.
+     *
+     * @param event the change published by {@link ProgramService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgramChange(ProgramChangeEvent event) {
+        correctionLock.readLock().lock();
+        try {
+            apply(event);
+        } finally {
+            correctionLock.readLock().unlock();
+        }
+    }
+
+    private void apply(ProgramChangeEvent event) {
+        switch (event) {
+            case ProgramChangeEvent.Created created -> {
+                Program program = created.program();
+                byStatus.get(program.getStatus()).increment();
+                TypeCounter type = typeCounter(program.getProgramType());
+                type.count.increment();
+                type.budgetCents.add(toCents(program.getBudget()));
+            }
+            case ProgramChangeEvent.Reviewed reviewed ->
+                    moveStatus(reviewed.previousStatus(), reviewed.program().getStatus());
+            case ProgramChangeEvent.StatusChanged changed -> moveStatus(changed.previousStatus(), changed.status());
+            case ProgramChangeEvent.DocumentAttached ignored -> {
+                return;
+            }
+            case ProgramChangeEvent.SummaryReady ignored -> {
+                return;
+            }
+        }
+        applied.increment();
+    }
+
+    private void moveStatus(ProgramStatus previous, ProgramStatus current) {
+        if (previous != current) {
+            byStatus.get(previous).decrement();
+            byStatus.get(current).increment();
+        }
+    }
+
+    /**
+     * Returns the current counts.
+     *
+     * @return a snapshot of the counters
+     * @throws ServiceUnavailableException if the counters have not been seeded yet
+     */
+    public ProgramStatistics statistics() {
+        LocalDateTime reconciled = reconciledAt;
+        if (reconciled == null) {
+            throw new ServiceUnavailableException("Program statistics are still loading", SEED_RETRY_AFTER);
+        }
+        Map<ProgramStatus, Long> statusCounts = new EnumMap<>(ProgramStatus.class);
+        long total = 0;
+        for (Map.Entry<ProgramStatus, LongAdder> entry : byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            statusCounts.put(entry.getKey(), count);
+            total += count;
+        }
+        List<ProgramStatistics.TypeStatistics> types = byType.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> ProgramStatistics.TypeStatistics.builder()
+                        .programTypeId(entry.getKey())
+                        .programTypeNameEn(entry.getValue().nameEn)
+                        .programTypeNameFr(entry.getValue().nameFr)
+                        .count(entry.getValue().count.sum())
+                        .budget(fromCents(entry.getValue().budgetCents.sum()))
+                        .build())
+                .toList();
+        long totalCents = byType.values().stream().mapToLong(type -> type.budgetCents.sum()).sum();
+        return ProgramStatistics.builder()
+                .total(total)
+                .totalBudget(fromCents(totalCents))
+                .byStatus(statusCounts)
+                .byType(types)
+                .reconciledAt(reconciled)
+                .build();
+    }
+
+    /**
+     * Compares the counters with the database and corrects any drift.
+     *
+     * @param force apply the database counts even if changes arrived meanwhile (used for the seed)
+     */
+    void reconcile(boolean force) {
+        try {
+            long appliedBefore = applied.sum();
+            List<ProgramRepository.StatusCount> statusCounts = programRepository.countByStatus();
+            List<ProgramRepository.TypeTotal> typeTotals = programRepository.totalByType();
+            List<ProgramType> programTypes = programTypeRepository.findAll();
+
+            Map<ProgramStatus, Long> expectedStatus = new EnumMap<>(ProgramStatus.class);
+            statusCounts.forEach(row -> expectedStatus.put(row.getStatus(), row.getCount()));
+            Map<Integer, ProgramRepository.TypeTotal> expectedType = new HashMap<>();
+            typeTotals.forEach(row -> expectedType.put(row.getProgramTypeId(), row));
+            long drift = 0;
+            correctionLock.writeLock().lock();
+            try {
+                if (!force && applied.sum() != appliedBefore) {
+                    log.debug("Skipping program counter reconciliation: changes arrived while counting");
+                    return;
+                }
+                for (Map.Entry<ProgramStatus, LongAdder> entry : byStatus.entrySet()) {
+                    drift += correct(entry.getValue(), expectedStatus.getOrDefault(entry.getKey(), 0L));
+                }
+                programTypes.forEach(this::typeCounter);
+                for (Map.Entry<Integer, TypeCounter> entry : byType.entrySet()) {
+                    ProgramRepository.TypeTotal expected = expectedType.get(entry.getKey());
+                    drift += correct(entry.getValue().count, expected == null ? 0 : expected.getCount());
+                    correct(entry.getValue().budgetCents, expected == null ? 0 : toCents(expected.getBudget()));
+                }
+            } finally {
+                correctionLock.writeLock().unlock();
+            }
+
+            reconciledAt = LocalDateTime.now();
+            if (force) {
+                log.info("Program counters seeded: {} programs", statistics().getTotal());
+            } else if (drift != 0) {
+                log.warn("Program counters corrected by {} programs after reconciliation", drift);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile program counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sets a counter to the expected value and returns the absolute correction.
+     */
+    private static long correct(LongAdder counter, long expected) {
+        long difference = expected - counter.sum();
+        counter.add(difference);
+        return Math.abs(difference);
+    }
+
+    private TypeCounter typeCounter(ProgramType programType) {
+        TypeCounter counter = byType.computeIfAbsent(programType.getId(), id -> new TypeCounter());
+        counter.nameEn = programType.getTypeNameEn();
+        counter.nameFr = programType.getTypeNameFr();
+        return counter;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Count and budget total of one program type, with its display names.
+     */
+    private static final class TypeCounter {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder budgetCents = new LongAdder();
+        private volatile String nameEn;
+        private volatile String nameFr;
+    }
+}
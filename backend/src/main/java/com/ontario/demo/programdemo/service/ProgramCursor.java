@@ -0,0 +1,46 @@
+package com.ontario.demo.programdemo.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position in the program list, ordered by {@code created_date} then {@code id}.
+ *
+ * <p>Encoded as an {@link OpaqueToken}. The {@code id} component breaks ties
+ * between programs created in the same instant, which keeps the ordering total
+ * and the pages stable.</p>
+ *
+ * @param createdDate creation timestamp of the last program on the previous page
+ * @param id          ID of the last program on the previous page
+ */
+public record ProgramCursor(LocalDateTime createdDate, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encodes this position as an opaque cursor token.
+     *
+     * @return the URL-safe cursor token
+     */
+    public String encode() {
+        return OpaqueToken.encode(createdDate.toString() + SEPARATOR + id);
+    }
+
+    /**
+     * Decodes a cursor token produced by {@link #encode()}.
+     *
+     * @param token the cursor token supplied by the client
+     * @return the decoded keyset position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ProgramCursor decode(String token) {
+        return OpaqueToken.decode(token, "cursor", raw -> {
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new ProgramCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        });
+    }
+}
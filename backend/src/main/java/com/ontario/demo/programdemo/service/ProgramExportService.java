@@ -0,0 +1,230 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes every program to an output stream as newline-delimited JSON or CSV.
+ *
+ * <p>Used for the quarterly audit export. Programs are streamed from the
+ * database (see {@link ProgramRepository#streamAllForExport()}) and written one
+ * at a time, each detached from the persistence context once written, so memory
+ * use stays flat however many programs there are.</p>
+ */
+@Service
+public class ProgramExportService {
+
+    /** Characters buffered before a write to the response. */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Output format of an export.
+     */
+    public enum Format {
+        /** One {@link ProgramResponse} JSON object per line. */
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        /**
+         * RFC 4180 CSV with a header row of the {@link ProgramResponse} property names.
+         * Text starting with {@code =}, {@code +}, {@code -} or {@code @} is prefixed with
+         * {@code '}, so a spreadsheet opening the file does not evaluate it as a formula.
+         */
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        /**
+         * Returns the content type of the export.
+         *
+         * @return the media type
+         */
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Returns the file name extension of the export, e.g. {@code csv}.
+         *
+         * @return the extension without a dot
+         */
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * Parses a format name in any case.
+         *
+         * @param format the requested format, e.g. {@code csv}
+         * @return the format
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format parse(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid export format: " + format + ". Valid formats: "
+                        + Arrays.stream(values()).map(Format::extension).collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    private final ProgramRepository programRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter jsonWriter;
+
+    /**
+     * Constructs the service with its collaborators.
+     *
+     * @param programRepository repository the programs are streamed from
+     * @param entityManager     persistence context the written programs are detached from
+     * @param objectMapper      the mapper used by the web layer, so exported JSON matches the API
+     */
+    public ProgramExportService(ProgramRepository programRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.programRepository = programRepository;
+        this.entityManager = entityManager;
+        // Flushing after every program would send one small packet per row.
+        this.jsonWriter = objectMapper.writerFor(ProgramResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every program, lowest ID first.
+     *
+     * <p>The database connection is held until the last program is written, so
+     * the export runs at the speed of the client. The output stream is flushed but
+     * not closed.</p>
+     *
+     * @param format the output format
+     * @param out    where to write the export
+     * @return the number of programs written
+     * @throws IOException if writing to {@code out} fails
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long count = 0;
+        try (Stream<Program> programs = programRepository.streamAllForExport();
+             JsonGenerator json = jsonWriter.createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated explicitly below instead of by the default space.
+            json.setRootValueSeparator(null);
+            if (format == Format.CSV) {
+                writeCsvHeader(writer);
+            }
+            Iterator<Program> iterator = programs.iterator();
+            while (iterator.hasNext()) {
+                Program program = iterator.next();
+                ProgramResponse response = ProgramService.toResponse(program);
+                entityManager.detach(program);
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, response);
+                } else {
+                    jsonWriter.writeValue(json, response);
+                    json.writeRaw('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvHeader(Writer writer) throws IOException {
+        ProgramField[] fields = ProgramField.values();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(fields[i].jsonName());
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvRow(Writer writer, ProgramResponse response) throws IOException {
+        ProgramField[] fields = ProgramField.values();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            switch (value(response, fields[i])) {
+                case null -> {
+                }
+                case BigDecimal decimal -> writeCsvValue(writer, decimal.toPlainString());
+                case String text -> writeCsvValue(writer, escapeFormula(text));
+                case Object value -> writeCsvValue(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Prefixes text a spreadsheet would read as a formula with {@code '} (CSV injection),
+     * including text behind a leading tab or carriage return, which some spreadsheets skip.
+     */
+    private static String escapeFormula(String text) {
+        return !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0 ? "'" + text : text;
+    }
+
+    /**
+     * Writes one CSV value, quoted if it contains a comma, quote or line break.
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\r' || c == '\n')) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static Object value(ProgramResponse response, ProgramField field) {
+        return switch (field) {
+            case ID -> response.getId();
+            case PROGRAM_NAME -> response.getProgramName();
+            case PROGRAM_DESCRIPTION -> response.getProgramDescription();
+            case PROGRAM_TYPE_ID -> response.getProgramTypeId();
+            case PROGRAM_TYPE_NAME_EN -> response.getProgramTypeNameEn();
+            case PROGRAM_TYPE_NAME_FR -> response.getProgramTypeNameFr();
+            case STATUS -> response.getStatus();
+            case SUBMITTED_BY -> response.getSubmittedBy();
+            case REVIEWED_BY -> response.getReviewedBy();
+            case REVIEW_COMMENTS -> response.getReviewComments();
+            case DOCUMENT_URL -> response.getDocumentUrl();
+            case AI_SUMMARY -> response.getAiSummary();
+            case BUDGET -> response.getBudget();
+            case CREATED_DATE -> response.getCreatedDate();
+            case UPDATED_DATE -> response.getUpdatedDate();
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts programs entering each status, for submission and decision rates.
+ *
+ * <p>Published as {@code programs.status.changes}, tagged with the new status: a
+ * submission counts under {@code SUBMITTED}, a review or bulk review under the
+ * decision. Updated from committed {@link ProgramChangeEvent}s, so rolled-back
+ * changes are not counted.</p>
+ */
+@Component
+public class ProgramMetrics {
+
+    private final Map<ProgramStatus, Counter> statusChanges = new EnumMap<>(ProgramStatus.class);
+
+    /**
+     * Registers a counter per status.
+     *
+     * @param meterRegistry the registry to publish the counters to
+     */
+    public ProgramMetrics(MeterRegistry meterRegistry) {
+        for (ProgramStatus status : ProgramStatus.values()) {
+            statusChanges.put(status, Counter.builder("programs.status.changes")
+                    .description("Programs entering each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Counts a committed program change.
+     *
+     * @param event the change published by {@link ProgramService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgramChange(ProgramChangeEvent event) {
+        switch (event) {
+            case ProgramChangeEvent.Created created -> statusChanges.get(created.program().getStatus()).increment();
+            case ProgramChangeEvent.Reviewed reviewed -> {
+                if (reviewed.previousStatus() != reviewed.status()) {
+                    statusChanges.get(reviewed.status()).increment();
+                }
+            }
+            case ProgramChangeEvent.StatusChanged changed -> {
+                if (changed.previousStatus() != changed.status()) {
+                    statusChanges.get(changed.status()).increment();
+                }
+            }
+            case ProgramChangeEvent.DocumentAttached ignored -> {
+            }
+            case ProgramChangeEvent.SummaryReady ignored -> {
+            }
+        }
+    }
+}
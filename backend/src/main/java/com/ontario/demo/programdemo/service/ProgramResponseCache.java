@@ -0,0 +1,361 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.config.ReadReplicaRoutingDataSource;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory cache of serialized program read responses.
+ *
+ * <p>A submission changes only a few times (review, document upload, AI summary),
+ * but is read far more often. This cache keeps the JSON bytes of
+ * {@code GET /api/programs/{id}} and {@code GET /api/programs[?search=]} with a
+ * strong ETag, plus a gzip copy of larger bodies, so a repeat read costs neither a
+ * query nor serialization. The cache is bounded by total size and evicts the least
+ * recently used response first.</p>
+ *
+ * <p>Entries are invalidated from committed {@link ProgramChangeEvent}s. A change to
+ * a program drops its own entry and every list that contains it; a new program
+ * drops all lists; a new AI summary also drops every search, as the summary is
+ * searchable. A response computed from data read before an invalidation is never
+ * stored, and a miss shortly after a local write reads the primary rather than a
+ * read replica that may not have the change yet.</p>
+ */
+@Component
+public class ProgramResponseCache {
+
+    private static final String PROGRAM_KEY = "program:";
+    private static final String LIST_KEY = "list";
+    private static final String SEARCH_KEY = "search:";
+    private static final String FIELDS_KEY = "?fields=";
+
+    /** Approximate heap cost of one tracked program ID. */
+    private static final int ID_OVERHEAD_BYTES = 16;
+
+    /**
+     * Point-in-time cache counters.
+     *
+     * @param hits          reads served from a cached response
+     * @param misses        reads that had to query and serialize
+     * @param evictions     responses removed to stay within the size limit
+     * @param invalidations responses dropped because a program changed
+     * @param entries       responses currently cached
+     * @param bytes         approximate size of the cached responses
+     * @param maxBytes      configured size limit
+     * @param hitRatio      hits as a fraction of all reads, or 0 before the first read
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations,
+                        int entries, long bytes, long maxBytes, double hitRatio) {
+    }
+
+    /**
+     * A serialized response body.
+     *
+     * @param json the JSON body
+     * @param gzip the gzip-compressed body, or {@code null} if the body is too small to compress
+     * @param eTag strong ETag of the JSON body
+     */
+    public record CachedResponse(byte[] json, byte[] gzip, String eTag) {
+
+        /**
+         * Returns the ETag of the gzip representation, which differs from the JSON body's.
+         *
+         * @return the gzip ETag
+         */
+        public String gzipETag() {
+            return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+        }
+
+        /**
+         * Returns {@code true} if an {@code If-None-Match} header matches either representation.
+         *
+         * @param ifNoneMatch the raw header value, may be {@code null}
+         * @return whether the client's copy is current
+         */
+        public boolean matches(String ifNoneMatch) {
+            return ifNoneMatch != null && (DocumentCache.eTagMatches(ifNoneMatch, eTag)
+                    || gzip != null && DocumentCache.eTagMatches(ifNoneMatch, gzipETag()));
+        }
+
+        long size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private record Entry(CachedResponse response, Set<Long> programIds, long size) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ProgramSearchIndex searchIndex;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final int gzipMinBytes;
+
+    private final Object lock = new Object();
+
+    /** Cache key to response, in access order so the eldest entry is the LRU victim. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /** Incremented on every invalidation; a response loaded under an older generation is not stored. */
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructs the cache from configuration.
+     *
+     * @param objectMapper the mapper used by the web layer, so cached bodies are identical
+     * @param searchIndex  the search index; searches are only cached once it is ready
+     * @param enabled      whether responses are cached at all (they are still serialized with an ETag)
+     * @param maxSize      total size limit of the cached responses
+     * @param gzipMinSize  smallest body that is also kept gzip-compressed
+     */
+    public ProgramResponseCache(ObjectMapper objectMapper,
+                                ProgramSearchIndex searchIndex,
+                                @Value("${app.response-cache.enabled:true}") boolean enabled,
+                                @Value("${app.response-cache.max-size:32MB}") DataSize maxSize,
+                                @Value("${app.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.searchIndex = searchIndex;
+        this.enabled = enabled;
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = DocumentCache.entryLimit(maxBytes);
+        this.gzipMinBytes = (int) Math.min(Integer.MAX_VALUE, gzipMinSize.toBytes());
+    }
+
+    /**
+     * Returns the serialized response for one program, loading it on a miss.
+     *
+     * @param id     the program ID
+     * @param loader reads the program; its exceptions propagate and nothing is cached
+     * @return the serialized program
+     */
+    public CachedResponse program(Long id, Supplier<ProgramResponse> loader) {
+        return get(PROGRAM_KEY + id, loader, program -> Set.of(program.getId()));
+    }
+
+    /**
+     * Returns the serialized response for a program list or search, loading it on a miss.
+     *
+     * <p>Searches are not cached until the search index is ready, as the fallback
+     * name-only search returns different results.</p>
+     *
+     * @param search the search term, or {@code null} for all programs
+     * @param loader runs the query; its exceptions propagate and nothing is cached
+     * @return the serialized program list
+     */
+    public CachedResponse programs(String search, Supplier<List<ProgramResponse>> loader) {
+        String key = listKey(search);
+        if (key == null) {
+            return serialize(loader.get());
+        }
+        return get(key, loader, programs -> {
+            Set<Long> ids = new HashSet<>();
+            programs.forEach(program -> ids.add(program.getId()));
+            return ids;
+        });
+    }
+
+    /**
+     * Returns the serialized response for a sparse program list or search, loading it on a miss.
+     *
+     * <p>Cached separately for each set of fields, and invalidated like the full list.</p>
+     *
+     * @param search the search term, or {@code null} for all programs
+     * @param fields the requested fields, which must include {@link ProgramField#ID}
+     * @param loader runs the query; its exceptions propagate and nothing is cached
+     * @return the serialized program list
+     */
+    public CachedResponse programs(String search, Set<ProgramField> fields,
+                                   Supplier<List<Map<String, Object>>> loader) {
+        String key = listKey(search);
+        if (key == null) {
+            return serialize(loader.get());
+        }
+        String fieldsKey = fields.stream().map(ProgramField::jsonName).collect(Collectors.joining(","));
+        return get(key + FIELDS_KEY + fieldsKey, loader, rows -> {
+            Set<Long> ids = new HashSet<>();
+            rows.forEach(row -> ids.add((Long) row.get(ProgramField.ID.jsonName())));
+            return ids;
+        });
+    }
+
+    /**
+     * Returns the cache key of a list or search, or {@code null} if it must not be cached.
+     */
+    private String listKey(String search) {
+        if (search == null || search.isBlank()) {
+            return LIST_KEY;
+        }
+        return searchIndex.isReady() ? SEARCH_KEY + search.strip().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private <T> CachedResponse get(String key, Supplier<T> loader, Function<T, Set<Long>> programIds) {
+        if (!enabled) {
+            return serialize(loader.get());
+        }
+        long loadGeneration;
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return entry.response();
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        T value;
+        try (var ignored = ReadReplicaRoutingDataSource.refillingCache()) {
+            value = loader.get();
+        }
+        CachedResponse response = serialize(value);
+        Set<Long> ids = programIds.apply(value);
+        long size = response.size() + key.length() + (long) ids.size() * ID_OVERHEAD_BYTES;
+        if (size <= maxEntryBytes) {
+            store(key, new Entry(response, ids, size), loadGeneration);
+        }
+        return response;
+    }
+
+    private void store(String key, Entry entry, long loadGeneration) {
+        synchronized (lock) {
+            if (loadGeneration != generation) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += entry.size();
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().size();
+                eldest.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Serializes a response body and computes its ETag and gzip copy.
+     */
+    CachedResponse serialize(Object value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+            return new CachedResponse(json, json.length >= gzipMinBytes ? gzip(json) : null, eTag);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize program response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Drops the cached responses affected by a committed program change.
+     *
+     * <p>Runs after the search index has applied the same change, so a search
+     * re-cached straight after the invalidation already reflects it.</p>
+     *
+     * @param event the change published by {@link ProgramService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProgramChange(ProgramChangeEvent event) {
+        switch (event) {
+            case ProgramChangeEvent.Created ignored -> invalidateLists();
+            case ProgramChangeEvent.SummaryReady summary -> invalidateProgram(summary.programId(), true);
+            case ProgramChangeEvent.Reviewed reviewed -> invalidateProgram(reviewed.programId(), false);
+            case ProgramChangeEvent.StatusChanged changed -> invalidateProgram(changed.programId(), false);
+            case ProgramChangeEvent.DocumentAttached attached -> invalidateProgram(attached.programId(), false);
+        }
+    }
+
+    /**
+     * Drops every cached list and search, for a change that may add a program to any of them.
+     */
+    private void invalidateLists() {
+        synchronized (lock) {
+            generation++;
+            removeIf((key, entry) -> !key.startsWith(PROGRAM_KEY));
+        }
+    }
+
+    /**
+     * Drops a program's own response and every list containing it.
+     *
+     * @param id               the changed program
+     * @param searchableChange whether searchable text changed, so any search may now match it
+     */
+    private void invalidateProgram(Long id, boolean searchableChange) {
+        synchronized (lock) {
+            generation++;
+            removeIf((key, entry) -> entry.programIds().contains(id)
+                    || searchableChange && key.startsWith(SEARCH_KEY));
+        }
+    }
+
+    private void removeIf(BiPredicate<String, Entry> affected) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> cached = iterator.next();
+            if (affected.test(cached.getKey(), cached.getValue())) {
+                totalBytes -= cached.getValue().size();
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return a snapshot of the counters
+     */
+    public Stats stats() {
+        synchronized (lock) {
+            long reads = hits + misses;
+            return new Stats(hits, misses, evictions, invalidations, entries.size(), totalBytes, maxBytes,
+                    reads == 0 ? 0 : (double) hits / reads);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over program text used to serve ranked searches.
+ *
+ * <p>Indexes the program name, description and AI summary. Text is accent-folded
+ * and lower-cased before tokenizing, so {@code "Santé"} and {@code "sante"} match.
+ * Terms are kept in sorted maps, which lets a query token match every indexed term
+ * it is a prefix of ({@code "educ"} finds {@code "education"}).</p>
+ *
+ * <p>The index is built from the database once the application is ready and then
+ * kept current from committed {@link ProgramChangeEvent}s. Until the first build
+ * completes, {@link #isReady()} returns {@code false} and callers should fall back
+ * to a database query.</p>
+ */
+@Component
+public class ProgramSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramSearchIndex.class);
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    /** Query tokens shorter than this only match whole terms, to keep prefix expansion selective. */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /** Score multiplier for a prefix match relative to an exact term match. */
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    /**
+     * Indexed program fields and their relative ranking weights.
+     */
+    public enum Field {
+        /** Program name; matches here rank highest. */
+        NAME(3.0),
+        /** Citizen-supplied program description. */
+        DESCRIPTION(1.0),
+        /** AI-generated summary of the attached document. */
+        SUMMARY(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final ProgramRepository programRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Per field: term to (program ID to term frequency). */
+    private final Map<Field, NavigableMap<String, Map<Long, Integer>>> postings = new EnumMap<>(Field.class);
+
+    /** Per program: the term frequencies currently indexed for each field, used for removal. */
+    private final Map<Long, Map<Field, Map<String, Integer>>> documents = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Constructs the index.
+     *
+     * @param programRepository repository used for the initial build
+     */
+    public ProgramSearchIndex(ProgramRepository programRepository) {
+        this.programRepository = programRepository;
+        for (Field field : Field.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database.
+     *
+     * <p>Runs once the application is ready. Change events that arrive during the
+     * build wait on the write lock, so none are lost.</p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Map::clear);
+            documents.clear();
+            List<Program> programs = programRepository.findAll();
+            programs.forEach(this::indexProgramLocked);
+            ready = true;
+            log.info("Search index built with {} programs and {} name terms",
+                    documents.size(), postings.get(Field.NAME).size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} once the index has been built and can serve searches.
+     *
+     * @return whether the index is ready
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Applies a committed program change to the index.
+     *
+     * @param event the change published by {@link ProgramService}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // before ProgramResponseCache drops cached searches
+    public void onProgramChange(ProgramChangeEvent event) {
+        switch (event) {
+            case ProgramChangeEvent.Created created -> index(created.program());
+            case ProgramChangeEvent.Reviewed reviewed -> index(reviewed.program());
+            case ProgramChangeEvent.SummaryReady summary ->
+                    indexField(summary.programId(), Field.SUMMARY, summary.summary());
+            case ProgramChangeEvent.DocumentAttached ignored -> {
+                // The document URL is not searchable text.
+            }
+            case ProgramChangeEvent.StatusChanged ignored -> {
+                // The status is not searchable text.
+            }
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) every searchable field of a program.
+     *
+     * @param program the program to index
+     */
+    public void index(Program program) {
+        lock.writeLock().lock();
+        try {
+            indexProgramLocked(program);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed text of a single field of a program.
+     *
+     * @param programId the program ID
+     * @param field     the field to replace
+     * @param text      the new field text, or {@code null} to clear it
+     */
+    public void indexField(Long programId, Field field, String text) {
+        lock.writeLock().lock();
+        try {
+            indexFieldLocked(programId, field, text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns matching program IDs, best match first.
+     *
+     * <p>Every query token must match (as a whole term or a term prefix) in at least
+     * one field. Matches are scored by field weight, term frequency and inverse
+     * document frequency; exact matches score higher than prefix matches.</p>
+     *
+     * @param query      the free-text query
+     * @param maxResults maximum number of IDs to return
+     * @return the matching program IDs ordered by descending relevance
+     */
+    public List<Long> search(String query, int maxResults) {
+        List<String> queryTokens = tokenize(query).stream().distinct().toList();
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : queryTokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .limit(maxResults)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into accent-folded, lower-case tokens.
+     *
+     * @param text the text to tokenize (may be {@code null})
+     * @return the tokens in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = Math.max(documents.size(), 1);
+        for (Field field : Field.values()) {
+            NavigableMap<String, Map<Long, Integer>> terms = postings.get(field);
+            NavigableMap<String, Map<Long, Integer>> candidates = token.length() >= MIN_PREFIX_LENGTH
+                    ? terms.subMap(token, true, token + Character.MAX_VALUE, false)
+                    : terms.subMap(token, true, token, true);
+            for (Map.Entry<String, Map<Long, Integer>> term : candidates.entrySet()) {
+                double match = term.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+                Map<Long, Integer> frequencies = term.getValue();
+                double idf = Math.log(1.0 + (double) documentCount / frequencies.size());
+                for (Map.Entry<Long, Integer> posting : frequencies.entrySet()) {
+                    double score = field.weight * match * idf * (1.0 + Math.log(posting.getValue()));
+                    scores.merge(posting.getKey(), score, Double::sum);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void indexProgramLocked(Program program) {
+        indexFieldLocked(program.getId(), Field.NAME, program.getProgramName());
+        indexFieldLocked(program.getId(), Field.DESCRIPTION, program.getProgramDescription());
+        indexFieldLocked(program.getId(), Field.SUMMARY, program.getAiSummary());
+    }
+
+    private void indexFieldLocked(Long programId, Field field, String text) {
+        Map<Field, Map<String, Integer>> fields =
+                documents.computeIfAbsent(programId, id -> new EnumMap<>(Field.class));
+        NavigableMap<String, Map<Long, Integer>> terms = postings.get(field);
+
+        Map<String, Integer> previous = fields.remove(field);
+        if (previous != null) {
+            for (String term : previous.keySet()) {
+                Map<Long, Integer> frequencies = terms.get(term);
+                frequencies.remove(programId);
+                if (frequencies.isEmpty()) {
+                    terms.remove(term);
+                }
+            }
+        }
+
+        Map<String, Integer> current = new HashMap<>();
+        for (String token : tokenize(text)) {
+            current.merge(token, 1, Integer::sum);
+        }
+        if (!current.isEmpty()) {
+            fields.put(field, current);
+            current.forEach((term, frequency) ->
+                    terms.computeIfAbsent(term, t -> new HashMap<>()).put(programId, frequency));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.ontario.demo.programdemo.service;
 
+import com.ontario.demo.programdemo.dto.ProgramChanges;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramPage;
 import com.ontario.demo.programdemo.dto.ProgramRequest;
 import com.ontario.demo.programdemo.dto.ProgramResponse;
 import com.ontario.demo.programdemo.dto.ReviewRequest;
@@ -8,10 +11,22 @@ import com.ontario.demo.programdemo.model.ProgramStatus;
 import com.ontario.demo.programdemo.model.ProgramType;
 import com.ontario.demo.programdemo.repository.ProgramRepository;
 import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.repository.StoredDocumentRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for program submission business logic.
@@ -23,19 +38,40 @@ import java.util.List;
 @Service
 public class ProgramService {
 
+    /** Largest page size accepted by {@link #getProgramPage(String, int)}. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** Largest number of changes returned by {@link #getChangesSince(String, int)}. */
+    public static final int MAX_CHANGES_PAGE_SIZE = 1_000;
+
+    /** Maximum number of ranked results returned by a search. */
+    public static final int MAX_SEARCH_RESULTS = 200;
+
     private final ProgramRepository programRepository;
     private final ProgramTypeRepository programTypeRepository;
+    private final StoredDocumentRepository storedDocumentRepository;
+    private final ProgramSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs the service with required repository dependencies.
      *
-     * @param programRepository     repository for program entities
-     * @param programTypeRepository repository for program type entities
+     * @param programRepository        repository for program entities
+     * @param programTypeRepository    repository for program type entities
+     * @param storedDocumentRepository repository for the content-addressed documents programs reference
+     * @param searchIndex              in-memory full-text index used for searches
+     * @param eventPublisher           publisher for {@link ProgramChangeEvent}s
      */
     public ProgramService(ProgramRepository programRepository,
-                          ProgramTypeRepository programTypeRepository) {
+                          ProgramTypeRepository programTypeRepository,
+                          StoredDocumentRepository storedDocumentRepository,
+                          ProgramSearchIndex searchIndex,
+                          ApplicationEventPublisher eventPublisher) {
         this.programRepository = programRepository;
         this.programTypeRepository = programTypeRepository;
+        this.storedDocumentRepository = storedDocumentRepository;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -47,38 +83,267 @@ public class ProgramService {
      */
     @Transactional
     public ProgramResponse createProgram(ProgramRequest request) {
+        Program saved = programRepository.save(newProgram(request, request.getDocumentUrl()));
+        eventPublisher.publishEvent(new ProgramChangeEvent.Created(saved));
+        return toResponse(saved);
+    }
+
+    /**
+     * Reserves the ID of a program that will be created later with
+     * {@link #createProgram(Long, ProgramRequest, DocumentStore.Reference)}.
+     *
+     * @return the reserved program ID
+     */
+    @Transactional
+    public Long reserveProgramId() {
+        return programRepository.reserveId();
+    }
+
+    /**
+     * Creates a new program submission under a previously reserved ID.
+     *
+     * <p>Writes the row with a single {@code INSERT}, document URL included, and
+     * builds the response from the inserted values without reading the row back.
+     * A document that was already stored brings its AI summary along. The summary
+     * is read under a shared lock on the stored document in the same transaction
+     * as the insert, so a summary callback for the document either commits first
+     * and is copied here, or waits for the insert and then updates this program
+     * with all the others (see {@link #updateDocumentSummary}).</p>
+     *
+     * @param id       the ID from {@link #reserveProgramId()}
+     * @param request  the program submission data
+     * @param document the reference to the attached document, or {@code null}
+     * @return the created program as a response DTO
+     * @throws IllegalArgumentException if the program type ID is invalid
+     */
+    @Transactional
+    public ProgramResponse createProgram(Long id, ProgramRequest request, DocumentStore.Reference document) {
+        Program program = newProgram(request, document != null ? document.documentUrl() : null);
+        program.setId(id);
+        if (document != null) {
+            program.setDocumentHash(document.contentHash());
+            program.setDocumentFilename(document.filename());
+            storedDocumentRepository.findAndLockById(document.contentHash()).ifPresent(stored -> {
+                program.setAiSummary(stored.getAiSummary());
+                program.setAiSummaryGeneratedDate(stored.getAiSummaryGeneratedDate());
+            });
+        }
+        LocalDateTime now = LocalDateTime.now();
+        program.setCreatedDate(now);
+        program.setUpdatedDate(now);
+
+        programRepository.insertWithReservedId(program);
+        eventPublisher.publishEvent(new ProgramChangeEvent.Created(program));
+        return toResponse(program);
+    }
+
+    /**
+     * Creates a batch of program submissions in one transaction.
+     *
+     * <p>Program types are looked up once for the whole batch, and the rows are
+     * written with batched {@code INSERT}s (see {@code hibernate.jdbc.batch_size}).</p>
+     *
+     * @param requests the validated program submission data
+     * @return the IDs of the created programs, in request order
+     * @throws IllegalArgumentException if a program type ID is invalid
+     */
+    @Transactional
+    public List<Long> createPrograms(List<ProgramRequest> requests) {
+        List<Integer> typeIds = requests.stream().map(ProgramRequest::getProgramTypeId).distinct().toList();
+        Map<Integer, ProgramType> programTypes = programTypeRepository.findAllById(typeIds).stream()
+                .collect(Collectors.toMap(ProgramType::getId, Function.identity()));
+
+        List<Program> programs = new ArrayList<>(requests.size());
+        for (ProgramRequest request : requests) {
+            ProgramType programType = programTypes.get(request.getProgramTypeId());
+            if (programType == null) {
+                throw new IllegalArgumentException(
+                        "Program type not found with ID: " + request.getProgramTypeId());
+            }
+            programs.add(newProgram(request, programType, request.getDocumentUrl()));
+        }
+
+        List<Program> saved = programRepository.saveAll(programs);
+        saved.forEach(program -> eventPublisher.publishEvent(new ProgramChangeEvent.Created(program)));
+        return saved.stream().map(Program::getId).toList();
+    }
+
+    /**
+     * Builds a new, unsaved program in {@code SUBMITTED} status from a citizen request.
+     *
+     * @throws IllegalArgumentException if the program type ID is invalid
+     */
+    private Program newProgram(ProgramRequest request, String documentUrl) {
         ProgramType programType = programTypeRepository.findById(request.getProgramTypeId())
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Program type not found with ID: " + request.getProgramTypeId()));
+        return newProgram(request, programType, documentUrl);
+    }
 
+    /**
+     * Builds a new, unsaved program in {@code SUBMITTED} status with an already resolved program type.
+     */
+    private Program newProgram(ProgramRequest request, ProgramType programType, String documentUrl) {
         Program program = new Program();
         program.setProgramName(request.getProgramName());
         program.setProgramDescription(request.getProgramDescription());
         program.setProgramType(programType);
         program.setStatus(ProgramStatus.SUBMITTED);
         program.setSubmittedBy(request.getSubmittedBy());
-        program.setDocumentUrl(request.getDocumentUrl());
+        program.setDocumentUrl(documentUrl);
         program.setBudget(request.getBudget());
-
-        Program saved = programRepository.save(program);
-        return toResponse(saved);
+        return program;
     }
 
     /**
      * Retrieves all programs, optionally filtered by a search term.
      *
-     * @param search optional search term to filter by program name
+     * <p>Searches are matched and ranked by the in-memory {@link ProgramSearchIndex}
+     * across the name, description and AI summary, best match first, and only the
+     * matching rows are loaded by primary key. While the index is still being built
+     * at startup, the search falls back to a name-only database query.</p>
+     *
+     * @param search optional search term
      * @return list of matching programs as response DTOs
      */
     @Transactional(readOnly = true)
     public List<ProgramResponse> getPrograms(String search) {
         List<Program> programs;
-        if (search != null && !search.isBlank()) {
+        if (search == null || search.isBlank()) {
+            programs = programRepository.findAll();
+        } else if (searchIndex.isReady()) {
+            programs = findRanked(searchIndex.search(search, MAX_SEARCH_RESULTS));
+        } else {
             programs = programRepository.findByProgramNameContainingIgnoreCase(search);
+        }
+        return programs.stream().map(ProgramService::toResponse).toList();
+    }
+
+    /**
+     * Retrieves selected fields of all programs, optionally filtered by a search term.
+     *
+     * <p>Matches and orders programs like {@link #getPrograms(String)}, but reads only
+     * the columns of the requested fields, so a list that omits the description,
+     * review comments and AI summary never reads those columns.</p>
+     *
+     * @param search optional search term
+     * @param fields the fields to return; {@link ProgramField#ID} is always added
+     * @return one map per matching program, keyed by JSON property name
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getPrograms(String search, Set<ProgramField> fields) {
+        Set<ProgramField> selected = EnumSet.of(ProgramField.ID);
+        selected.addAll(fields);
+        if (search == null || search.isBlank()) {
+            return programRepository.findAllProjected(selected);
+        } else if (searchIndex.isReady()) {
+            List<Long> rankedIds = searchIndex.search(search, MAX_SEARCH_RESULTS);
+            Map<Object, Map<String, Object>> byId = programRepository.findProjectedByIdIn(rankedIds, selected)
+                    .stream()
+                    .collect(Collectors.toMap(row -> row.get(ProgramField.ID.jsonName()), Function.identity()));
+            return rankedIds.stream().map(byId::get).filter(Objects::nonNull).toList();
         } else {
-            programs = programRepository.findAll();
+            return programRepository.findProjectedByProgramNameContaining(search, selected);
+        }
+    }
+
+    /**
+     * Loads programs by ID, keeping the order of the given ranking.
+     *
+     * @param rankedIds program IDs, best match first
+     * @return the programs in ranking order, skipping any no longer in the database
+     */
+    private List<Program> findRanked(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Program> byId = programRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Program::getId, Function.identity()));
+        return rankedIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Retrieves one page of programs, newest first, using keyset pagination.
+     *
+     * <p>One extra row is fetched to tell whether another page follows, so the
+     * next cursor is only issued when there really is more data.</p>
+     *
+     * @param cursor opaque cursor from a previous page, or {@code null} for the first page
+     * @param limit  maximum number of programs to return (1 to {@value #MAX_PAGE_SIZE})
+     * @return the page of programs with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public ProgramPage getProgramPage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE + ", got: " + limit);
+        }
+
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Program> programs;
+        if (cursor != null && !cursor.isBlank()) {
+            ProgramCursor position = ProgramCursor.decode(cursor);
+            programs = programRepository.findPageAfter(
+                    position.createdDate(), position.id(), fetchLimit);
+        } else {
+            programs = programRepository.findAllByOrderByCreatedDateDescIdDesc(fetchLimit);
+        }
+
+        boolean hasMore = programs.size() > limit;
+        List<Program> page = hasMore ? programs.subList(0, limit) : programs;
+        String nextCursor = null;
+        if (hasMore) {
+            Program last = page.get(page.size() - 1);
+            nextCursor = new ProgramCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return ProgramPage.builder()
+                .items(page.stream().map(ProgramService::toResponse).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Retrieves the programs changed since a delta-sync token, oldest change first.
+     *
+     * <p>Changes are read up to {@code MIN_ACTIVE_ROWVERSION()} only, so a write
+     * still in flight is picked up by a later sync rather than skipped. Without a
+     * token every program is returned, in pages of {@code limit}, which lets a
+     * client build its initial copy through the same endpoint.</p>
+     *
+     * @param token opaque token from a previous sync, or {@code null} to start from the beginning
+     * @param limit maximum number of programs to return (1 to {@value #MAX_CHANGES_PAGE_SIZE})
+     * @return the changed programs with the token for the next sync
+     * @throws IllegalArgumentException if the token is malformed or the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public ProgramChanges getChangesSince(String token, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_CHANGES_PAGE_SIZE + ", got: " + limit);
         }
-        return programs.stream().map(this::toResponse).toList();
+        long since = token != null && !token.isBlank()
+                ? ProgramChangeToken.decode(token).rowVersion()
+                : ProgramChangeToken.START.rowVersion();
+
+        long watermark = programRepository.minActiveRowVersion();
+        List<ProgramRepository.ProgramVersion> changed =
+                programRepository.findChangedBetween(since, watermark, limit + 1);
+        boolean hasMore = changed.size() > limit;
+        List<ProgramRepository.ProgramVersion> page = hasMore ? changed.subList(0, limit) : changed;
+        // With everything below the watermark delivered, the next sync can start there.
+        long next = hasMore
+                ? page.get(page.size() - 1).getRowVersion()
+                : Math.max(since, watermark - 1);
+
+        List<Long> ids = page.stream().map(ProgramRepository.ProgramVersion::getId).toList();
+        Map<Long, Program> byId = ids.isEmpty() ? Map.of() : programRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Program::getId, Function.identity()));
+        return ProgramChanges.builder()
+                .items(ids.stream().map(byId::get).filter(Objects::nonNull).map(ProgramService::toResponse).toList())
+                .nextToken(new ProgramChangeToken(next).encode())
+                .hasMore(hasMore)
+                .build();
     }
 
     /**
@@ -96,13 +361,42 @@ public class ProgramService {
         return toResponse(program);
     }
 
+    /**
+     * A program's supporting document, as served for download.
+     *
+     * @param url      the full blob URL, or {@code null} if the program has no document
+     * @param filename the file name to download it as, or {@code null} if the URL ends in it
+     */
+    public record ProgramDocument(String url, String filename) {
+    }
+
+    /**
+     * Retrieves the supporting document of a program.
+     *
+     * @param id the program ID
+     * @return the document's URL and file name
+     * @throws IllegalArgumentException if the program is not found
+     */
+    @Transactional(readOnly = true)
+    public ProgramDocument getProgramDocument(Long id) {
+        Program program = programRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Program not found with ID: " + id));
+        return new ProgramDocument(program.getDocumentUrl(), program.getDocumentFilename());
+    }
+
     /**
      * Reviews a program submission by approving or rejecting it.
      *
+     * <p>The program is read once and the decision written with a single targeted
+     * {@code UPDATE} that applies only if the program's version has not moved since
+     * the read, so a concurrent review or callback is never silently overwritten.</p>
+     *
      * @param id      the program ID to review
      * @param request the review decision data
      * @return the updated program as a response DTO
      * @throws IllegalArgumentException if the program is not found or the status is invalid
+     * @throws ObjectOptimisticLockingFailureException if the program was changed after it was read
      */
     @Transactional
     public ProgramResponse reviewProgram(Long id, ReviewRequest request) {
@@ -110,12 +404,81 @@ public class ProgramService {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Program not found with ID: " + id));
 
+        ProgramStatus newStatus = parseDecision(request.getStatus());
+        ProgramStatus previousStatus = program.getStatus();
+        LocalDateTime now = LocalDateTime.now();
+        if (programRepository.updateReview(id, program.getVersion(), newStatus,
+                request.getReviewedBy(), request.getReviewComments(), now) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Program.class, id);
+        }
+
+        // The update detached the program, so bringing it up to date here writes nothing.
+        program.setStatus(newStatus);
+        program.setReviewedBy(request.getReviewedBy());
+        program.setReviewComments(request.getReviewComments());
+        program.setUpdatedDate(now);
+        program.setVersion(program.getVersion() + 1);
+        eventPublisher.publishEvent(new ProgramChangeEvent.Reviewed(program, previousStatus));
+        return toResponse(program);
+    }
+
+    /**
+     * Records the same review decision on many submitted programs at once.
+     *
+     * <p>Applies the decision with one set-based {@code UPDATE} instead of loading
+     * and saving each program. Only programs still in {@code SUBMITTED} status are
+     * changed; programs that are missing or already reviewed are left alone. The
+     * submitted programs are locked when they are selected, so a concurrent review
+     * waits and finds them reviewed instead of both reporting them. Callers
+     * keep {@code ids} below the database's parameter limit (see
+     * {@link ProgramBulkService}).</p>
+     *
+     * @param ids     the programs to review
+     * @param request the review decision data
+     * @return the IDs of the programs that were reviewed
+     * @throws IllegalArgumentException if the status is invalid
+     */
+    @Transactional
+    public List<Long> reviewPrograms(List<Long> ids, ReviewRequest request) {
+        ProgramStatus newStatus = parseDecision(request.getStatus());
+        List<Long> pending = programRepository.findAndLockIdsByIdInAndStatus(ids, ProgramStatus.SUBMITTED);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        programRepository.updateReviewDecision(pending, ProgramStatus.SUBMITTED, newStatus,
+                request.getReviewedBy(), request.getReviewComments(), LocalDateTime.now());
+        pending.forEach(id -> eventPublisher.publishEvent(
+                new ProgramChangeEvent.StatusChanged(id, ProgramStatus.SUBMITTED, newStatus)));
+        return pending;
+    }
+
+    /**
+     * Finds the IDs of programs awaiting review, optionally narrowed by type and submission date.
+     *
+     * @param programTypeId   program type to match, or {@code null} for any type
+     * @param submittedBefore only programs created before this time, or {@code null} for any time
+     * @return the matching program IDs in ascending order
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findSubmittedProgramIds(Integer programTypeId, LocalDateTime submittedBefore) {
+        return programRepository.findIdsByStatus(ProgramStatus.SUBMITTED, programTypeId, submittedBefore);
+    }
+
+    /**
+     * Parses a review decision, which must be {@code APPROVED} or {@code REJECTED}.
+     *
+     * @param status the requested status, in any case
+     * @return the decision
+     * @throws IllegalArgumentException if the status is not a valid decision
+     */
+    public static ProgramStatus parseDecision(String status) {
         ProgramStatus newStatus;
         try {
-            newStatus = ProgramStatus.valueOf(request.getStatus().toUpperCase());
+            newStatus = ProgramStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException(
-                    "Invalid status: " + request.getStatus()
+                    "Invalid status: " + status
                             + ". Must be APPROVED or REJECTED.");
         }
 
@@ -123,13 +486,7 @@ public class ProgramService {
             throw new IllegalArgumentException(
                     "Review status must be APPROVED or REJECTED, got: " + newStatus);
         }
-
-        program.setStatus(newStatus);
-        program.setReviewedBy(request.getReviewedBy());
-        program.setReviewComments(request.getReviewComments());
-
-        Program updated = programRepository.save(program);
-        return toResponse(updated);
+        return newStatus;
     }
 
     /**
@@ -138,7 +495,7 @@ public class ProgramService {
      * @param program the entity to map
      * @return the response DTO
      */
-    private ProgramResponse toResponse(Program program) {
+    static ProgramResponse toResponse(Program program) {
         return ProgramResponse.builder()
                 .id(program.getId())
                 .programName(program.getProgramName())
@@ -161,34 +518,66 @@ public class ProgramService {
     /**
      * Updates the document URL for a program after a successful blob upload.
      *
-     * @param id          the program ID
-     * @param documentUrl the full blob URL of the uploaded document
+     * <p>Written with a targeted {@code UPDATE} without loading the program; only
+     * its status is read afterwards, for the change event. A stored document the
+     * program referenced before loses the reference.</p>
+     *
+     * @param id               the program ID
+     * @param documentUrl      the full blob URL of the uploaded document, or {@code null} to remove it
+     * @param documentFilename the file name the document was uploaded with, or {@code null}
      * @throws IllegalArgumentException if the program is not found
      */
     @Transactional
-    public void updateDocumentUrl(Long id, String documentUrl) {
-        Program program = programRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Program not found with ID: " + id));
-        program.setDocumentUrl(documentUrl);
-        programRepository.save(program);
+    public void updateDocumentUrl(Long id, String documentUrl, String documentFilename) {
+        storedDocumentRepository.releaseReferenceOf(id);
+        if (programRepository.updateDocumentUrl(id, documentUrl, documentFilename, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Program not found with ID: " + id);
+        }
+        ProgramStatus status = programRepository.findStatusById(id).orElseThrow();
+        eventPublisher.publishEvent(new ProgramChangeEvent.DocumentAttached(id, status, documentUrl));
     }
 
     /**
      * Persists an AI-generated summary for a program submission.
      * Called via PATCH callback from the Azure Function App after document analysis.
      *
+     * <p>Written with a targeted {@code UPDATE} without loading the program, so a burst
+     * of callbacks does not read back the large text columns; only the status is read
+     * afterwards, for the change event.</p>
+     *
      * @param id      the program ID
      * @param summary the AI-generated plain-language summary
      * @throws IllegalArgumentException if the program is not found
      */
     @Transactional
     public void updateAiSummary(Long id, String summary) {
-        Program program = programRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Program not found with ID: " + id));
-        program.setAiSummary(summary);
-        program.setAiSummaryGeneratedDate(java.time.LocalDateTime.now());
-        programRepository.save(program);
+        if (programRepository.updateAiSummary(id, summary, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Program not found with ID: " + id);
+        }
+        ProgramStatus status = programRepository.findStatusById(id).orElseThrow();
+        eventPublisher.publishEvent(new ProgramChangeEvent.SummaryReady(id, status, summary));
+    }
+
+    /**
+     * Persists the AI-generated summary of a stored document on the document and on
+     * every program that attaches it. Called via PATCH callback from the Azure Function
+     * App after analysing a content-addressed document.
+     *
+     * <p>All programs are updated with one set-based {@code UPDATE}; their IDs and
+     * statuses are read afterwards, for the change events.</p>
+     *
+     * @param contentHash the SHA-256 of the document
+     * @param summary     the AI-generated plain-language summary
+     * @throws IllegalArgumentException if the document is not found
+     */
+    @Transactional
+    public void updateDocumentSummary(String contentHash, String summary) {
+        LocalDateTime now = LocalDateTime.now();
+        if (storedDocumentRepository.updateAiSummary(contentHash, summary, now) == 0) {
+            throw new IllegalArgumentException("Document not found: " + contentHash);
+        }
+        programRepository.updateAiSummaryByDocumentHash(contentHash, summary, now);
+        programRepository.findStatusByDocumentHash(contentHash).forEach(row -> eventPublisher.publishEvent(
+                new ProgramChangeEvent.SummaryReady(row.getId(), row.getStatus(), summary)));
     }
 }
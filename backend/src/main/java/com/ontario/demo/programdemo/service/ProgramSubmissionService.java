@@ -0,0 +1,133 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Submits citizen program requests together with their supporting document.
+ *
+ * <p>A submission with a document is pipelined rather than run step by step:</p>
+ * <ol>
+ *   <li>a program ID is reserved from the database sequence,</li>
+ *   <li>the document is hashed and referenced in the {@link DocumentStore},</li>
+ *   <li>the program row is inserted on a task thread, document URL included,
+ *       while the request thread streams the document into staged blob blocks,</li>
+ *   <li>once both are done the block list is committed.</li>
+ * </ol>
+ *
+ * <p>A document that is already stored is not uploaded again: the program is
+ * inserted with the existing document's URL and AI summary.</p>
+ *
+ * <p>The row is written exactly once and the response is built from memory. The
+ * block list is only committed after the row exists, so the summarizer's blob
+ * trigger can never call back for a program that is not there yet.</p>
+ */
+@Service
+public class ProgramSubmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgramSubmissionService.class);
+
+    private final ProgramService programService;
+    private final DocumentStore documentStore;
+    private final TaskExecutor taskExecutor;
+
+    /**
+     * Constructs the service with its collaborators.
+     *
+     * @param programService the program business logic service
+     * @param documentStore  the content-addressed store for document uploads
+     * @param taskExecutor   executor that runs the database insert alongside the upload
+     */
+    public ProgramSubmissionService(ProgramService programService,
+                                    DocumentStore documentStore,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.programService = programService;
+        this.documentStore = documentStore;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Submits a program, uploading its document if one is attached.
+     *
+     * <p>A failed upload is non-fatal: the program is still created, without a
+     * document URL.</p>
+     *
+     * @param request  the program submission data
+     * @param document optional PDF document to attach
+     * @return the created program
+     * @throws IllegalArgumentException if the program type ID is invalid
+     */
+    public ProgramResponse submit(ProgramRequest request, MultipartFile document) {
+        if (document == null || document.isEmpty()) {
+            return programService.createProgram(request);
+        }
+
+        Long id = programService.reserveProgramId();
+        DocumentStore.Reference reference;
+        try {
+            reference = documentStore.acquire(document);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to upload document for program {}: {}", id, e.getMessage());
+            return programService.createProgram(id, request, null);
+        }
+        CompletableFuture<ProgramResponse> created = CompletableFuture.supplyAsync(
+                () -> programService.createProgram(id, request, reference), taskExecutor);
+
+        BlobStorageService.StagedDocument staged = null;
+        if (!reference.uploaded()) {
+            try {
+                staged = documentStore.stage(reference, document);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to upload document for program {}: {}", id, e.getMessage());
+            }
+        }
+
+        ProgramResponse response;
+        try {
+            response = awaitCreated(created);
+        } catch (RuntimeException e) {
+            documentStore.release(reference);
+            throw e;
+        }
+        if (reference.uploaded()) {
+            return response;
+        }
+        if (staged != null) {
+            try {
+                documentStore.commit(reference, staged, document);
+                return response;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to upload document for program {}: {}", id, e.getMessage());
+            }
+        }
+        // The row was written with the URL up front; withdraw it, and its reference,
+        // now that the upload failed.
+        programService.updateDocumentUrl(id, null, null);
+        response.setDocumentUrl(null);
+        return response;
+    }
+
+    /**
+     * Waits for the insert, rethrowing its own exception so validation errors still map to 400.
+     */
+    private static ProgramResponse awaitCreated(CompletableFuture<ProgramResponse> created) {
+        try {
+            return created.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
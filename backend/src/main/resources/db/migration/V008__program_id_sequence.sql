@@ -0,0 +1,59 @@
+-- V008__program_id_sequence.sql
+-- Replaces the IDENTITY property of program.id with a sequence default so the
+-- backend can reserve a program ID before writing the row, so a submission inserts
+-- its row in a single write while its document is uploaded.
+-- The sequence starts after the highest existing ID; rows keep their IDs.
+-- Each step is guarded so the script can be re-run safely.
+
+IF NOT EXISTS (SELECT 1 FROM sys.sequences WHERE name = 'program_id_seq')
+BEGIN
+    DECLARE @start BIGINT = (SELECT ISNULL(MAX(id), 0) + 1 FROM program);
+    DECLARE @sql NVARCHAR(200) = N'CREATE SEQUENCE program_id_seq AS BIGINT START WITH '
+        + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 1';
+    EXEC sp_executesql @sql;
+END
+GO
+
+-- An IDENTITY property cannot be dropped in place: copy the IDs to a plain column.
+IF COLUMNPROPERTY(OBJECT_ID('program'), 'id', 'IsIdentity') = 1
+   AND COL_LENGTH('program', 'id_new') IS NULL
+BEGIN
+    ALTER TABLE program ADD id_new BIGINT NULL;
+END
+GO
+
+IF COL_LENGTH('program', 'id_new') IS NOT NULL
+BEGIN
+    EXEC (N'UPDATE program SET id_new = id');
+
+    IF OBJECT_ID('FK_notification_program', 'F') IS NOT NULL
+        ALTER TABLE notification DROP CONSTRAINT FK_notification_program;
+    IF OBJECT_ID('PK_program', 'PK') IS NOT NULL
+        ALTER TABLE program DROP CONSTRAINT PK_program;
+
+    ALTER TABLE program DROP COLUMN id;
+    EXEC sp_rename 'program.id_new', 'id', 'COLUMN';
+END
+GO
+
+IF OBJECT_ID('PK_program', 'PK') IS NULL
+BEGIN
+    ALTER TABLE program ALTER COLUMN id BIGINT NOT NULL;
+    ALTER TABLE program ADD CONSTRAINT PK_program PRIMARY KEY (id);
+END
+GO
+
+IF OBJECT_ID('DF_program_id', 'D') IS NULL
+BEGIN
+    ALTER TABLE program
+        ADD CONSTRAINT DF_program_id DEFAULT (NEXT VALUE FOR program_id_seq) FOR id;
+END
+GO
+
+IF OBJECT_ID('FK_notification_program', 'F') IS NULL
+BEGIN
+    ALTER TABLE notification
+        ADD CONSTRAINT FK_notification_program FOREIGN KEY (program_id)
+            REFERENCES program (id);
+END
+GO
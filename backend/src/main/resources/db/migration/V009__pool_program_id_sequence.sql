@@ -0,0 +1,21 @@
+-- V009__pool_program_id_sequence.sql
+-- Raises the increment of program_id_seq to 50 so Hibernate's pooled optimizer
+-- fetches one sequence value per 50 new programs and bulk inserts can be batched.
+-- Each value is the top of a block: Hibernate assigns it and the 49 IDs below it,
+-- so the sequence restarts 50 past the highest ID already used.
+-- Guarded so the script can be re-run safely.
+
+IF EXISTS (SELECT 1 FROM sys.sequences
+           WHERE name = 'program_id_seq' AND CAST(increment AS BIGINT) = 1)
+BEGIN
+    DECLARE @start BIGINT = (
+        SELECT MAX(used_id) + 50 FROM (
+            SELECT ISNULL(MAX(id), 0) AS used_id FROM program
+            UNION ALL
+            SELECT CAST(current_value AS BIGINT) FROM sys.sequences WHERE name = 'program_id_seq'
+        ) AS used);
+    DECLARE @sql NVARCHAR(200) = N'ALTER SEQUENCE program_id_seq RESTART WITH '
+        + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+END
+GO
@@ -0,0 +1,21 @@
+-- V010__add_program_row_version.sql
+-- Adds a ROWVERSION column to program for delta sync (GET /api/programs/changes).
+-- SQL Server sets it from a database-wide counter on every insert and update,
+-- including set-based updates, so unlike updated_date it does not depend on the
+-- application servers' clocks. IX_program_row_version lets a sync seek straight
+-- to the rows changed since the client's token instead of scanning the table.
+-- Guarded so the script can be re-run safely.
+
+IF COL_LENGTH('program', 'row_version') IS NULL
+BEGIN
+    ALTER TABLE program
+        ADD row_version ROWVERSION;
+END
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_program_row_version' AND object_id = OBJECT_ID('program'))
+BEGIN
+    CREATE UNIQUE NONCLUSTERED INDEX IX_program_row_version
+        ON program (row_version);
+END
+GO
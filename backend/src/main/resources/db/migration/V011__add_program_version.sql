@@ -0,0 +1,13 @@
+-- V011__add_program_version.sql
+-- Adds an optimistic-locking version to program. Every review bumps it, and a review
+-- only applies if the version it read is still current, so concurrent reviews cannot
+-- silently overwrite each other. Document and AI summary updates leave it alone, as
+-- they never conflict with a review. Existing rows start at 0.
+-- Guarded so the script can be re-run safely.
+
+IF COL_LENGTH('program', 'version') IS NULL
+BEGIN
+    ALTER TABLE program
+        ADD version BIGINT NOT NULL CONSTRAINT DF_program_version DEFAULT 0;
+END
+GO
@@ -0,0 +1,31 @@
+-- V012__create_document_upload_table.sql
+-- Creates the document_upload table for resumable document uploads
+-- (POST /api/programs/{id}/uploads). Each row is an upload session; its chunks are
+-- staged as uncommitted blocks on the document's blob and listed from Blob Storage,
+-- so nothing is written here per chunk. Sessions are deleted on commit, and expired
+-- ones by a periodic sweep that seeks on IX_document_upload_expires_date.
+
+IF NOT EXISTS (SELECT 1 FROM sys.tables WHERE name = 'document_upload')
+BEGIN
+    CREATE TABLE document_upload (
+        id            NVARCHAR(36)  NOT NULL,
+        program_id    BIGINT        NOT NULL,
+        blob_name     NVARCHAR(300) NOT NULL,
+        content_type  NVARCHAR(100) NOT NULL,
+        file_size     BIGINT        NOT NULL,
+        chunk_size    INT           NOT NULL,
+        created_date  DATETIME2     NOT NULL,
+        expires_date  DATETIME2     NOT NULL,
+        CONSTRAINT PK_document_upload PRIMARY KEY (id),
+        CONSTRAINT FK_document_upload_program FOREIGN KEY (program_id)
+            REFERENCES program (id)
+    );
+END
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_document_upload_expires_date' AND object_id = OBJECT_ID('document_upload'))
+BEGIN
+    CREATE NONCLUSTERED INDEX IX_document_upload_expires_date
+        ON document_upload (expires_date);
+END
+GO
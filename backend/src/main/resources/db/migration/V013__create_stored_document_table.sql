@@ -0,0 +1,49 @@
+-- V013__create_stored_document_table.sql
+-- Creates the stored_document table for content-addressed document storage. Each
+-- distinct document is stored once, in blob sha256/{content_hash}, and counts the
+-- programs referencing it in ref_count; the AI summary is generated once per
+-- document and copied to every program that attaches the same content.
+-- program.document_hash links a program to its stored document. Documents no
+-- longer referenced are deleted by a periodic sweep that seeks on
+-- IX_stored_document_unreferenced. Guarded so the script can be re-run safely.
+
+IF NOT EXISTS (SELECT 1 FROM sys.tables WHERE name = 'stored_document')
+BEGIN
+    CREATE TABLE stored_document (
+        content_hash               NVARCHAR(64)  NOT NULL,
+        blob_name                  NVARCHAR(300) NOT NULL,
+        content_type               NVARCHAR(100) NOT NULL,
+        file_size                  BIGINT        NOT NULL,
+        ref_count                  INT           NOT NULL,
+        uploaded_date              DATETIME2     NULL,
+        ai_summary                 NVARCHAR(MAX) NULL,
+        ai_summary_generated_date  DATETIME2     NULL,
+        created_date               DATETIME2     NOT NULL,
+        CONSTRAINT PK_stored_document PRIMARY KEY (content_hash)
+    );
+END
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_stored_document_unreferenced' AND object_id = OBJECT_ID('stored_document'))
+BEGIN
+    CREATE NONCLUSTERED INDEX IX_stored_document_unreferenced
+        ON stored_document (content_hash)
+        WHERE ref_count = 0;
+END
+GO
+
+IF COL_LENGTH('program', 'document_hash') IS NULL
+BEGIN
+    ALTER TABLE program
+        ADD document_hash NVARCHAR(64) NULL
+            CONSTRAINT FK_program_stored_document REFERENCES stored_document (content_hash);
+END
+GO
+
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_program_document_hash' AND object_id = OBJECT_ID('program'))
+BEGIN
+    CREATE NONCLUSTERED INDEX IX_program_document_hash
+        ON program (document_hash)
+        WHERE document_hash IS NOT NULL;
+END
+GO
@@ -0,0 +1,12 @@
+-- V014__add_program_document_filename.sql
+-- Adds the file name a program's document was submitted with. A submitted document
+-- is stored once under sha256/{hash}, so the blob name no longer carries the file
+-- name sent back in the download's Content-Disposition. NULL for existing rows, whose
+-- blob name still ends in the file name. Guarded so the script can be re-run safely.
+
+IF COL_LENGTH('program', 'document_filename') IS NULL
+BEGIN
+    ALTER TABLE program
+        ADD document_filename NVARCHAR(255) NULL;
+END
+GO
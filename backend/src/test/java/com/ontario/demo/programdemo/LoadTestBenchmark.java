@@ -0,0 +1,457 @@
+package com.ontario.demo.programdemo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.DocumentDownload;
+import com.ontario.demo.programdemo.service.DocumentRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline end-to-end load test of the program API.
+ *
+ * <p>Starts the application on an in-memory H2 database seeded with the program
+ * types from {@code data-local.sql}, with Blob Storage replaced by an in-memory
+ * stand-in whose calls block for a configurable latency. It then sends a weighted
+ * mix of submissions with a PDF, lists, searches, reviews, downloads and summary
+ * callbacks at a fixed rate and reports the latency percentiles and throughput of
+ * each endpoint.</p>
+ *
+ * <p>Requests are scheduled open-loop: each one is due at a fixed time whether or
+ * not earlier requests have completed, and its latency is measured from that time.
+ * A slow server therefore shows up as queueing delay in the percentiles instead of
+ * silently lowering the offered rate.</p>
+ *
+ * <p>Tuned with system properties: {@code load.rate} (requests per second,
+ * default 200), {@code load.duration} and {@code load.warmup} (seconds, default 30
+ * and 10), {@code load.blob-latency} (milliseconds per Blob Storage call, default
+ * 25), {@code load.document-size} (bytes, default 256 KiB) and
+ * {@code load.seed-programs} (submissions made before the warm-up, default 200).
+ * The local document cache is disabled so every download reaches the stand-in.</p>
+ *
+ * <p>Excluded from the normal build; run with
+ * {@code mvn test -Pbenchmark -Dtest=LoadTestBenchmark [-Dload.rate=500]}.</p>
+ */
+@DisplayName("Load test")
+class LoadTestBenchmark {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final Duration BLOB_LATENCY = Duration.ofMillis(Long.getLong("load.blob-latency", 25));
+    private static final int DOCUMENT_SIZE = Integer.getInteger("load.document-size", 256 * 1024);
+    private static final int SEED_PROGRAMS = Integer.getInteger("load.seed-programs", 200);
+
+    private static final String BLOB_ENDPOINT = "https://loadtest.blob.core.windows.net";
+    private static final String BOUNDARY = "load-test-boundary";
+    private static final String[] TOPICS = {"clinic", "school", "bridge", "housing", "water", "transit"};
+
+    /**
+     * The request mix, with the relative weight of each operation.
+     */
+    private enum Operation {
+        SUBMIT("POST  /api/programs", 10),
+        LIST("GET   /api/programs", 25),
+        SEARCH("GET   /api/programs?search=", 20),
+        REVIEW("PUT   /api/programs/{id}/review", 10),
+        DOWNLOAD("GET   /api/programs/{id}/document", 25),
+        SUMMARY("PATCH /api/programs/{id}/summary", 10);
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(o -> o.weight).sum();
+
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        static Operation pick(Random random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * Latencies and errors of one operation.
+     */
+    private static final class Recorder {
+
+        private final LongAdder errors = new LongAdder();
+        private long[] latencies = new long[1024];
+        private int count;
+
+        synchronized void record(long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final byte[] document = pdf(DOCUMENT_SIZE);
+
+    /** Programs still awaiting review. */
+    private final ConcurrentLinkedQueue<Long> submitted = new ConcurrentLinkedQueue<>();
+    /** Programs with a document, for downloads and summary callbacks. */
+    private final List<Long> withDocument = new ArrayList<>();
+
+    private String baseUrl;
+    private List<Integer> programTypeIds;
+
+    @Test
+    @DisplayName("mixed workload — completes every request at the target rate without errors")
+    void mixedWorkload() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProgramDemoApplication.class)
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                        "inMemoryBlobStorageService", BlobStorageService.class,
+                        InMemoryBlobStorageService::new, definition -> definition.setPrimary(true)))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.defer-datasource-initialization=true",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.data-locations=classpath:data-local.sql",
+                        "--spring.flyway.enabled=false",
+                        "--app.document-cache.enabled=false",
+                        "--azure.storage.blob-service-uri=" + BLOB_ENDPOINT,
+                        "--logging.level.root=WARN")) {
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            programTypeIds = context.getBean(ProgramTypeRepository.class).findAll().stream()
+                    .map(ProgramType::getId)
+                    .toList();
+
+            seed();
+            drive(WARMUP, new EnumMap<>(Operation.class), new Random(1));
+            Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+            long elapsed = drive(DURATION, recorders, new Random(2));
+
+            report(recorders, elapsed);
+            for (Operation operation : Operation.values()) {
+                Recorder recorder = recorders.get(operation);
+                assertThat(recorder.sorted()).as(operation.endpoint).isNotEmpty();
+                assertThat(recorder.errors.sum()).as(operation.endpoint + " errors").isZero();
+            }
+        }
+    }
+
+    /**
+     * Submits {@code load.seed-programs} programs so the first reviews and downloads have targets.
+     */
+    private void seed() {
+        try (ExecutorService seeders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < SEED_PROGRAMS; i++) {
+                seeders.execute(() -> send(Operation.SUBMIT, ThreadLocalRandom.current()));
+            }
+        }
+    }
+
+    /**
+     * Sends the request mix at {@code load.rate} for the given duration and waits for every response.
+     *
+     * @return nanoseconds from the first request being due to the last response
+     */
+    private long drive(Duration duration, Map<Operation, Recorder> recorders, Random random) {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+        long interval = (long) (1_000_000_000L / RATE);
+        long requests = (long) (duration.toSeconds() * RATE);
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long due = start + i * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation planned = Operation.pick(random);
+                senders.execute(() -> {
+                    Operation sent = send(planned, ThreadLocalRandom.current());
+                    if (sent == null) {
+                        sent = planned;
+                        recorders.get(sent).errors.increment();
+                    }
+                    recorders.get(sent).record(System.nanoTime() - due);
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Sends one request of the given operation.
+     *
+     * <p>A review or download with no program to act on yet is sent as a list
+     * request instead.</p>
+     *
+     * @return the operation actually sent, or {@code null} if it failed
+     */
+    private Operation send(Operation operation, Random random) {
+        try {
+            return switch (operation) {
+                case SUBMIT -> submit(random);
+                case LIST -> expect(get("/api/programs"), 200, operation);
+                case SEARCH -> expect(get("/api/programs?search="
+                        + URLEncoder.encode(TOPICS[random.nextInt(TOPICS.length)], StandardCharsets.UTF_8)),
+                        200, operation);
+                case REVIEW -> {
+                    Long id = submitted.poll();
+                    if (id == null) {
+                        yield send(Operation.LIST, random);
+                    }
+                    String decision = random.nextBoolean() ? "APPROVED" : "REJECTED";
+                    yield expect(json("PUT", "/api/programs/" + id + "/review", Map.of(
+                            "status", decision,
+                            "reviewComments", "Reviewed under load",
+                            "reviewedBy", "load.test@ontario.ca")), 200, operation);
+                }
+                case DOWNLOAD -> {
+                    Long id = randomWithDocument(random);
+                    yield id == null ? send(Operation.LIST, random)
+                            : expect(get("/api/programs/" + id + "/document"), 200, operation);
+                }
+                case SUMMARY -> {
+                    Long id = randomWithDocument(random);
+                    yield id == null ? send(Operation.LIST, random)
+                            : expect(json("PATCH", "/api/programs/" + id + "/summary",
+                            Map.of("summary", "Summary generated under load.")), 204, operation);
+                }
+            };
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Operation submit(Random random) throws IOException, InterruptedException {
+        String topic = TOPICS[random.nextInt(TOPICS.length)];
+        String program = objectMapper.writeValueAsString(Map.of(
+                "programName", "Community " + topic + " program " + random.nextInt(1_000_000),
+                "programDescription", "Funding request for a community " + topic + " submitted under load.",
+                "programTypeId", programTypeIds.get(random.nextInt(programTypeIds.size())),
+                "submittedBy", "load.test@ontario.ca",
+                "budget", 1000 + random.nextInt(1_000_000)));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(document.length + 1024);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"program\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + program + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"document\"; filename=\"" + topic + "-proposal.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(document);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/programs"))
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 201) {
+            return null;
+        }
+        JsonNode created = objectMapper.readTree(response.body());
+        if (created.path("documentUrl").isNull()) {
+            return null;
+        }
+        long id = created.get("id").asLong();
+        submitted.add(id);
+        synchronized (withDocument) {
+            withDocument.add(id);
+        }
+        return Operation.SUBMIT;
+    }
+
+    private Long randomWithDocument(Random random) {
+        synchronized (withDocument) {
+            return withDocument.isEmpty() ? null : withDocument.get(random.nextInt(withDocument.size()));
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> json(String method, String path, Object body)
+            throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static Operation expect(HttpResponse<byte[]> response, int status, Operation operation) {
+        return response.statusCode() == status ? operation : null;
+    }
+
+    private static void report(Map<Operation, Recorder> recorders, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%nTarget %.0f req/s for %ds, blob latency %d ms, %d-byte documents%n",
+                RATE, DURATION.toSeconds(), BLOB_LATENCY.toMillis(), DOCUMENT_SIZE);
+        System.out.printf("%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Recorder recorder = recorders.get(operation);
+            long[] sorted = recorder.sorted();
+            totalRequests += sorted.length;
+            totalErrors += recorder.errors.sum();
+            System.out.printf("%-36s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", operation.endpoint, sorted.length,
+                    recorder.errors.sum(), sorted.length / seconds, percentile(sorted, 0.50),
+                    percentile(sorted, 0.95), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+        System.out.printf("%-36s %9d %7d %9.1f%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) ' ');
+        byte[] header = "%PDF-1.7 load test\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(header, 0, content, 0, Math.min(header.length, size));
+        return content;
+    }
+
+    private static void simulateLatency() {
+        try {
+            Thread.sleep(BLOB_LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blob storage stand-in that keeps documents in memory and blocks for
+     * {@code load.blob-latency} on each staging, commit and download.
+     */
+    static class InMemoryBlobStorageService extends BlobStorageService {
+
+        private static final String CONTAINER_PREFIX = "/program-documents/";
+
+        private final Map<String, byte[]> staged = new ConcurrentHashMap<>();
+        private final Map<String, byte[]> committed = new ConcurrentHashMap<>();
+
+        InMemoryBlobStorageService() {
+            super(BLOB_ENDPOINT, DataSize.ofMegabytes(1), 4, 16, false, false, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public String blobUrl(String blobName) {
+            return BLOB_ENDPOINT + CONTAINER_PREFIX + blobName;
+        }
+
+        @Override
+        public StagedDocument stageDocument(String blobName, MultipartFile file) throws IOException {
+            staged.put(blobName, file.getBytes());
+            simulateLatency();
+            return new StagedDocument(blobName, "application/pdf", List.of("block-0"));
+        }
+
+        @Override
+        public String commitDocument(StagedDocument document) {
+            simulateLatency();
+            committed.put(document.blobName(), staged.remove(document.blobName()));
+            return BLOB_ENDPOINT + CONTAINER_PREFIX + document.blobName();
+        }
+
+        @Override
+        public DocumentDownload openDocument(String blobUrl, DocumentRange range,
+                                             String ifNoneMatch, OffsetDateTime ifModifiedSince) {
+            simulateLatency();
+            byte[] content = committed.get(blobName(blobUrl));
+            if (content == null) {
+                throw new IllegalStateException("No document at " + blobUrl);
+            }
+            return new DocumentDownload.Content(new ByteArrayInputStream(content), "application/pdf",
+                    content.length, 0, content.length, false, "\"" + content.length + "\"", OffsetDateTime.now());
+        }
+
+        @Override
+        public String getETag(String blobName) {
+            byte[] content = committed.get(blobName);
+            return content == null ? null : "\"" + content.length + "\"";
+        }
+
+        @Override
+        public boolean deleteBlob(String blobName, String eTag) {
+            return committed.remove(blobName) != null;
+        }
+
+        private static String blobName(String blobUrl) {
+            return URI.create(blobUrl).getPath().substring(CONTAINER_PREFIX.length());
+        }
+    }
+}
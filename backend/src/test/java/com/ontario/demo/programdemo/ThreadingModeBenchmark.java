@@ -0,0 +1,191 @@
+package com.ontario.demo.programdemo;
+
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.DocumentDownload;
+import com.ontario.demo.programdemo.service.DocumentRange;
+import com.ontario.demo.programdemo.service.ProgramService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput benchmark of platform-thread versus virtual-thread request handling.
+ *
+ * <p>Starts the application once per mode on an in-memory H2 database and drives
+ * {@code GET /api/programs/{id}/document} from {@value #CLIENTS} concurrent clients.
+ * Each request reads the program row (through the connection limiter in virtual
+ * mode) and then waits {@code BLOB_LATENCY} on a simulated Blob Storage call, which
+ * is where a real download spends its time. With the default 200 Tomcat threads
+ * the platform mode saturates at about {@code 200 / BLOB_LATENCY} requests per
+ * second; the virtual mode is bounded by the client count instead.</p>
+ *
+ * <p>Excluded from the normal build; run with {@code mvn test -Pbenchmark}.</p>
+ */
+@DisplayName("Threading mode benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int CLIENTS = 400;
+    private static final Duration BLOB_LATENCY = Duration.ofMillis(50);
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+    private static final byte[] DOCUMENT = "%PDF-1.7 benchmark".getBytes();
+
+    private record Result(String mode, long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis) {
+    }
+
+    @Test
+    @DisplayName("virtual threads — sustain more blob-bound downloads per second than platform threads")
+    void compareThroughput() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-9s %10s %8s %12s %9s %9s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-9s %10d %8d %12.0f %9.1f %9.1f%n", result.mode(), result.requests(),
+                    result.errors(), result.throughput(), result.p50Millis(), result.p99Millis());
+        }
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProgramDemoApplication.class)
+                .initializers(applicationContext -> ((GenericApplicationContext) applicationContext).registerBean(
+                        "simulatedBlobStorageService", BlobStorageService.class,
+                        SimulatedBlobStorageService::new, definition -> definition.setPrimary(true)))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.flyway.enabled=false",
+                        "--app.document-cache.enabled=false",
+                        "--azure.storage.blob-service-uri=https://benchmark.blob.core.windows.net",
+                        "--logging.level.root=WARN")) {
+            ProgramType type = context.getBean(ProgramTypeRepository.class)
+                    .save(new ProgramType(null, "Health", "Santé"));
+            Long id = context.getBean(ProgramService.class).createProgram(ProgramRequest.builder()
+                    .programName("Benchmark Program")
+                    .programDescription("Benchmark")
+                    .programTypeId(type.getId())
+                    .documentUrl("https://benchmark.blob.core.windows.net/program-documents/1/benchmark.pdf")
+                    .build()).getId();
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/programs/" + id + "/document");
+
+            drive(uri, WARMUP, new LongAdder(), new ArrayList<>());
+            LongAdder errors = new LongAdder();
+            List<long[]> latencies = new ArrayList<>();
+            long requests = drive(uri, MEASUREMENT, errors, latencies);
+
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+            return new Result(mode, requests, errors.sum(),
+                    requests / (MEASUREMENT.toMillis() / 1000.0),
+                    percentile(all, 0.50), percentile(all, 0.99));
+        }
+    }
+
+    /**
+     * Sends requests from {@value #CLIENTS} concurrent clients for the given duration.
+     *
+     * @return the number of completed requests
+     */
+    private long drive(URI uri, Duration duration, LongAdder errors, List<long[]> latencies)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                long[] samples = new long[5_000];
+                latencies.add(samples);
+                clients.execute(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        if (n < samples.length) {
+                            samples[n++] = System.nanoTime() - start;
+                        }
+                        completed.incrementAndGet();
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return completed.get();
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Blob storage stand-in whose downloads block for {@link #BLOB_LATENCY}.
+     */
+    static class SimulatedBlobStorageService extends BlobStorageService {
+
+        SimulatedBlobStorageService() {
+            super("https://benchmark.blob.core.windows.net", DataSize.ofMegabytes(1), 4, 16, false, false,
+                    new SimpleMeterRegistry());
+        }
+
+        @Override
+        public DocumentDownload openDocument(String blobUrl, DocumentRange range,
+                                             String ifNoneMatch, OffsetDateTime ifModifiedSince) {
+            try {
+                Thread.sleep(BLOB_LATENCY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new DocumentDownload.Content(new ByteArrayInputStream(DOCUMENT), "application/pdf",
+                    DOCUMENT.length, 0, DOCUMENT.length, false, "\"benchmark\"", OffsetDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ontario.demo.programdemo.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitedDataSource}.
+ */
+@DisplayName("ConcurrencyLimitedDataSource")
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    // -------------------------------------------------------------------------
+    // getConnection
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("getConnection — holds a permit until the connection is closed")
+    void getConnection_holdsPermitUntilClose() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.availablePermits()).isZero();
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        second.close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection — times out when every permit is taken")
+    void getConnection_limitReached_timesOut() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("one of 2 database connections");
+    }
+
+    @Test
+    @DisplayName("getConnection — pool failure releases the permit")
+    void getConnection_targetFails_releasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool exhausted");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection — other calls reach the pooled connection")
+    void getConnection_delegatesCalls() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(pooled).setAutoCommit(false);
+        verify(pooled).close();
+    }
+}
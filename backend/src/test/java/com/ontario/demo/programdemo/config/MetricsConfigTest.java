@@ -0,0 +1,80 @@
+package com.ontario.demo.programdemo.config;
+
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the cache and change feed meters of {@link MetricsConfig}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MetricsConfig")
+class MetricsConfigTest {
+
+    @Mock
+    private DocumentCache documentCache;
+
+    @Mock
+    private ProgramResponseCache responseCache;
+
+    @Mock
+    private ProgramChangeFeed changeFeed;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        new MetricsConfig().cacheMetrics(documentCache, responseCache, changeFeed).bindTo(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // cacheMetrics
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("cacheMetrics — publishes the document cache counters and hit ratio")
+    void cacheMetrics_documentCache() {
+        when(documentCache.stats()).thenReturn(new DocumentCache.Stats(6, 2, 1, 0, 3, 2048, 4096));
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "documents", "result", "hit")
+                .functionCounter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "documents", "result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "documents")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "documents").gauge().value())
+                .isEqualTo(0.75);
+        assertThat(meterRegistry.get("cache.bytes").tag("cache", "documents").gauge().value())
+                .isEqualTo(2048);
+    }
+
+    @Test
+    @DisplayName("cacheMetrics — reports a hit ratio of 0 before the first read")
+    void cacheMetrics_noReads_zeroHitRatio() {
+        when(responseCache.stats()).thenReturn(new ProgramResponseCache.Stats(0, 0, 0, 0, 0, 0, 1024, 0));
+
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "program-responses").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("cacheMetrics — publishes the change feed subscribers and drops")
+    void cacheMetrics_changeFeed() {
+        when(changeFeed.stats()).thenReturn(new ProgramChangeFeed.Stats(4, 10, 35, 2));
+
+        assertThat(meterRegistry.get("programs.feed.subscribers").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("programs.feed.dropped").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("programs.feed.published").functionCounter().count()).isEqualTo(10);
+    }
+}
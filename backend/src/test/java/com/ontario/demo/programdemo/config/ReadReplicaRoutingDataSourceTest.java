@@ -0,0 +1,156 @@
+package com.ontario.demo.programdemo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReadReplicaRoutingDataSource}.
+ */
+@DisplayName("ReadReplicaRoutingDataSource")
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReadReplicaRoutingDataSource(primary, replica, Duration.ofSeconds(5),
+                Duration.ofSeconds(30), meterRegistry, nanoTime::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return dataSource.getConnection();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("db.reads").tag("target", target).counter().count();
+    }
+
+    // -------------------------------------------------------------------------
+    // getConnection
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("getConnection — read-only transactions read from the replica")
+    void getConnection_readOnly_usesReplica() throws SQLException {
+        assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+        assertThat(reads("replica")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getConnection — read-write transactions use the primary")
+    void getConnection_readWrite_usesPrimary() throws SQLException {
+        assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary")).isZero();
+    }
+
+    @Test
+    @DisplayName("getConnection — cache refills stay on the primary for the max lag after a local commit")
+    void getConnection_afterCommit_refillsFromPrimaryForMaxLag() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        nanoTime.addAndGet(Duration.ofSeconds(4).toNanos());
+        try (var ignored = ReadReplicaRoutingDataSource.refillingCache()) {
+            assertThat(readOnlyConnection()).isSameAs(primaryConnection);
+        }
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        try (var ignored = ReadReplicaRoutingDataSource.refillingCache()) {
+            assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+        }
+    }
+
+    @Test
+    @DisplayName("getConnection — other reads keep using the replica after a local commit")
+    void getConnection_afterCommit_otherReadsUseReplica() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.getConnection();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    @DisplayName("getConnection — a rolled back transaction does not hold cache refills on the primary")
+    void getConnection_notCommitted_readsReplica() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.getConnection();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        try (var ignored = ReadReplicaRoutingDataSource.refillingCache()) {
+            assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+        }
+    }
+
+    @Test
+    @DisplayName("getConnection — reads in a readFromPrimary scope use the primary")
+    void getConnection_readFromPrimary_usesPrimary() throws SQLException {
+        try (var ignored = ReadReplicaRoutingDataSource.readFromPrimary()) {
+            try (var nested = ReadReplicaRoutingDataSource.readFromPrimary()) {
+                assertThat(readOnlyConnection()).isSameAs(primaryConnection);
+            }
+            assertThat(readOnlyConnection()).isSameAs(primaryConnection);
+        }
+
+        assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+        assertThat(reads("primary")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection — an unavailable replica falls back to the primary until the retry interval")
+    void getConnection_replicaFails_fallsBackUntilRetry() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("replica down"))
+                .thenReturn(replicaConnection);
+
+        assertThat(readOnlyConnection()).isSameAs(primaryConnection);
+        assertThat(readOnlyConnection()).isSameAs(primaryConnection);
+        verify(replica, times(1)).getConnection();
+        assertThat(meterRegistry.get("db.replica.failures").counter().count()).isEqualTo(1);
+
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(readOnlyConnection()).isSameAs(replicaConnection);
+    }
+}
@@ -0,0 +1,251 @@
+package com.ontario.demo.programdemo.config;
+
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.ProgramService;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read replica routing against two in-memory H2 databases.
+ *
+ * <p>The replica starts as a copy of the primary and is copied again by
+ * {@link #replicate()}; a change made on the primary after that stands in for
+ * replication lag, so each test can tell which database served a read.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-replica-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "app.read-replica.enabled=true",
+        "app.read-replica.url=jdbc:h2:mem:read-replica-secondary;DB_CLOSE_DELAY=-1",
+        "app.read-replica.max-lag=200ms",
+        "app.document-cache.enabled=false",
+        "app.response-cache.enabled=false",
+        "azure.storage.blob-service-uri=https://test.blob.core.windows.net"})
+@AutoConfigureMockMvc
+@DisplayName("Read replica routing")
+class ReadReplicaRoutingTest {
+
+    private static final long MAX_LAG_MILLIS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramTypeRepository programTypeRepository;
+
+    @Autowired
+    private ReplicaCopier replicaCopier;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @MockBean
+    private BlobStorageService blobStorageService;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private Integer typeId;
+    private Long programId;
+
+    /**
+     * Copies the primary's schema to the replica before the application reads from it at startup.
+     */
+    @TestConfiguration
+    static class ReplicaCopier {
+
+        @Autowired
+        @Qualifier("primaryDataSource")
+        private DataSource primaryDataSource;
+
+        @Autowired
+        @Qualifier("replicaDataSource")
+        private DataSource replicaDataSource;
+
+        @EventListener(ContextRefreshedEvent.class)
+        void copySchema() {
+            copy();
+        }
+
+        /** Replaces the replica's tables and rows with the primary's. */
+        void copy() {
+            try {
+                Path script = Files.createTempFile("read-replica", ".sql");
+                try {
+                    new JdbcTemplate(primaryDataSource).execute("SCRIPT DROP TO '" + script + "'");
+                    new JdbcTemplate(replicaDataSource).execute("RUNSCRIPT FROM '" + script + "'");
+                } finally {
+                    Files.delete(script);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        if (programTypeRepository.count() == 0) {
+            programTypeRepository.save(new ProgramType(null, "Health", "Santé"));
+            replicaCopier.copy();
+        }
+        typeId = programTypeRepository.findAll().get(0).getId();
+        programId = programService.createProgram(programRequest("Original name")).getId();
+        replicate();
+    }
+
+    private ProgramRequest programRequest(String name) {
+        return ProgramRequest.builder()
+                .programName(name)
+                .programDescription("Read replica test program")
+                .programTypeId(typeId)
+                .submittedBy("citizen@example.com")
+                .budget(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    /** Brings the replica up to date and waits until local writes no longer pin cache refills to the primary. */
+    private void replicate() throws InterruptedException {
+        replicaCopier.copy();
+        Thread.sleep(MAX_LAG_MILLIS + 50);
+    }
+
+    /** Changes the program on the primary only, as if the replica had not caught up yet. */
+    private void renameOnPrimary(String name) {
+        primary.update("UPDATE program SET program_name = ? WHERE id = ?", name, programId);
+    }
+
+    // -------------------------------------------------------------------------
+    // Routing
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("read-only transactions read from the replica")
+    void readOnlyTransaction_readsReplica() {
+        renameOnPrimary("Renamed on primary");
+
+        assertThat(programService.getProgramById(programId).getProgramName()).isEqualTo("Original name");
+    }
+
+    @Test
+    @DisplayName("read-write transactions write to the primary")
+    void readWriteTransaction_writesPrimary() {
+        Long id = programService.createProgram(programRequest("New program")).getId();
+
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM program WHERE id = ?", Integer.class, id))
+                .isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM program WHERE id = ?", Integer.class, id))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("cache refills right after a write on this instance go to the primary")
+    void refillAfterLocalWrite_readsPrimary() {
+        Long id = programService.createProgram(programRequest("Just submitted")).getId();
+
+        try (var ignored = ReadReplicaRoutingDataSource.refillingCache()) {
+            assertThat(programService.getProgramById(id).getProgramName()).isEqualTo("Just submitted");
+        }
+    }
+
+    @Test
+    @DisplayName("other reads right after a write on this instance still go to the replica")
+    void readAfterLocalWrite_readsReplica() {
+        programService.updateAiSummary(programId, "A new summary.");
+
+        assertThat(programService.getProgramById(programId).getAiSummary()).isNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // Read-your-writes
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("a write sets the read-your-writes cookie")
+    void write_setsCookie() throws Exception {
+        mockMvc.perform(put("/api/programs/{id}/review", programId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"APPROVED\",\"reviewComments\":\"Meets the criteria\",\"reviewedBy\":\"reviewer@ontario.ca\"}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andExpect(cookie().path(ReadYourWritesFilter.COOKIE_NAME, "/api"))
+                .andExpect(cookie().httpOnly(ReadYourWritesFilter.COOKIE_NAME, true));
+    }
+
+    @Test
+    @DisplayName("a client with a valid cookie reads from the primary, others from the replica")
+    void readWithCookie_readsPrimary() throws Exception {
+        renameOnPrimary("Renamed on primary");
+        Cookie valid = new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 60_000));
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 1));
+
+        mockMvc.perform(get("/api/programs/{id}", programId).cookie(valid))
+                .andExpect(jsonPath("$.programName").value("Renamed on primary"));
+        mockMvc.perform(get("/api/programs/{id}", programId).cookie(expired))
+                .andExpect(jsonPath("$.programName").value("Original name"));
+        mockMvc.perform(get("/api/programs/{id}", programId))
+                .andExpect(jsonPath("$.programName").value("Original name"));
+    }
+
+    // -------------------------------------------------------------------------
+    // Fallback
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DirtiesContext
+    @DisplayName("reads fall back to the primary when the replica is unavailable")
+    void replicaUnavailable_readsPrimary() throws Exception {
+        renameOnPrimary("Renamed on primary");
+        replicaDataSource.unwrap(HikariDataSource.class).close();
+
+        assertThat(programService.getProgramById(programId).getProgramName()).isEqualTo("Renamed on primary");
+    }
+}
@@ -0,0 +1,188 @@
+package com.ontario.demo.programdemo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Test-time counter of the SQL statements sent to the database, with budget assertions.
+ *
+ * <p>Imported into a Spring test, it wraps the application's {@link DataSource} so that
+ * every statement prepared on any of its connections is recorded and classified by its
+ * leading keyword. A test resets the counter, calls an endpoint and asserts the
+ * statements stayed within a budget:</p>
+ *
+ * <pre>{@code
+ * statements.reset();
+ * mockMvc.perform(get("/api/programs/{id}", id));
+ * statements.assertWithin(budget().selects(1));
+ * }</pre>
+ *
+ * <p>A JDBC batch counts once, as it is one round trip. Statements from every thread
+ * are counted, so work handed to an executor by the endpoint is included.</p>
+ */
+public class SqlStatementCounter implements BeanPostProcessor {
+
+    /**
+     * Kind of SQL statement, from its leading keyword.
+     */
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static Kind of(String sql) {
+            String keyword = sql.stripLeading().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+            return switch (keyword) {
+                case "SELECT", "WITH" -> SELECT;
+                case "INSERT" -> INSERT;
+                case "UPDATE", "MERGE" -> UPDATE;
+                case "DELETE" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    private final List<String> statements = new ArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Forgets the statements recorded so far.
+     */
+    public synchronized void reset() {
+        statements.clear();
+    }
+
+    /**
+     * Asserts that no kind of statement went over its budget since the last {@link #reset()}.
+     *
+     * @param budget the maximum number of statements of each kind
+     * @throws AssertionError listing every recorded statement, if the budget was exceeded
+     */
+    public synchronized void assertWithin(Budget budget) {
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        statements.forEach(sql -> counts.merge(Kind.of(sql), 1, Integer::sum));
+        List<String> exceeded = new ArrayList<>();
+        for (Kind kind : Kind.values()) {
+            int count = counts.getOrDefault(kind, 0);
+            if (count > budget.limit(kind)) {
+                exceeded.add(kind + ": " + count + " > " + budget.limit(kind));
+            }
+        }
+        if (!exceeded.isEmpty()) {
+            throw new AssertionError("SQL statement budget exceeded (" + String.join(", ", exceeded) + ")."
+                    + " Statements run:\n  " + String.join("\n  ", statements));
+        }
+    }
+
+    /**
+     * Returns an empty budget, allowing no statements until raised.
+     *
+     * @return a new budget
+     */
+    public static Budget budget() {
+        return new Budget();
+    }
+
+    private synchronized void record(String sql) {
+        statements.add(sql);
+    }
+
+    /**
+     * Maximum number of statements of each kind an operation may run.
+     */
+    public static final class Budget {
+
+        private final Map<Kind, Integer> limits = new EnumMap<>(Kind.class);
+
+        private Budget() {
+        }
+
+        /** Allows up to {@code n} SELECT statements. */
+        public Budget selects(int n) {
+            return with(Kind.SELECT, n);
+        }
+
+        /** Allows up to {@code n} INSERT statements or batches. */
+        public Budget inserts(int n) {
+            return with(Kind.INSERT, n);
+        }
+
+        /** Allows up to {@code n} UPDATE statements or batches. */
+        public Budget updates(int n) {
+            return with(Kind.UPDATE, n);
+        }
+
+        /** Allows up to {@code n} DELETE statements or batches. */
+        public Budget deletes(int n) {
+            return with(Kind.DELETE, n);
+        }
+
+        private Budget with(Kind kind, int n) {
+            limits.put(kind, n);
+            return this;
+        }
+
+        int limit(Kind kind) {
+            return limits.getOrDefault(kind, 0);
+        }
+    }
+
+    /**
+     * Data source whose connections record each statement they prepare.
+     */
+    private final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private Connection recording(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        if ((method.getName().equals("prepareStatement") || method.getName().equals("prepareCall"))
+                                && args != null && args[0] instanceof String sql) {
+                            record(sql);
+                        }
+                        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                            return proxy == args[0];
+                        }
+                        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                            return System.identityHashCode(proxy);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ontario.demo.programdemo.config;
+
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link UploadAdmissionFilter}.
+ */
+@DisplayName("UploadAdmissionFilter")
+class UploadAdmissionFilterTest {
+
+    private static final long MB = DataSize.ofMegabytes(1).toBytes();
+
+    private HandlerExceptionResolver exceptionResolver;
+    private SimpleMeterRegistry meterRegistry;
+    private UploadAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        exceptionResolver = mock(HandlerExceptionResolver.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UploadAdmissionFilter(2, DataSize.ofMegabytes(100), DataSize.ofMegabytes(55),
+                1, Duration.ofMillis(100), Duration.ofSeconds(5), exceptionResolver, meterRegistry);
+    }
+
+    private static MockHttpServletRequest upload(long contentLength) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/programs") {
+            @Override
+            public long getContentLengthLong() {
+                return contentLength;
+            }
+        };
+        request.setContentType("multipart/form-data; boundary=xyz");
+        return request;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    // -------------------------------------------------------------------------
+    // doFilter
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("doFilter — admits an upload within budget and releases it afterwards")
+    void doFilter_withinBudget_admitsAndReleases() throws Exception {
+        FilterChain chain = (request, response) -> {
+            assertThat(gauge("uploads.admission.active")).isEqualTo(1);
+            assertThat(gauge("uploads.admission.bytes")).isEqualTo(40 * MB);
+        };
+
+        filter.doFilter(upload(40 * MB), new MockHttpServletResponse(), chain);
+
+        assertThat(gauge("uploads.admission.active")).isZero();
+        assertThat(gauge("uploads.admission.bytes")).isZero();
+        verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("doFilter — resumable upload chunks are admitted like multipart uploads")
+    void doFilter_binaryPut_admitted() throws Exception {
+        MockHttpServletRequest chunk = upload(4 * MB);
+        chunk.setMethod("PUT");
+        chunk.setContentType("application/octet-stream");
+        FilterChain chain = (request, response) ->
+                assertThat(gauge("uploads.admission.bytes")).isEqualTo(4 * MB);
+
+        filter.doFilter(chunk, new MockHttpServletResponse(), chain);
+
+        assertThat(gauge("uploads.admission.bytes")).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter — requests other than uploads pass straight through")
+    void doFilter_notMultipart_passesThrough() throws Exception {
+        filter.admit(100 * MB);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest json = new MockHttpServletRequest("POST", "/api/programs/bulk");
+        json.setContentType("application/json");
+
+        filter.doFilter(json, new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/programs"), new MockHttpServletResponse(), chain);
+
+        verify(chain, times(2)).doFilter(isA(MockHttpServletRequest.class), any());
+        assertThat(gauge("uploads.admission.active")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("doFilter — refused upload is rendered by the exception resolver without reading the body")
+    void doFilter_overBudget_resolvesServiceUnavailable() throws Exception {
+        filter.admit(100 * MB);
+        FilterChain chain = mock(FilterChain.class);
+        MockHttpServletRequest request = upload(MB);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, never()).doFilter(any(), any());
+        verify(exceptionResolver).resolveException(same(request), any(), isNull(),
+                isA(ServiceUnavailableException.class));
+    }
+
+    @Test
+    @DisplayName("doFilter — upload without Content-Length is charged the maximum request size")
+    void doFilter_noContentLength_chargedMaxRequestSize() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/programs");
+        request.setContentType("multipart/form-data; boundary=xyz");
+        FilterChain chain = (req, res) -> assertThat(gauge("uploads.admission.bytes")).isEqualTo(55 * MB);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(gauge("uploads.admission.bytes")).isZero();
+    }
+
+    // -------------------------------------------------------------------------
+    // admit
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("admit — waits for bytes to be released, then admits")
+    void admit_overBytes_waitsForRelease() throws Exception {
+        long first = filter.admit(80 * MB);
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> filter.admit(30 * MB));
+        while (filter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        filter.release(first);
+
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo(30 * MB);
+        assertThat(filter.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("admit — concurrent upload limit applies regardless of size")
+    void admit_overConcurrency_timesOut() {
+        filter.admit(MB);
+        filter.admit(MB);
+
+        assertThatThrownBy(() -> filter.admit(MB))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("Timed out")
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(5)));
+        assertThat(meterRegistry.get("uploads.admission.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1);
+        assertThat(filter.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("admit — refuses at once when the queue is full")
+    void admit_queueFull_refusesImmediately() throws Exception {
+        filter.admit(100 * MB);
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> filter.admit(MB));
+        while (filter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> filter.admit(MB))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("Too many uploads are waiting");
+        assertThat(meterRegistry.get("uploads.admission.rejected").tag("reason", "queue-full").counter().count())
+                .isEqualTo(1);
+        assertThat(gauge("uploads.admission.queued")).isEqualTo(1);
+        assertThatThrownBy(waiting::join).hasCauseInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("admit — upload larger than the budget is admitted alone, charged the whole budget")
+    void admit_largerThanBudget_chargedWholeBudget() {
+        assertThat(filter.admit(500 * MB)).isEqualTo(100 * MB);
+    }
+}
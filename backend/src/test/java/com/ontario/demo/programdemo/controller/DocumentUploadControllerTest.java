@@ -0,0 +1,148 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.dto.DocumentUploadRequest;
+import com.ontario.demo.programdemo.dto.DocumentUploadResponse;
+import com.ontario.demo.programdemo.service.DocumentUploadService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for {@link DocumentUploadController} using the web layer slice.
+ */
+@WebMvcTest(controllers = DocumentUploadController.class)
+@DisplayName("DocumentUploadController")
+class DocumentUploadControllerTest {
+
+    private static final String UPLOAD_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DocumentUploadService uploadService;
+
+    private static DocumentUploadResponse session(List<Integer> missingChunks, String documentUrl) {
+        return DocumentUploadResponse.builder()
+                .uploadId(UPLOAD_ID)
+                .programId(42L)
+                .size(25)
+                .chunkSize(10)
+                .chunkCount(3)
+                .receivedRanges(List.of())
+                .missingChunks(missingChunks)
+                .documentUrl(documentUrl)
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // POST /api/programs/{id}/uploads
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("POST /api/programs/{id}/uploads — returns 201 with the session location")
+    void createUpload_returns201() throws Exception {
+        when(uploadService.createUpload(eq(42L), any(DocumentUploadRequest.class)))
+                .thenReturn(session(List.of(0, 1, 2), null));
+
+        mockMvc.perform(post("/api/programs/42/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"plan.pdf\",\"size\":25}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/programs/42/uploads/" + UPLOAD_ID))
+                .andExpect(jsonPath("$.chunkCount").value(3))
+                .andExpect(jsonPath("$.missingChunks.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/{id}/uploads — missing size returns 400")
+    void createUpload_missingSize_returns400() throws Exception {
+        mockMvc.perform(post("/api/programs/42/uploads")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"plan.pdf\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.size").exists());
+
+        verifyNoInteractions(uploadService);
+    }
+
+    // -------------------------------------------------------------------------
+    // PUT /api/programs/{id}/uploads/{uploadId}/chunks/{index}
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("PUT /api/programs/{id}/uploads/{uploadId}/chunks/{index} — stores the chunk and returns 204")
+    void putChunk_returns204() throws Exception {
+        mockMvc.perform(put("/api/programs/42/uploads/{uploadId}/chunks/1", UPLOAD_ID)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[10]))
+                .andExpect(status().isNoContent());
+
+        verify(uploadService).putChunk(eq(42L), eq(UPLOAD_ID), eq(1), argThat((InputStream body) -> body != null));
+    }
+
+    @Test
+    @DisplayName("PUT /api/programs/{id}/uploads/{uploadId}/chunks/{index} — wrong size returns 400")
+    void putChunk_wrongSize_returns400() throws Exception {
+        doThrow(new IllegalArgumentException("Chunk 1 must be exactly 10 bytes"))
+                .when(uploadService).putChunk(eq(42L), eq(UPLOAD_ID), eq(1), any());
+
+        mockMvc.perform(put("/api/programs/42/uploads/{uploadId}/chunks/1", UPLOAD_ID)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[3]))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Chunk 1 must be exactly 10 bytes"));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/{id}/uploads/{uploadId} and commit
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/uploads/{uploadId} — returns the received ranges")
+    void getUpload_returns200() throws Exception {
+        DocumentUploadResponse response = session(List.of(1), null);
+        response.setReceivedRanges(List.of(new DocumentUploadResponse.ByteRange(0, 9),
+                new DocumentUploadResponse.ByteRange(20, 24)));
+        when(uploadService.getUpload(42L, UPLOAD_ID)).thenReturn(response);
+
+        mockMvc.perform(get("/api/programs/42/uploads/{uploadId}", UPLOAD_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedRanges[1].start").value(20))
+                .andExpect(jsonPath("$.receivedRanges[1].end").value(24))
+                .andExpect(jsonPath("$.missingChunks[0]").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/{id}/uploads/{uploadId}/commit — returns the document URL")
+    void commitUpload_returns200() throws Exception {
+        when(uploadService.commitUpload(42L, UPLOAD_ID)).thenReturn(
+                session(List.of(), "https://account.blob.core.windows.net/program-documents/42/plan.pdf"));
+
+        mockMvc.perform(post("/api/programs/42/uploads/{uploadId}/commit", UPLOAD_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documentUrl")
+                        .value("https://account.blob.core.windows.net/program-documents/42/plan.pdf"));
+    }
+}
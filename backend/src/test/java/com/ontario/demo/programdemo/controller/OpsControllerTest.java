@@ -0,0 +1,88 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for {@link OpsController} using the web layer slice.
+ */
+@WebMvcTest(OpsController.class)
+@DisplayName("OpsController")
+class OpsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DocumentCache documentCache;
+
+    @MockBean
+    private ProgramResponseCache responseCache;
+
+    @MockBean
+    private ProgramChangeFeed changeFeed;
+
+    // -------------------------------------------------------------------------
+    // GET /api/ops/document-cache
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/ops/document-cache — returns the cache counters")
+    void getDocumentCacheStats_returnsCounters() throws Exception {
+        when(documentCache.stats()).thenReturn(new DocumentCache.Stats(7, 3, 1, 0, 2, 2048, 4096));
+
+        mockMvc.perform(get("/api/ops/document-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(7))
+                .andExpect(jsonPath("$.misses").value(3))
+                .andExpect(jsonPath("$.evictions").value(1))
+                .andExpect(jsonPath("$.entries").value(2))
+                .andExpect(jsonPath("$.bytes").value(2048));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/ops/response-cache
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/ops/response-cache — returns the cache counters")
+    void getResponseCacheStats_returnsCounters() throws Exception {
+        when(responseCache.stats()).thenReturn(new ProgramResponseCache.Stats(9, 1, 0, 2, 4, 8192, 33554432, 0.9));
+
+        mockMvc.perform(get("/api/ops/response-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(9))
+                .andExpect(jsonPath("$.misses").value(1))
+                .andExpect(jsonPath("$.invalidations").value(2))
+                .andExpect(jsonPath("$.entries").value(4))
+                .andExpect(jsonPath("$.hitRatio").value(0.9));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/ops/change-feed
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/ops/change-feed — returns the feed counters")
+    void getChangeFeedStats_returnsCounters() throws Exception {
+        when(changeFeed.stats()).thenReturn(new ProgramChangeFeed.Stats(120, 40, 900, 3));
+
+        mockMvc.perform(get("/api/ops/change-feed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subscribers").value(120))
+                .andExpect(jsonPath("$.published").value(40))
+                .andExpect(jsonPath("$.droppedSubscribers").value(3));
+    }
+}
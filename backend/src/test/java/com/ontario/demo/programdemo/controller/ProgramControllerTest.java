@@ -1,41 +1,94 @@
 package com.ontario.demo.programdemo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.dto.BulkReviewRequest;
+import com.ontario.demo.programdemo.dto.BulkReviewResponse;
+import com.ontario.demo.programdemo.dto.BulkSubmissionResponse;
+import com.ontario.demo.programdemo.dto.ProgramChanges;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramPage;
 import com.ontario.demo.programdemo.dto.ProgramRequest;
 import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.dto.ProgramStatistics;
 import com.ontario.demo.programdemo.dto.ReviewRequest;
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import com.ontario.demo.programdemo.model.Program;
 import com.ontario.demo.programdemo.model.ProgramStatus;
 import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.DocumentCache;
+import com.ontario.demo.programdemo.service.DocumentDownload;
+import com.ontario.demo.programdemo.service.DocumentRange;
+import com.ontario.demo.programdemo.service.ProgramBulkService;
+import com.ontario.demo.programdemo.service.ProgramChangeFeed;
+import com.ontario.demo.programdemo.service.ProgramCounters;
+import com.ontario.demo.programdemo.service.ProgramExportService;
+import com.ontario.demo.programdemo.service.ProgramResponseCache;
+import com.ontario.demo.programdemo.service.ProgramSearchIndex;
 import com.ontario.demo.programdemo.service.ProgramService;
+import com.ontario.demo.programdemo.service.ProgramSubmissionService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Unit tests for {@link ProgramController} using the web layer slice.
  *
- * <p>Covers all four REST endpoints with happy paths and validation
+ * <p>Covers each program endpoint with happy paths and validation
  * error scenarios. The {@link ProgramService} is mocked to isolate
- * the controller under test.</p>
+ * the controller under test. The real {@link ProgramResponseCache} serializes
+ * read responses, with storage disabled so each request reaches the mocks.</p>
  */
-@WebMvcTest(ProgramController.class)
+@WebMvcTest(controllers = ProgramController.class, properties = {
+        "app.response-cache.enabled=false",
+        "app.response-cache.gzip-min-size=64B"})
+@Import(ProgramResponseCache.class)
 @DisplayName("ProgramController")
 class ProgramControllerTest {
 
@@ -48,9 +101,30 @@ class ProgramControllerTest {
     @MockBean
     private ProgramService programService;
 
+    @MockBean
+    private ProgramSubmissionService submissionService;
+
+    @MockBean
+    private ProgramBulkService bulkService;
+
     @MockBean
     private BlobStorageService blobStorageService;
 
+    @MockBean
+    private DocumentCache documentCache;
+
+    @MockBean
+    private ProgramSearchIndex searchIndex;
+
+    @MockBean
+    private ProgramChangeFeed changeFeed;
+
+    @MockBean
+    private ProgramExportService exportService;
+
+    @MockBean
+    private ProgramCounters counters;
+
     // -------------------------------------------------------------------------
     // Test data helpers
     // -------------------------------------------------------------------------
@@ -95,7 +169,7 @@ class ProgramControllerTest {
     @DisplayName("POST /api/programs — valid request returns 201 Created")
     void createProgram_validRequest_returns201() throws Exception {
         ProgramResponse response = sampleResponse(1L, ProgramStatus.SUBMITTED);
-        when(programService.createProgram(any(ProgramRequest.class))).thenReturn(response);
+        when(submissionService.submit(any(ProgramRequest.class), isNull())).thenReturn(response);
 
         mockMvc.perform(multipart("/api/programs").file(programPart(validRequest())))
                 .andExpect(status().isCreated())
@@ -104,6 +178,22 @@ class ProgramControllerTest {
                 .andExpect(jsonPath("$.status").value("SUBMITTED"));
     }
 
+    @Test
+    @DisplayName("POST /api/programs with document — passes the PDF to the submission pipeline")
+    void createProgram_withDocument_submitsDocument() throws Exception {
+        ProgramResponse response = sampleResponse(1L, ProgramStatus.SUBMITTED);
+        response.setDocumentUrl("https://account.blob.core.windows.net/program-documents/1/plan.pdf");
+        MockMultipartFile document = new MockMultipartFile(
+                "document", "plan.pdf", MediaType.APPLICATION_PDF_VALUE, "%PDF-1.7".getBytes(StandardCharsets.UTF_8));
+        when(submissionService.submit(any(ProgramRequest.class),
+                argThat(file -> file != null && "plan.pdf".equals(file.getOriginalFilename()))))
+                .thenReturn(response);
+
+        mockMvc.perform(multipart("/api/programs").file(programPart(validRequest())).file(document))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.documentUrl").value(response.getDocumentUrl()));
+    }
+
     @Test
     @DisplayName("POST /api/programs — missing programName returns 400")
     void createProgram_missingProgramName_returns400() throws Exception {
@@ -143,6 +233,54 @@ class ProgramControllerTest {
                 .andExpect(jsonPath("$.fieldErrors.programTypeId").exists());
     }
 
+    // -------------------------------------------------------------------------
+    // POST /api/programs/bulk
+    // -------------------------------------------------------------------------
+
+    private BulkSubmissionResponse bulkResponse() {
+        return BulkSubmissionResponse.builder()
+                .received(2)
+                .created(1)
+                .failed(1)
+                .createdIds(List.of(51L))
+                .errors(List.of(BulkSubmissionResponse.RecordError.builder()
+                        .index(1)
+                        .messages(List.of("Program name is required"))
+                        .build()))
+                .elapsedMillis(20)
+                .rowsPerSecond(50.0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/bulk — JSON array returns the bulk outcome")
+    void createProgramsBulk_jsonArray_returnsOutcome() throws Exception {
+        when(bulkService.submitJsonArray(any())).thenReturn(bulkResponse());
+
+        mockMvc.perform(post("/api/programs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"programName\":\"A\"},{}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.createdIds[0]").value(51))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value("Program name is required"));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/bulk — NDJSON body is routed to the NDJSON reader")
+    void createProgramsBulk_ndjson_returnsOutcome() throws Exception {
+        when(bulkService.submitNdjson(any())).thenReturn(bulkResponse());
+
+        mockMvc.perform(post("/api/programs/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"programName\":\"A\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(50.0));
+        verifyNoInteractions(programService);
+    }
+
     // -------------------------------------------------------------------------
     // GET /api/programs
     // -------------------------------------------------------------------------
@@ -172,6 +310,202 @@ class ProgramControllerTest {
                 .andExpect(jsonPath("$[0].programName").value("Test Program"));
     }
 
+    @Test
+    @DisplayName("GET /api/programs?fields=programName,status — returns only the requested fields and ID")
+    void getPrograms_withFields_returnsSparseRows() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 1L);
+        row.put("programName", "Test Program");
+        row.put("status", ProgramStatus.SUBMITTED);
+        when(programService.getPrograms(null, EnumSet.of(ProgramField.ID, ProgramField.PROGRAM_NAME, ProgramField.STATUS)))
+                .thenReturn(List.of(row));
+
+        mockMvc.perform(get("/api/programs").param("fields", "programName, status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].programName").value("Test Program"))
+                .andExpect(jsonPath("$[0].status").value("SUBMITTED"))
+                .andExpect(jsonPath("$[0].programDescription").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?fields=unknown — unknown field returns 400")
+    void getPrograms_unknownField_returns400() throws Exception {
+        mockMvc.perform(get("/api/programs").param("fields", "programName,salary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value(org.hamcrest.Matchers.startsWith("Unknown field: salary")));
+
+        verifyNoInteractions(programService);
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?limit=2 — returns a page with next cursor")
+    void getProgramPage_withLimit_returnsPage() throws Exception {
+        ProgramPage page = ProgramPage.builder()
+                .items(List.of(
+                        sampleResponse(2L, ProgramStatus.SUBMITTED),
+                        sampleResponse(1L, ProgramStatus.APPROVED)))
+                .nextCursor("abc123")
+                .build();
+        when(programService.getProgramPage(null, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/api/programs").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("abc123"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?limit=2&cursor=bad — malformed cursor returns 400")
+    void getProgramPage_malformedCursor_returns400() throws Exception {
+        when(programService.getProgramPage("bad", 2))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/programs").param("limit", "2").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor: bad"));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/changes
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs/changes?since= — returns changed programs and the next token")
+    void getChanges_withToken_returnsChanges() throws Exception {
+        ProgramChanges changes = ProgramChanges.builder()
+                .items(List.of(sampleResponse(4L, ProgramStatus.APPROVED)))
+                .nextToken("cnY6NDEwMA")
+                .hasMore(false)
+                .build();
+        when(programService.getChangesSince("cnY6NDAwMA", 500)).thenReturn(changes);
+
+        mockMvc.perform(get("/api/programs/changes").param("since", "cnY6NDAwMA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(4L))
+                .andExpect(jsonPath("$.nextToken").value("cnY6NDEwMA"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/changes?since=bad — malformed token returns 400")
+    void getChanges_malformedToken_returns400() throws Exception {
+        when(programService.getChangesSince("bad", 500))
+                .thenThrow(new IllegalArgumentException("Invalid change token: bad"));
+
+        mockMvc.perform(get("/api/programs/changes").param("since", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid change token: bad"));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/events
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs/events — opens an event stream with the requested filter")
+    void streamChanges_withFilter_startsAsyncStream() throws Exception {
+        when(changeFeed.subscribe(new ProgramChangeFeed.Filter(5L, ProgramStatus.SUBMITTED)))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/programs/events")
+                        .param("programId", "5")
+                        .param("status", "submitted")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/events — invalid status returns 400")
+    void streamChanges_invalidStatus_returns400() throws Exception {
+        mockMvc.perform(get("/api/programs/events").param("status", "MAYBE"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid status: MAYBE"));
+
+        verifyNoInteractions(changeFeed);
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/events — subscriber limit returns 503 with Retry-After")
+    void streamChanges_atLimit_returns503() throws Exception {
+        when(changeFeed.subscribe(any()))
+                .thenThrow(new ServiceUnavailableException("Change feed is at its limit of 1 subscribers",
+                        Duration.ofSeconds(5)));
+
+        mockMvc.perform(get("/api/programs/events"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/statistics
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs/statistics — returns the live counts")
+    void getStatistics_returnsCounts() throws Exception {
+        when(counters.statistics()).thenReturn(ProgramStatistics.builder()
+                .total(4)
+                .totalBudget(new java.math.BigDecimal("1500.50"))
+                .byStatus(Map.of(ProgramStatus.SUBMITTED, 3L, ProgramStatus.APPROVED, 1L))
+                .byType(List.of(ProgramStatistics.TypeStatistics.builder()
+                        .programTypeId(1).programTypeNameEn("Health").count(4).build()))
+                .build());
+
+        mockMvc.perform(get("/api/programs/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.totalBudget").value(1500.50))
+                .andExpect(jsonPath("$.byStatus.SUBMITTED").value(3))
+                .andExpect(jsonPath("$.byType[0].programTypeNameEn").value("Health"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/statistics — still loading returns 503 with Retry-After")
+    void getStatistics_loading_returns503() throws Exception {
+        when(counters.statistics())
+                .thenThrow(new ServiceUnavailableException("Program statistics are still loading", Duration.ofSeconds(5)));
+
+        mockMvc.perform(get("/api/programs/statistics"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/export
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs/export?format=csv — streams the export as an attachment")
+    void exportPrograms_csv_streamsAttachment() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("id,programName\r\n1,Test Program\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(eq(ProgramExportService.Format.CSV), any());
+
+        MvcResult result = mockMvc.perform(get("/api/programs/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        org.hamcrest.Matchers.matchesPattern("attachment; filename=\"programs-\\d{4}-\\d{2}-\\d{2}\\.csv\"")))
+                .andExpect(content().string("id,programName\r\n1,Test Program\r\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/export?format=xlsx — unsupported format returns 400")
+    void exportPrograms_unsupportedFormat_returns400() throws Exception {
+        mockMvc.perform(get("/api/programs/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid export format: xlsx. Valid formats: ndjson, csv"));
+
+        verifyNoInteractions(exportService);
+    }
+
     // -------------------------------------------------------------------------
     // GET /api/programs/{id}
     // -------------------------------------------------------------------------
@@ -199,6 +533,196 @@ class ProgramControllerTest {
                 .andExpect(jsonPath("$.detail").value("Program not found with ID: 999"));
     }
 
+    @Test
+    @DisplayName("GET /api/programs/{id} — matching If-None-Match returns 304")
+    void getProgramById_matchingETag_returns304() throws Exception {
+        when(programService.getProgramById(1L)).thenReturn(sampleResponse(1L, ProgramStatus.SUBMITTED));
+        String eTag = mockMvc.perform(get("/api/programs/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/programs/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id} — Accept-Encoding gzip returns the compressed body")
+    void getProgramById_acceptsGzip_returnsCompressedBody() throws Exception {
+        when(programService.getProgramById(1L)).thenReturn(sampleResponse(1L, ProgramStatus.SUBMITTED));
+        byte[] plain = mockMvc.perform(get("/api/programs/1"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] compressed = mockMvc.perform(get("/api/programs/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(gunzip(compressed)).isEqualTo(plain);
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id} — gzip;q=0 returns the plain body")
+    void getProgramById_gzipRefused_returnsPlainBody() throws Exception {
+        when(programService.getProgramById(1L)).thenReturn(sampleResponse(1L, ProgramStatus.SUBMITTED));
+
+        mockMvc.perform(get("/api/programs/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // GET /api/programs/{id}/document
+    // -------------------------------------------------------------------------
+
+    private static final String DOCUMENT_URL =
+            "https://account.blob.core.windows.net/program-documents/1/health_en.pdf";
+    private static final String CONTENT_DOCUMENT_URL =
+            "https://account.blob.core.windows.net/program-documents/sha256/"
+                    + "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String ETAG = "\"0x8DC0000000000001\"";
+    private static final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private void givenProgramWithDocument() {
+        givenProgramWithDocument(DOCUMENT_URL, null);
+    }
+
+    private void givenProgramWithDocument(String documentUrl, String filename) {
+        when(programService.getProgramDocument(1L))
+                .thenReturn(new ProgramService.ProgramDocument(documentUrl, filename));
+        // A cache miss serves the Blob Storage download as it is.
+        when(documentCache.fillFrom(eq(documentUrl), any())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private DocumentDownload.Content documentContent(String body, long start, long total, boolean partial) {
+        return new DocumentDownload.Content(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "application/pdf",
+                total, start, body.length(), partial, ETAG, LAST_MODIFIED);
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — full download returns 200 with validators")
+    void downloadDocument_full_returns200() throws Exception {
+        givenProgramWithDocument();
+        when(blobStorageService.openDocument(eq(DOCUMENT_URL), isNull(), isNull(), isNull()))
+                .thenReturn(documentContent("%PDF-1.7", 0, 8, false));
+
+        mockMvc.perform(get("/api/programs/1/document"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", 8))
+                .andExpect(header().string("Content-Disposition", "inline; filename=\"health_en.pdf\""))
+                .andExpect(content().string("%PDF-1.7"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — content-addressed document is named after the submitted file")
+    void downloadDocument_contentAddressed_usesSubmittedFilename() throws Exception {
+        givenProgramWithDocument(CONTENT_DOCUMENT_URL, "health_en.pdf");
+        when(blobStorageService.openDocument(eq(CONTENT_DOCUMENT_URL), isNull(), isNull(), isNull()))
+                .thenReturn(documentContent("%PDF-1.7", 0, 8, false));
+
+        mockMvc.perform(get("/api/programs/1/document"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "inline; filename=\"health_en.pdf\""))
+                .andExpect(content().string("%PDF-1.7"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document with Range — returns 206 with Content-Range")
+    void downloadDocument_range_returns206() throws Exception {
+        givenProgramWithDocument();
+        when(blobStorageService.openDocument(eq(DOCUMENT_URL), eq(new DocumentRange(2L, 4L, null)), isNull(), isNull()))
+                .thenReturn(documentContent("DF-", 2, 8, true));
+
+        mockMvc.perform(get("/api/programs/1/document").header("Range", "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/8"))
+                .andExpect(header().longValue("Content-Length", 3))
+                .andExpect(content().string("DF-"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document with matching If-None-Match — returns 304")
+    void downloadDocument_ifNoneMatch_returns304() throws Exception {
+        givenProgramWithDocument();
+        when(blobStorageService.openDocument(eq(DOCUMENT_URL), isNull(), eq(ETAG), isNull()))
+                .thenReturn(new DocumentDownload.NotModified(ETAG));
+
+        mockMvc.perform(get("/api/programs/1/document").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document with range past the end — returns 416")
+    void downloadDocument_rangePastEnd_returns416() throws Exception {
+        givenProgramWithDocument();
+        when(blobStorageService.openDocument(eq(DOCUMENT_URL), eq(new DocumentRange(100L, null, null)), isNull(), isNull()))
+                .thenReturn(new DocumentDownload.RangeNotSatisfiable(8));
+
+        mockMvc.perform(get("/api/programs/1/document").header("Range", "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */8"));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — cache hit is served from the cached file")
+    void downloadDocument_cacheHit_servesFileWithoutBlobCall(@TempDir Path tempDir) throws Exception {
+        givenProgramWithDocument();
+        Path file = Files.writeString(tempDir.resolve("doc-1.cache"), "%PDF-1.7");
+        when(documentCache.open(eq(DOCUMENT_URL), eq(new DocumentRange(2L, 4L, null)), isNull(), isNull()))
+                .thenReturn(Optional.of(new DocumentDownload.CachedFile(
+                        file, "application/pdf", 8, 2, 3, true, ETAG, LAST_MODIFIED)));
+
+        mockMvc.perform(get("/api/programs/1/document").header("Range", "bytes=2-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/8"))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string("DF-"));
+
+        verifyNoInteractions(blobStorageService);
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — cache hit uses sendfile when the container supports it")
+    void downloadDocument_cacheHitWithSendfile_handsFileToContainer(@TempDir Path tempDir) throws Exception {
+        givenProgramWithDocument();
+        Path file = Files.writeString(tempDir.resolve("doc-1.cache"), "%PDF-1.7");
+        when(documentCache.open(eq(DOCUMENT_URL), isNull(), isNull(), isNull()))
+                .thenReturn(Optional.of(new DocumentDownload.CachedFile(
+                        file, "application/pdf", 8, 0, 8, false, ETAG, LAST_MODIFIED)));
+
+        mockMvc.perform(get("/api/programs/1/document")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", 8))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 8L))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — program without document returns 404")
+    void downloadDocument_noDocument_returns404() throws Exception {
+        when(programService.getProgramDocument(1L)).thenReturn(new ProgramService.ProgramDocument(null, null));
+
+        mockMvc.perform(get("/api/programs/1/document"))
+                .andExpect(status().isNotFound());
+    }
+
     // -------------------------------------------------------------------------
     // PUT /api/programs/{id}/review
     // -------------------------------------------------------------------------
@@ -244,6 +768,24 @@ class ProgramControllerTest {
                 .andExpect(jsonPath("$.status").value("REJECTED"));
     }
 
+    @Test
+    @DisplayName("PUT /api/programs/{id}/review — concurrent change returns 409")
+    void reviewProgram_concurrentChange_returns409() throws Exception {
+        ReviewRequest reviewRequest = ReviewRequest.builder()
+                .status("APPROVED")
+                .reviewComments("Meets criteria.")
+                .reviewedBy("ministry@ontario.ca")
+                .build();
+        when(programService.reviewProgram(eq(1L), any(ReviewRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Program.class, 1L));
+
+        mockMvc.perform(put("/api/programs/1/review")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reviewRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Conflict"));
+    }
+
     @Test
     @DisplayName("POST /api/programs — negative budget returns 400")
     void createProgram_negativeBudget_returns400() throws Exception {
@@ -269,7 +811,7 @@ class ProgramControllerTest {
                 .budget(new java.math.BigDecimal("250000.00"))
                 .build();
         ProgramResponse response = sampleResponse(1L, ProgramStatus.SUBMITTED);
-        when(programService.createProgram(any(ProgramRequest.class))).thenReturn(response);
+        when(submissionService.submit(any(ProgramRequest.class), isNull())).thenReturn(response);
 
         mockMvc.perform(multipart("/api/programs").file(programPart(request)))
                 .andExpect(status().isCreated())
@@ -305,4 +847,49 @@ class ProgramControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.fieldErrors.reviewedBy").exists());
     }
+
+    // -------------------------------------------------------------------------
+    // PUT /api/programs/bulk/review
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("PUT /api/programs/bulk/review — valid request returns the reviewed and skipped IDs")
+    void reviewProgramsBulk_validRequest_returns200() throws Exception {
+        BulkReviewRequest request = BulkReviewRequest.builder()
+                .ids(List.of(1L, 2L))
+                .decision(ReviewRequest.builder()
+                        .status("APPROVED")
+                        .reviewComments("Routine approval.")
+                        .reviewedBy("ministry@ontario.ca")
+                        .build())
+                .build();
+        when(bulkService.review(any(BulkReviewRequest.class))).thenReturn(BulkReviewResponse.builder()
+                .status(ProgramStatus.APPROVED)
+                .requested(2)
+                .reviewedIds(List.of(1L))
+                .skippedIds(List.of(2L))
+                .build());
+
+        mockMvc.perform(put("/api/programs/bulk/review")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewedIds[0]").value(1))
+                .andExpect(jsonPath("$.skippedIds[0]").value(2));
+    }
+
+    @Test
+    @DisplayName("PUT /api/programs/bulk/review — missing decision fields return 400")
+    void reviewProgramsBulk_missingReviewer_returns400() throws Exception {
+        BulkReviewRequest request = BulkReviewRequest.builder()
+                .ids(List.of(1L))
+                .decision(ReviewRequest.builder().status("APPROVED").build())
+                .build();
+
+        mockMvc.perform(put("/api/programs/bulk/review")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bulkService);
+    }
 }
@@ -0,0 +1,422 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.config.SqlStatementCounter;
+import com.ontario.demo.programdemo.dto.BulkReviewRequest;
+import com.ontario.demo.programdemo.dto.DocumentUploadRequest;
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ReviewRequest;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.service.BlobStorageService;
+import com.ontario.demo.programdemo.service.DocumentDownload;
+import com.ontario.demo.programdemo.service.DocumentUploadService;
+import com.ontario.demo.programdemo.service.ProgramService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static com.ontario.demo.programdemo.config.SqlStatementCounter.budget;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for every API endpoint.
+ *
+ * <p>Runs the application against an in-memory H2 database holding programs of every
+ * type, calls each endpoint once and fails if it ran more SELECT, INSERT, UPDATE or DELETE
+ * statements than its budget (see {@link SqlStatementCounter}), so an N+1 query, for
+ * example on the program type join, cannot ship unnoticed. The response cache is
+ * disabled so reads always reach the database; Blob Storage is mocked.
+ * {@code GET /api/programs/changes} is not covered, as it relies on SQL Server row
+ * versions that H2 lacks.</p>
+ *
+ * <p>When a change legitimately needs another statement, raise the endpoint's budget
+ * in the same change and say why.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "app.document-cache.enabled=false",
+        "app.response-cache.enabled=false",
+        "azure.storage.blob-service-uri=https://test.blob.core.windows.net"})
+@AutoConfigureMockMvc
+@Import(SqlStatementCounter.class)
+@DisplayName("Endpoint SQL statement budgets")
+class ProgramQueryBudgetTest {
+
+    private static final String DOCUMENT_URL = "https://test.blob.core.windows.net/program-documents/1/plan.pdf";
+    private static final byte[] PDF = "%PDF-1.7 test".getBytes();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter statements;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private ProgramTypeRepository programTypeRepository;
+
+    @Autowired
+    private DocumentUploadService uploadService;
+
+    @MockBean
+    private BlobStorageService blobStorageService;
+
+    private final List<Integer> typeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (programTypeRepository.count() == 0) {
+            for (String name : List.of("Health", "Education", "Infrastructure", "Social Services", "Environment")) {
+                programTypeRepository.save(new ProgramType(null, name, name));
+            }
+            List<Integer> ids = programTypeRepository.findAll().stream().map(ProgramType::getId).toList();
+            for (int i = 0; i < 20; i++) {
+                programService.createProgram(programRequest("Seed program " + i, ids.get(i % ids.size()), DOCUMENT_URL));
+            }
+        }
+        programTypeRepository.findAll().forEach(type -> typeIds.add(type.getId()));
+
+        when(blobStorageService.blobUrl(anyString())).thenReturn(DOCUMENT_URL);
+        when(blobStorageService.stageDocument(anyString(), any())).thenReturn(
+                new BlobStorageService.StagedDocument("sha256/0a1b", "application/pdf", List.of("block-0")));
+        when(blobStorageService.commitDocument(any())).thenReturn(DOCUMENT_URL);
+        when(blobStorageService.openDocument(any(), any(), any(), any())).thenAnswer(invocation ->
+                new DocumentDownload.Content(new ByteArrayInputStream(PDF), "application/pdf",
+                        PDF.length, 0, PDF.length, false, "\"etag\"", OffsetDateTime.now()));
+        statements.reset();
+    }
+
+    private ProgramRequest programRequest(String name, Integer typeId, String documentUrl) {
+        return ProgramRequest.builder()
+                .programName(name)
+                .programDescription("Statement budget test program")
+                .programTypeId(typeId)
+                .submittedBy("citizen@example.com")
+                .documentUrl(documentUrl)
+                .budget(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    /** Creates a submitted program outside the measured request. */
+    private Long submittedProgram() {
+        Long id = programService.createProgram(programRequest("Pending program", typeIds.get(0), DOCUMENT_URL)).getId();
+        statements.reset();
+        return id;
+    }
+
+    private ReviewRequest approval() {
+        return ReviewRequest.builder()
+                .status("APPROVED")
+                .reviewComments("Meets the criteria")
+                .reviewedBy("reviewer@ontario.ca")
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Submissions
+    // -------------------------------------------------------------------------
+
+    private void submitWithDocument(String name, byte[] document) throws Exception {
+        mockMvc.perform(multipart("/api/programs")
+                        .file(new MockMultipartFile("program", "", MediaType.APPLICATION_JSON_VALUE,
+                                objectMapper.writeValueAsBytes(programRequest(name, typeIds.get(1), null))))
+                        .file(new MockMultipartFile("document", "plan.pdf", "application/pdf", document)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("POST /api/programs — a new document: the program and the document inserted once each")
+    void createProgram() throws Exception {
+        submitWithDocument("New program", "new document".getBytes(StandardCharsets.US_ASCII));
+
+        // A new document: its reference is tried, then it is inserted, its summary read under
+        // lock with the program insert, and it is checked and marked uploaded.
+        statements.assertWithin(budget().selects(4).inserts(2).updates(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs — a known document is referenced and its summary copied, not stored again")
+    void createProgramKnownDocument() throws Exception {
+        byte[] document = "shared document".getBytes(StandardCharsets.US_ASCII);
+        submitWithDocument("First program", document);
+        statements.reset();
+
+        submitWithDocument("Second program", document);
+
+        statements.assertWithin(budget().selects(4).inserts(1).updates(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/bulk — inserts in one batch, reading each program type once")
+    void createProgramsBulk() throws Exception {
+        List<ProgramRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(programRequest("Bulk program " + i, typeIds.get(i % typeIds.size()), null));
+        }
+
+        mockMvc.perform(post("/api/programs/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(requests)))
+                .andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(2).inserts(1));
+    }
+
+    // -------------------------------------------------------------------------
+    // Reads
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/programs — one select, programs joined with their types")
+    void getPrograms() throws Exception {
+        mockMvc.perform(get("/api/programs")).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?search= — one select for the matching programs")
+    void searchPrograms() throws Exception {
+        mockMvc.perform(get("/api/programs").param("search", "seed")).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?fields= — one select of the requested columns")
+    void getProgramFields() throws Exception {
+        mockMvc.perform(get("/api/programs").param("fields", "id,programName,programTypeNameEn"))
+                .andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs?limit= — one select per page")
+    void getProgramPage() throws Exception {
+        mockMvc.perform(get("/api/programs").param("limit", "5")).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/statistics — served from counters without queries")
+    void getStatistics() throws Exception {
+        mockMvc.perform(get("/api/programs/statistics")).andExpect(status().isOk());
+
+        statements.assertWithin(budget());
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/export — one streamed select")
+    void exportPrograms() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/programs/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id} — one select")
+    void getProgramById() throws Exception {
+        mockMvc.perform(get("/api/programs/{id}", 1)).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/programs/{id}/document — one select for the document URL")
+    void downloadDocument() throws Exception {
+        mockMvc.perform(get("/api/programs/{id}/document", 1)).andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1));
+    }
+
+    // -------------------------------------------------------------------------
+    // Updates
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("PUT /api/programs/{id}/review — one select and one update")
+    void reviewProgram() throws Exception {
+        Long id = submittedProgram();
+
+        mockMvc.perform(put("/api/programs/{id}/review", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(approval())))
+                .andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1).updates(1));
+    }
+
+    @Test
+    @DisplayName("PUT /api/programs/bulk/review — set-based, however many programs are reviewed")
+    void reviewProgramsBulk() throws Exception {
+        List<Long> ids = List.of(submittedProgram(), submittedProgram(), submittedProgram());
+        statements.reset();
+
+        mockMvc.perform(put("/api/programs/bulk/review")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(BulkReviewRequest.builder()
+                                .ids(ids)
+                                .decision(approval())
+                                .build())))
+                .andExpect(status().isOk());
+
+        statements.assertWithin(budget().selects(1).updates(1));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/programs/{id}/summary — one select and one update")
+    void updateAiSummary() throws Exception {
+        Long id = submittedProgram();
+
+        mockMvc.perform(patch("/api/programs/{id}/summary", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("summary", "A short summary."))))
+                .andExpect(status().isNoContent());
+
+        statements.assertWithin(budget().selects(1).updates(1));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/documents/{contentHash}/summary — set-based, however many programs attach the document")
+    void updateDocumentSummary() throws Exception {
+        byte[] document = "summarized document".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < 3; i++) {
+            submitWithDocument("Shared document program " + i, document);
+        }
+        String contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(document));
+        statements.reset();
+
+        mockMvc.perform(patch("/api/documents/{contentHash}/summary", contentHash)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(Map.of("summary", "A short summary."))))
+                .andExpect(status().isNoContent());
+
+        // The document and its programs are updated, then the programs' statuses read for the events.
+        statements.assertWithin(budget().selects(1).updates(2));
+    }
+
+    // -------------------------------------------------------------------------
+    // Resumable document uploads
+    // -------------------------------------------------------------------------
+
+    /** Starts an upload of a one-chunk document outside the measured request. */
+    private String uploadSession(Long programId) {
+        String uploadId = uploadService.createUpload(programId,
+                DocumentUploadRequest.builder().fileName("plan.pdf").size((long) PDF.length).build()).getUploadId();
+        Map<String, Long> blocks = new HashMap<>();
+        doAnswer(invocation -> blocks.put(invocation.getArgument(1), (long) invocation.<byte[]>getArgument(2).length))
+                .when(blobStorageService).stageBlock(any(), any(), any());
+        when(blobStorageService.listBlocks(any())).thenReturn(blocks);
+        statements.reset();
+        return uploadId;
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/{id}/uploads — program checked with one select, one insert")
+    void createUpload() throws Exception {
+        Long id = submittedProgram();
+
+        mockMvc.perform(post("/api/programs/{id}/uploads", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(DocumentUploadRequest.builder()
+                                .fileName("plan.pdf").size(50_000_000L).build())))
+                .andExpect(status().isCreated());
+
+        statements.assertWithin(budget().selects(1).inserts(1));
+    }
+
+    @Test
+    @DisplayName("PUT and GET /api/programs/{id}/uploads/{uploadId} — one select each, nothing written per chunk")
+    void putChunkAndGetUpload() throws Exception {
+        Long id = submittedProgram();
+        String uploadId = uploadSession(id);
+
+        mockMvc.perform(put("/api/programs/{id}/uploads/{uploadId}/chunks/0", id, uploadId)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(PDF))
+                .andExpect(status().isNoContent());
+        statements.assertWithin(budget().selects(1));
+
+        statements.reset();
+        mockMvc.perform(get("/api/programs/{id}/uploads/{uploadId}", id, uploadId)).andExpect(status().isOk());
+        statements.assertWithin(budget().selects(1));
+    }
+
+    @Test
+    @DisplayName("POST /api/programs/{id}/uploads/{uploadId}/commit — the URL set and the old reference released, session deleted")
+    void commitUpload() throws Exception {
+        Long id = submittedProgram();
+        String uploadId = uploadSession(id);
+        uploadService.putChunk(id, uploadId, 0, new ByteArrayInputStream(PDF));
+        statements.reset();
+
+        mockMvc.perform(post("/api/programs/{id}/uploads/{uploadId}/commit", id, uploadId))
+                .andExpect(status().isOk());
+
+        // The session, then the program status for the change event. The program's
+        // previous stored document, if any, loses its reference in a second update.
+        statements.assertWithin(budget().selects(2).updates(2).deletes(1));
+    }
+
+    // -------------------------------------------------------------------------
+    // Operations
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("GET /api/ops/* — in-memory counters without queries")
+    void opsEndpoints() throws Exception {
+        mockMvc.perform(get("/api/ops/document-cache")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/ops/response-cache")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/ops/change-feed")).andExpect(status().isOk());
+
+        statements.assertWithin(budget());
+    }
+}
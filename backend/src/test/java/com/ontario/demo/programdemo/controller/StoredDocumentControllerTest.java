@@ -0,0 +1,72 @@
+package com.ontario.demo.programdemo.controller;
+
+import com.ontario.demo.programdemo.service.ProgramService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for {@link StoredDocumentController} using the web layer slice.
+ */
+@WebMvcTest(controllers = StoredDocumentController.class)
+@DisplayName("StoredDocumentController")
+class StoredDocumentControllerTest {
+
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProgramService programService;
+
+    // -------------------------------------------------------------------------
+    // PATCH /api/documents/{contentHash}/summary
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("PATCH /api/documents/{contentHash}/summary — applies the summary and returns 204")
+    void updateAiSummary_returns204() throws Exception {
+        mockMvc.perform(patch("/api/documents/{hash}/summary", HASH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"summary\":\"Plain summary.\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(programService).updateDocumentSummary(HASH, "Plain summary.");
+    }
+
+    @Test
+    @DisplayName("PATCH /api/documents/{contentHash}/summary — unknown document returns 400")
+    void updateAiSummary_unknownDocument_returns400() throws Exception {
+        doThrow(new IllegalArgumentException("Document not found: " + HASH))
+                .when(programService).updateDocumentSummary(HASH, "Plain summary.");
+
+        mockMvc.perform(patch("/api/documents/{hash}/summary", HASH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"summary\":\"Plain summary.\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Document not found: " + HASH));
+    }
+
+    @Test
+    @DisplayName("PATCH /api/documents/{contentHash}/summary — blank summary returns 400")
+    void updateAiSummary_blankSummary_returns400() throws Exception {
+        mockMvc.perform(patch("/api/documents/{hash}/summary", HASH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"summary\":\"\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(programService);
+    }
+}
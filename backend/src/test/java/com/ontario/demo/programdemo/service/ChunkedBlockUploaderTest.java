@@ -0,0 +1,127 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link ChunkedBlockUploader}.
+ *
+ * <p>Uses a mocked {@link BlockBlobClient} that records the staged blocks, so the
+ * block splitting, ordering and concurrency bounds can be checked without storage.</p>
+ */
+@DisplayName("ChunkedBlockUploader")
+class ChunkedBlockUploaderTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /** Stubs stageBlock to copy each block's bytes and track the peak number of concurrent calls. */
+    private BlockBlobClient recordingBlob(Map<String, byte[]> staged, AtomicInteger peak) {
+        BlockBlobClient blob = mock(BlockBlobClient.class);
+        AtomicInteger active = new AtomicInteger();
+        doAnswer(invocation -> {
+            int now = active.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            InputStream data = invocation.getArgument(1);
+            staged.put(invocation.getArgument(0), data.readAllBytes());
+            Thread.sleep(5);
+            active.decrementAndGet();
+            return null;
+        }).when(blob).stageBlock(anyString(), any(InputStream.class), anyLong());
+        return blob;
+    }
+
+    @Test
+    @DisplayName("stageBlocks — splits content into ordered fixed-size blocks")
+    void stageBlocks_splitsIntoOrderedBlocks() throws IOException {
+        byte[] content = new byte[2500];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Map<String, byte[]> staged = new ConcurrentHashMap<>();
+        BlockBlobClient blob = recordingBlob(staged, new AtomicInteger());
+        ChunkedBlockUploader uploader = new ChunkedBlockUploader(1000, 2, 4, executor);
+
+        List<String> blockIds = uploader.stageBlocks(blob, new ByteArrayInputStream(content));
+
+        assertThat(blockIds).containsExactly(
+                ChunkedBlockUploader.blockId(0), ChunkedBlockUploader.blockId(1), ChunkedBlockUploader.blockId(2));
+        List<Byte> reassembled = new ArrayList<>();
+        for (String blockId : blockIds) {
+            for (byte b : staged.get(blockId)) {
+                reassembled.add(b);
+            }
+        }
+        assertThat(reassembled).hasSize(content.length);
+        assertThat(reassembled.get(2499)).isEqualTo(content[2499]);
+        assertThat(staged.get(blockIds.get(2))).hasSize(500);
+    }
+
+    @Test
+    @DisplayName("stageBlocks — never exceeds the per-upload concurrency limit")
+    void stageBlocks_respectsConcurrencyLimit() throws IOException {
+        AtomicInteger peak = new AtomicInteger();
+        BlockBlobClient blob = recordingBlob(new ConcurrentHashMap<>(), peak);
+        ChunkedBlockUploader uploader = new ChunkedBlockUploader(10, 2, 8, executor);
+
+        List<String> blockIds = uploader.stageBlocks(blob, new ByteArrayInputStream(new byte[200]));
+
+        assertThat(blockIds).hasSize(20);
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("stageBlocks — empty stream stages no blocks")
+    void stageBlocks_emptyStream_stagesNothing() throws IOException {
+        BlockBlobClient blob = recordingBlob(new ConcurrentHashMap<>(), new AtomicInteger());
+        ChunkedBlockUploader uploader = new ChunkedBlockUploader(10, 2, 2, executor);
+
+        assertThat(uploader.stageBlocks(blob, new ByteArrayInputStream(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("stageBlocks — stage failure surfaces as IOException and buffers are returned")
+    void stageBlocks_stageFailure_throwsIOException() throws IOException {
+        BlockBlobClient failing = mock(BlockBlobClient.class);
+        doThrow(mock(BlobStorageException.class))
+                .when(failing).stageBlock(eq(ChunkedBlockUploader.blockId(1)), any(InputStream.class), anyLong());
+        ChunkedBlockUploader uploader = new ChunkedBlockUploader(10, 1, 1, executor);
+
+        assertThatThrownBy(() -> uploader.stageBlocks(failing, new ByteArrayInputStream(new byte[50])))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Failed to stage blob block");
+
+        // With a single pooled buffer, a leaked buffer would block this second upload forever.
+        BlockBlobClient blob = recordingBlob(Collections.synchronizedMap(new java.util.HashMap<>()), new AtomicInteger());
+        assertThat(uploader.stageBlocks(blob, new ByteArrayInputStream(new byte[25]))).hasSize(3);
+    }
+}
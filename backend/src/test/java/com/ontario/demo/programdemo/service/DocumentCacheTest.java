@@ -0,0 +1,250 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.models.BlobProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DocumentCache}.
+ *
+ * <p>Uses a mocked {@link BlobStorageService} whose downloads write in-memory
+ * content to the cache files, and runs cache fills on the calling thread. A miss is
+ * served the way the controller serves it, from a Blob Storage download passed
+ * through {@link DocumentCache#fillFrom}.</p>
+ */
+@DisplayName("DocumentCache")
+class DocumentCacheTest {
+
+    private static final String URL_A = "https://account.blob.core.windows.net/program-documents/1/a.pdf";
+    private static final String URL_B = "https://account.blob.core.windows.net/program-documents/2/b.pdf";
+    private static final String URL_C = "https://account.blob.core.windows.net/program-documents/3/c.pdf";
+    private static final String URL_D = "https://account.blob.core.windows.net/program-documents/4/d.pdf";
+    private static final String URL_E = "https://account.blob.core.windows.net/program-documents/5/e.pdf";
+    private static final OffsetDateTime LAST_MODIFIED = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    private Path directory;
+
+    private BlobStorageService blobStorageService;
+
+    /** Blob URL to current content and ETag served by the mocked storage. */
+    private final Map<String, String> blobContent = new HashMap<>();
+    private final Map<String, String> blobETags = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        blobStorageService = mock(BlobStorageService.class);
+        when(blobStorageService.downloadToFile(any(), any())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            Files.writeString(invocation.getArgument(1), blobContent.get(url));
+            return properties(url);
+        });
+        when(blobStorageService.getBlobProperties(any()))
+                .thenAnswer(invocation -> properties(invocation.getArgument(0)));
+    }
+
+    private BlobProperties properties(String url) {
+        BlobProperties properties = mock(BlobProperties.class);
+        when(properties.getETag()).thenReturn(blobETags.get(url));
+        when(properties.getContentType()).thenReturn("application/pdf");
+        when(properties.getLastModified()).thenReturn(LAST_MODIFIED);
+        return properties;
+    }
+
+    private void givenBlob(String url, String content, String eTag) {
+        blobContent.put(url, content);
+        blobETags.put(url, eTag);
+    }
+
+    private DocumentCache cache(long maxBytes, Duration revalidateAfter) throws IOException {
+        DocumentCache cache = new DocumentCache(
+                blobStorageService, true, directory, maxBytes, revalidateAfter, Runnable::run);
+        cache.initialize();
+        return cache;
+    }
+
+    private DocumentDownload.Content download(String url, DocumentRange range) {
+        byte[] content = blobContent.get(url).getBytes(StandardCharsets.UTF_8);
+        long start = range != null ? range.first() : 0;
+        long length = range != null ? range.last() - start + 1 : content.length;
+        return new DocumentDownload.Content(new ByteArrayInputStream(content, (int) start, (int) length),
+                "application/pdf", content.length, start, length, range != null, blobETags.get(url), LAST_MODIFIED);
+    }
+
+    /** Serves a whole document from the cache, or on a miss from Blob Storage through the cache. */
+    private String serve(DocumentCache cache, String url) throws IOException {
+        Optional<DocumentDownload> cached = cache.open(url, null, null, null);
+        return read(cached.isPresent() ? cached.get() : cache.fillFrom(url, download(url, null)));
+    }
+
+    private static String read(DocumentDownload download) throws IOException {
+        try (InputStream stream = download instanceof DocumentDownload.Content content
+                ? content.stream()
+                : DocumentCache.openMapped((DocumentDownload.CachedFile) download)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // open
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("open — a miss served from Blob Storage fills the cache so the next request is a hit")
+    void open_missThenHit() throws IOException {
+        givenBlob(URL_A, "%PDF-1.7 alpha", "\"a1\"");
+        DocumentCache cache = cache(1000, Duration.ofMinutes(5));
+
+        assertThat(cache.open(URL_A, null, null, null)).isEmpty();
+        assertThat(read(cache.fillFrom(URL_A, download(URL_A, null)))).isEqualTo("%PDF-1.7 alpha");
+        Optional<DocumentDownload> hit = cache.open(URL_A, null, null, null);
+
+        assertThat(hit).containsInstanceOf(DocumentDownload.CachedFile.class);
+        assertThat(read(hit.get())).isEqualTo("%PDF-1.7 alpha");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        verify(blobStorageService, never()).downloadToFile(any(), any());
+        verify(blobStorageService, never()).openDocument(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("open — evaluates ranges and conditional headers against the cached copy")
+    void open_rangesAndConditionals() throws IOException {
+        givenBlob(URL_A, "%PDF-1.7 alpha", "\"a1\"");
+        DocumentCache cache = cache(1000, Duration.ofMinutes(5));
+        serve(cache, URL_A);
+
+        DocumentDownload range = cache.open(URL_A, new DocumentRange(2L, 4L, null), null, null).orElseThrow();
+        DocumentDownload suffix = cache.open(URL_A, new DocumentRange(null, null, 5L), null, null).orElseThrow();
+
+        assertThat(((DocumentDownload.CachedFile) range).partial()).isTrue();
+        assertThat(read(range)).isEqualTo("DF-");
+        assertThat(read(suffix)).isEqualTo("alpha");
+        assertThat(cache.open(URL_A, new DocumentRange(100L, null, null), null, null))
+                .contains(new DocumentDownload.RangeNotSatisfiable(14));
+        assertThat(cache.open(URL_A, null, "W/\"a1\"", null))
+                .contains(new DocumentDownload.NotModified("\"a1\""));
+        assertThat(cache.open(URL_A, null, null, LAST_MODIFIED))
+                .contains(new DocumentDownload.NotModified("\"a1\""));
+    }
+
+    @Test
+    @DisplayName("open — changed blob ETag drops the stale copy and refills")
+    void open_changedETag_invalidates() throws IOException {
+        givenBlob(URL_A, "old", "\"a1\"");
+        DocumentCache cache = cache(1000, Duration.ZERO);
+        serve(cache, URL_A);
+        assertThat(cache.open(URL_A, null, null, null)).isPresent();
+
+        givenBlob(URL_A, "new", "\"a2\"");
+
+        assertThat(cache.open(URL_A, null, null, null)).isEmpty();
+        assertThat(serve(cache, URL_A)).isEqualTo("new");
+        assertThat(read(cache.open(URL_A, null, null, null).orElseThrow())).isEqualTo("new");
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("open — evicts the least recently used document when over the size limit")
+    void open_evictsLeastRecentlyUsed() throws IOException {
+        String[] urls = {URL_A, URL_B, URL_C, URL_D, URL_E};
+        for (String url : urls) {
+            givenBlob(url, "x".repeat(20), "\"" + url.hashCode() + "\"");
+        }
+        DocumentCache cache = cache(80, Duration.ofMinutes(5));
+        for (int i = 0; i < 4; i++) {
+            serve(cache, urls[i]);
+        }
+        serve(cache, URL_A); // A is now more recent than B
+
+        serve(cache, URL_E);
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().entries()).isEqualTo(4);
+        assertThat(cache.stats().bytes()).isEqualTo(80);
+        assertThat(cache.open(URL_A, null, null, null)).isPresent();
+        assertThat(cache.open(URL_B, null, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("fillFrom — does not cache documents larger than a quarter of the cache")
+    void fillFrom_skipsOversizedDocuments() throws IOException {
+        givenBlob(URL_A, "a".repeat(30), "\"a\"");
+        DocumentCache cache = cache(100, Duration.ofMinutes(5));
+
+        assertThat(serve(cache, URL_A)).isEqualTo("a".repeat(30));
+
+        assertThat(cache.open(URL_A, null, null, null)).isEmpty();
+        assertThat(cache.stats().entries()).isZero();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("fillFrom — a document the client stops reading early is not cached")
+    void fillFrom_incompleteRead_notCached() throws IOException {
+        givenBlob(URL_A, "%PDF-1.7 alpha", "\"a1\"");
+        DocumentCache cache = cache(1000, Duration.ofMinutes(5));
+
+        try (InputStream stream = ((DocumentDownload.Content) cache.fillFrom(URL_A, download(URL_A, null))).stream()) {
+            assertThat(stream.readNBytes(4)).hasSize(4);
+        }
+
+        assertThat(cache.open(URL_A, null, null, null)).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(serve(cache, URL_A)).isEqualTo("%PDF-1.7 alpha");
+        assertThat(cache.open(URL_A, null, null, null)).isPresent();
+    }
+
+    @Test
+    @DisplayName("fillFrom — a range served from Blob Storage fills the cache in the background")
+    void fillFrom_range_fillsInBackground() throws IOException {
+        givenBlob(URL_A, "%PDF-1.7 alpha", "\"a1\"");
+        DocumentCache cache = cache(1000, Duration.ofMinutes(5));
+        DocumentDownload.Content range = download(URL_A, new DocumentRange(2L, 4L, null));
+
+        assertThat(cache.fillFrom(URL_A, range)).isSameAs(range);
+
+        verify(blobStorageService, times(1)).downloadToFile(eq(URL_A), any());
+        assertThat(read(cache.open(URL_A, null, null, null).orElseThrow())).isEqualTo("%PDF-1.7 alpha");
+    }
+
+    // -------------------------------------------------------------------------
+    // eTagMatches
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("eTagMatches — uses weak comparison over a list of ETags")
+    void eTagMatches_weakComparison() {
+        assertThat(DocumentCache.eTagMatches("\"x\", W/\"a1\"", "\"a1\"")).isTrue();
+        assertThat(DocumentCache.eTagMatches("*", "\"a1\"")).isTrue();
+        assertThat(DocumentCache.eTagMatches("\"a2\"", "\"a1\"")).isFalse();
+    }
+}
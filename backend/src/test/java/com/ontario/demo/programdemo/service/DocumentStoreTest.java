@@ -0,0 +1,261 @@
+package com.ontario.demo.programdemo.service;
+
+import com.azure.storage.blob.models.BlobErrorCode;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.ontario.demo.programdemo.model.StoredDocument;
+import com.ontario.demo.programdemo.repository.StoredDocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DocumentStore} using Mockito.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DocumentStore")
+class DocumentStoreTest {
+
+    /** SHA-256 of the bytes {@code "abc"}. */
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+    private static final String BLOB_NAME = "sha256/" + HASH;
+    private static final String DOCUMENT_URL = "https://account.blob.core.windows.net/program-documents/" + BLOB_NAME;
+
+    @Mock
+    private StoredDocumentRepository documentRepository;
+
+    @Mock
+    private BlobStorageService blobStorageService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MockMultipartFile document = new MockMultipartFile(
+            "document", "plan.pdf", "application/pdf", "abc".getBytes(StandardCharsets.US_ASCII));
+
+    private DocumentStore documentStore;
+
+    @BeforeEach
+    void setUp() {
+        documentStore = new DocumentStore(documentRepository, blobStorageService, Duration.ofHours(1),
+                meterRegistry, mock(ScheduledExecutorService.class));
+    }
+
+    private StoredDocument stored(LocalDateTime uploadedDate, String aiSummary) {
+        StoredDocument stored = new StoredDocument();
+        stored.setContentHash(HASH);
+        stored.setBlobName(BLOB_NAME);
+        stored.setContentType("application/pdf");
+        stored.setFileSize(3L);
+        stored.setRefCount(2);
+        stored.setUploadedDate(uploadedDate);
+        stored.setAiSummary(aiSummary);
+        stored.setCreatedDate(LocalDateTime.now());
+        return stored;
+    }
+
+    private double stored(String outcome) {
+        return meterRegistry.get("documents.stored").tag("outcome", outcome).counter().count();
+    }
+
+    // -------------------------------------------------------------------------
+    // acquire
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("acquire — new content is recorded with one reference under its SHA-256")
+    void acquire_newContent_insertsDocument() throws IOException {
+        when(documentRepository.addReference(HASH)).thenReturn(0);
+        when(blobStorageService.blobUrl(BLOB_NAME)).thenReturn(DOCUMENT_URL);
+
+        DocumentStore.Reference reference = documentStore.acquire(document);
+
+        assertThat(reference).isEqualTo(new DocumentStore.Reference(HASH, DOCUMENT_URL, "plan.pdf", false));
+        ArgumentCaptor<StoredDocument> saved = ArgumentCaptor.forClass(StoredDocument.class);
+        verify(documentRepository).save(saved.capture());
+        assertThat(saved.getValue().getBlobName()).isEqualTo(BLOB_NAME);
+        assertThat(saved.getValue().getRefCount()).isEqualTo(1);
+        assertThat(saved.getValue().getFileSize()).isEqualTo(3L);
+        assertThat(saved.getValue().isNew()).isTrue();
+    }
+
+    @Test
+    @DisplayName("acquire — known content is referenced and not uploaded again")
+    void acquire_knownContent_reusesDocument() throws IOException {
+        LocalDateTime uploaded = LocalDateTime.now().minusDays(1);
+        when(documentRepository.addReference(HASH)).thenReturn(1);
+        when(documentRepository.findById(HASH)).thenReturn(Optional.of(stored(uploaded, "Plain summary.")));
+        when(blobStorageService.blobUrl(BLOB_NAME)).thenReturn(DOCUMENT_URL);
+
+        DocumentStore.Reference reference = documentStore.acquire(document);
+
+        assertThat(reference.uploaded()).isTrue();
+        assertThat(reference.documentUrl()).isEqualTo(DOCUMENT_URL);
+        verify(documentRepository, never()).save(any());
+        assertThat(stored("deduplicated")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("acquire — known content whose first upload has not finished is uploaded again")
+    void acquire_knownContentNotUploaded_uploadsAgain() throws IOException {
+        when(documentRepository.addReference(HASH)).thenReturn(1);
+        when(documentRepository.findById(HASH)).thenReturn(Optional.of(stored(null, null)));
+        when(blobStorageService.blobUrl(BLOB_NAME)).thenReturn(DOCUMENT_URL);
+
+        DocumentStore.Reference reference = documentStore.acquire(document);
+
+        assertThat(reference.uploaded()).isFalse();
+        assertThat(stored("deduplicated")).isZero();
+    }
+
+    @Test
+    @DisplayName("acquire — a concurrent first submission of the same content is referenced instead")
+    void acquire_concurrentInsert_addsReference() throws IOException {
+        when(documentRepository.addReference(HASH)).thenReturn(0, 1);
+        when(documentRepository.save(any())).thenThrow(new DataIntegrityViolationException("PK_stored_document"));
+        when(documentRepository.findById(HASH)).thenReturn(Optional.of(stored(null, null)));
+        when(blobStorageService.blobUrl(BLOB_NAME)).thenReturn(DOCUMENT_URL);
+
+        DocumentStore.Reference reference = documentStore.acquire(document);
+
+        assertThat(reference.contentHash()).isEqualTo(HASH);
+        verify(documentRepository, times(2)).addReference(HASH);
+    }
+
+    // -------------------------------------------------------------------------
+    // stage / commit / release
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("stage and commit — blocks go to the content-addressed blob, then it is marked uploaded")
+    void stageAndCommit_marksUploaded() throws IOException {
+        DocumentStore.Reference reference = new DocumentStore.Reference(HASH, DOCUMENT_URL, "plan.pdf", false);
+        BlobStorageService.StagedDocument staged =
+                new BlobStorageService.StagedDocument(BLOB_NAME, "application/pdf", List.of("block-0"));
+        when(blobStorageService.stageDocument(BLOB_NAME, document)).thenReturn(staged);
+
+        documentStore.commit(reference, documentStore.stage(reference, document), document);
+
+        InOrder order = inOrder(blobStorageService, documentRepository);
+        order.verify(blobStorageService).commitDocument(staged);
+        order.verify(documentRepository).markUploaded(eq(HASH), any(LocalDateTime.class));
+        assertThat(stored("uploaded")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("commit — a document uploaded meanwhile by another submission is not committed again")
+    void commit_alreadyUploaded_skipsBlobCommit() throws IOException {
+        DocumentStore.Reference reference = new DocumentStore.Reference(HASH, DOCUMENT_URL, "plan.pdf", false);
+        when(documentRepository.isUploaded(HASH)).thenReturn(true);
+
+        documentStore.commit(reference,
+                new BlobStorageService.StagedDocument(BLOB_NAME, "application/pdf", List.of("block-0")), document);
+
+        verify(blobStorageService, never()).commitDocument(any());
+        verify(documentRepository, never()).markUploaded(any(), any());
+        assertThat(stored("deduplicated")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("commit — blocks deleted by a sweep of the previous copy are staged and committed again")
+    void commit_blocksDeletedBySweep_uploadsAgain() throws IOException {
+        DocumentStore.Reference reference = new DocumentStore.Reference(HASH, DOCUMENT_URL, "plan.pdf", false);
+        BlobStorageService.StagedDocument first =
+                new BlobStorageService.StagedDocument(BLOB_NAME, "application/pdf", List.of("block-0"));
+        BlobStorageService.StagedDocument second =
+                new BlobStorageService.StagedDocument(BLOB_NAME, "application/pdf", List.of("block-1"));
+        when(blobStorageService.stageDocument(BLOB_NAME, document)).thenReturn(first, second);
+        // The sweep read the previous copy's ETag and deleted its row before this submission
+        // recorded the document again; the blob is deleted after the new blocks were staged.
+        when(documentRepository.findUnreferenced(any(Limit.class))).thenReturn(List.of(HASH));
+        when(blobStorageService.getETag(BLOB_NAME)).thenReturn("\"0x8D\"");
+        when(documentRepository.deleteUnreferenced(HASH)).thenReturn(1);
+        BlobStorageException blocksGone = mock(BlobStorageException.class);
+        when(blocksGone.getErrorCode()).thenReturn(BlobErrorCode.INVALID_BLOCK_LIST);
+        doThrow(blocksGone).when(blobStorageService).commitDocument(first);
+
+        BlobStorageService.StagedDocument staged = documentStore.stage(reference, document);
+        documentStore.deleteUnreferenced();
+        documentStore.commit(reference, staged, document);
+
+        InOrder order = inOrder(blobStorageService, documentRepository);
+        order.verify(blobStorageService).deleteBlob(BLOB_NAME, "\"0x8D\"");
+        order.verify(blobStorageService).commitDocument(first);
+        order.verify(blobStorageService).commitDocument(second);
+        order.verify(documentRepository).markUploaded(eq(HASH), any(LocalDateTime.class));
+        assertThat(stored("uploaded")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release — removes the reference")
+    void release_releasesReference() {
+        documentStore.release(new DocumentStore.Reference(HASH, DOCUMENT_URL, "plan.pdf", false));
+
+        verify(documentRepository).releaseReference(HASH);
+    }
+
+    // -------------------------------------------------------------------------
+    // deleteUnreferenced / sha256
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("deleteUnreferenced — deletes the row, then the blob only if it is unchanged")
+    void deleteUnreferenced_deletesRowThenBlob() {
+        when(documentRepository.findUnreferenced(any(Limit.class))).thenReturn(List.of(HASH));
+        when(blobStorageService.getETag(BLOB_NAME)).thenReturn("\"0x8D\"");
+        when(documentRepository.deleteUnreferenced(HASH)).thenReturn(1);
+
+        documentStore.deleteUnreferenced();
+
+        InOrder order = inOrder(blobStorageService, documentRepository);
+        order.verify(blobStorageService).getETag(BLOB_NAME);
+        order.verify(documentRepository).deleteUnreferenced(HASH);
+        order.verify(blobStorageService).deleteBlob(BLOB_NAME, "\"0x8D\"");
+    }
+
+    @Test
+    @DisplayName("deleteUnreferenced — keeps the blob of a document referenced again in the meantime")
+    void deleteUnreferenced_referencedAgain_keepsBlob() {
+        when(documentRepository.findUnreferenced(any(Limit.class))).thenReturn(List.of(HASH));
+        when(blobStorageService.getETag(BLOB_NAME)).thenReturn("\"0x8D\"");
+        when(documentRepository.deleteUnreferenced(HASH)).thenReturn(0);
+
+        documentStore.deleteUnreferenced();
+
+        verify(blobStorageService, never()).deleteBlob(any(), any());
+    }
+
+    @Test
+    @DisplayName("sha256 — lower-case hexadecimal digest of the whole stream")
+    void sha256_hexDigest() throws IOException {
+        assertThat(DocumentStore.sha256(new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII))))
+                .isEqualTo(HASH);
+    }
+}
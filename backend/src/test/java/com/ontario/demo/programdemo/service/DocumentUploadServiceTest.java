@@ -0,0 +1,304 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.DocumentUploadRequest;
+import com.ontario.demo.programdemo.dto.DocumentUploadResponse;
+import com.ontario.demo.programdemo.model.DocumentUpload;
+import com.ontario.demo.programdemo.repository.DocumentUploadRepository;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DocumentUploadService} using Mockito.
+ *
+ * <p>Uses 10-byte chunks, so a 25-byte document is chunks of 10, 10 and 5 bytes.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DocumentUploadService")
+class DocumentUploadServiceTest {
+
+    private static final String UPLOAD_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final String BLOB_NAME = "42/" + UPLOAD_ID + "/plan.pdf";
+    private static final String DOCUMENT_URL =
+            "https://account.blob.core.windows.net/program-documents/" + BLOB_NAME;
+
+    @Mock
+    private DocumentUploadRepository uploadRepository;
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @Mock
+    private ProgramService programService;
+
+    @Mock
+    private BlobStorageService blobStorageService;
+
+    private DocumentUploadService uploadService;
+    private DocumentUpload upload;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new DocumentUploadService(uploadRepository, programRepository, programService,
+                blobStorageService, DataSize.ofBytes(10), DataSize.ofBytes(100), Duration.ofHours(24),
+                Duration.ofHours(1), mock(ScheduledExecutorService.class));
+
+        upload = new DocumentUpload();
+        upload.setId(UPLOAD_ID);
+        upload.setProgramId(42L);
+        upload.setBlobName(BLOB_NAME);
+        upload.setContentType("application/pdf");
+        upload.setFileSize(25L);
+        upload.setChunkSize(10);
+        upload.setCreatedDate(LocalDateTime.now());
+        upload.setExpiresDate(LocalDateTime.now().plusHours(24));
+    }
+
+    private void sessionExists() {
+        when(uploadRepository.findActive(eq(UPLOAD_ID), eq(42L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(upload));
+    }
+
+    private Map<String, Long> staged(int... chunks) {
+        Map<String, Long> blocks = new HashMap<>();
+        for (int chunk : chunks) {
+            blocks.put(DocumentUploadService.blockId(upload, chunk), (long) upload.chunkLength(chunk));
+        }
+        return blocks;
+    }
+
+    // -------------------------------------------------------------------------
+    // createUpload
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("createUpload — saves a session dividing the file into chunks")
+    void createUpload_savesSession() {
+        when(programRepository.existsById(42L)).thenReturn(true);
+
+        DocumentUploadResponse response = uploadService.createUpload(42L,
+                DocumentUploadRequest.builder().fileName("My plan.pdf").size(25L).build());
+
+        ArgumentCaptor<DocumentUpload> saved = ArgumentCaptor.forClass(DocumentUpload.class);
+        verify(uploadRepository).save(saved.capture());
+        assertThat(saved.getValue().getBlobName()).isEqualTo("42/" + saved.getValue().getId() + "/My_plan.pdf");
+        assertThat(saved.getValue().getContentType()).isEqualTo("application/pdf");
+        assertThat(saved.getValue().isNew()).isTrue();
+        assertThat(response.getUploadId()).isEqualTo(saved.getValue().getId());
+        assertThat(response.getChunkSize()).isEqualTo(10);
+        assertThat(response.getChunkCount()).isEqualTo(3);
+        assertThat(response.getReceivedRanges()).isEmpty();
+        assertThat(response.getMissingChunks()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("createUpload — sessions for the same program and file stage onto blobs of their own")
+    void createUpload_twoSessions_separateBlobs() {
+        when(programRepository.existsById(42L)).thenReturn(true);
+        DocumentUploadRequest request = DocumentUploadRequest.builder().fileName("plan.pdf").size(25L).build();
+
+        uploadService.createUpload(42L, request);
+        uploadService.createUpload(42L, request);
+
+        ArgumentCaptor<DocumentUpload> saved = ArgumentCaptor.forClass(DocumentUpload.class);
+        verify(uploadRepository, times(2)).save(saved.capture());
+        DocumentUpload first = saved.getAllValues().get(0);
+        DocumentUpload second = saved.getAllValues().get(1);
+        assertThat(first.getBlobName()).isNotEqualTo(second.getBlobName());
+        assertThat(first.getBlobName()).startsWith("42/").endsWith("/plan.pdf");
+        assertThat(second.getBlobName()).startsWith("42/").endsWith("/plan.pdf");
+    }
+
+    @Test
+    @DisplayName("createUpload — file over the maximum size throws IllegalArgumentException")
+    void createUpload_tooLarge_throwsException() {
+        assertThatThrownBy(() -> uploadService.createUpload(42L,
+                DocumentUploadRequest.builder().fileName("plan.pdf").size(101L).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not exceed");
+        verifyNoInteractions(uploadRepository);
+    }
+
+    @Test
+    @DisplayName("createUpload — program not found throws IllegalArgumentException")
+    void createUpload_programNotFound_throwsException() {
+        when(programRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> uploadService.createUpload(999L,
+                DocumentUploadRequest.builder().fileName("plan.pdf").size(25L).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Program not found with ID: 999");
+        verify(uploadRepository, never()).save(any());
+    }
+
+    // -------------------------------------------------------------------------
+    // putChunk
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("putChunk — stages the chunk as its block on the document blob")
+    void putChunk_stagesBlock() throws IOException {
+        sessionExists();
+
+        uploadService.putChunk(42L, UPLOAD_ID, 2, new ByteArrayInputStream(new byte[5]));
+
+        verify(blobStorageService).stageBlock(eq(BLOB_NAME), eq(DocumentUploadService.blockId(upload, 2)),
+                eq(new byte[5]));
+    }
+
+    @Test
+    @DisplayName("putChunk — chunk of the wrong size throws IllegalArgumentException")
+    void putChunk_wrongSize_throwsException() {
+        sessionExists();
+
+        assertThatThrownBy(() -> uploadService.putChunk(42L, UPLOAD_ID, 0, new ByteArrayInputStream(new byte[11])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk 0 must be exactly 10 bytes");
+        assertThatThrownBy(() -> uploadService.putChunk(42L, UPLOAD_ID, 2, new ByteArrayInputStream(new byte[4])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Chunk 2 must be exactly 5 bytes");
+        verifyNoInteractions(blobStorageService);
+    }
+
+    @Test
+    @DisplayName("putChunk — position past the last chunk throws IllegalArgumentException")
+    void putChunk_indexOutOfRange_throwsException() {
+        sessionExists();
+
+        assertThatThrownBy(() -> uploadService.putChunk(42L, UPLOAD_ID, 3, new ByteArrayInputStream(new byte[5])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 0 and 2");
+    }
+
+    @Test
+    @DisplayName("putChunk — unknown or expired session throws IllegalArgumentException")
+    void putChunk_sessionNotFound_throwsException() {
+        when(uploadRepository.findActive(eq(UPLOAD_ID), eq(42L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> uploadService.putChunk(42L, UPLOAD_ID, 0, new ByteArrayInputStream(new byte[10])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Upload not found: " + UPLOAD_ID);
+    }
+
+    // -------------------------------------------------------------------------
+    // getUpload
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("getUpload — reports the staged chunks as merged byte ranges")
+    void getUpload_reportsReceivedRanges() {
+        sessionExists();
+        Map<String, Long> blocks = staged(0, 2);
+        blocks.put("b3RoZXItdXBsb2FkMDAwMDAx", 10L);
+        when(blobStorageService.listBlocks(BLOB_NAME)).thenReturn(blocks);
+
+        DocumentUploadResponse response = uploadService.getUpload(42L, UPLOAD_ID);
+
+        assertThat(response.getReceivedRanges()).containsExactly(
+                new DocumentUploadResponse.ByteRange(0, 9), new DocumentUploadResponse.ByteRange(20, 24));
+        assertThat(response.getMissingChunks()).containsExactly(1);
+        assertThat(response.getDocumentUrl()).isNull();
+    }
+
+    @Test
+    @DisplayName("getUpload — adjacent chunks form a single range")
+    void getUpload_adjacentChunks_mergeRanges() {
+        sessionExists();
+        when(blobStorageService.listBlocks(BLOB_NAME)).thenReturn(staged(0, 1));
+
+        DocumentUploadResponse response = uploadService.getUpload(42L, UPLOAD_ID);
+
+        assertThat(response.getReceivedRanges()).containsExactly(new DocumentUploadResponse.ByteRange(0, 19));
+        assertThat(response.getMissingChunks()).containsExactly(2);
+    }
+
+    // -------------------------------------------------------------------------
+    // commitUpload
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("commitUpload — commits the blocks in order, records the URL and deletes the session")
+    void commitUpload_complete_commitsBlockList() {
+        sessionExists();
+        when(blobStorageService.listBlocks(BLOB_NAME)).thenReturn(staged(2, 0, 1));
+        when(blobStorageService.commitDocument(any())).thenReturn(DOCUMENT_URL);
+
+        DocumentUploadResponse response = uploadService.commitUpload(42L, UPLOAD_ID);
+
+        InOrder order = inOrder(blobStorageService, programService, uploadRepository);
+        order.verify(blobStorageService).commitDocument(new BlobStorageService.StagedDocument(BLOB_NAME,
+                "application/pdf", List.of(DocumentUploadService.blockId(upload, 0),
+                DocumentUploadService.blockId(upload, 1), DocumentUploadService.blockId(upload, 2))));
+        order.verify(programService).updateDocumentUrl(42L, DOCUMENT_URL, "plan.pdf");
+        order.verify(uploadRepository).deleteUpload(UPLOAD_ID);
+        assertThat(response.getDocumentUrl()).isEqualTo(DOCUMENT_URL);
+        assertThat(response.getMissingChunks()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("commitUpload — missing or short chunks throw IllegalArgumentException without committing")
+    void commitUpload_missingChunks_throwsException() {
+        sessionExists();
+        Map<String, Long> blocks = staged(0);
+        blocks.put(DocumentUploadService.blockId(upload, 2), 3L);
+        when(blobStorageService.listBlocks(BLOB_NAME)).thenReturn(blocks);
+
+        assertThatThrownBy(() -> uploadService.commitUpload(42L, UPLOAD_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing chunks: [1, 2]");
+        verify(blobStorageService, never()).commitDocument(any());
+        verifyNoInteractions(programService);
+    }
+
+    // -------------------------------------------------------------------------
+    // deleteExpired / blockId
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("deleteExpired — deletes the sessions past their expiry time")
+    void deleteExpired_deletesExpiredSessions() {
+        uploadService.deleteExpired();
+
+        verify(uploadRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("blockId — same length for every chunk and distinct between sessions")
+    void blockId_fixedLengthAndSessionSpecific() {
+        DocumentUpload other = new DocumentUpload();
+        other.setId("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+        assertThat(DocumentUploadService.blockId(upload, 0)).hasSameSizeAs(DocumentUploadService.blockId(upload, 999));
+        assertThat(DocumentUploadService.blockId(upload, 0)).isNotEqualTo(DocumentUploadService.blockId(other, 0));
+    }
+}
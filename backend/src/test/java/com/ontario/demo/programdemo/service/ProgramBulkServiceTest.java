@@ -0,0 +1,239 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.dto.BulkReviewRequest;
+import com.ontario.demo.programdemo.dto.BulkReviewResponse;
+import com.ontario.demo.programdemo.dto.BulkSubmissionResponse;
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ReviewRequest;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramBulkService}.
+ *
+ * <p>Uses a real validator and object mapper with a mocked {@link ProgramService}
+ * that hands out sequential IDs, and a submission chunk size of two.</p>
+ */
+@DisplayName("ProgramBulkService")
+class ProgramBulkServiceTest {
+
+    private static final String VALID = "{\"programName\":\"Program %d\",\"programDescription\":\"Description\",\"programTypeId\":1}";
+
+    private ValidatorFactory validatorFactory;
+    private ProgramService programService;
+    private ProgramBulkService bulkService;
+
+    /** Chunks passed to {@link ProgramService#createPrograms(List)}. */
+    private final List<List<ProgramRequest>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        programService = mock(ProgramService.class);
+        ProgramTypeRepository programTypeRepository = mock(ProgramTypeRepository.class);
+        when(programTypeRepository.findAll()).thenReturn(List.of(new ProgramType(1, "Health", "Santé")));
+        AtomicLong nextId = new AtomicLong(51);
+        when(programService.createPrograms(any())).thenAnswer(invocation -> {
+            List<ProgramRequest> chunk = List.copyOf(invocation.getArgument(0));
+            chunks.add(chunk);
+            return chunk.stream().map(request -> nextId.getAndIncrement()).toList();
+        });
+        bulkService = new ProgramBulkService(programService, programTypeRepository,
+                validatorFactory.getValidator(), new ObjectMapper(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // -------------------------------------------------------------------------
+    // submitJsonArray
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("submitJsonArray — creates valid records in chunks and reports invalid ones by index")
+    void submitJsonArray_mixedRecords_createsValidAndReportsInvalid() throws IOException {
+        String json = "[" + String.join(",",
+                VALID.formatted(0),
+                "{\"programDescription\":\"No name\",\"programTypeId\":1}",
+                VALID.formatted(2),
+                "{\"programName\":\"Unknown type\",\"programDescription\":\"Description\",\"programTypeId\":9}",
+                VALID.formatted(4),
+                "{\"programName\":\"Bad type\",\"programTypeId\":\"health\"}") + "]";
+
+        BulkSubmissionResponse response = bulkService.submitJsonArray(body(json));
+
+        assertThat(response.getReceived()).isEqualTo(6);
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getCreatedIds()).containsExactly(51L, 52L, 53L);
+        assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+        assertThat(response.getErrors()).extracting(BulkSubmissionResponse.RecordError::getIndex)
+                .containsExactly(1, 3, 5);
+        assertThat(response.getErrors().get(0).getMessages()).containsExactly("Program name is required");
+        assertThat(response.getErrors().get(1).getMessages()).containsExactly("Program type not found with ID: 9");
+        assertThat(response.getErrors().get(2).getMessages().get(0)).startsWith("Invalid program request");
+    }
+
+    @Test
+    @DisplayName("submitJsonArray — malformed JSON keeps the records before it and stops")
+    void submitJsonArray_malformedJson_stopsAfterCreatingEarlierRecords() throws IOException {
+        String json = "[" + VALID.formatted(0) + ", {\"programName\": ]";
+
+        BulkSubmissionResponse response = bulkService.submitJsonArray(body(json));
+
+        assertThat(response.getCreatedIds()).containsExactly(51L);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages().get(0)).startsWith("Malformed JSON");
+        });
+    }
+
+    @Test
+    @DisplayName("submitJsonArray — body that is not an array throws IllegalArgumentException")
+    void submitJsonArray_notAnArray_throwsException() {
+        assertThatThrownBy(() -> bulkService.submitJsonArray(body(VALID.formatted(0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("JSON array");
+    }
+
+    // -------------------------------------------------------------------------
+    // submitNdjson
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("submitNdjson — skips blank lines and reports a malformed line without stopping")
+    void submitNdjson_malformedLine_continues() throws IOException {
+        String ndjson = VALID.formatted(0) + "\n\n{not json}\n" + VALID.formatted(2) + "\n";
+
+        BulkSubmissionResponse response = bulkService.submitNdjson(body(ndjson));
+
+        assertThat(response.getReceived()).isEqualTo(3);
+        assertThat(response.getCreatedIds()).containsExactly(51L, 52L);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages().get(0)).startsWith("Malformed JSON");
+        });
+        assertThat(response.getRowsPerSecond()).isPositive();
+    }
+
+    @Test
+    @DisplayName("submitNdjson — chunk refused by the database is retried record by record")
+    void submitNdjson_failedChunk_retriesEachRecord() throws IOException {
+        doThrow(new DataIntegrityViolationException("constraint violated"))
+                .doReturn(List.of(60L))
+                .doThrow(new DataIntegrityViolationException("name too long"))
+                .doReturn(List.of(61L))
+                .when(programService).createPrograms(any());
+        String ndjson = VALID.formatted(0) + "\n" + VALID.formatted(1) + "\n" + VALID.formatted(2);
+
+        BulkSubmissionResponse response = bulkService.submitNdjson(body(ndjson));
+
+        assertThat(response.getCreatedIds()).containsExactly(60L, 61L);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isEqualTo(1);
+            assertThat(error.getMessages()).containsExactly("Not created: name too long");
+        });
+        verify(programService, times(4)).createPrograms(any());
+    }
+
+    // -------------------------------------------------------------------------
+    // review
+    // -------------------------------------------------------------------------
+
+    private static ReviewRequest decision(String status) {
+        return ReviewRequest.builder()
+                .status(status)
+                .reviewComments("Routine approval.")
+                .reviewedBy("ministry@ontario.ca")
+                .build();
+    }
+
+    @Test
+    @DisplayName("review — listed IDs are reviewed in chunks and the rest reported as skipped")
+    void review_ids_reviewsInChunksAndReportsSkipped() {
+        List<Long> ids = LongStream.rangeClosed(1, ProgramBulkService.REVIEW_CHUNK_SIZE + 2).boxed().toList();
+        when(programService.reviewPrograms(any(), any())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().filter(id -> id != 2L).toList();
+        });
+
+        BulkReviewResponse response = bulkService.review(BulkReviewRequest.builder()
+                .ids(ids)
+                .decision(decision("APPROVED"))
+                .build());
+
+        assertThat(response.getStatus()).isEqualTo(ProgramStatus.APPROVED);
+        assertThat(response.getRequested()).isEqualTo(ids.size());
+        assertThat(response.getReviewedIds()).hasSize(ids.size() - 1);
+        assertThat(response.getSkippedIds()).containsExactly(2L);
+        verify(programService, times(2)).reviewPrograms(any(), any());
+    }
+
+    @Test
+    @DisplayName("review — filter reviews the matching submitted programs")
+    void review_filter_reviewsMatchingPrograms() {
+        LocalDateTime before = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(programService.findSubmittedProgramIds(1, before)).thenReturn(List.of(4L, 5L));
+        when(programService.reviewPrograms(any(), any())).thenReturn(List.of(4L, 5L));
+
+        BulkReviewResponse response = bulkService.review(BulkReviewRequest.builder()
+                .programTypeId(1)
+                .submittedBefore(before)
+                .decision(decision("rejected"))
+                .build());
+
+        assertThat(response.getStatus()).isEqualTo(ProgramStatus.REJECTED);
+        assertThat(response.getReviewedIds()).containsExactly(4L, 5L);
+        assertThat(response.getSkippedIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("review — invalid decision or missing targets throw before any update")
+    void review_invalidRequest_throwsException() {
+        assertThatThrownBy(() -> bulkService.review(BulkReviewRequest.builder()
+                .ids(List.of(1L)).decision(decision("MAYBE")).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid status");
+        assertThatThrownBy(() -> bulkService.review(BulkReviewRequest.builder()
+                .decision(decision("APPROVED")).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("either program IDs or a filter");
+        verify(programService, never()).reviewPrograms(any(), any());
+    }
+}
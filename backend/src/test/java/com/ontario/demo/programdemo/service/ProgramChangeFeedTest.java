@@ -0,0 +1,190 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link ProgramChangeFeed}.
+ *
+ * <p>Covers event framing, subscriber filters, disconnecting slow subscribers and
+ * the subscriber limit. Events are written by a test executor so the tests control
+ * when queues drain.</p>
+ */
+@DisplayName("ProgramChangeFeed")
+class ProgramChangeFeedTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /** Runs queued send tasks only when asked to. */
+    private final Queue<Runnable> pendingSends = new ArrayDeque<>();
+    private final Executor manualExecutor = pendingSends::add;
+
+    /** Emitter that records the text of every frame written to it. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> events() {
+            return frames.stream().filter(frame -> frame.contains("event:")).toList();
+        }
+    }
+
+    private ProgramChangeFeed feed(int bufferSize, int maxSubscribers) {
+        return new ProgramChangeFeed(objectMapper, bufferSize, maxSubscribers, Duration.ofMinutes(1), manualExecutor);
+    }
+
+    private void runSends() {
+        Runnable send;
+        while ((send = pendingSends.poll()) != null) {
+            send.run();
+        }
+    }
+
+    private static Program program(Long id, ProgramStatus status) {
+        Program program = new Program();
+        program.setId(id);
+        program.setStatus(status);
+        return program;
+    }
+
+    // -------------------------------------------------------------------------
+    // subscribe / onProgramChange
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("subscribe — sends a connected comment with the reconnect delay")
+    void subscribe_sendsConnectedComment() {
+        ProgramChangeFeed feed = feed(8, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        feed.subscribe(new ProgramChangeFeed.Filter(null, null), emitter);
+        runSends();
+
+        assertThat(emitter.frames).singleElement().asString().contains("retry:5000", ":connected");
+        assertThat(feed.stats().subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — sends a named event with an ID and JSON data")
+    void onProgramChange_sendsNamedEvent() {
+        ProgramChangeFeed feed = feed(8, 10);
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(new ProgramChangeFeed.Filter(null, null), emitter);
+
+        feed.onProgramChange(new ProgramChangeEvent.SummaryReady(7L, ProgramStatus.SUBMITTED, "Plain summary"));
+        runSends();
+
+        assertThat(emitter.events()).singleElement().asString()
+                .contains("id:1", "event:summary-ready", "\"programId\":7", "\"aiSummary\":\"Plain summary\"")
+                .doesNotContain("documentUrl");
+    }
+
+    @Test
+    @DisplayName("onProgramChange — subscribers only receive changes matching their filter")
+    void onProgramChange_appliesFilters() {
+        ProgramChangeFeed feed = feed(8, 10);
+        RecordingEmitter byProgram = new RecordingEmitter();
+        RecordingEmitter byStatus = new RecordingEmitter();
+        feed.subscribe(new ProgramChangeFeed.Filter(1L, null), byProgram);
+        feed.subscribe(new ProgramChangeFeed.Filter(null, ProgramStatus.SUBMITTED), byStatus);
+
+        feed.onProgramChange(new ProgramChangeEvent.Created(program(2L, ProgramStatus.SUBMITTED)));
+        feed.onProgramChange(new ProgramChangeEvent.Reviewed(program(1L, ProgramStatus.APPROVED), ProgramStatus.SUBMITTED));
+        runSends();
+
+        assertThat(byProgram.events()).singleElement().asString()
+                .contains("event:reviewed", "\"status\":\"APPROVED\"", "\"previousStatus\":\"SUBMITTED\"");
+        assertThat(byStatus.events()).singleElement().asString()
+                .contains("event:created", "\"programId\":2");
+    }
+
+    @Test
+    @DisplayName("toNotification — bulk status change is reported as a review")
+    void toNotification_statusChanged_isReview() {
+        var notification = ProgramChangeFeed.toNotification(
+                new ProgramChangeEvent.StatusChanged(3L, ProgramStatus.SUBMITTED, ProgramStatus.REJECTED));
+
+        assertThat(notification.getType().eventName()).isEqualTo("reviewed");
+        assertThat(notification.getStatus()).isEqualTo(ProgramStatus.REJECTED);
+        assertThat(notification.getPreviousStatus()).isEqualTo(ProgramStatus.SUBMITTED);
+    }
+
+    // -------------------------------------------------------------------------
+    // slow and vanished subscribers
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("onProgramChange — a subscriber whose queue is full is disconnected")
+    void onProgramChange_fullQueue_disconnectsSubscriber() {
+        ProgramChangeFeed feed = feed(3, 10);
+        RecordingEmitter slow = new RecordingEmitter();
+        feed.subscribe(new ProgramChangeFeed.Filter(null, null), slow);
+
+        for (long id = 1; id <= 3; id++) {
+            feed.onProgramChange(new ProgramChangeEvent.DocumentAttached(id, ProgramStatus.SUBMITTED, "url"));
+        }
+
+        assertThat(slow.completed).isTrue();
+        assertThat(feed.stats().subscribers()).isZero();
+        assertThat(feed.stats().droppedSubscribers()).isEqualTo(1);
+        runSends();
+        assertThat(slow.frames).isEmpty();
+    }
+
+    @Test
+    @DisplayName("onProgramChange — a subscriber whose connection failed is removed")
+    void onProgramChange_sendFails_removesSubscriber() {
+        ProgramChangeFeed feed = feed(8, 10);
+        RecordingEmitter gone = new RecordingEmitter();
+        gone.failing = true;
+        feed.subscribe(new ProgramChangeFeed.Filter(null, null), gone);
+
+        runSends();
+
+        assertThat(feed.stats().subscribers()).isZero();
+    }
+
+    @Test
+    @DisplayName("subscribe — refuses new subscribers at the limit")
+    void subscribe_atLimit_throws() {
+        ProgramChangeFeed feed = feed(8, 1);
+        feed.subscribe(new ProgramChangeFeed.Filter(null, null), new RecordingEmitter());
+
+        assertThatThrownBy(() -> feed.subscribe(new ProgramChangeFeed.Filter(null, null), new RecordingEmitter()))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("limit of 1");
+    }
+}
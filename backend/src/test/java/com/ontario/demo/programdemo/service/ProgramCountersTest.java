@@ -0,0 +1,205 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.ProgramStatistics;
+import com.ontario.demo.programdemo.exception.ServiceUnavailableException;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramCounters} using Mockito.
+ *
+ * <p>Covers seeding, incremental updates from change events and correcting
+ * drift on reconciliation.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgramCounters")
+class ProgramCountersTest {
+
+    private record StatusRow(ProgramStatus getStatus, Long getCount) implements ProgramRepository.StatusCount {
+    }
+
+    private record TypeRow(Integer getProgramTypeId, Long getCount, BigDecimal getBudget)
+            implements ProgramRepository.TypeTotal {
+    }
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @Mock
+    private ProgramTypeRepository programTypeRepository;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private ProgramCounters counters;
+    private ProgramType healthType;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ProgramCounters(programRepository, programTypeRepository, Duration.ofMinutes(5), scheduler);
+        healthType = new ProgramType(1, "Health", "Santé");
+    }
+
+    private void seed() {
+        when(programRepository.countByStatus()).thenReturn(List.of(
+                new StatusRow(ProgramStatus.SUBMITTED, 3L), new StatusRow(ProgramStatus.APPROVED, 1L)));
+        when(programRepository.totalByType()).thenReturn(List.of(new TypeRow(1, 4L, new BigDecimal("1500.50"))));
+        when(programTypeRepository.findAll()).thenReturn(List.of(healthType));
+        counters.seed();
+    }
+
+    private Program program(ProgramStatus status, String budget) {
+        Program program = new Program();
+        program.setId(10L);
+        program.setProgramType(healthType);
+        program.setStatus(status);
+        program.setBudget(budget == null ? null : new BigDecimal(budget));
+        return program;
+    }
+
+    // -------------------------------------------------------------------------
+    // seed / statistics
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("statistics — before the seed, reports that the counters are still loading")
+    void statistics_beforeSeed_throws() {
+        assertThatThrownBy(() -> counters.statistics())
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessage("Program statistics are still loading");
+    }
+
+    @Test
+    @DisplayName("seed — loads counts by status and type from the database")
+    void seed_loadsCounts() {
+        seed();
+
+        ProgramStatistics statistics = counters.statistics();
+
+        assertThat(statistics.getTotal()).isEqualTo(4);
+        assertThat(statistics.getTotalBudget()).isEqualByComparingTo("1500.50");
+        assertThat(statistics.getByStatus())
+                .containsEntry(ProgramStatus.SUBMITTED, 3L)
+                .containsEntry(ProgramStatus.APPROVED, 1L)
+                .containsEntry(ProgramStatus.REJECTED, 0L);
+        assertThat(statistics.getByType()).singleElement()
+                .satisfies(type -> {
+                    assertThat(type.getProgramTypeNameFr()).isEqualTo("Santé");
+                    assertThat(type.getCount()).isEqualTo(4);
+                });
+        assertThat(statistics.getReconciledAt()).isNotNull();
+    }
+
+    // -------------------------------------------------------------------------
+    // onProgramChange
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("onProgramChange — a new program adds to its status, type and budget")
+    void onProgramChange_created_addsProgram() {
+        seed();
+
+        counters.onProgramChange(new ProgramChangeEvent.Created(program(ProgramStatus.SUBMITTED, "99.50")));
+
+        ProgramStatistics statistics = counters.statistics();
+        assertThat(statistics.getByStatus()).containsEntry(ProgramStatus.SUBMITTED, 4L);
+        assertThat(statistics.getByType().get(0).getCount()).isEqualTo(5);
+        assertThat(statistics.getTotalBudget()).isEqualByComparingTo("1600.00");
+    }
+
+    @Test
+    @DisplayName("onProgramChange — reviews move programs between statuses")
+    void onProgramChange_reviewed_movesStatus() {
+        seed();
+
+        counters.onProgramChange(new ProgramChangeEvent.Reviewed(
+                program(ProgramStatus.REJECTED, null), ProgramStatus.SUBMITTED));
+        counters.onProgramChange(new ProgramChangeEvent.StatusChanged(11L, ProgramStatus.SUBMITTED, ProgramStatus.APPROVED));
+
+        ProgramStatistics statistics = counters.statistics();
+        assertThat(statistics.getTotal()).isEqualTo(4);
+        assertThat(statistics.getByStatus())
+                .containsEntry(ProgramStatus.SUBMITTED, 1L)
+                .containsEntry(ProgramStatus.APPROVED, 2L)
+                .containsEntry(ProgramStatus.REJECTED, 1L);
+    }
+
+    // -------------------------------------------------------------------------
+    // reconcile
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("reconcile — corrects counters that drifted from the database")
+    void reconcile_correctsDrift() {
+        seed();
+        counters.onProgramChange(new ProgramChangeEvent.Created(program(ProgramStatus.SUBMITTED, "10")));
+
+        counters.reconcile(false);
+
+        ProgramStatistics statistics = counters.statistics();
+        assertThat(statistics.getTotal()).isEqualTo(4);
+        assertThat(statistics.getByStatus()).containsEntry(ProgramStatus.SUBMITTED, 3L);
+        assertThat(statistics.getTotalBudget()).isEqualByComparingTo("1500.50");
+    }
+
+    @Test
+    @DisplayName("reconcile — skips the correction when changes arrive while counting")
+    void reconcile_changeDuringQueries_skipped() {
+        seed();
+        when(programRepository.countByStatus()).thenAnswer(invocation -> {
+            counters.onProgramChange(new ProgramChangeEvent.Created(program(ProgramStatus.SUBMITTED, null)));
+            return List.of(new StatusRow(ProgramStatus.SUBMITTED, 3L), new StatusRow(ProgramStatus.APPROVED, 1L));
+        });
+
+        counters.reconcile(false);
+
+        assertThat(counters.statistics().getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("reconcile — a change arriving while the counters are corrected is applied after, not overwritten")
+    void reconcile_changeDuringCorrection_appliedAfter() {
+        seed();
+        ProgramType correctedType = spy(healthType);
+        CompletableFuture<Void> change = new CompletableFuture<>();
+        when(programTypeRepository.findAll()).thenReturn(List.of(correctedType));
+        when(correctedType.getTypeNameEn()).thenAnswer(invocation -> {
+            if (!change.isDone()) {
+                CompletableFuture.runAsync(() -> counters.onProgramChange(
+                        new ProgramChangeEvent.Created(program(ProgramStatus.SUBMITTED, "10"))))
+                        .whenComplete((ignored, e) -> change.complete(null));
+                assertThatThrownBy(() -> change.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            }
+            return invocation.callRealMethod();
+        });
+
+        counters.reconcile(false);
+        change.join();
+
+        ProgramStatistics statistics = counters.statistics();
+        assertThat(statistics.getTotal()).isEqualTo(5);
+        assertThat(statistics.getTotalBudget()).isEqualByComparingTo("1510.50");
+    }
+}
@@ -0,0 +1,166 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramExportService} using Mockito.
+ *
+ * <p>Covers both output formats, CSV quoting, detaching written programs and
+ * closing the database stream.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgramExportService")
+class ProgramExportServiceTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProgramExportService exportService;
+
+    private Program first;
+    private Program second;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ProgramExportService(programRepository, entityManager, objectMapper);
+
+        ProgramType healthType = new ProgramType(1, "Health", "Santé");
+        first = new Program();
+        first.setId(1L);
+        first.setProgramName("Community clinics");
+        first.setProgramDescription("Clinics, \"walk-in\" only\nweekdays");
+        first.setProgramType(healthType);
+        first.setStatus(ProgramStatus.SUBMITTED);
+        first.setBudget(new BigDecimal("1E+6"));
+        first.setCreatedDate(LocalDateTime.of(2026, 1, 15, 9, 30));
+
+        second = new Program();
+        second.setId(2L);
+        second.setProgramName("Adult education");
+        second.setProgramDescription("Evening classes");
+        second.setProgramType(healthType);
+        second.setStatus(ProgramStatus.APPROVED);
+    }
+
+    private String export(ProgramExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.export(format, out);
+        assertThat(count).isEqualTo(2);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // -------------------------------------------------------------------------
+    // export
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("export — NDJSON writes one program object per line")
+    void export_ndjson_oneObjectPerLine() throws Exception {
+        when(programRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+
+        String[] lines = export(ProgramExportService.Format.NDJSON).split("\n", -1);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"programTypeNameFr\":\"Santé\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,").contains("\"status\":\"APPROVED\"");
+        assertThat(lines[2]).isEmpty();
+    }
+
+    @Test
+    @DisplayName("export — CSV writes a header row and quotes values containing separators")
+    void export_csv_headerAndQuoting() throws Exception {
+        when(programRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+
+        String csv = export(ProgramExportService.Format.CSV);
+
+        assertThat(csv).startsWith("id,programName,programDescription,programTypeId,programTypeNameEn,"
+                + "programTypeNameFr,status,submittedBy,reviewedBy,reviewComments,documentUrl,aiSummary,"
+                + "budget,createdDate,updatedDate\r\n");
+        assertThat(csv).contains("1,Community clinics,\"Clinics, \"\"walk-in\"\" only\nweekdays\",1,Health,Santé,"
+                + "SUBMITTED,,,,,,1000000,2026-01-15T09:30,\r\n");
+        assertThat(csv).endsWith("2,Adult education,Evening classes,1,Health,Santé,APPROVED,,,,,,,,\r\n");
+    }
+
+    @Test
+    @DisplayName("export — CSV prefixes text that a spreadsheet would evaluate as a formula")
+    void export_csv_escapesFormulas() throws Exception {
+        first.setProgramName("=HYPERLINK(\"https://example.com\")");
+        first.setSubmittedBy("@citizen");
+        first.setBudget(new BigDecimal("-5"));
+        second.setProgramName("+1 program");
+        second.setProgramDescription("- evening classes");
+        when(programRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+
+        String csv = export(ProgramExportService.Format.CSV);
+
+        assertThat(csv).contains("1,\"'=HYPERLINK(\"\"https://example.com\"\")\",");
+        assertThat(csv).contains(",SUBMITTED,'@citizen,");
+        assertThat(csv).contains(",-5,");
+        assertThat(csv).contains("2,'+1 program,'- evening classes,");
+    }
+
+    @Test
+    @DisplayName("export — CSV prefixes text starting with a tab or carriage return")
+    void export_csv_escapesLeadingTabAndCarriageReturn() throws Exception {
+        first.setProgramName("\t=SUM(A1:A9)");
+        second.setProgramName("\r=SUM(A1:A9)");
+        when(programRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+
+        String csv = export(ProgramExportService.Format.CSV);
+
+        assertThat(csv).contains("1,'\t=SUM(A1:A9),");
+        assertThat(csv).contains("2,\"'\r=SUM(A1:A9)\",");
+    }
+
+    @Test
+    @DisplayName("export — detaches every written program and closes the stream")
+    void export_detachesProgramsAndClosesStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(programRepository.streamAllForExport())
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        export(ProgramExportService.Format.NDJSON);
+
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Format.parse — ignores case and rejects unknown formats")
+    void formatParse() {
+        assertThat(ProgramExportService.Format.parse("Csv")).isEqualTo(ProgramExportService.Format.CSV);
+        assertThatThrownBy(() -> ProgramExportService.Format.parse("xlsx"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid export format: xlsx. Valid formats: ndjson, csv");
+    }
+}
@@ -0,0 +1,62 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ProgramMetrics} against a {@link SimpleMeterRegistry}.
+ */
+@DisplayName("ProgramMetrics")
+class ProgramMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProgramMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new ProgramMetrics(meterRegistry);
+    }
+
+    private double statusChanges(ProgramStatus status) {
+        return meterRegistry.get("programs.status.changes").tag("status", status.name()).counter().count();
+    }
+
+    // -------------------------------------------------------------------------
+    // onProgramChange
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("onProgramChange — counts submissions and decisions under the new status")
+    void onProgramChange_countsNewStatus() {
+        Program submitted = new Program();
+        submitted.setId(1L);
+        submitted.setStatus(ProgramStatus.SUBMITTED);
+        Program approved = new Program();
+        approved.setId(1L);
+        approved.setStatus(ProgramStatus.APPROVED);
+
+        metrics.onProgramChange(new ProgramChangeEvent.Created(submitted));
+        metrics.onProgramChange(new ProgramChangeEvent.Reviewed(approved, ProgramStatus.SUBMITTED));
+        metrics.onProgramChange(new ProgramChangeEvent.StatusChanged(2L, ProgramStatus.SUBMITTED, ProgramStatus.REJECTED));
+
+        assertThat(statusChanges(ProgramStatus.SUBMITTED)).isEqualTo(1);
+        assertThat(statusChanges(ProgramStatus.APPROVED)).isEqualTo(1);
+        assertThat(statusChanges(ProgramStatus.REJECTED)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — ignores document and summary updates")
+    void onProgramChange_otherChanges_ignored() {
+        metrics.onProgramChange(new ProgramChangeEvent.DocumentAttached(1L, ProgramStatus.SUBMITTED, "url"));
+        metrics.onProgramChange(new ProgramChangeEvent.SummaryReady(1L, ProgramStatus.SUBMITTED, "summary"));
+
+        assertThat(statusChanges(ProgramStatus.SUBMITTED)).isZero();
+    }
+}
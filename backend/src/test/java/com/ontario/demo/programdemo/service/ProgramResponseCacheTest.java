@@ -0,0 +1,284 @@
+package com.ontario.demo.programdemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramResponseCache}.
+ *
+ * <p>Covers hits and misses, ETags and gzip copies, invalidation from change
+ * events, size-bounded eviction and the guard against storing stale loads.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgramResponseCache")
+class ProgramResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ProgramSearchIndex searchIndex;
+
+    private ProgramResponseCache cache(DataSize maxSize, DataSize gzipMinSize) {
+        return new ProgramResponseCache(objectMapper, searchIndex, true, maxSize, gzipMinSize);
+    }
+
+    private ProgramResponseCache cache() {
+        return cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+    }
+
+    private static ProgramResponse response(Long id, String name) {
+        return ProgramResponse.builder()
+                .id(id)
+                .programName(name)
+                .status(ProgramStatus.SUBMITTED)
+                .build();
+    }
+
+    private static String json(ProgramResponseCache.CachedResponse cached) {
+        return new String(cached.json(), StandardCharsets.UTF_8);
+    }
+
+    // -------------------------------------------------------------------------
+    // program / programs
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("program — second read is served from the cache")
+    void program_secondReadIsHit() {
+        ProgramResponseCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+
+        ProgramResponseCache.CachedResponse first = cache.program(1L, () -> {
+            loads.incrementAndGet();
+            return response(1L, "Adult education");
+        });
+        ProgramResponseCache.CachedResponse second = cache.program(1L, () -> {
+            loads.incrementAndGet();
+            return response(1L, "Adult education");
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isSameAs(first);
+        assertThat(json(first)).contains("\"programName\":\"Adult education\"");
+        assertThat(first.eTag()).startsWith("\"").endsWith("\"");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().entries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("program — loader exception propagates and nothing is cached")
+    void program_loaderFails_nothingCached() {
+        ProgramResponseCache cache = cache();
+
+        assertThatThrownBy(() -> cache.program(9L, () -> {
+            throw new IllegalArgumentException("Program not found with ID: 9");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    @DisplayName("serialize — keeps a gzip copy only for bodies of at least the minimum size")
+    void serialize_gzipAboveMinimumSize() {
+        ProgramResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofBytes(600));
+
+        ProgramResponseCache.CachedResponse small = cache.program(1L, () -> response(1L, "Short"));
+        ProgramResponseCache.CachedResponse large = cache.program(2L, () -> response(2L, "x".repeat(800)));
+
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).isNotNull().hasSizeLessThan(large.json().length);
+        assertThat(large.gzipETag()).isEqualTo(large.eTag().replaceAll("\"$", "-gzip\""));
+        assertThat(large.matches(large.gzipETag())).isTrue();
+        assertThat(large.matches("W/" + large.eTag())).isTrue();
+        assertThat(large.matches("\"other\"")).isFalse();
+    }
+
+    @Test
+    @DisplayName("programs — search is not cached until the search index is ready")
+    void programs_searchBeforeIndexReady_notCached() {
+        ProgramResponseCache cache = cache();
+        when(searchIndex.isReady()).thenReturn(false);
+
+        cache.programs("health", () -> List.of(response(1L, "Health")));
+
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    @DisplayName("programs — search key ignores case and surrounding whitespace")
+    void programs_searchKeyNormalized() {
+        ProgramResponseCache cache = cache();
+        when(searchIndex.isReady()).thenReturn(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.programs("Health", () -> {
+            loads.incrementAndGet();
+            return List.of(response(1L, "Health"));
+        });
+        cache.programs(" health ", () -> {
+            loads.incrementAndGet();
+            return List.of(response(1L, "Health"));
+        });
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("programs(fields) — sparse lists are cached per field set and invalidated with their programs")
+    void programsWithFields_cachedPerFieldSetAndInvalidated() {
+        ProgramResponseCache cache = cache();
+        AtomicInteger loads = new AtomicInteger();
+        cache.programs(null, EnumSet.of(ProgramField.ID), () -> {
+            loads.incrementAndGet();
+            return List.of(Map.of("id", 1L));
+        });
+        cache.programs(null, EnumSet.of(ProgramField.ID, ProgramField.STATUS), () -> {
+            loads.incrementAndGet();
+            return List.of(Map.of("id", 1L, "status", ProgramStatus.SUBMITTED));
+        });
+        cache.programs(null, EnumSet.of(ProgramField.ID), () -> {
+            loads.incrementAndGet();
+            return List.of(Map.of("id", 1L));
+        });
+
+        assertThat(loads).hasValue(2);
+        cache.onProgramChange(new ProgramChangeEvent.StatusChanged(1L, ProgramStatus.SUBMITTED, ProgramStatus.APPROVED));
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    // -------------------------------------------------------------------------
+    // onProgramChange
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("onProgramChange — review drops the program and the lists containing it only")
+    void onProgramChange_reviewed_dropsProgramAndContainingLists() {
+        ProgramResponseCache cache = cache();
+        when(searchIndex.isReady()).thenReturn(true);
+        cache.program(1L, () -> response(1L, "Health"));
+        cache.program(2L, () -> response(2L, "Education"));
+        cache.programs(null, () -> List.of(response(1L, "Health"), response(2L, "Education")));
+        cache.programs("education", () -> List.of(response(2L, "Education")));
+
+        cache.onProgramChange(new ProgramChangeEvent.StatusChanged(1L, ProgramStatus.SUBMITTED, ProgramStatus.APPROVED));
+
+        assertThat(cache.stats().entries()).isEqualTo(2);
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+        AtomicInteger loads = new AtomicInteger();
+        cache.program(2L, () -> {
+            loads.incrementAndGet();
+            return response(2L, "Education");
+        });
+        cache.programs("education", () -> {
+            loads.incrementAndGet();
+            return List.of(response(2L, "Education"));
+        });
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — new program drops every list but keeps single programs")
+    void onProgramChange_created_dropsLists() {
+        ProgramResponseCache cache = cache();
+        when(searchIndex.isReady()).thenReturn(true);
+        cache.program(1L, () -> response(1L, "Health"));
+        cache.programs(null, () -> List.of(response(1L, "Health")));
+        cache.programs("education", List::of);
+        Program created = new Program();
+        created.setId(2L);
+
+        cache.onProgramChange(new ProgramChangeEvent.Created(created));
+
+        assertThat(cache.stats().entries()).isEqualTo(1);
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — AI summary also drops searches that did not contain the program")
+    void onProgramChange_summaryReady_dropsAllSearches() {
+        ProgramResponseCache cache = cache();
+        when(searchIndex.isReady()).thenReturn(true);
+        cache.programs(null, () -> List.of(response(2L, "Education")));
+        cache.programs("clinics", List::of);
+
+        cache.onProgramChange(new ProgramChangeEvent.SummaryReady(1L, ProgramStatus.SUBMITTED, "Community clinics"));
+
+        assertThat(cache.stats().entries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — a load that started before an invalidation is not stored")
+    void onProgramChange_duringLoad_staleResponseNotStored() {
+        ProgramResponseCache cache = cache();
+
+        ProgramResponseCache.CachedResponse stale = cache.program(1L, () -> {
+            cache.onProgramChange(new ProgramChangeEvent.DocumentAttached(1L, ProgramStatus.SUBMITTED, "https://example/doc.pdf"));
+            return response(1L, "Health");
+        });
+
+        assertThat(stale).isNotNull();
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    // -------------------------------------------------------------------------
+    // eviction
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("eviction — least recently used response is removed to stay within the size limit")
+    void eviction_removesLeastRecentlyUsed() {
+        String name = "x".repeat(200);
+        ProgramResponseCache probe = cache();
+        probe.program(1L, () -> response(1L, name));
+        long entryBytes = probe.stats().bytes();
+        long maxBytes = entryBytes * 4;
+        ProgramResponseCache cache = cache(DataSize.ofBytes(maxBytes), DataSize.ofKilobytes(1));
+        cache.program(1L, () -> response(1L, name));
+        cache.program(2L, () -> response(2L, name));
+        cache.program(1L, () -> response(1L, name));
+
+        cache.program(3L, () -> response(3L, name));
+        cache.program(4L, () -> response(4L, name));
+
+        cache.program(5L, () -> response(5L, name));
+
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().bytes()).isLessThanOrEqualTo(maxBytes);
+        AtomicInteger loads = new AtomicInteger();
+        cache.program(2L, () -> {
+            loads.incrementAndGet();
+            return response(2L, name);
+        });
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("eviction — a response larger than a quarter of the limit is never stored")
+    void eviction_oversizedResponseNotStored() {
+        ProgramResponseCache cache = cache(DataSize.ofBytes(2000), DataSize.ofKilobytes(1));
+
+        cache.program(1L, () -> response(1L, "x".repeat(600)));
+
+        assertThat(cache.stats().entries()).isZero();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.model.Program;
+import com.ontario.demo.programdemo.model.ProgramStatus;
+import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.repository.ProgramRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramSearchIndex}.
+ *
+ * <p>Covers tokenizing with accent folding, prefix matching, field-weighted
+ * ranking and incremental updates from change events.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgramSearchIndex")
+class ProgramSearchIndexTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+
+    private ProgramSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProgramSearchIndex(programRepository);
+    }
+
+    private Program program(Long id, String name, String description, String summary) {
+        Program program = new Program();
+        program.setId(id);
+        program.setProgramName(name);
+        program.setProgramDescription(description);
+        program.setProgramType(new ProgramType(1, "Health", "Santé"));
+        program.setStatus(ProgramStatus.SUBMITTED);
+        program.setAiSummary(summary);
+        return program;
+    }
+
+    @Test
+    @DisplayName("tokenize — folds accents, lower-cases and splits on punctuation")
+    void tokenize_foldsAccentsAndCase() {
+        assertThat(ProgramSearchIndex.tokenize("Santé mentale — Éducation, 2026!"))
+                .containsExactly("sante", "mentale", "education", "2026");
+    }
+
+    @Test
+    @DisplayName("rebuild — loads every program and marks the index ready")
+    void rebuild_loadsProgramsAndBecomesReady() {
+        when(programRepository.findAll()).thenReturn(List.of(
+                program(1L, "Santé mentale", "Community clinics", null)));
+
+        assertThat(index.isReady()).isFalse();
+        index.rebuild();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("sante", 10)).containsExactly(1L);
+        assertThat(index.search("SANTÉ", 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("search — query token matches indexed terms by prefix")
+    void search_prefixMatches() {
+        index.index(program(1L, "Adult education", "Night classes", null));
+
+        assertThat(index.search("educ", 10)).containsExactly(1L);
+        assertThat(index.search("e", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search — every query token must match")
+    void search_requiresAllTokens() {
+        index.index(program(1L, "Rural broadband", "Fibre to remote towns", null));
+        index.index(program(2L, "Rural roads", "Paving gravel roads", null));
+
+        assertThat(index.search("rural fibre", 10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("search — name matches outrank description matches")
+    void search_nameMatchesRankFirst() {
+        index.index(program(1L, "Community kitchens", "Funding for water testing", null));
+        index.index(program(2L, "Clean water", "Treatment plant upgrades", null));
+
+        assertThat(index.search("water", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("onProgramChange — summary update makes summary text searchable and replaces old text")
+    void onProgramChange_summaryReady_replacesSummaryTerms() {
+        index.index(program(1L, "Tutoring", "After-school help", "Mentorship for teens"));
+
+        index.onProgramChange(new ProgramChangeEvent.SummaryReady(1L, ProgramStatus.SUBMITTED, "Literacy support for youth"));
+
+        assertThat(index.search("literacy", 10)).containsExactly(1L);
+        assertThat(index.search("mentorship", 10)).isEmpty();
+        assertThat(index.search("tutoring", 10)).containsExactly(1L);
+    }
+}
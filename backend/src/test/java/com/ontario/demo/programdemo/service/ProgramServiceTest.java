@@ -1,13 +1,18 @@
 package com.ontario.demo.programdemo.service;
 
+import com.ontario.demo.programdemo.dto.ProgramChanges;
+import com.ontario.demo.programdemo.dto.ProgramField;
+import com.ontario.demo.programdemo.dto.ProgramPage;
 import com.ontario.demo.programdemo.dto.ProgramRequest;
 import com.ontario.demo.programdemo.dto.ProgramResponse;
 import com.ontario.demo.programdemo.dto.ReviewRequest;
 import com.ontario.demo.programdemo.model.Program;
 import com.ontario.demo.programdemo.model.ProgramStatus;
 import com.ontario.demo.programdemo.model.ProgramType;
+import com.ontario.demo.programdemo.model.StoredDocument;
 import com.ontario.demo.programdemo.repository.ProgramRepository;
 import com.ontario.demo.programdemo.repository.ProgramTypeRepository;
+import com.ontario.demo.programdemo.repository.StoredDocumentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,16 +20,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,6 +59,15 @@ class ProgramServiceTest {
     @Mock
     private ProgramTypeRepository programTypeRepository;
 
+    @Mock
+    private StoredDocumentRepository storedDocumentRepository;
+
+    @Mock
+    private ProgramSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProgramService programService;
 
@@ -64,6 +88,7 @@ class ProgramServiceTest {
         submittedProgram.setBudget(new java.math.BigDecimal("250000.00"));
         submittedProgram.setCreatedDate(LocalDateTime.now());
         submittedProgram.setUpdatedDate(LocalDateTime.now());
+        submittedProgram.setVersion(3L);
     }
 
     // -------------------------------------------------------------------------
@@ -92,6 +117,7 @@ class ProgramServiceTest {
         assertThat(response.getProgramTypeNameFr()).isEqualTo("Santé");
 
         verify(programRepository).save(any(Program.class));
+        verify(eventPublisher).publishEvent(new ProgramChangeEvent.Created(submittedProgram));
     }
 
     @Test
@@ -110,6 +136,91 @@ class ProgramServiceTest {
                 .hasMessageContaining("Program type not found with ID: 999");
     }
 
+    @Test
+    @DisplayName("createProgram with reserved ID — inserts once and builds the response from memory")
+    void createProgram_reservedId_insertsWithoutReadBack() {
+        ProgramRequest request = ProgramRequest.builder()
+                .programName("Test Program")
+                .programDescription("A test program description")
+                .programTypeId(1)
+                .build();
+        String documentUrl = "https://account.blob.core.windows.net/program-documents/sha256/0a1b";
+        when(programTypeRepository.findById(1)).thenReturn(Optional.of(healthType));
+
+        ProgramResponse response = programService.createProgram(42L, request,
+                new DocumentStore.Reference("0a1b", documentUrl, "plan.pdf", false));
+
+        assertThat(response.getId()).isEqualTo(42L);
+        assertThat(response.getDocumentUrl()).isEqualTo(documentUrl);
+        assertThat(response.getAiSummary()).isNull();
+        assertThat(response.getStatus()).isEqualTo(ProgramStatus.SUBMITTED);
+        assertThat(response.getCreatedDate()).isNotNull();
+        verify(programRepository).insertWithReservedId(
+                argThat(program -> "plan.pdf".equals(program.getDocumentFilename())));
+        verify(programRepository, never()).save(any(Program.class));
+        verify(programRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("createProgram with reserved ID — a known document brings its hash and current AI summary")
+    void createProgram_knownDocument_copiesSummary() {
+        ProgramRequest request = ProgramRequest.builder()
+                .programName("Test Program")
+                .programDescription("A test program description")
+                .programTypeId(1)
+                .build();
+        LocalDateTime generated = LocalDateTime.of(2026, 3, 1, 9, 0);
+        StoredDocument stored = new StoredDocument();
+        stored.setAiSummary("Plain summary.");
+        stored.setAiSummaryGeneratedDate(generated);
+        when(programTypeRepository.findById(1)).thenReturn(Optional.of(healthType));
+        when(storedDocumentRepository.findAndLockById("0a1b")).thenReturn(Optional.of(stored));
+
+        ProgramResponse response = programService.createProgram(42L, request, new DocumentStore.Reference(
+                "0a1b", "https://account.blob.core.windows.net/program-documents/sha256/0a1b", "plan.pdf", true));
+
+        assertThat(response.getAiSummary()).isEqualTo("Plain summary.");
+        verify(programRepository).insertWithReservedId(argThat(program -> "0a1b".equals(program.getDocumentHash())
+                && "Plain summary.".equals(program.getAiSummary())
+                && generated.equals(program.getAiSummaryGeneratedDate())));
+    }
+
+    @Test
+    @DisplayName("createPrograms — looks up program types once and saves the batch together")
+    void createPrograms_savesBatchWithOneTypeLookup() {
+        ProgramRequest first = ProgramRequest.builder()
+                .programName("First").programDescription("First description").programTypeId(1).build();
+        ProgramRequest second = ProgramRequest.builder()
+                .programName("Second").programDescription("Second description").programTypeId(1).build();
+        when(programTypeRepository.findAllById(List.of(1))).thenReturn(List.of(healthType));
+        when(programRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Program> programs = invocation.getArgument(0);
+            for (int i = 0; i < programs.size(); i++) {
+                programs.get(i).setId(51L + i);
+            }
+            return programs;
+        });
+
+        List<Long> ids = programService.createPrograms(List.of(first, second));
+
+        assertThat(ids).containsExactly(51L, 52L);
+        verify(programTypeRepository, never()).findById(any());
+        verify(eventPublisher, times(2)).publishEvent(any(ProgramChangeEvent.Created.class));
+    }
+
+    @Test
+    @DisplayName("createPrograms — unknown programTypeId throws IllegalArgumentException")
+    void createPrograms_invalidProgramTypeId_throwsException() {
+        ProgramRequest request = ProgramRequest.builder()
+                .programName("Test Program").programDescription("A description").programTypeId(999).build();
+        when(programTypeRepository.findAllById(List.of(999))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> programService.createPrograms(List.of(request)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Program type not found with ID: 999");
+        verify(programRepository, never()).saveAll(any());
+    }
+
     // -------------------------------------------------------------------------
     // getPrograms
     // -------------------------------------------------------------------------
@@ -160,6 +271,215 @@ class ProgramServiceTest {
         assertThat(results).isEmpty();
     }
 
+    @Test
+    @DisplayName("getPrograms — ready index serves ranked results in ranking order")
+    void getPrograms_indexReady_returnsRankedResults() {
+        Program other = programCreatedAt(2L, LocalDateTime.now());
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("sante", ProgramService.MAX_SEARCH_RESULTS)).thenReturn(List.of(2L, 1L));
+        when(programRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(submittedProgram, other));
+
+        List<ProgramResponse> results = programService.getPrograms("sante");
+
+        assertThat(results).extracting(ProgramResponse::getId).containsExactly(2L, 1L);
+        verify(programRepository, never()).findByProgramNameContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    @DisplayName("getPrograms — ready index with no match skips the database")
+    void getPrograms_indexReadyNoMatch_returnsEmpty() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("zzz", ProgramService.MAX_SEARCH_RESULTS)).thenReturn(List.of());
+
+        List<ProgramResponse> results = programService.getPrograms("zzz");
+
+        assertThat(results).isEmpty();
+        verifyNoInteractions(programRepository);
+    }
+
+    @Test
+    @DisplayName("getPrograms(fields) — reads only the requested fields, always including the ID")
+    void getProgramsWithFields_noSearch_readsRequestedFieldsAndId() {
+        List<Map<String, Object>> rows = List.of(Map.of("id", 1L, "status", ProgramStatus.SUBMITTED));
+        when(programRepository.findAllProjected(EnumSet.of(ProgramField.ID, ProgramField.STATUS))).thenReturn(rows);
+
+        List<Map<String, Object>> results = programService.getPrograms(null, EnumSet.of(ProgramField.STATUS));
+
+        assertThat(results).isEqualTo(rows);
+        verify(programRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("getPrograms(fields) — ready index returns projected rows in ranking order")
+    void getProgramsWithFields_indexReady_keepsRankingOrder() {
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("sante", ProgramService.MAX_SEARCH_RESULTS)).thenReturn(List.of(2L, 1L));
+        when(programRepository.findProjectedByIdIn(List.of(2L, 1L), EnumSet.of(ProgramField.ID, ProgramField.PROGRAM_NAME)))
+                .thenReturn(List.of(Map.of("id", 1L, "programName", "B"), Map.of("id", 2L, "programName", "A")));
+
+        List<Map<String, Object>> results = programService.getPrograms("sante", EnumSet.of(ProgramField.PROGRAM_NAME));
+
+        assertThat(results).extracting(row -> row.get("id")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("getPrograms(fields) — index not ready falls back to the projected name search")
+    void getProgramsWithFields_indexNotReady_usesNameSearch() {
+        when(programRepository.findProjectedByProgramNameContaining("health", EnumSet.of(ProgramField.ID)))
+                .thenReturn(List.of(Map.of("id", 1L)));
+
+        List<Map<String, Object>> results = programService.getPrograms("health", EnumSet.of(ProgramField.ID));
+
+        assertThat(results).hasSize(1);
+        verify(programRepository, never()).findByProgramNameContainingIgnoreCase(anyString());
+    }
+
+    // -------------------------------------------------------------------------
+    // getProgramPage
+    // -------------------------------------------------------------------------
+
+    private Program programCreatedAt(Long id, LocalDateTime createdDate) {
+        Program program = new Program();
+        program.setId(id);
+        program.setProgramName("Program " + id);
+        program.setProgramDescription("Description " + id);
+        program.setProgramType(healthType);
+        program.setStatus(ProgramStatus.SUBMITTED);
+        program.setCreatedDate(createdDate);
+        program.setUpdatedDate(createdDate);
+        return program;
+    }
+
+    @Test
+    @DisplayName("getProgramPage — first page with more rows returns next cursor")
+    void getProgramPage_firstPageWithMore_returnsNextCursor() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(programRepository.findAllByOrderByCreatedDateDescIdDesc(Limit.of(3)))
+                .thenReturn(List.of(
+                        programCreatedAt(3L, now),
+                        programCreatedAt(2L, now.minusMinutes(1)),
+                        programCreatedAt(1L, now.minusMinutes(2))));
+
+        ProgramPage page = programService.getProgramPage(null, 2);
+
+        assertThat(page.getItems()).extracting(ProgramResponse::getId).containsExactly(3L, 2L);
+        assertThat(ProgramCursor.decode(page.getNextCursor()))
+                .isEqualTo(new ProgramCursor(now.minusMinutes(1), 2L));
+    }
+
+    @Test
+    @DisplayName("getProgramPage — cursor seeks past the previous page and last page has no cursor")
+    void getProgramPage_withCursor_seeksAfterPosition() {
+        LocalDateTime position = LocalDateTime.of(2026, 3, 1, 11, 59);
+        String cursor = new ProgramCursor(position, 2L).encode();
+        when(programRepository.findPageAfter(eq(position), eq(2L), eq(Limit.of(3))))
+                .thenReturn(List.of(programCreatedAt(1L, position.minusMinutes(1))));
+
+        ProgramPage page = programService.getProgramPage(cursor, 2);
+
+        assertThat(page.getItems()).extracting(ProgramResponse::getId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getProgramPage — malformed cursor throws IllegalArgumentException")
+    void getProgramPage_malformedCursor_throwsException() {
+        assertThatThrownBy(() -> programService.getProgramPage("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("getProgramPage — limit above maximum throws IllegalArgumentException")
+    void getProgramPage_limitTooLarge_throwsException() {
+        assertThatThrownBy(() -> programService.getProgramPage(null, ProgramService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be between 1 and");
+    }
+
+    // -------------------------------------------------------------------------
+    // getChangesSince
+    // -------------------------------------------------------------------------
+
+    private static ProgramRepository.ProgramVersion version(Long id, long rowVersion) {
+        return new ProgramRepository.ProgramVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRowVersion() {
+                return rowVersion;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("getChangesSince — no token reads from the start up to the active row version")
+    void getChangesSince_noToken_advancesTokenToWatermark() {
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(programRepository.minActiveRowVersion()).thenReturn(5000L);
+        when(programRepository.findChangedBetween(0L, 5000L, 11))
+                .thenReturn(List.of(version(2L, 4100L), version(1L, 4200L)));
+        when(programRepository.findAllById(List.of(2L, 1L)))
+                .thenReturn(List.of(programCreatedAt(1L, now), programCreatedAt(2L, now)));
+
+        ProgramChanges changes = programService.getChangesSince(null, 10);
+
+        assertThat(changes.getItems()).extracting(ProgramResponse::getId).containsExactly(2L, 1L);
+        assertThat(changes.isHasMore()).isFalse();
+        assertThat(ProgramChangeToken.decode(changes.getNextToken()).rowVersion()).isEqualTo(4999L);
+    }
+
+    @Test
+    @DisplayName("getChangesSince — more changes than the limit returns the last row version as token")
+    void getChangesSince_moreThanLimit_tokenIsLastReturnedVersion() {
+        String token = new ProgramChangeToken(4000L).encode();
+        when(programRepository.minActiveRowVersion()).thenReturn(5000L);
+        when(programRepository.findChangedBetween(4000L, 5000L, 2))
+                .thenReturn(List.of(version(7L, 4100L), version(8L, 4300L)));
+        when(programRepository.findAllById(List.of(7L)))
+                .thenReturn(List.of(programCreatedAt(7L, LocalDateTime.of(2026, 3, 1, 12, 0))));
+
+        ProgramChanges changes = programService.getChangesSince(token, 1);
+
+        assertThat(changes.getItems()).extracting(ProgramResponse::getId).containsExactly(7L);
+        assertThat(changes.isHasMore()).isTrue();
+        assertThat(ProgramChangeToken.decode(changes.getNextToken()).rowVersion()).isEqualTo(4100L);
+    }
+
+    @Test
+    @DisplayName("getChangesSince — no changes keeps the token and skips loading programs")
+    void getChangesSince_noChanges_keepsToken() {
+        String token = new ProgramChangeToken(4999L).encode();
+        when(programRepository.minActiveRowVersion()).thenReturn(5000L);
+        when(programRepository.findChangedBetween(4999L, 5000L, 11)).thenReturn(List.of());
+
+        ProgramChanges changes = programService.getChangesSince(token, 10);
+
+        assertThat(changes.getItems()).isEmpty();
+        assertThat(changes.getNextToken()).isEqualTo(token);
+        verify(programRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("getChangesSince — malformed token throws IllegalArgumentException")
+    void getChangesSince_malformedToken_throwsException() {
+        assertThatThrownBy(() -> programService.getChangesSince("bm90LWEtdG9rZW4", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid change token");
+        verifyNoInteractions(programRepository);
+    }
+
+    @Test
+    @DisplayName("getChangesSince — limit above maximum throws IllegalArgumentException")
+    void getChangesSince_limitTooLarge_throwsException() {
+        assertThatThrownBy(() -> programService.getChangesSince(null, ProgramService.MAX_CHANGES_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limit must be between 1 and");
+    }
+
     // -------------------------------------------------------------------------
     // getProgramById
     // -------------------------------------------------------------------------
@@ -190,7 +510,7 @@ class ProgramServiceTest {
     // -------------------------------------------------------------------------
 
     @Test
-    @DisplayName("reviewProgram — approve updates status to APPROVED")
+    @DisplayName("reviewProgram — approve writes the decision in one versioned update")
     void reviewProgram_approve_updatesStatus() {
         ReviewRequest request = ReviewRequest.builder()
                 .status("APPROVED")
@@ -198,26 +518,18 @@ class ProgramServiceTest {
                 .reviewedBy("ministry@ontario.ca")
                 .build();
 
-        Program approvedProgram = new Program();
-        approvedProgram.setId(1L);
-        approvedProgram.setProgramName("Test Program");
-        approvedProgram.setProgramDescription("A test program description");
-        approvedProgram.setProgramType(healthType);
-        approvedProgram.setStatus(ProgramStatus.APPROVED);
-        approvedProgram.setSubmittedBy("citizen@example.com");
-        approvedProgram.setReviewedBy("ministry@ontario.ca");
-        approvedProgram.setReviewComments("Meets criteria.");
-        approvedProgram.setCreatedDate(LocalDateTime.now());
-        approvedProgram.setUpdatedDate(LocalDateTime.now());
-
         when(programRepository.findById(1L)).thenReturn(Optional.of(submittedProgram));
-        when(programRepository.save(any(Program.class))).thenReturn(approvedProgram);
+        when(programRepository.updateReview(eq(1L), eq(3L), eq(ProgramStatus.APPROVED), eq("ministry@ontario.ca"),
+                eq("Meets criteria."), any(LocalDateTime.class))).thenReturn(1);
 
         ProgramResponse response = programService.reviewProgram(1L, request);
 
         assertThat(response.getStatus()).isEqualTo(ProgramStatus.APPROVED);
         assertThat(response.getReviewedBy()).isEqualTo("ministry@ontario.ca");
         assertThat(response.getReviewComments()).isEqualTo("Meets criteria.");
+        assertThat(submittedProgram.getVersion()).isEqualTo(4L);
+        verify(eventPublisher).publishEvent(new ProgramChangeEvent.Reviewed(submittedProgram, ProgramStatus.SUBMITTED));
+        verify(programRepository, never()).save(any(Program.class));
     }
 
     @Test
@@ -229,26 +541,33 @@ class ProgramServiceTest {
                 .reviewedBy("ministry@ontario.ca")
                 .build();
 
-        Program rejectedProgram = new Program();
-        rejectedProgram.setId(1L);
-        rejectedProgram.setProgramName("Test Program");
-        rejectedProgram.setProgramDescription("A test program description");
-        rejectedProgram.setProgramType(healthType);
-        rejectedProgram.setStatus(ProgramStatus.REJECTED);
-        rejectedProgram.setSubmittedBy("citizen@example.com");
-        rejectedProgram.setReviewedBy("ministry@ontario.ca");
-        rejectedProgram.setReviewComments("Does not meet the requirements.");
-        rejectedProgram.setCreatedDate(LocalDateTime.now());
-        rejectedProgram.setUpdatedDate(LocalDateTime.now());
-
         when(programRepository.findById(1L)).thenReturn(Optional.of(submittedProgram));
-        when(programRepository.save(any(Program.class))).thenReturn(rejectedProgram);
+        when(programRepository.updateReview(eq(1L), eq(3L), eq(ProgramStatus.REJECTED), eq("ministry@ontario.ca"),
+                eq("Does not meet the requirements."), any(LocalDateTime.class))).thenReturn(1);
 
         ProgramResponse response = programService.reviewProgram(1L, request);
 
         assertThat(response.getStatus()).isEqualTo(ProgramStatus.REJECTED);
     }
 
+    @Test
+    @DisplayName("reviewProgram — program changed since it was read throws a locking failure")
+    void reviewProgram_concurrentChange_throwsConflict() {
+        ReviewRequest request = ReviewRequest.builder()
+                .status("APPROVED")
+                .reviewComments("Meets criteria.")
+                .reviewedBy("ministry@ontario.ca")
+                .build();
+
+        when(programRepository.findById(1L)).thenReturn(Optional.of(submittedProgram));
+        when(programRepository.updateReview(eq(1L), eq(3L), eq(ProgramStatus.APPROVED), eq("ministry@ontario.ca"),
+                eq("Meets criteria."), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> programService.reviewProgram(1L, request))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     @DisplayName("reviewProgram — invalid status throws IllegalArgumentException")
     void reviewProgram_invalidStatus_throwsException() {
@@ -315,4 +634,136 @@ class ProgramServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Program not found with ID: 999");
     }
+
+    // -------------------------------------------------------------------------
+    // reviewPrograms
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("reviewPrograms — updates the submitted programs in one statement without loading them")
+    void reviewPrograms_updatesSubmittedWithoutLoading() {
+        ReviewRequest request = ReviewRequest.builder()
+                .status("approved")
+                .reviewComments("Routine approval.")
+                .reviewedBy("ministry@ontario.ca")
+                .build();
+        when(programRepository.findAndLockIdsByIdInAndStatus(List.of(1L, 2L, 3L), ProgramStatus.SUBMITTED))
+                .thenReturn(List.of(1L, 3L));
+
+        List<Long> reviewed = programService.reviewPrograms(List.of(1L, 2L, 3L), request);
+
+        assertThat(reviewed).containsExactly(1L, 3L);
+        verify(programRepository).updateReviewDecision(eq(List.of(1L, 3L)), eq(ProgramStatus.SUBMITTED),
+                eq(ProgramStatus.APPROVED), eq("ministry@ontario.ca"), eq("Routine approval."),
+                any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(
+                new ProgramChangeEvent.StatusChanged(3L, ProgramStatus.SUBMITTED, ProgramStatus.APPROVED));
+        verify(programRepository, never()).findById(any());
+        verify(programRepository, never()).save(any(Program.class));
+    }
+
+    @Test
+    @DisplayName("reviewPrograms — non-decision status throws before touching the database")
+    void reviewPrograms_invalidStatus_throwsException() {
+        ReviewRequest request = ReviewRequest.builder()
+                .status("SUBMITTED")
+                .reviewComments("Back to the queue.")
+                .reviewedBy("ministry@ontario.ca")
+                .build();
+
+        assertThatThrownBy(() -> programService.reviewPrograms(List.of(1L), request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Review status must be APPROVED or REJECTED");
+        verifyNoInteractions(programRepository);
+    }
+
+    // -------------------------------------------------------------------------
+    // updateDocumentUrl / updateAiSummary / updateDocumentSummary
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("updateDocumentUrl — updates the column without loading the program")
+    void updateDocumentUrl_updatesWithoutLoading() {
+        String url = "https://blob.example/programs/1/doc.pdf";
+        when(programRepository.updateDocumentUrl(eq(1L), eq(url), eq("doc.pdf"), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(programRepository.findStatusById(1L)).thenReturn(Optional.of(ProgramStatus.SUBMITTED));
+
+        programService.updateDocumentUrl(1L, url, "doc.pdf");
+
+        verify(storedDocumentRepository).releaseReferenceOf(1L);
+        verify(eventPublisher).publishEvent(new ProgramChangeEvent.DocumentAttached(1L, ProgramStatus.SUBMITTED, url));
+        verify(programRepository, never()).findById(any());
+        verify(programRepository, never()).save(any(Program.class));
+    }
+
+    @Test
+    @DisplayName("updateAiSummary — updates the columns without loading the program")
+    void updateAiSummary_updatesWithoutLoading() {
+        when(programRepository.updateAiSummary(eq(1L), eq("Plain summary."), any(LocalDateTime.class))).thenReturn(1);
+        when(programRepository.findStatusById(1L)).thenReturn(Optional.of(ProgramStatus.APPROVED));
+
+        programService.updateAiSummary(1L, "Plain summary.");
+
+        verify(eventPublisher).publishEvent(
+                new ProgramChangeEvent.SummaryReady(1L, ProgramStatus.APPROVED, "Plain summary."));
+        verify(programRepository, never()).findById(any());
+        verify(programRepository, never()).save(any(Program.class));
+    }
+
+    @Test
+    @DisplayName("updateAiSummary — program not found throws IllegalArgumentException")
+    void updateAiSummary_notFound_throwsException() {
+        when(programRepository.updateAiSummary(eq(999L), eq("Plain summary."), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> programService.updateAiSummary(999L, "Plain summary."))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Program not found with ID: 999");
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("updateDocumentSummary — updates the document and every program attaching it")
+    void updateDocumentSummary_updatesEveryProgram() {
+        when(storedDocumentRepository.updateAiSummary(eq("0a1b"), eq("Plain summary."), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(programRepository.findStatusByDocumentHash("0a1b")).thenReturn(List.of(
+                statusRow(1L, ProgramStatus.SUBMITTED), statusRow(2L, ProgramStatus.APPROVED)));
+
+        programService.updateDocumentSummary("0a1b", "Plain summary.");
+
+        verify(programRepository).updateAiSummaryByDocumentHash(eq("0a1b"), eq("Plain summary."),
+                any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(
+                new ProgramChangeEvent.SummaryReady(1L, ProgramStatus.SUBMITTED, "Plain summary."));
+        verify(eventPublisher).publishEvent(
+                new ProgramChangeEvent.SummaryReady(2L, ProgramStatus.APPROVED, "Plain summary."));
+    }
+
+    @Test
+    @DisplayName("updateDocumentSummary — unknown document throws IllegalArgumentException")
+    void updateDocumentSummary_notFound_throwsException() {
+        when(storedDocumentRepository.updateAiSummary(eq("0a1b"), eq("Plain summary."), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> programService.updateDocumentSummary("0a1b", "Plain summary."))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Document not found: 0a1b");
+        verify(programRepository, never()).updateAiSummaryByDocumentHash(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static ProgramRepository.ProgramStatusRow statusRow(Long id, ProgramStatus status) {
+        return new ProgramRepository.ProgramStatusRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public ProgramStatus getStatus() {
+                return status;
+            }
+        };
+    }
 }
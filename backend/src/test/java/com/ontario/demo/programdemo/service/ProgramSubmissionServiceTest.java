@@ -0,0 +1,185 @@
+package com.ontario.demo.programdemo.service;
+
+import com.ontario.demo.programdemo.dto.ProgramRequest;
+import com.ontario.demo.programdemo.dto.ProgramResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProgramSubmissionService} using Mockito.
+ *
+ * <p>The insert runs on a {@link SyncTaskExecutor} so the pipeline steps happen
+ * in a predictable order.</p>
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProgramSubmissionService")
+class ProgramSubmissionServiceTest {
+
+    private static final String DOCUMENT_URL =
+            "https://account.blob.core.windows.net/program-documents/sha256/0a1b";
+
+    @Mock
+    private ProgramService programService;
+
+    @Mock
+    private DocumentStore documentStore;
+
+    private ProgramSubmissionService submissionService;
+
+    private final ProgramRequest request = ProgramRequest.builder()
+            .programName("Test Program")
+            .programDescription("A test program description")
+            .programTypeId(1)
+            .build();
+
+    private final MockMultipartFile document =
+            new MockMultipartFile("document", "plan.pdf", "application/pdf", new byte[] {1, 2, 3});
+
+    private final DocumentStore.Reference newDocument =
+            new DocumentStore.Reference("0a1b", DOCUMENT_URL, "plan.pdf", false);
+
+    private final BlobStorageService.StagedDocument staged =
+            new BlobStorageService.StagedDocument("sha256/0a1b", "application/pdf", List.of("block-0"));
+
+    @BeforeEach
+    void setUp() {
+        submissionService = new ProgramSubmissionService(
+                programService, documentStore, new SyncTaskExecutor());
+    }
+
+    private ProgramResponse created() {
+        return ProgramResponse.builder().id(42L).documentUrl(DOCUMENT_URL).build();
+    }
+
+    // -------------------------------------------------------------------------
+    // submit
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("submit — without a document creates the program directly")
+    void submit_noDocument_createsProgram() {
+        when(programService.createProgram(request)).thenReturn(ProgramResponse.builder().id(1L).build());
+
+        ProgramResponse response = submissionService.submit(request, null);
+
+        assertThat(response.getId()).isEqualTo(1L);
+        verify(programService, never()).reserveProgramId();
+        verifyNoInteractions(documentStore);
+    }
+
+    @Test
+    @DisplayName("submit — with a new document inserts once with the URL and commits the blob afterwards")
+    void submit_withDocument_singleInsertThenCommit() throws IOException {
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenReturn(newDocument);
+        when(programService.createProgram(42L, request, newDocument)).thenReturn(created());
+        when(documentStore.stage(newDocument, document)).thenReturn(staged);
+
+        ProgramResponse response = submissionService.submit(request, document);
+
+        assertThat(response.getId()).isEqualTo(42L);
+        assertThat(response.getDocumentUrl()).isEqualTo(DOCUMENT_URL);
+        InOrder order = inOrder(programService, documentStore);
+        order.verify(programService).createProgram(42L, request, newDocument);
+        order.verify(documentStore).commit(newDocument, staged, document);
+        verify(programService, never()).updateDocumentUrl(any(), any(), any());
+        verify(programService, never()).getProgramById(any());
+    }
+
+    @Test
+    @DisplayName("submit — with a known document inserts with its summary and uploads nothing")
+    void submit_knownDocument_skipsUpload() throws IOException {
+        DocumentStore.Reference known = new DocumentStore.Reference("0a1b", DOCUMENT_URL, "plan.pdf", true);
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenReturn(known);
+        when(programService.createProgram(42L, request, known)).thenReturn(
+                ProgramResponse.builder().id(42L).documentUrl(DOCUMENT_URL).aiSummary("An existing summary").build());
+
+        ProgramResponse response = submissionService.submit(request, document);
+
+        assertThat(response.getAiSummary()).isEqualTo("An existing summary");
+        assertThat(response.getDocumentUrl()).isEqualTo(DOCUMENT_URL);
+        verify(documentStore, never()).stage(any(), any());
+        verify(documentStore, never()).commit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit — failed upload keeps the program and withdraws the document URL")
+    void submit_uploadFails_clearsDocumentUrl() throws IOException {
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenReturn(newDocument);
+        when(programService.createProgram(42L, request, newDocument)).thenReturn(created());
+        when(documentStore.stage(newDocument, document)).thenThrow(new IOException("connection reset"));
+
+        ProgramResponse response = submissionService.submit(request, document);
+
+        assertThat(response.getId()).isEqualTo(42L);
+        assertThat(response.getDocumentUrl()).isNull();
+        verify(programService).updateDocumentUrl(42L, null, null);
+        verify(documentStore, never()).commit(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("submit — failed commit withdraws the document URL")
+    void submit_commitFails_clearsDocumentUrl() throws IOException {
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenReturn(newDocument);
+        when(programService.createProgram(42L, request, newDocument)).thenReturn(created());
+        when(documentStore.stage(newDocument, document)).thenReturn(staged);
+        doThrow(new IllegalStateException("storage unavailable")).when(documentStore).commit(newDocument, staged, document);
+
+        ProgramResponse response = submissionService.submit(request, document);
+
+        assertThat(response.getDocumentUrl()).isNull();
+        verify(programService).updateDocumentUrl(42L, null, null);
+    }
+
+    @Test
+    @DisplayName("submit — unreadable document creates the program without one")
+    void submit_hashFails_createsWithoutDocument() throws IOException {
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenThrow(new IOException("part deleted"));
+        when(programService.createProgram(42L, request, null)).thenReturn(ProgramResponse.builder().id(42L).build());
+
+        ProgramResponse response = submissionService.submit(request, document);
+
+        assertThat(response.getDocumentUrl()).isNull();
+        verify(documentStore, never()).stage(any(), any());
+    }
+
+    @Test
+    @DisplayName("submit — invalid program type is rethrown, the reference released and the blob never committed")
+    void submit_invalidType_rethrowsWithoutCommit() throws IOException {
+        when(programService.reserveProgramId()).thenReturn(42L);
+        when(documentStore.acquire(document)).thenReturn(newDocument);
+        when(programService.createProgram(42L, request, newDocument))
+                .thenThrow(new IllegalArgumentException("Program type not found with ID: 1"));
+        when(documentStore.stage(newDocument, document)).thenReturn(staged);
+
+        assertThatThrownBy(() -> submissionService.submit(request, document))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Program type not found");
+        verify(documentStore).release(newDocument);
+        verify(documentStore, never()).commit(any(), any(), any());
+    }
+}
@@ -16,7 +16,11 @@ namespace PdfSummarizer;
 /// <summary>Input record for the orchestration and activity chain.</summary>
 /// <param name="ProgramId">The program ID from the blob path prefix.</param>
 /// <param name="BlobUrl">Blob URL (reused to carry the summary text in the final activity).</param>
-public record PdfSummaryInput(string ProgramId, string BlobUrl);
+/// <param name="ContentHash">
+/// SHA-256 of a content-addressed document (<c>sha256/{hash}</c>), which may be shared by
+/// several programs; <c>null</c> for a document stored under its program ID.
+/// </param>
+public record PdfSummaryInput(string ProgramId, string BlobUrl, string? ContentHash = null);
 
 /// <summary>Payload posted to the Spring Boot PATCH /summary endpoint.</summary>
 /// <param name="Summary">The AI-generated plain-language summary.</param>
@@ -28,10 +32,15 @@ public record SummaryCallbackPayload(string Summary);
 /// </summary>
 public class PdfSummarizerFunction
 {
+    /// <summary>Blob folder of the content-addressed documents, named by their SHA-256.</summary>
+    private const string ContentAddressedFolder = "sha256";
+
     // ── Blob Trigger ──────────────────────────────────────────────────────────
     /// <summary>
     /// Fires when a new blob is uploaded to the <c>program-documents</c> container.
-    /// Starts a Durable orchestration instance.
+    /// Starts a Durable orchestration instance. Content-addressed documents are stored
+    /// under the <c>sha256</c> folder, so there the name is the document's hash rather
+    /// than a file of the program in <c>{programId}</c>.
     /// </summary>
     [Function(nameof(TriggerProcessDocument))]
     public async Task TriggerProcessDocument(
@@ -73,9 +82,10 @@ public class PdfSummarizerFunction
             }
         }
 
+        string? contentHash = programId == ContentAddressedFolder ? name : null;
         string instanceId = await starter.ScheduleNewOrchestrationInstanceAsync(
             nameof(OrchestrateDocumentProcessing),
-            new PdfSummaryInput(programId, blobUrl));
+            new PdfSummaryInput(programId, blobUrl, contentHash));
 
         logger.LogInformation("Orchestration started with ID {InstanceId}", instanceId);
     }
@@ -101,7 +111,7 @@ public class PdfSummarizerFunction
             nameof(SummarizeTextActivity), extractedText);
 
         await context.CallActivityAsync(
-            nameof(CallbackApiActivity), new PdfSummaryInput(input.ProgramId, summary));
+            nameof(CallbackApiActivity), new PdfSummaryInput(input.ProgramId, summary, input.ContentHash));
     }
 
     // ── Activity 1: Document Intelligence ────────────────────────────────────
@@ -180,6 +190,8 @@ public class PdfSummarizerFunction
     // ── Activity 3: Callback to Spring Boot API ───────────────────────────────
     /// <summary>
     /// PATCHes the generated summary back to the Spring Boot API using an HTTP callback.
+    /// A content-addressed document's summary goes to the document, and the API copies
+    /// it to every program that attaches the document.
     /// </summary>
     [Function(nameof(CallbackApiActivity))]
     public async Task CallbackApiActivity(
@@ -192,7 +204,9 @@ public class PdfSummarizerFunction
         var httpClientFactory = context.InstanceServices.GetRequiredService<IHttpClientFactory>();
         var httpClient = httpClientFactory.CreateClient();
 
-        var url = $"{apiBaseUrl}/api/programs/{input.ProgramId}/summary";
+        var url = input.ContentHash is not null
+            ? $"{apiBaseUrl}/api/documents/{input.ContentHash}/summary"
+            : $"{apiBaseUrl}/api/programs/{input.ProgramId}/summary";
         logger.LogInformation("Posting summary to {Url}", url);
 
         // input.BlobUrl carries the summary text in the callback activity
@@ -202,6 +216,6 @@ public class PdfSummarizerFunction
 
         response.EnsureSuccessStatusCode();
         logger.LogInformation(
-            "Successfully persisted AI summary for program {ProgramId}", input.ProgramId);
+            "Successfully persisted AI summary for {Target}", input.ContentHash ?? input.ProgramId);
     }
 }
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# measure-startup.sh
+# Measures the backend's time to first request: from launching the JVM until
+# the first successful response, repeated and reported as the median.
+#
+# Usage:
+#   ./scripts/measure-startup.sh [--runs N] [--url URL] -- <java arguments>
+#
+# Examples:
+#   # Plain jar
+#   ./scripts/measure-startup.sh -- -jar backend/target/program-demo-0.4.0-SNAPSHOT.jar
+#
+#   # Fast start (mvn package -Pfast-start), extracted with its CDS archive
+#   java -Djarmode=tools -jar backend/target/program-demo-0.4.0-SNAPSHOT.jar extract --destination /tmp/app
+#   java -XX:ArchiveClassesAtExit=/tmp/app/app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+#       -jar /tmp/app/program-demo-0.4.0-SNAPSHOT.jar --spring.profiles.active=fast-start
+#   ./scripts/measure-startup.sh -- -XX:SharedArchiveFile=/tmp/app/app.jsa -Dspring.aot.enabled=true \
+#       -jar /tmp/app/program-demo-0.4.0-SNAPSHOT.jar --spring.profiles.active=fast-start
+#
+
+set -euo pipefail
+
+# --- Defaults ---
+RUNS=5
+URL="http://localhost:8080/actuator/health"
+TIMEOUT_SECONDS=300
+
+# --- Parse Arguments ---
+while [[ $# -gt 0 ]]; do
+    case "$1" in
+        --runs) RUNS="$2"; shift 2 ;;
+        --url)  URL="$2";  shift 2 ;;
+        --)     shift; break ;;
+        -h|--help)
+            echo "Usage: $0 [--runs N] [--url URL] -- <java arguments>"
+            exit 0
+            ;;
+        *)
+            echo "Unknown option: $1" >&2
+            exit 1
+            ;;
+    esac
+done
+
+if [[ $# -eq 0 ]]; then
+    echo "Missing java arguments after --" >&2
+    exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+results=()
+for ((run = 1; run <= RUNS; run++)); do
+    start=$(now_ms)
+    java "$@" > /dev/null 2>&1 &
+    pid=$!
+
+    elapsed=""
+    while kill -0 "${pid}" 2>/dev/null; do
+        if curl -fs -o /dev/null "${URL}"; then
+            elapsed=$(( $(now_ms) - start ))
+            break
+        fi
+        if (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "${pid}" 2>/dev/null || true
+    wait "${pid}" 2>/dev/null || true
+
+    if [[ -z "${elapsed}" ]]; then
+        echo "Run ${run}: no successful response from ${URL}" >&2
+        exit 1
+    fi
+    echo "Run ${run}: ${elapsed} ms"
+    results+=("${elapsed}")
+done
+
+median=$(printf '%s\n' "${results[@]}" | sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }')
+echo "Median time to first request over ${RUNS} runs: ${median} ms"